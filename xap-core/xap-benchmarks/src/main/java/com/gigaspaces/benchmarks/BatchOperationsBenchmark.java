@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.client.WriteModifiers;
+import com.gigaspaces.document.SpaceDocument;
+import com.j_spaces.core.LeaseContext;
+import com.j_spaces.core.client.SQLQuery;
+
+import net.jini.core.lease.Lease;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch operations of an embedded space. Scores are batches per second.
+ *
+ * @since 12.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchOperationsBenchmark {
+    /**
+     * Should not exceed {@link EmbeddedSpaceState#BUCKET_SIZE} since read batches are a single bucket.
+     */
+    @Param({"10", "100"})
+    public int batchSize;
+
+    /**
+     * Updates a random range of existing entries.
+     */
+    @Benchmark
+    public LeaseContext[] writeMultiple(EmbeddedSpaceState state) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long firstId = random.nextInt(state.entries - batchSize);
+        SpaceDocument[] batch = new SpaceDocument[batchSize];
+        for (int i = 0; i < batchSize; i++)
+            batch[i] = state.createEntry(firstId + i, random);
+        return state.getSpace().writeMultiple(batch, null, Lease.FOREVER, WriteModifiers.UPDATE_OR_WRITE.getCode());
+    }
+
+    @Benchmark
+    public Object[] readMultiple(EmbeddedSpaceState state) throws Exception {
+        long bucket = ThreadLocalRandom.current().nextInt(state.entries / EmbeddedSpaceState.BUCKET_SIZE);
+        SQLQuery<SpaceDocument> query = new SQLQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, "bucket = ?", bucket);
+        return state.getSpace().readMultiple(query, null, batchSize);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per concurrency level, all the other JMH command line options (benchmark
+ * filter, parameters, iterations...) are passed through as is. The module is built with the
+ * <code>benchmarks</code> profile only (<code>mvn install -P benchmarks</code>). Usage:
+ * <pre>
+ * java -Dxap.benchmarks.threads=1,4,16 -jar target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ * An explicit <code>-t</code> option overrides the concurrency levels.
+ *
+ * @since 12.3
+ */
+public class BenchmarksRunner {
+    public static final String THREADS_PROPERTY = "xap.benchmarks.threads";
+    private static final String DEFAULT_THREADS = "1,4,16";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()
+                || commandLineOptions.getThreads().hasValue()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        for (String threads : System.getProperty(THREADS_PROPERTY, DEFAULT_THREADS).split(",")) {
+            new Runner(new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.document.SpaceDocument;
+import com.gigaspaces.internal.client.spaceproxy.metadata.ObjectType;
+import com.gigaspaces.internal.cluster.node.impl.backlog.globalorder.GlobalOrderOperationPacket;
+import com.gigaspaces.internal.cluster.node.impl.packets.BatchReplicatedDataPacket;
+import com.gigaspaces.internal.cluster.node.impl.packets.IReplicationOrderedPacket;
+import com.gigaspaces.internal.cluster.node.impl.packets.data.operations.WriteReplicationPacketData;
+import com.gigaspaces.internal.io.GSByteArrayOutputStream;
+import com.gigaspaces.internal.io.IOUtils;
+import com.gigaspaces.internal.io.MarshalOutputStream;
+import com.gigaspaces.internal.transport.IEntryPacket;
+import com.gigaspaces.lrmi.nio.filters.IOStreamCompressionFilter;
+import com.gigaspaces.lrmi.nio.filters.IOStreamFilter;
+import com.gigaspaces.lrmi.nio.filters.IOStreamLZ4CompressionFilter;
+
+import net.jini.core.lease.Lease;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression and decompression of marshalled replication batches (a {@link
+ * BatchReplicatedDataPacket} of write packets) by the LRMI stream compression filters. The
+ * payload of the entries is text like, so the batches are compressible. <p> Scores are batches per
+ * second, the <code>uncompressedBytes</code> and <code>compressedBytes</code> secondary results
+ * are bytes per second: their ratio is the compression ratio, and the uncompressed bytes rate is
+ * the compression (or decompression) throughput.
+ *
+ * @since 12.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"zip", "lz4"})
+    public String codec;
+
+    @Param({"10", "100"})
+    public int batchSize;
+
+    private IOStreamFilter _filter;
+    private byte[] _batch;
+    private byte[] _compressedBatch;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long uncompressedBytes;
+        public long compressedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void createBatch(EmbeddedSpaceState state) throws Exception {
+        if ("zip".equals(codec))
+            _filter = new IOStreamCompressionFilter(IOStreamCompressionFilter.Algo.ZIP);
+        else if ("lz4".equals(codec))
+            _filter = new IOStreamLZ4CompressionFilter(0);
+        else
+            throw new IllegalArgumentException("Unknown codec " + codec);
+
+        Random random = new Random(0);
+        List<IReplicationOrderedPacket> packets = new ArrayList<IReplicationOrderedPacket>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            SpaceDocument entry = state.createEntry(i, random).setProperty("payload", textPayload(i, state.entrySize, random));
+            IEntryPacket entryPacket = state.getSpace().getDirectProxy().getTypeManager().getEntryPacketFromObject(entry, ObjectType.DOCUMENT);
+            packets.add(new GlobalOrderOperationPacket(i, new WriteReplicationPacketData(entryPacket, false, Lease.FOREVER)));
+        }
+        BatchReplicatedDataPacket batch = new BatchReplicatedDataPacket("benchmark-group");
+        batch.setBatch(packets);
+        _batch = marshal(batch);
+        _compressedBatch = _filter.wrap(ByteBuffer.wrap(_batch));
+    }
+
+    @Benchmark
+    public byte[] compress(Sizes sizes) throws Exception {
+        byte[] compressed = _filter.wrap(ByteBuffer.wrap(_batch));
+        sizes.uncompressedBytes += _batch.length;
+        sizes.compressedBytes += compressed.length;
+        return compressed;
+    }
+
+    @Benchmark
+    public byte[] decompress(Sizes sizes) throws Exception {
+        byte[] batch = _filter.unrwap(ByteBuffer.wrap(_compressedBatch));
+        sizes.uncompressedBytes += batch.length;
+        sizes.compressedBytes += _compressedBatch.length;
+        return batch;
+    }
+
+    /**
+     * Key value pairs of a few distinct keys and values, as in a serialized business object.
+     */
+    private static byte[] textPayload(long id, int size, Random random) {
+        StringBuilder sb = new StringBuilder(size + 64);
+        while (sb.length() < size)
+            sb.append("{account=").append(id).append(", currency=").append(random.nextBoolean() ? "USD" : "EUR")
+                    .append(", amount=").append(random.nextInt(100000)).append(", status=PENDING}");
+        sb.setLength(size);
+        return sb.toString().getBytes();
+    }
+
+    private static byte[] marshal(BatchReplicatedDataPacket batch) throws IOException {
+        GSByteArrayOutputStream bos = new GSByteArrayOutputStream();
+        MarshalOutputStream out = new MarshalOutputStream(bos, false);
+        try {
+            IOUtils.writeObject(out, batch);
+            out.flush();
+            return bos.toByteArray();
+        } finally {
+            out.closeContext();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.document.SpaceDocument;
+import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.server.space.SpaceEngine;
+import com.gigaspaces.metadata.SpaceTypeDescriptorBuilder;
+import com.gigaspaces.metadata.index.SpaceIndexType;
+import com.j_spaces.core.Constants;
+import com.j_spaces.core.client.SQLQuery;
+import com.j_spaces.core.client.SpaceFinder;
+import com.j_spaces.core.cache.TypeData;
+
+import net.jini.core.lease.Lease;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An embedded space (no network, no lookup service registration) pre-loaded with document entries
+ * of the {@link #TYPE_NAME} type, which is shared by all the benchmark threads.
+ *
+ * The type has a Long id and <code>indexCount</code> indexed properties: <code>bucket</code> (equal
+ * index, {@link #BUCKET_SIZE} entries per value), <code>ordinal</code> (ordered index, equal to the
+ * id) and <code>index2</code>, <code>index3</code>... (equal indexes). The non indexed properties
+ * are <code>tag</code> ({@link #TAGS} distinct values), <code>counter</code> and a
+ * <code>payload</code> byte array of <code>entrySize</code> bytes.
+ *
+ * @since 12.3
+ */
+@State(Scope.Benchmark)
+public class EmbeddedSpaceState {
+    public static final String TYPE_NAME = "BenchmarkEntry";
+    public static final int BUCKET_SIZE = 100;
+    public static final int TAGS = 16;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Param({"128", "1024"})
+    public int entrySize;
+
+    @Param({"2", "8"})
+    public int indexCount;
+
+    @Param({"100000"})
+    public int entries;
+
+    private ISpaceProxy _space;
+    private final AtomicLong _nextId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startSpace() throws Exception {
+        if (indexCount < 2)
+            throw new IllegalArgumentException("indexCount must be at least 2 (bucket and ordinal), got " + indexCount);
+        // no lookup service, the space is only accessed through the embedded proxy
+        Properties properties = new Properties();
+        properties.setProperty(Constants.LookupManager.LOOKUP_ENABLED_PROP, "false");
+        properties.setProperty(Constants.LookupManager.START_EMBEDDED_LOOKUP_PROP, "false");
+        _space = (ISpaceProxy) SpaceFinder.find("/./benchmark-space?groups=xap-benchmarks-" + System.nanoTime(), properties);
+        _space.getDirectProxy().registerTypeDescriptor(createTypeDescriptor());
+
+        Random random = new Random(0);
+        for (int from = 0; from < entries; from += LOAD_BATCH_SIZE) {
+            int size = Math.min(LOAD_BATCH_SIZE, entries - from);
+            SpaceDocument[] batch = new SpaceDocument[size];
+            for (int i = 0; i < size; i++)
+                batch[i] = createEntry(from + i, random);
+            _space.writeMultiple(batch, null, Lease.FOREVER);
+        }
+        _nextId.set(entries);
+    }
+
+    /**
+     * Removes the entries written by the benchmark itself, so every iteration starts with the same
+     * space content.
+     */
+    @TearDown(Level.Iteration)
+    public void removeWrittenEntries() throws Exception {
+        if (_nextId.get() != entries) {
+            _space.clear(new SQLQuery<SpaceDocument>(TYPE_NAME, "id >= ?", (long) entries), null);
+            _nextId.set(entries);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownSpace() throws Exception {
+        _space.getDirectProxy().getSpaceImplIfEmbedded().shutdown();
+    }
+
+    public ISpaceProxy getSpace() {
+        return _space;
+    }
+
+    public SpaceEngine getEngine() {
+        return _space.getDirectProxy().getSpaceImplIfEmbedded().getEngine();
+    }
+
+    public TypeData getTypeData() {
+        SpaceEngine engine = getEngine();
+        return engine.getCacheManager().getTypeData(engine.getTypeManager().getServerTypeDesc(TYPE_NAME));
+    }
+
+    /**
+     * @return an id which is not in the space, the entry is removed at the end of the iteration.
+     */
+    public long nextNewId() {
+        return _nextId.getAndIncrement();
+    }
+
+    public SpaceDocument createEntry(long id, Random random) {
+        byte[] payload = new byte[entrySize];
+        random.nextBytes(payload);
+        SpaceDocument entry = new SpaceDocument(TYPE_NAME)
+                .setProperty("id", id)
+                .setProperty("bucket", id / BUCKET_SIZE)
+                .setProperty("ordinal", id)
+                .setProperty("tag", tagOf(id))
+                .setProperty("counter", 0L)
+                .setProperty("payload", payload);
+        for (int i = 2; i < indexCount; i++)
+            entry.setProperty("index" + i, id * indexCount + i);
+        return entry;
+    }
+
+    public static String tagOf(long id) {
+        return "tag-" + (id % TAGS);
+    }
+
+    private ITypeDesc createTypeDescriptor() {
+        SpaceTypeDescriptorBuilder builder = new SpaceTypeDescriptorBuilder(TYPE_NAME)
+                .idProperty("id", false)
+                .addFixedProperty("id", Long.class)
+                .addFixedProperty("bucket", Long.class)
+                .addFixedProperty("ordinal", Long.class)
+                .addFixedProperty("tag", String.class)
+                .addFixedProperty("counter", Long.class)
+                .addFixedProperty("payload", byte[].class)
+                .addPropertyIndex("bucket", SpaceIndexType.BASIC)
+                .addPropertyIndex("ordinal", SpaceIndexType.EXTENDED);
+        for (int i = 2; i < indexCount; i++) {
+            builder.addFixedProperty("index" + i, Long.class);
+            builder.addPropertyIndex("index" + i, SpaceIndexType.BASIC);
+        }
+        return (ITypeDesc) builder.create();
+    }
+}
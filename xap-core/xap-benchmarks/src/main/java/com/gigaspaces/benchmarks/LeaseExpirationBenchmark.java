@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.internal.backport.java.util.concurrent.FastConcurrentSkipListMap;
+import com.gigaspaces.internal.lease.ExpirationTimingWheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained lease churn against the expiration cells of the lease manager: every invocation
+ * registers a batch of leases with random durations in their cells (creating missing cells), and
+ * then reaps the cells that expired as the simulated clock advances, the way the lease reaper does.
+ * Compares the skip list cells with the timing wheel cells. Scores are leases per second.
+ *
+ * @since 12.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaseExpirationBenchmark {
+    private static final int LEASES = 1000;
+    private static final int RANDOM_DURATIONS = 1 << 16;
+
+    @Param({"skiplist", "wheel"})
+    public String cellsType;
+
+    @Param({"10", "1000"})
+    public long tick;
+
+    @Param({"60000"})
+    public long maxLeaseDuration;
+
+    private Cells _cells;
+    private long[] _durations;
+    private int _nextDuration;
+    private long _currentTime;
+
+    @Setup(Level.Trial)
+    public void createCells() {
+        if ("skiplist".equals(cellsType))
+            _cells = new SkipListCells();
+        else if ("wheel".equals(cellsType))
+            _cells = new WheelCells(new ExpirationTimingWheel<LeaseCell>(tick, 4096, 0));
+        else
+            throw new IllegalArgumentException("Unknown cells type " + cellsType);
+        _durations = new long[RANDOM_DURATIONS];
+        Random random = new Random(0);
+        for (int i = 0; i < _durations.length; i++)
+            _durations[i] = 1 + (long) (random.nextDouble() * maxLeaseDuration);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEASES)
+    public int churn() {
+        final Cells cells = _cells;
+        for (int i = 0; i < LEASES; i++) {
+            long expiration = _currentTime + _durations[_nextDuration++ & (RANDOM_DURATIONS - 1)];
+            Long cellTime = (expiration / tick + 1) * tick;
+            LeaseCell cell = cells.get(cellTime);
+            if (cell == null) {
+                cell = new LeaseCell(cellTime);
+                LeaseCell current = cells.putIfAbsent(cellTime, cell);
+                if (current != null)
+                    cell = current;
+            }
+            cell._leases++;
+        }
+        _currentTime++;
+        return reap();
+    }
+
+    private int reap() {
+        int reaped = 0;
+        Iterator<LeaseCell> iter = _cells.iterator();
+        while (iter.hasNext()) {
+            LeaseCell cell = iter.next();
+            if (cell._time > _currentTime)
+                break;
+            reaped += cell._leases;
+            iter.remove();
+        }
+        _cells.advance(_currentTime);
+        return reaped;
+    }
+
+    private static final class LeaseCell {
+        private final long _time;
+        private int _leases;
+
+        private LeaseCell(long time) {
+            _time = time;
+        }
+    }
+
+    private interface Cells {
+        LeaseCell get(Long time);
+
+        LeaseCell putIfAbsent(Long time, LeaseCell cell);
+
+        Iterator<LeaseCell> iterator();
+
+        void advance(long time);
+    }
+
+    private static final class SkipListCells implements Cells {
+        private final FastConcurrentSkipListMap<Long, LeaseCell> _cells = new FastConcurrentSkipListMap<Long, LeaseCell>();
+
+        public LeaseCell get(Long time) {
+            return _cells.get(time);
+        }
+
+        public LeaseCell putIfAbsent(Long time, LeaseCell cell) {
+            return _cells.putIfAbsent(time, cell);
+        }
+
+        public Iterator<LeaseCell> iterator() {
+            return _cells.values().iterator();
+        }
+
+        public void advance(long time) {
+        }
+    }
+
+    private static final class WheelCells implements Cells {
+        private final ExpirationTimingWheel<LeaseCell> _wheel;
+
+        private WheelCells(ExpirationTimingWheel<LeaseCell> wheel) {
+            _wheel = wheel;
+        }
+
+        public LeaseCell get(Long time) {
+            return _wheel.get(time);
+        }
+
+        public LeaseCell putIfAbsent(Long time, LeaseCell cell) {
+            return _wheel.putIfAbsent(time, cell);
+        }
+
+        public Iterator<LeaseCell> iterator() {
+            return _wheel.iterator();
+        }
+
+        public void advance(long time) {
+            _wheel.advance(time);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.internal.utils.collections.ConcurrentPrimitiveKeyHashMap;
+import com.gigaspaces.internal.utils.collections.PrimitiveKeyType;
+import com.j_spaces.kernel.SystemProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stores of an index over a long property, as created by TypeDataIndex: a
+ * ConcurrentHashMap (the default) and a ConcurrentPrimitiveKeyHashMap
+ * (<code>engine.use_primitive_key_index_store</code>). <p> <code>get</code> is the equality
+ * lookup of a query, run it at several concurrency levels since the primitive store takes a
+ * segment read lock per lookup. <p> <code>populate</code> fills a presized store, so with the GC
+ * profiler (<code>-prof gc</code>) its normalized allocation rate (<code>gc.alloc.rate.norm</code>)
+ * is the heap taken by the store per entry. The keys are allocated beforehand since an index
+ * shares the property values of its entries.
+ *
+ * @since 12.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimitiveKeyIndexStoreBenchmark {
+    private static final int POPULATED_ENTRIES = 1 << 20;
+    private static final Object VALUE = new Object();
+
+    @Param({"chm", "primitive"})
+    public String storeType;
+
+    private Long[] _keys;
+    private ConcurrentMap<Object, Object> _store;
+
+    @Setup(Level.Trial)
+    public void createStore() {
+        _keys = new Long[POPULATED_ENTRIES];
+        for (int i = 0; i < _keys.length; i++)
+            _keys[i] = (long) i * 31;
+        _store = populate();
+    }
+
+    @Benchmark
+    public Object get() {
+        return _store.get(_keys[ThreadLocalRandom.current().nextInt(_keys.length)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POPULATED_ENTRIES)
+    public ConcurrentMap<Object, Object> populate() {
+        ConcurrentMap<Object, Object> store = newStore(POPULATED_ENTRIES);
+        for (Long key : _keys)
+            store.put(key, VALUE);
+        return store;
+    }
+
+    private ConcurrentMap<Object, Object> newStore(int capacity) {
+        int segments = Integer.getInteger(SystemProperties.CACHE_MANAGER_HASHMAP_SEGMENTS, SystemProperties.CACHE_MANAGER_HASHMAP_SEGMENTS_DEFAULT);
+        if ("chm".equals(storeType))
+            return new ConcurrentHashMap<Object, Object>(capacity, 0.75f, segments);
+        if ("primitive".equals(storeType))
+            return new ConcurrentPrimitiveKeyHashMap<Object>(PrimitiveKeyType.LONG, capacity, segments);
+        throw new IllegalArgumentException("Unknown store type " + storeType);
+    }
+}
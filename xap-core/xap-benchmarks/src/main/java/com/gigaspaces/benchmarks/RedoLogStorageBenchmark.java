@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.mapped.MappedByteBufferStorageFactory;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.raf.RAFByteBufferStorageFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Swap out (sequential append) and swap in (sequential read) of redo log packets through the
+ * {@link IByteBufferStorage} implementations. Packets are written the way the redo log storage
+ * writes them: a few header values followed by the serialized packet and its length. Scores are
+ * packets per second.
+ *
+ * @since 12.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedoLogStorageBenchmark {
+    private static final int PACKETS = 10000;
+
+    @Param({"raf", "mapped"})
+    public String storageType;
+
+    @Param({"256", "4096"})
+    public int packetSize;
+
+    private IByteBufferStorage _storage;
+    private IByteBufferStorageCursor _cursor;
+    private byte[] _packet;
+    private long _swappedLength;
+
+    @Setup(Level.Trial)
+    public void createStorage() throws Exception {
+        if ("raf".equals(storageType))
+            _storage = new RAFByteBufferStorageFactory("redolog_benchmark").createStorage();
+        else if ("mapped".equals(storageType))
+            _storage = new MappedByteBufferStorageFactory("redolog_benchmark").createStorage();
+        else
+            throw new IllegalArgumentException("Unknown storage type " + storageType);
+        _packet = new byte[packetSize];
+        new Random(0).nextBytes(_packet);
+
+        // content for swap in
+        _cursor = _storage.getCursor();
+        swapOut();
+        _swappedLength = _cursor.getPosition();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStorage() {
+        _storage.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public long swapOut() {
+        IByteBufferStorageCursor cursor = _cursor;
+        cursor.setPosition(0);
+        for (int i = 0; i < PACKETS; i++) {
+            cursor.writeLong(i);
+            cursor.writeInt(_packet.length);
+            cursor.writeBytes(_packet, 0, _packet.length);
+            cursor.writeInt(_packet.length + 12);
+        }
+        return cursor.getPosition();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public long swapIn() {
+        IByteBufferStorageCursor cursor = _cursor;
+        cursor.setPosition(0);
+        long sum = 0;
+        byte[] packet = new byte[packetSize];
+        while (cursor.getPosition() < _swappedLength) {
+            sum += cursor.readLong();
+            cursor.readBytes(packet, 0, cursor.readInt());
+            sum += cursor.readInt();
+        }
+        return sum + packet[0];
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.internal.client.spaceproxy.metadata.ObjectType;
+import com.gigaspaces.internal.io.GSByteArrayInputStream;
+import com.gigaspaces.internal.io.GSByteArrayOutputStream;
+import com.gigaspaces.internal.io.IOUtils;
+import com.gigaspaces.internal.io.MarshalInputStream;
+import com.gigaspaces.internal.io.MarshalOutputStream;
+import com.gigaspaces.internal.serialization.IClassSerializer;
+import com.gigaspaces.internal.transport.IEntryPacket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marshalling of the entry packets sent between a remote proxy and the space, using the same
+ * streams as the LRMI transport, and of their property values using the {@link IClassSerializer}
+ * of each value type, as done by {@link IOUtils#writeObject}.
+ *
+ * @since 12.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private IEntryPacket _packet;
+    private byte[] _marshalledPacket;
+    private GSByteArrayOutputStream _reusedBuffer;
+    private MarshalOutputStream _reusedStream;
+    private Object[] _propertyValues;
+    private IClassSerializer[] _propertySerializers;
+
+    @Setup(Level.Trial)
+    public void createPacket(EmbeddedSpaceState state) throws IOException {
+        _packet = state.getSpace().getDirectProxy().getTypeManager().getEntryPacketFromObject(
+                state.createEntry(0, new Random(0)), ObjectType.DOCUMENT);
+        _marshalledPacket = marshal(_packet);
+        _reusedBuffer = new GSByteArrayOutputStream();
+        _reusedStream = new MarshalOutputStream(_reusedBuffer, true);
+        _propertyValues = _packet.getFieldValues();
+        _propertySerializers = new IClassSerializer[_propertyValues.length];
+        for (int i = 0; i < _propertyValues.length; i++)
+            _propertySerializers[i] = IOUtils.getClassSerializer(_propertyValues[i] != null ? _propertyValues[i].getClass() : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeStreams() throws IOException {
+        _reusedStream.close();
+    }
+
+    /**
+     * A new stream per packet, as done by the LRMI writer when its buffer is in use.
+     */
+    @Benchmark
+    public byte[] marshalEntryPacketNewStream() throws IOException {
+        return marshal(_packet);
+    }
+
+    /**
+     * A stream which is reset between packets and keeps its class descriptors context, as done by
+     * the LRMI writer of a connection.
+     */
+    @Benchmark
+    public int marshalEntryPacketReusedStream() throws IOException {
+        _reusedBuffer.reset();
+        IOUtils.writeObject(_reusedStream, _packet);
+        _reusedStream.flush();
+        int size = _reusedBuffer.size();
+        _reusedStream.reset();
+        return size;
+    }
+
+    /**
+     * The property values of the packet, each written by the serializer of its type.
+     */
+    @Benchmark
+    public int serializePropertyValues() throws IOException {
+        _reusedBuffer.reset();
+        for (int i = 0; i < _propertyValues.length; i++) {
+            _reusedStream.writeByte(_propertySerializers[i].getCode());
+            _propertySerializers[i].write(_reusedStream, _propertyValues[i]);
+        }
+        _reusedStream.flush();
+        int size = _reusedBuffer.size();
+        _reusedStream.reset();
+        return size;
+    }
+
+    @Benchmark
+    public Object unmarshalEntryPacket() throws IOException, ClassNotFoundException {
+        MarshalInputStream in = new MarshalInputStream(new GSByteArrayInputStream(_marshalledPacket), MarshalInputStream.createContext());
+        return IOUtils.readObject(in);
+    }
+
+    private static byte[] marshal(IEntryPacket packet) throws IOException {
+        GSByteArrayOutputStream bos = new GSByteArrayOutputStream();
+        MarshalOutputStream out = new MarshalOutputStream(bos, false);
+        try {
+            IOUtils.writeObject(out, packet);
+            out.flush();
+            return bos.toByteArray();
+        } finally {
+            out.closeContext();
+        }
+    }
+}
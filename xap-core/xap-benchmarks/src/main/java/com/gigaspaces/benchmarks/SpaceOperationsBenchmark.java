@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.client.ChangeModifiers;
+import com.gigaspaces.client.ChangeResult;
+import com.gigaspaces.client.ChangeSet;
+import com.gigaspaces.client.ReadModifiers;
+import com.gigaspaces.client.TakeModifiers;
+import com.gigaspaces.document.SpaceDocument;
+import com.gigaspaces.internal.client.QueryResultTypeInternal;
+import com.gigaspaces.query.IdQuery;
+import com.j_spaces.core.LeaseContext;
+import com.j_spaces.core.client.SQLQuery;
+
+import net.jini.core.lease.Lease;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry operations of an embedded space, each one going through the proxy directly to the
+ * SpaceEngine of the same JVM.
+ *
+ * @since 12.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpaceOperationsBenchmark {
+    private static final ChangeSet INCREMENT_COUNTER = new ChangeSet().increment("counter", 1L);
+
+    @Benchmark
+    public LeaseContext<?> write(EmbeddedSpaceState state) throws Exception {
+        SpaceDocument entry = state.createEntry(state.nextNewId(), ThreadLocalRandom.current());
+        return state.getSpace().write(entry, null, Lease.FOREVER);
+    }
+
+    @Benchmark
+    public Object readById(EmbeddedSpaceState state) throws Exception {
+        return state.getSpace().readById(EmbeddedSpaceState.TYPE_NAME, randomId(state), null, null, 0,
+                ReadModifiers.NONE.getCode(), false, QueryResultTypeInternal.DOCUMENT_ENTRY, null);
+    }
+
+    @Benchmark
+    public Object readByTemplate(EmbeddedSpaceState state) throws Exception {
+        SQLQuery<SpaceDocument> query = new SQLQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, "bucket = ?",
+                randomId(state) / EmbeddedSpaceState.BUCKET_SIZE);
+        return state.getSpace().read(query, null, 0);
+    }
+
+    /**
+     * Takes a random entry and writes it back, so the space content is kept stable.
+     */
+    @Benchmark
+    public Object takeAndWriteBack(EmbeddedSpaceState state) throws Exception {
+        Object entry = state.getSpace().takeById(EmbeddedSpaceState.TYPE_NAME, randomId(state), null, 0, null, 0,
+                TakeModifiers.NONE.getCode(), false, QueryResultTypeInternal.DOCUMENT_ENTRY, null);
+        if (entry != null)
+            state.getSpace().write(entry, null, Lease.FOREVER);
+        return entry;
+    }
+
+    @Benchmark
+    public ChangeResult<SpaceDocument> change(EmbeddedSpaceState state) throws Exception {
+        IdQuery<SpaceDocument> query = new IdQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, randomId(state));
+        return state.getSpace().change(query, INCREMENT_COUNTER, null, 0, ChangeModifiers.NONE);
+    }
+
+    private static long randomId(EmbeddedSpaceState state) {
+        return ThreadLocalRandom.current().nextInt(state.entries);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.gigaspaces.document.SpaceDocument;
+import com.j_spaces.core.client.SQLQuery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template matching done by the Processor for the candidates an index yields: in each query the
+ * index narrows the scan and the non indexed <code>tag</code> condition has to be matched against
+ * every candidate.
+ *
+ * @since 12.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateMatchingBenchmark {
+    /**
+     * Equal index candidates ({@link EmbeddedSpaceState#BUCKET_SIZE}), matched by a non indexed
+     * property.
+     */
+    @Benchmark
+    public Object[] matchBucketByTag(EmbeddedSpaceState state) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long bucket = random.nextInt(state.entries / EmbeddedSpaceState.BUCKET_SIZE);
+        SQLQuery<SpaceDocument> query = new SQLQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, "bucket = ? AND tag = ?",
+                bucket, EmbeddedSpaceState.tagOf(random.nextInt(EmbeddedSpaceState.TAGS)));
+        return state.getSpace().readMultiple(query, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ordered index range candidates, matched by a non indexed property.
+     */
+    @Benchmark
+    public Object[] matchRangeByTag(EmbeddedSpaceState state) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextInt(state.entries - EmbeddedSpaceState.BUCKET_SIZE);
+        SQLQuery<SpaceDocument> query = new SQLQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, "ordinal >= ? AND ordinal < ? AND tag = ?",
+                from, from + EmbeddedSpaceState.BUCKET_SIZE, EmbeddedSpaceState.tagOf(random.nextInt(EmbeddedSpaceState.TAGS)));
+        return state.getSpace().readMultiple(query, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A single match out of the candidates, the scan stops at the first match.
+     */
+    @Benchmark
+    public Object readFirstMatch(EmbeddedSpaceState state) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextInt(state.entries - EmbeddedSpaceState.BUCKET_SIZE);
+        SQLQuery<SpaceDocument> query = new SQLQuery<SpaceDocument>(EmbeddedSpaceState.TYPE_NAME, "ordinal >= ? AND tag = ?",
+                from, EmbeddedSpaceState.tagOf(random.nextInt(EmbeddedSpaceState.TAGS)));
+        return state.getSpace().read(query, null, 0);
+    }
+}
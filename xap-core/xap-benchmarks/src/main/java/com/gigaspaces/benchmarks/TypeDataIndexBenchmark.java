@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.benchmarks;
+
+import com.j_spaces.core.cache.IEntryCacheInfo;
+import com.j_spaces.core.cache.TypeData;
+import com.j_spaces.core.cache.TypeDataIndex;
+import com.j_spaces.core.client.TemplateMatchCodes;
+import com.j_spaces.kernel.list.IScanListIterator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in the TypeDataIndex stores of the loaded type, without the surrounding query handling.
+ *
+ * @since 12.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeDataIndexBenchmark {
+    private static final int SCAN_LENGTH = 10;
+
+    private TypeDataIndex<Long> _idIndex;
+    private TypeDataIndex<Long> _bucketIndex;
+    private TypeDataIndex<Long> _ordinalIndex;
+
+    @Setup(Level.Trial)
+    public void resolveIndexes(EmbeddedSpaceState state) {
+        TypeData typeData = state.getTypeData();
+        _idIndex = typeData.getIdField();
+        _bucketIndex = (TypeDataIndex<Long>) typeData.getIndex("bucket");
+        _ordinalIndex = (TypeDataIndex<Long>) typeData.getIndex("ordinal");
+    }
+
+    @Benchmark
+    public Object idLookup(EmbeddedSpaceState state) {
+        return lookup(_idIndex, (long) ThreadLocalRandom.current().nextInt(state.entries));
+    }
+
+    @Benchmark
+    public Object equalIndexLookup(EmbeddedSpaceState state) {
+        return lookup(_bucketIndex, (long) ThreadLocalRandom.current().nextInt(state.entries / EmbeddedSpaceState.BUCKET_SIZE));
+    }
+
+    @Benchmark
+    public int orderedIndexScan(EmbeddedSpaceState state) throws Exception {
+        long from = ThreadLocalRandom.current().nextInt(state.entries - SCAN_LENGTH);
+        IScanListIterator<IEntryCacheInfo> scan = _ordinalIndex.getExtendedIndexForScanning().establishScan(from, TemplateMatchCodes.GE, from + SCAN_LENGTH, false);
+        if (scan == null)
+            return 0;
+        int count = 0;
+        try {
+            while (scan.hasNext() && scan.next() != null)
+                count++;
+        } finally {
+            scan.releaseScan();
+        }
+        return count;
+    }
+
+    private static Object lookup(TypeDataIndex<Long> index, Long value) {
+        return index.isUniqueIndex() ? index.getUniqueEntriesStore().get(value) : index.getNonUniqueEntriesStore().get(value);
+    }
+}
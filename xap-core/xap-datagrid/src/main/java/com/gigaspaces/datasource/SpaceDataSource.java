@@ -60,6 +60,21 @@ public abstract class SpaceDataSource {
         return null;
     }
 
+    /**
+     * This method is invoked instead of {@link #initialDataLoad()} when the space is configured to
+     * load its data with several threads (<code>space-config.engine.initial_load_threads</code>).
+     * Each of the returned iterators is consumed by its own thread, so each should stream a
+     * disjoint part of the data, e.g. a table or a range of keys, without materializing it.
+     * <p>Entries of different iterators may be inserted in any order.</p>
+     *
+     * @return The iterators which contain all data to be written to Space upon its initialization,
+     * or null to load the data of {@link #initialDataLoad()} with a single thread.
+     * @since 12.3
+     */
+    public DataIterator<Object>[] initialDataLoadIterators() {
+        return null;
+    }
+
     /**
      * This method is invoked whenever the space needs to read data which matches the provided
      * {@link DataSourceQuery} from the space data source. <p>If this implementation doesn't
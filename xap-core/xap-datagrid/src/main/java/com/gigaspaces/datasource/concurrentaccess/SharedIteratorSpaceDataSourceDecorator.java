@@ -147,6 +147,11 @@ public class SharedIteratorSpaceDataSourceDecorator
         return _spaceDataSource.initialDataLoad();
     }
 
+    @Override
+    public DataIterator<Object>[] initialDataLoadIterators() {
+        return _spaceDataSource.initialDataLoadIterators();
+    }
+
     @Override
     public DataIterator<SpaceTypeDescriptor> initialMetadataLoad() {
         return _spaceDataSource.initialMetadataLoad();
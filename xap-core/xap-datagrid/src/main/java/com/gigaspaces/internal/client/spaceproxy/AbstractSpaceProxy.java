@@ -527,6 +527,54 @@ public abstract class AbstractSpaceProxy implements ISpaceProxy {
         return _actionManager.aggregate(template, aggregationSet, txn, readModifiers);
     }
 
+    @Override
+    public AsyncFuture<LeaseContext<?>> asyncWrite(Object entry, Transaction txn, long lease, long timeout, int modifiers,
+                                                   AsyncFutureListener<LeaseContext<?>> listener)
+            throws RemoteException {
+        return _actionManager.asyncWrite(entry, txn, lease, timeout, modifiers, listener);
+    }
+
+    @Override
+    public AsyncFuture<LeaseContext<?>[]> asyncWriteMultiple(Object[] objects, Transaction txn, long lease, long[] leases, long timeout,
+                                                             int modifiers, AsyncFutureListener<LeaseContext<?>[]> listener)
+            throws RemoteException {
+        return _actionManager.asyncWriteMultiple(objects, txn, lease, leases, timeout, modifiers, listener);
+    }
+
+    @Override
+    public AsyncFuture asyncReadById(String className, Object id, Object routing, Transaction txn, long timeout, int modifiers,
+                                     QueryResultTypeInternal resultType, String[] projections, AsyncFutureListener listener)
+            throws RemoteException {
+        return _actionManager.asyncReadById(className, id, routing, txn, timeout, modifiers, resultType, projections, listener);
+    }
+
+    @Override
+    public AsyncFuture<Object[]> asyncReadByIds(String className, Object[] ids, Object routing, Object[] routings, Transaction txn,
+                                                int modifiers, QueryResultTypeInternal resultType, boolean returnPackets,
+                                                String[] projections, AsyncFutureListener<Object[]> listener)
+            throws RemoteException {
+        return _actionManager.asyncReadByIds(className, ids, routing, routings, txn, modifiers, resultType, returnPackets, projections, listener);
+    }
+
+    @Override
+    public AsyncFuture<Integer> asyncCount(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener)
+            throws RemoteException {
+        return _actionManager.asyncCount(template, txn, modifiers, listener);
+    }
+
+    @Override
+    public AsyncFuture<Integer> asyncClear(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener)
+            throws RemoteException {
+        return _actionManager.asyncClear(template, txn, modifiers, listener);
+    }
+
+    @Override
+    public AsyncFuture<AggregationResult> asyncAggregate(Object template, AggregationSet aggregationSet, Transaction txn,
+                                                         int readModifiers, AsyncFutureListener<AggregationResult> listener)
+            throws RemoteException {
+        return _actionManager.asyncAggregate(template, aggregationSet, txn, readModifiers, listener);
+    }
+
     //Flush to main memory
     public synchronized void setAppDomainId(int appDomainId) {
         _associatedAppDomainId = appDomainId;
@@ -266,4 +266,46 @@ public interface ISpaceProxy extends IJSpace, ActionMaker, SecuredService, IDotn
     <T> Future<ChangeResult<T>> asyncChange(Object template, ChangeSet changeSet, Transaction txn, long timeout, ChangeModifiers modifiers, AsyncFutureListener<ChangeResult<T>> listener) throws RemoteException;
 
     AggregationResult aggregate(Object template, AggregationSet aggregationSet, Transaction txn, int readModifiers) throws RemoteException, TransactionException, InterruptedException;
+
+    /**
+     * Writes an entry to the space without blocking the calling thread. The future completes
+     * with the lease of the written entry, or with the exception the synchronous write would
+     * have thrown.
+     *
+     * @since 12.3
+     */
+    AsyncFuture<LeaseContext<?>> asyncWrite(Object entry, Transaction txn, long lease, long timeout, int modifiers, AsyncFutureListener<LeaseContext<?>> listener) throws RemoteException;
+
+    /**
+     * @since 12.3
+     */
+    AsyncFuture<LeaseContext<?>[]> asyncWriteMultiple(Object[] objects, Transaction txn, long lease, long[] leases, long timeout, int modifiers, AsyncFutureListener<LeaseContext<?>[]> listener) throws RemoteException;
+
+    /**
+     * @since 12.3
+     */
+    AsyncFuture asyncReadById(String className, Object id, Object routing, Transaction txn, long timeout, int modifiers, QueryResultTypeInternal resultType, String[] projections, AsyncFutureListener listener) throws RemoteException;
+
+    /**
+     * Reads entries by their ids without blocking the calling thread. Either a single routing
+     * for all ids or a routing per id may be specified.
+     *
+     * @since 12.3
+     */
+    AsyncFuture<Object[]> asyncReadByIds(String className, Object[] ids, Object routing, Object[] routings, Transaction txn, int modifiers, QueryResultTypeInternal resultType, boolean returnPackets, String[] projections, AsyncFutureListener<Object[]> listener) throws RemoteException;
+
+    /**
+     * @since 12.3
+     */
+    AsyncFuture<Integer> asyncCount(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener) throws RemoteException;
+
+    /**
+     * @since 12.3
+     */
+    AsyncFuture<Integer> asyncClear(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener) throws RemoteException;
+
+    /**
+     * @since 12.3
+     */
+    AsyncFuture<AggregationResult> asyncAggregate(Object template, AggregationSet aggregationSet, Transaction txn, int readModifiers, AsyncFutureListener<AggregationResult> listener) throws RemoteException;
 }
@@ -17,6 +17,7 @@
 package com.gigaspaces.internal.client.spaceproxy.actioninfo;
 
 import com.gigaspaces.async.AsyncFutureListener;
+import com.gigaspaces.internal.client.QueryResultTypeInternal;
 import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
 import com.j_spaces.jdbc.builder.SQLQueryTemplatePacket;
 
@@ -39,6 +40,13 @@ public class ReadTakeAsyncProxyActionInfo extends ReadTakeProxyActionInfo {
             this.queryPacket = spaceProxy.getDirectProxy().getQueryManager().getSQLTemplate((SQLQueryTemplatePacket) this.queryPacket, txn);
     }
 
+    public ReadTakeAsyncProxyActionInfo(ISpaceProxy spaceProxy, String className, Object id, Object routing, Transaction txn,
+                                        long timeout, int modifiers, QueryResultTypeInternal resultType, boolean isTake,
+                                        String[] projections, AsyncFutureListener<?> listener) {
+        super(spaceProxy, className, id, routing, 0, txn, timeout, modifiers, resultType, false, isTake, projections, null);
+        this.listener = listener;
+    }
+
     @Override
     public boolean isAsync() {
         return true;
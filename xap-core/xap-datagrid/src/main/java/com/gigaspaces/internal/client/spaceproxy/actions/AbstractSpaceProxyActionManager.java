@@ -145,6 +145,20 @@ public abstract class AbstractSpaceProxyActionManager<TSpaceProxy extends ISpace
         return _countClearAction.execute(_spaceProxy, actionInfo);
     }
 
+    public AsyncFuture<Integer> asyncClear(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener)
+            throws RemoteException {
+        CountClearProxyActionInfo actionInfo = new CountClearProxyActionInfo(
+                _spaceProxy, template, txn, modifiers, true, true);
+        return _countClearAction.asyncExecute(_spaceProxy, actionInfo, listener);
+    }
+
+    public AsyncFuture<Integer> asyncCount(Object template, Transaction txn, int modifiers, AsyncFutureListener<Integer> listener)
+            throws RemoteException {
+        CountClearProxyActionInfo actionInfo = new CountClearProxyActionInfo(
+                _spaceProxy, template, txn, modifiers, false);
+        return _countClearAction.asyncExecute(_spaceProxy, actionInfo, listener);
+    }
+
     public AsyncFuture executeTask(SpaceTask task, Object routing, Transaction tx, AsyncFutureListener listener)
             throws RemoteException, TransactionException {
         return _adminAction.execute(_spaceProxy, task, routing, tx, listener);
@@ -179,6 +193,22 @@ public abstract class AbstractSpaceProxyActionManager<TSpaceProxy extends ISpace
         return read(actionInfo);
     }
 
+    public AsyncFuture<?> asyncReadById(String className, Object id, Object routing, Transaction txn, long timeout, int modifiers,
+                                        QueryResultTypeInternal resultType, String[] projections, AsyncFutureListener<?> listener)
+            throws RemoteException {
+        try {
+            ReadTakeAsyncProxyActionInfo actionInfo = new ReadTakeAsyncProxyActionInfo(
+                    _spaceProxy, className, id, routing, txn, timeout, modifiers, resultType, false, projections, listener);
+            return _readTakeAction.asyncRead(_spaceProxy, actionInfo);
+        } catch (RemoteException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw processInternalException(e);
+        }
+    }
+
     public Object read(ReadTakeProxyActionInfo actionInfo)
             throws UnusableEntryException, TransactionException, InterruptedException, RemoteException {
         try {
@@ -256,6 +286,15 @@ public abstract class AbstractSpaceProxyActionManager<TSpaceProxy extends ISpace
         return _readTakeByIdsAction.readByIds(_spaceProxy, actionInfo, returnPackets);
     }
 
+    public AsyncFuture<Object[]> asyncReadByIds(String className, Object[] ids, Object routing, Object[] routings, Transaction txn, int modifiers,
+                                                QueryResultTypeInternal resultType, boolean returnPackets, String[] projections,
+                                                AsyncFutureListener<Object[]> listener)
+            throws RemoteException {
+        ReadTakeByIdsProxyActionInfo actionInfo = new ReadTakeByIdsProxyActionInfo(
+                _spaceProxy, className, ids, routing, routings, txn, false, modifiers, resultType, projections, null);
+        return _readTakeByIdsAction.asyncReadByIds(_spaceProxy, actionInfo, returnPackets, listener);
+    }
+
     public ReadTakeEntriesUidsResult readEntriesUids(ITemplatePacket template, Transaction transaction, int entriesLimit,
                                                      int modifiers) throws RemoteException, TransactionException, UnusableEntryException {
         final ReadTakeEntriesUidsSpaceOperationRequest request = new ReadTakeEntriesUidsSpaceOperationRequest(template,
@@ -392,6 +431,22 @@ public abstract class AbstractSpaceProxyActionManager<TSpaceProxy extends ISpace
         }
     }
 
+    public AsyncFuture<LeaseContext<?>> asyncWrite(Object entry, Transaction txn, long lease, long timeout, int modifiers,
+                                                   AsyncFutureListener<LeaseContext<?>> listener)
+            throws RemoteException {
+        WriteProxyActionInfo actionInfo = new WriteProxyActionInfo(
+                _spaceProxy, entry, txn, lease, timeout, modifiers);
+        return _writeAction.asyncWrite(_spaceProxy, actionInfo, listener);
+    }
+
+    public AsyncFuture<LeaseContext<?>[]> asyncWriteMultiple(Object[] objects, Transaction txn, long lease, long[] leases, long timeout, int modifiers,
+                                                             AsyncFutureListener<LeaseContext<?>[]> listener)
+            throws RemoteException {
+        WriteMultipleProxyActionInfo actionInfo = new WriteMultipleProxyActionInfo(
+                _spaceProxy, objects, txn, lease, leases, timeout, modifiers);
+        return _writeAction.asyncWriteMultiple(_spaceProxy, actionInfo, listener);
+    }
+
     public <T> ChangeResult<T> change(Object template, ChangeSet changeSet,
                                       Transaction txn, long timeout, ChangeModifiers modifiers) throws RemoteException, TransactionException {
         ChangeProxyActionInfo actionInfo = new ChangeProxyActionInfo(_spaceProxy, template, changeSet, txn, timeout, modifiers);
@@ -422,6 +477,14 @@ public abstract class AbstractSpaceProxyActionManager<TSpaceProxy extends ISpace
         return _aggregationAction.aggregate(_spaceProxy, actionInfo);
     }
 
+    public AsyncFuture<AggregationResult> asyncAggregate(Object query, AggregationSet aggregationSet, Transaction txn, int modifiers,
+                                                         AsyncFutureListener<AggregationResult> listener)
+            throws RemoteException {
+        AggregateProxyActionInfo actionInfo = new AggregateProxyActionInfo(_spaceProxy,
+                query, aggregationSet, txn, modifiers);
+        return _aggregationAction.asyncAggregate(_spaceProxy, actionInfo, listener);
+    }
+
     protected abstract TypeDescriptorActionsProxyExecutor<TSpaceProxy> createTypeDescriptorActionsExecutor();
 
     protected abstract AdminProxyAction<TSpaceProxy> createAdminProxyAction();
@@ -16,6 +16,8 @@
 
 package com.gigaspaces.internal.client.spaceproxy.actions;
 
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
 import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.CountClearProxyActionInfo;
 
@@ -31,4 +33,7 @@ import java.rmi.RemoteException;
 public abstract class CountClearProxyAction<TSpaceProxy extends ISpaceProxy> {
     public abstract int execute(TSpaceProxy spaceProxy, CountClearProxyActionInfo actionInfo)
             throws RemoteException, UnusableEntryException, TransactionException;
+
+    public abstract AsyncFuture<Integer> asyncExecute(TSpaceProxy spaceProxy, CountClearProxyActionInfo actionInfo, AsyncFutureListener listener)
+            throws RemoteException;
 }
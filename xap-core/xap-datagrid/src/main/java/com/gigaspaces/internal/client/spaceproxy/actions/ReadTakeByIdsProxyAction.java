@@ -16,6 +16,8 @@
 
 package com.gigaspaces.internal.client.spaceproxy.actions;
 
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
 import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.ReadTakeByIdsProxyActionInfo;
 
@@ -34,4 +36,8 @@ public abstract class ReadTakeByIdsProxyAction<TSpaceProxy extends ISpaceProxy>
 
     public abstract Object[] takeByIds(TSpaceProxy spaceProxy, ReadTakeByIdsProxyActionInfo actionInfo, boolean returnPackets)
             throws RemoteException, TransactionException, UnusableEntryException, InterruptedException;
+
+    public abstract AsyncFuture<Object[]> asyncReadByIds(TSpaceProxy spaceProxy, ReadTakeByIdsProxyActionInfo actionInfo, boolean returnPackets,
+                                                         AsyncFutureListener listener)
+            throws RemoteException;
 }
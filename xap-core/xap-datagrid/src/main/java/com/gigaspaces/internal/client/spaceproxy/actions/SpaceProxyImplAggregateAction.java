@@ -16,6 +16,8 @@
 
 package com.gigaspaces.internal.client.spaceproxy.actions;
 
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
 import com.gigaspaces.internal.client.spaceproxy.SpaceProxyImpl;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.AggregateProxyActionInfo;
 import com.gigaspaces.internal.client.spaceproxy.operations.AggregateEntriesSpaceOperationRequest;
@@ -54,4 +56,24 @@ public class SpaceProxyImplAggregateAction extends AggregateProxyAction<SpacePro
         spaceProxy.getProxyRouter().execute(request);
         return request.getFinalResult(spaceProxy, actionInfo.queryPacket, actionInfo.isReturnPacket());
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public AsyncFuture<AggregationResult> asyncAggregate(SpaceProxyImpl spaceProxy, AggregateProxyActionInfo actionInfo,
+                                                         @SuppressWarnings("rawtypes") AsyncFutureListener listener) {
+        spaceProxy.beforeSpaceAction(actionInfo);
+
+        if (actionInfo.isSqlQuery)
+            actionInfo.queryPacket = spaceProxy.getQueryManager().getSQLTemplate((SQLQueryTemplatePacket) actionInfo.queryPacket, actionInfo.txn);
+
+        List<SpaceEntriesAggregator> aggregators = AggregationInternalUtils.getAggregators(actionInfo.aggregationSet);
+        AggregateEntriesSpaceOperationRequest request = new AggregateEntriesSpaceOperationRequest(actionInfo.queryPacket,
+                actionInfo.txn,
+                actionInfo.modifiers,
+                aggregators,
+                spaceProxy,
+                actionInfo.isReturnPacket());
+
+        return spaceProxy.getProxyRouter().executeAsync(request, listener);
+    }
 }
@@ -16,23 +16,30 @@
 
 package com.gigaspaces.internal.client.spaceproxy.actions;
 
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
 import com.gigaspaces.client.ReadTakeByIdsException;
 import com.gigaspaces.internal.client.spaceproxy.SpaceProxyImpl;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.ReadTakeByIdsProxyActionInfo;
 import com.gigaspaces.internal.client.spaceproxy.operations.ReadTakeEntriesByIdsSpaceOperationRequest;
 import com.gigaspaces.internal.client.spaceproxy.operations.ReadTakeEntriesByIdsSpaceOperationResult;
+import com.gigaspaces.internal.remoting.RemoteOperationFutureListener;
 import com.gigaspaces.internal.transport.IEntryPacket;
+import com.gigaspaces.logger.Constants;
 
 import net.jini.core.entry.UnusableEntryException;
 import net.jini.core.transaction.TransactionException;
 
 import java.rmi.RemoteException;
+import java.util.logging.Logger;
 
 /**
  * @author idan
  */
 @com.gigaspaces.api.InternalApi
 public class SpaceProxyImplReadTakeByIdsAction extends ReadTakeByIdsProxyAction<SpaceProxyImpl> {
+    private static final Logger _logger = Logger.getLogger(Constants.LOGGER_CLIENT);
+
     @Override
     public Object[] readByIds(SpaceProxyImpl spaceProxy, ReadTakeByIdsProxyActionInfo actionInfo, boolean returnPackets)
             throws RemoteException, TransactionException, UnusableEntryException, InterruptedException {
@@ -45,6 +52,31 @@ public class SpaceProxyImplReadTakeByIdsAction extends ReadTakeByIdsProxyAction<
         return readTakeByIds(spaceProxy, actionInfo, returnPackets);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public AsyncFuture<Object[]> asyncReadByIds(SpaceProxyImpl spaceProxy, ReadTakeByIdsProxyActionInfo actionInfo, boolean returnPackets,
+                                                @SuppressWarnings("rawtypes") AsyncFutureListener listener) {
+        final ReadTakeEntriesByIdsSpaceOperationRequest request = new ReadTakeEntriesByIdsSpaceOperationRequest(
+                actionInfo.queryPacket,
+                actionInfo.isTake,
+                actionInfo.modifiers,
+                actionInfo.txn,
+                spaceProxy.getTypeManager(),
+                returnPackets);
+        if (actionInfo.ids.length == 0) {
+            // Nothing to read, complete the future without a remote call
+            ReadTakeEntriesByIdsSpaceOperationResult result = new ReadTakeEntriesByIdsSpaceOperationResult();
+            result.setEntryPackets(new IEntryPacket[0]);
+            request.setRemoteOperationResult(result);
+            RemoteOperationFutureListener<ReadTakeEntriesByIdsSpaceOperationResult> future =
+                    new RemoteOperationFutureListener<ReadTakeEntriesByIdsSpaceOperationResult>(_logger, listener);
+            future.onOperationCompletion(request, null);
+            return (AsyncFuture) future;
+        }
+        spaceProxy.beforeSpaceAction(actionInfo);
+        return spaceProxy.getProxyRouter().executeAsync(request, listener);
+    }
+
     private Object[] readTakeByIds(SpaceProxyImpl spaceProxy, ReadTakeByIdsProxyActionInfo actionInfo, boolean returnPackets)
             throws InterruptedException, RemoteException, TransactionException, UnusableEntryException {
         try {
@@ -16,6 +16,8 @@
 
 package com.gigaspaces.internal.client.spaceproxy.actions;
 
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
 import com.gigaspaces.internal.client.spaceproxy.SpaceProxyImpl;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.WriteMultipleProxyActionInfo;
 import com.gigaspaces.internal.client.spaceproxy.actioninfo.WriteProxyActionInfo;
@@ -68,4 +70,33 @@ public class SpaceProxyImplWriteAction extends WriteProxyAction<SpaceProxyImpl>
         spaceProxy.getProxyRouter().execute(request);
         return request.getFinalResult();
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public AsyncFuture<LeaseContext<?>> asyncWrite(SpaceProxyImpl spaceProxy, WriteProxyActionInfo actionInfo,
+                                                   @SuppressWarnings("rawtypes") AsyncFutureListener listener) {
+        spaceProxy.beforeSpaceAction(actionInfo);
+
+        WriteEntrySpaceOperationRequest request = new WriteEntrySpaceOperationRequest(actionInfo.entryPacket,
+                actionInfo.txn, actionInfo.lease, actionInfo.timeout, actionInfo.modifiers, actionInfo.isUpdate(),
+                spaceProxy.getTypeManager(), actionInfo.entry);
+        if (Modifiers.contains(actionInfo.modifiers, Modifiers.ONE_WAY))
+            throw new UnsupportedOperationException("Oneway operation contradicts asynchronous invocation");
+
+        return spaceProxy.getProxyRouter().executeAsync(request, listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public AsyncFuture<LeaseContext<?>[]> asyncWriteMultiple(SpaceProxyImpl spaceProxy, WriteMultipleProxyActionInfo actionInfo,
+                                                             @SuppressWarnings("rawtypes") AsyncFutureListener listener) {
+        spaceProxy.beforeSpaceAction(actionInfo);
+        WriteEntriesSpaceOperationRequest request = new WriteEntriesSpaceOperationRequest(spaceProxy.getTypeManager(),
+                actionInfo.entries, actionInfo.entryPackets, actionInfo.txn,
+                actionInfo.lease, actionInfo.leases, actionInfo.timeout, actionInfo.modifiers);
+        if (Modifiers.contains(actionInfo.modifiers, Modifiers.ONE_WAY))
+            throw new UnsupportedOperationException("Oneway operation contradicts asynchronous invocation");
+
+        return spaceProxy.getProxyRouter().executeAsync(request, listener);
+    }
 }
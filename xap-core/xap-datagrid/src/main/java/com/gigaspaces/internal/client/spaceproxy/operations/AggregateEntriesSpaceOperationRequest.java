@@ -30,6 +30,7 @@ import com.gigaspaces.query.aggregators.AggregationResult;
 import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
 import com.j_spaces.core.IJSpace;
 import com.j_spaces.core.exception.internal.InterruptedSpaceException;
+import com.j_spaces.jdbc.builder.QueryTemplatePacket;
 
 import net.jini.core.transaction.Transaction;
 import net.jini.core.transaction.TransactionException;
@@ -40,6 +41,7 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -56,6 +58,8 @@ public class AggregateEntriesSpaceOperationRequest extends SpaceOperationRequest
     private int readModifiers;
 
     private transient Exception _exception;
+    private transient IJSpace _spaceProxy;
+    private transient boolean _returnEntryPacket;
 
     /**
      * Required for Externalizable
@@ -71,6 +75,13 @@ public class AggregateEntriesSpaceOperationRequest extends SpaceOperationRequest
         //this.txn = txn;
     }
 
+    public AggregateEntriesSpaceOperationRequest(ITemplatePacket queryPacket, Transaction txn, int modifiers, List<SpaceEntriesAggregator> aggregators,
+                                                 IJSpace spaceProxy, boolean returnEntryPacket) {
+        this(queryPacket, txn, modifiers, aggregators);
+        this._spaceProxy = spaceProxy;
+        this._returnEntryPacket = returnEntryPacket;
+    }
+
     @Override
     public int getOperationCode() {
         return SpaceOperationsCodes.AGGREGATE_ENTRIES;
@@ -104,6 +115,11 @@ public class AggregateEntriesSpaceOperationRequest extends SpaceOperationRequest
         return queryPacket.getRoutingFieldValue();
     }
 
+    @Override
+    public Collection<?> getPartitionedClusterRoutingValues(PartitionedClusterRemoteOperationRouter router) {
+        return queryPacket instanceof QueryTemplatePacket ? ((QueryTemplatePacket) queryPacket).getRoutingValues() : null;
+    }
+
     @Override
     public boolean processPartitionResult(AggregateEntriesSpaceOperationResult remoteOperationResult,
                                           List<AggregateEntriesSpaceOperationResult> previousResults,
@@ -141,6 +157,11 @@ public class AggregateEntriesSpaceOperationRequest extends SpaceOperationRequest
                 queryPacket, returnEntryPacket));
     }
 
+    @Override
+    public Object getAsyncFinalResult() throws Exception {
+        return getFinalResult(_spaceProxy, queryPacket, _returnEntryPacket);
+    }
+
     private void processExecutionException(Exception executionException)
             throws RemoteException, TransactionException, InterruptedException {
         if (executionException instanceof TransactionException)
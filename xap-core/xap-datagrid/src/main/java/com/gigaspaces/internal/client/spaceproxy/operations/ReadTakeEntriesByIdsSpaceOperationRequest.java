@@ -16,7 +16,9 @@
 
 package com.gigaspaces.internal.client.spaceproxy.operations;
 
+import com.gigaspaces.client.ReadTakeByIdResult;
 import com.gigaspaces.client.ReadTakeByIdsException;
+import com.gigaspaces.internal.client.spaceproxy.metadata.ISpaceProxyTypeManager;
 import com.gigaspaces.internal.io.IOUtils;
 import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterExecutionType;
 import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterRemoteOperationRouter;
@@ -62,6 +64,8 @@ public class ReadTakeEntriesByIdsSpaceOperationRequest extends SpaceScatterGathe
 
     private transient IEntryPacket[] _results;
     private transient Throwable[] _exceptions;
+    private transient ISpaceProxyTypeManager _typeManager;
+    private transient boolean _returnPackets;
 
     /**
      * Externalizable.
@@ -77,6 +81,13 @@ public class ReadTakeEntriesByIdsSpaceOperationRequest extends SpaceScatterGathe
         _transaction = transaction;
     }
 
+    public ReadTakeEntriesByIdsSpaceOperationRequest(AbstractIdsQueryPacket queryPacket, boolean isTake, int modifiers,
+                                                     Transaction transaction, ISpaceProxyTypeManager typeManager, boolean returnPackets) {
+        this(queryPacket, isTake, modifiers, transaction);
+        _typeManager = typeManager;
+        _returnPackets = returnPackets;
+    }
+
     @Override
     public boolean processPartitionResult(
             ScatterGatherRemoteOperationRequest<ReadTakeEntriesByIdsSpaceOperationResult> partitionRequest,
@@ -177,6 +188,24 @@ public class ReadTakeEntriesByIdsSpaceOperationRequest extends SpaceScatterGathe
         return result;
     }
 
+    @Override
+    public Object getAsyncFinalResult() throws Exception {
+        final IEntryPacket[] packets;
+        try {
+            packets = getFinalResult().getEntryPackets();
+        } catch (ReadTakeByIdsException e) {
+            final ReadTakeByIdResult[] results = e.getResults();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].isError())
+                    continue;
+                Object entry = _typeManager.convertQueryResult((IEntryPacket) results[i].getObject(), _template, _returnPackets, null);
+                results[i] = new ReadTakeByIdResult(results[i].getId(), entry, results[i].getError());
+            }
+            throw e;
+        }
+        return _typeManager.convertQueryResults(packets, _template, _returnPackets, null);
+    }
+
     @Override
     public void scatterIndexesToPartitions(
             ScatterGatherOperationFutureListener<ReadTakeEntriesByIdsSpaceOperationResult> scatterGatherCoordinator) {
@@ -31,6 +31,7 @@ import com.gigaspaces.internal.transport.ITemplatePacket;
 import com.gigaspaces.internal.utils.Textualizer;
 import com.gigaspaces.logger.Constants;
 import com.j_spaces.core.client.ReadModifiers;
+import com.j_spaces.jdbc.builder.QueryTemplatePacket;
 
 import net.jini.core.entry.UnusableEntryException;
 import net.jini.core.transaction.Transaction;
@@ -41,6 +42,8 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -156,9 +159,15 @@ public class ReadTakeEntriesSpaceOperationRequest extends SpaceOperationRequest<
                     _entries = new LinkedList<IEntryPacket[]>();
                     replicationLevels = new HashMap<IEntryPacket[], Integer>();
                 }
-                _entries.add(remoteOperationResult.getEntryPackets());
-                replicationLevels.put(remoteOperationResult.getEntryPackets(), remoteOperationResult.getSyncReplicationLevel());
-                _resultEntriesCount += remoteOperationResult.getEntryPackets().length;
+                IEntryPacket[] entryPackets = remoteOperationResult.getEntryPackets();
+                // Read results beyond the requested max are dropped as they arrive, so concurrent
+                // partition results are buffered up to the max only (taken entries are never dropped):
+                final int capacity = _finalResultMaxEntries - _resultEntriesCount;
+                if (!_isTake && entryPackets.length > capacity)
+                    entryPackets = Arrays.copyOf(entryPackets, Math.max(capacity, 0));
+                _entries.add(entryPackets);
+                replicationLevels.put(entryPackets, remoteOperationResult.getSyncReplicationLevel());
+                _resultEntriesCount += entryPackets.length;
                 if (previousResults.size() + 1 == numberOfPartitions) {
                     levels = new ArrayList<ReplicationLevel>(_entries.size());
                     int index = 0;
@@ -234,6 +243,11 @@ public class ReadTakeEntriesSpaceOperationRequest extends SpaceOperationRequest<
         return _templatePacket.getRoutingFieldValue();
     }
 
+    @Override
+    public Collection<?> getPartitionedClusterRoutingValues(PartitionedClusterRemoteOperationRouter router) {
+        return _templatePacket instanceof QueryTemplatePacket ? ((QueryTemplatePacket) _templatePacket).getRoutingValues() : null;
+    }
+
     @Override
     public boolean processUnknownTypeException(List<Integer> positions) {
         if (_templatePacket.isSerializeTypeDesc())
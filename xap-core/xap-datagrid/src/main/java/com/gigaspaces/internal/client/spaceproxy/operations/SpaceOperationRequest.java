@@ -18,6 +18,7 @@ package com.gigaspaces.internal.client.spaceproxy.operations;
 
 import com.gigaspaces.internal.io.IOUtils;
 import com.gigaspaces.internal.remoting.RemoteOperationRequest;
+import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterRemoteOperationRouter;
 import com.gigaspaces.internal.utils.Textualizable;
 import com.gigaspaces.internal.utils.Textualizer;
 import com.j_spaces.core.SpaceContext;
@@ -28,6 +29,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -165,6 +167,15 @@ public abstract class SpaceOperationRequest<TResult extends SpaceOperationResult
         return true;
     }
 
+    /**
+     * @return the routing values which limit a broadcast of this request to the partitions of these
+     * values, or null if the request should be broadcast to all partitions.
+     */
+    @Override
+    public Collection<?> getPartitionedClusterRoutingValues(PartitionedClusterRemoteOperationRouter router) {
+        return null;
+    }
+
     @Override
     public boolean requiresPartitionedPreciseDistribution() {
         return false;
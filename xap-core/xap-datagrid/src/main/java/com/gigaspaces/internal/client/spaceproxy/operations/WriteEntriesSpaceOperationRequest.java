@@ -239,6 +239,11 @@ public class WriteEntriesSpaceOperationRequest extends SpaceScatterGatherOperati
         return _resultLeases;
     }
 
+    @Override
+    public Object getAsyncFinalResult() throws Exception {
+        return getFinalResult();
+    }
+
     public IEntryPacket[] getEntriesPackets() {
         return _entriesPackets;
     }
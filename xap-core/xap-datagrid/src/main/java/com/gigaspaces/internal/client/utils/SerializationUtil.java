@@ -20,6 +20,8 @@ package com.gigaspaces.internal.client.utils;
 import com.gigaspaces.internal.io.CompressedMarshObjectConvertor;
 import com.gigaspaces.internal.io.ContextClassResolverCompressedMarshObjectConvertor;
 import com.gigaspaces.internal.io.ContextClassResolverMarshObjectConvertor;
+import com.gigaspaces.internal.io.LZ4CompressedMarshObject;
+import com.gigaspaces.internal.io.LZ4MarshObjectConvertor;
 import com.gigaspaces.internal.io.MarshObject;
 import com.gigaspaces.internal.io.MarshObjectConvertor;
 import com.gigaspaces.internal.io.MarshObjectConvertorResource;
@@ -40,8 +42,10 @@ import java.io.IOException;
 public class SerializationUtil {
     private static final SerializationAdapter _binaryAdapter =
             new PooledMarshalledObjectSerializationAdapter<MarshObjectConvertor>(ContextClassResolverMarshObjectConvertor.getFactory());
-    private static final SerializationAdapter _compressedAdapter =
-            new PooledMarshalledObjectSerializationAdapter<CompressedMarshObjectConvertor>(ContextClassResolverCompressedMarshObjectConvertor.getFactory());
+    private static final SerializationAdapter _compressedAdapter = new CompressedSerializationAdapter(
+            new PooledMarshalledObjectSerializationAdapter<CompressedMarshObjectConvertor>(ContextClassResolverCompressedMarshObjectConvertor.getFactory()),
+            new PooledMarshalledObjectSerializationAdapter<LZ4MarshObjectConvertor>(LZ4MarshObjectConvertor.getLZ4Factory()),
+            "lz4".equalsIgnoreCase(System.getProperty(SystemProperties.STORAGE_TYPE_COMPRESSION_CODEC, SystemProperties.STORAGE_TYPE_COMPRESSION_CODEC_DEFAULT)));
 
     /**
      * Serialize a field value.
@@ -95,6 +99,32 @@ public class SerializationUtil {
         Object afterDeserialize(Object value) throws IOException, ClassNotFoundException;
     }
 
+    /**
+     * Serializes with the zip or the lz4 codec, as configured by {@link SystemProperties#STORAGE_TYPE_COMPRESSION_CODEC},
+     * and deserializes with the codec the value was serialized with.
+     */
+    public static class CompressedSerializationAdapter implements SerializationAdapter {
+        private final SerializationAdapter _zipAdapter;
+        private final SerializationAdapter _lz4Adapter;
+        private final boolean _useLz4;
+
+        public CompressedSerializationAdapter(SerializationAdapter zipAdapter, SerializationAdapter lz4Adapter, boolean useLz4) {
+            _zipAdapter = zipAdapter;
+            _lz4Adapter = lz4Adapter;
+            _useLz4 = useLz4;
+        }
+
+        @Override
+        public Object beforeSerialize(Object value) throws IOException {
+            return _useLz4 ? _lz4Adapter.beforeSerialize(value) : _zipAdapter.beforeSerialize(value);
+        }
+
+        @Override
+        public Object afterDeserialize(Object value) throws IOException, ClassNotFoundException {
+            return value instanceof LZ4CompressedMarshObject ? _lz4Adapter.afterDeserialize(value) : _zipAdapter.afterDeserialize(value);
+        }
+    }
+
     public static class PooledMarshalledObjectSerializationAdapter<T extends MarshObjectConvertorResource> implements SerializationAdapter {
         private final MemoryBoundedResourcePool<T> _convertorPool;
 
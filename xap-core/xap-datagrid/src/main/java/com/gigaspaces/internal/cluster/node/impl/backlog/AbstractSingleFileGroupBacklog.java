@@ -43,6 +43,7 @@ import com.gigaspaces.internal.cluster.node.impl.groups.handshake.IHandshakeCont
 import com.gigaspaces.internal.cluster.node.impl.groups.handshake.IHandshakeIteration;
 import com.gigaspaces.internal.cluster.node.impl.groups.reliableasync.ReliableAsyncSourceGroupConfig;
 import com.gigaspaces.internal.cluster.node.impl.packets.IReplicationOrderedPacket;
+import com.gigaspaces.internal.cluster.node.impl.packets.SerializedPacketCache;
 import com.gigaspaces.internal.cluster.node.impl.packets.data.IReplicationPacketData;
 import com.gigaspaces.internal.cluster.node.impl.packets.data.IReplicationPacketDataProducer;
 import com.gigaspaces.internal.cluster.node.impl.packets.data.IReplicationPacketEntryData;
@@ -62,6 +63,8 @@ import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBuffe
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageFactory;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IPacketStreamSerializer;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.SwapPacketStreamSerializer;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.direct.DirectByteBufferStorageFactory;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.mapped.MappedByteBufferStorageFactory;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.raf.RAFByteBufferStorageFactory;
 import com.gigaspaces.internal.utils.StringUtils;
 import com.gigaspaces.internal.utils.collections.CopyOnUpdateMap;
@@ -75,6 +78,7 @@ import com.gigaspaces.metrics.MetricRegistrator;
 import com.j_spaces.core.cluster.SwapBacklogConfig;
 import com.j_spaces.core.exception.internal.ReplicationInternalSpaceException;
 import com.j_spaces.kernel.JSpaceUtilities;
+import com.j_spaces.kernel.SystemProperties;
 
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -115,6 +119,7 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
     private final IReplicationPacketDataProducer<?> _dataProducer;
     private final String _name;
     private final IRedoLogFile<T> _backlogFile;
+    private final SerializedPacketCache _serializedPacketCache;
 
     //Not volatile, visibility is not that important, the update may be delayed
     private boolean _isLimited;
@@ -155,6 +160,11 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
         _activeSynchronizingTarget = new CopyOnUpdateMap<String, SynchronizingData>();
 
         _backlogFile = createBacklog(groupConfig);
+        _serializedPacketCache = Boolean.parseBoolean(System.getProperty(SystemProperties.REPLICATION_SERIALIZED_PACKET_CACHE,
+                SystemProperties.REPLICATION_SERIALIZED_PACKET_CACHE_DEFAULT))
+                ? new SerializedPacketCache(Long.getLong(SystemProperties.REPLICATION_SERIALIZED_PACKET_CACHE_MAX_SIZE,
+                SystemProperties.REPLICATION_SERIALIZED_PACKET_CACHE_MAX_SIZE_DEFAULT))
+                : null;
 
         updateBacklogLimitations(groupConfig);
         _confirmationMap = new CopyOnUpdateMap<String, CType>(new THashMapFactory<String, CType>());
@@ -367,8 +377,14 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
     private IRedoLogFile<T> createSwapBacklog(SourceGroupConfig groupConfig) {
         BacklogConfig backlogConfig = groupConfig.getBacklogConfig();
         SwapBacklogConfig swapBacklogConfig = backlogConfig.getSwapBacklogConfig();
-        IByteBufferStorageFactory byteBufferStorageProvider = new RAFByteBufferStorageFactory("redolog_"
-                + _name.replace(":", "_"));
+        String storageFileName = "redolog_" + _name.replace(":", "_");
+        IByteBufferStorageFactory byteBufferStorageProvider = swapBacklogConfig.isMemoryMapped()
+                ? new MappedByteBufferStorageFactory(storageFileName)
+                : new RAFByteBufferStorageFactory(storageFileName);
+        // Keep swapped packets off heap up to the configured capacity, and only then spill to files
+        if (swapBacklogConfig.isOffHeapSwap())
+            byteBufferStorageProvider = new DirectByteBufferStorageFactory(storageFileName, swapBacklogConfig.getOffHeapSwapCapacity(),
+                    swapBacklogConfig.getSegmentSize(), byteBufferStorageProvider);
         // Configure ByteBufferRedoLogFile
         ByteBufferRedoLogFileConfig<T> storageConfig = new ByteBufferRedoLogFileConfig<T>();
         storageConfig.setMaxSizePerSegment(swapBacklogConfig.getSegmentSize());
@@ -644,6 +660,8 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
                  }
             }
         }
+        if (firstKeyDropped != -1)
+            releaseSerializedPackets();
     }
 
 
@@ -1092,10 +1110,28 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
                 if (stateListener != null)
                     stateListener.onPacketsClearedAfterConfirmation(deletionBatchSize);
             }
+            // All the members confirmed the packets below this key, no channel will send them again
+            if (_serializedPacketCache != null)
+                _serializedPacketCache.releaseBefore(minUnconfirmedKey);
         }
 
     }
 
+    // Should be called under write lock
+    private void releaseSerializedPackets() {
+        if (_serializedPacketCache == null)
+            return;
+        if (getBacklogFile().isEmpty())
+            _serializedPacketCache.clear();
+        else
+            _serializedPacketCache.releaseBefore(getFirstKeyInBacklogInternal());
+    }
+
+    public SerializedPacketCache getSerializedPacketCache() {
+        // Only worth while when the packets are replicated to more than one target
+        return _confirmationMap.size() > 1 ? _serializedPacketCache : null;
+    }
+
     protected long getMinimumUnconfirmedKeyUnsafe() {
         _getMinUnconfirmedKeyProcedure.reset();
         CollectionsFactory.getInstance().forEachEntry(_confirmationMap.getUnsafeMapReference(), _getMinUnconfirmedKeyProcedure);
@@ -1357,6 +1393,8 @@ public abstract class AbstractSingleFileGroupBacklog<T extends IReplicationOrder
                 return;
             _closed = true;
             _backlogFile.close();
+            if (_serializedPacketCache != null)
+                _serializedPacketCache.clear();
         } finally {
             _rwLock.writeLock().unlock();
         }
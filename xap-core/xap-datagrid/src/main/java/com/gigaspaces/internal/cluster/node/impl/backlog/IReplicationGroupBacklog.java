@@ -28,6 +28,7 @@ import com.gigaspaces.internal.cluster.node.impl.groups.IReplicationSourceGroup;
 import com.gigaspaces.internal.cluster.node.impl.groups.handshake.IHandshakeContext;
 import com.gigaspaces.internal.cluster.node.impl.groups.handshake.IHandshakeIteration;
 import com.gigaspaces.internal.cluster.node.impl.packets.IReplicationOrderedPacket;
+import com.gigaspaces.internal.cluster.node.impl.packets.SerializedPacketCache;
 import com.gigaspaces.internal.cluster.node.impl.packets.data.IReplicationPacketDataProducer;
 import com.gigaspaces.internal.cluster.node.impl.processlog.IProcessLogHandshakeResponse;
 import com.gigaspaces.internal.cluster.node.impl.processlog.IProcessResult;
@@ -90,6 +91,13 @@ public interface IReplicationGroupBacklog extends IDynamicSourceGroupStateListen
                                                IReplicationChannelDataFilter filter,
                                                PlatformLogicalVersion targetMemberVersion, Logger logger);
 
+    /**
+     * @return the serialized form of the backlog packets shared by the channels of the group, or
+     * null if each channel serializes the packets it replicates
+     * @since 12.3
+     */
+    SerializedPacketCache getSerializedPacketCache();
+
     void beginSynchronizing(String memberName);
 
     void beginSynchronizing(String memberName, boolean isDirectPersistencySync);
@@ -634,6 +634,7 @@ public abstract class AbstractReplicationSourceChannel
         try {
             BatchReplicatedDataPacket batchPacket = replicatedDataPacketResource.getBatchPacket();
             batchPacket.setBatch(packets);
+            batchPacket.setSerializedPacketCache(_groupBacklog.getSerializedPacketCache());
 
             Object wiredProcessResult = getConnection().dispatch(batchPacket);
             IProcessResult processResult = _groupBacklog.fromWireForm(wiredProcessResult);
@@ -813,6 +814,7 @@ public abstract class AbstractReplicationSourceChannel
         try {
             BatchReplicatedDataPacket batchPacket = replicatedDataPacketResource.getBatchPacket();
             batchPacket.setBatch(finalPackets);
+            batchPacket.setSerializedPacketCache(_groupBacklog.getSerializedPacketCache());
 
             AsyncFuture<Object> processResultFuture = getConnection().dispatchAsync(batchPacket);
             final ReplicateFuture resultFuture = new ReplicateFuture();
@@ -1152,6 +1154,30 @@ public abstract class AbstractReplicationSourceChannel
         return _throughPutStatistics.getSampleBefore(timeBefore, unit);
     }
 
+    /**
+     * @return the number of packets currently sent in a single batch, or -1 if not applicable for
+     * this channel.
+     */
+    protected int getCurrentBatchSize() {
+        return -1;
+    }
+
+    /**
+     * @return the number of pending operations which currently triggers a replication cycle, or -1
+     * if not applicable for this channel.
+     */
+    protected int getCurrentIntervalOperations() {
+        return -1;
+    }
+
+    /**
+     * @return the average round trip time of a replicated batch, or -1 if it is not measured by
+     * this channel.
+     */
+    protected long getAverageRoundTripMicros() {
+        return -1;
+    }
+
     public boolean isInconsistent() {
         return _inconsistentDuringHandshakeState || _groupBacklog.getState(getMemberName()).isInconsistent();
     }
@@ -1283,7 +1309,10 @@ public abstract class AbstractReplicationSourceChannel
                 getGroupBacklog().size(getMemberName()),
                 getChannelOpertingMode(),
                 endpointDetails,
-                delegatorDetails);
+                delegatorDetails,
+                getCurrentBatchSize(),
+                getCurrentIntervalOperations(),
+                getAverageRoundTripMicros());
     }
 
     public void registerWith(MetricRegistrator metricRegister) {
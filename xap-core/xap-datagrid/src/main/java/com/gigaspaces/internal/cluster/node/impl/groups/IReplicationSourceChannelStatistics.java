@@ -60,4 +60,23 @@ public interface IReplicationSourceChannelStatistics {
 
     ConnectionEndpointDetails getDelegatorDetails();
 
+    /**
+     * @return the number of packets currently sent in a single batch, -1 if not applicable.
+     * @since 12.3
+     */
+    int getBatchSize();
+
+    /**
+     * @return the number of pending operations which currently triggers a replication cycle, -1 if
+     * not applicable.
+     * @since 12.3
+     */
+    int getIntervalOperations();
+
+    /**
+     * @return the average round trip time of a replicated batch, -1 if not measured.
+     * @since 12.3
+     */
+    long getAverageRoundTripMicros();
+
 }
@@ -44,6 +44,9 @@ public class ReplicationSourceChannelStatistics
     private final ReplicationOperatingMode _operatingMode;
     private final ReplicationEndpointDetails _targetDetails;
     private final ConnectionEndpointDetails _delegatorDetails;
+    private final int _batchSize;
+    private final int _intervalOperations;
+    private final long _averageRoundTripMicros;
 
     public ReplicationSourceChannelStatistics(String name,
                                               ReplicationMode mode, ConnectionState state, boolean active,
@@ -54,7 +57,9 @@ public class ReplicationSourceChannelStatistics
                                               long generatedTrafficPerPacket, long backlogRetainedSize,
                                               ReplicationOperatingMode operatingMode,
                                               ReplicationEndpointDetails targetDetails,
-                                              ConnectionEndpointDetails delegatorDetails) {
+                                              ConnectionEndpointDetails delegatorDetails,
+                                              int batchSize, int intervalOperations,
+                                              long averageRoundTripMicros) {
         _name = name;
         _channelType = mode;
         _connectionState = state;
@@ -72,6 +77,9 @@ public class ReplicationSourceChannelStatistics
         _operatingMode = operatingMode;
         _targetDetails = targetDetails;
         _delegatorDetails = delegatorDetails;
+        _batchSize = batchSize;
+        _intervalOperations = intervalOperations;
+        _averageRoundTripMicros = averageRoundTripMicros;
     }
 
     public String getName() {
@@ -149,4 +157,19 @@ public class ReplicationSourceChannelStatistics
         return _delegatorDetails;
     }
 
+    @Override
+    public int getBatchSize() {
+        return _batchSize;
+    }
+
+    @Override
+    public int getIntervalOperations() {
+        return _intervalOperations;
+    }
+
+    @Override
+    public long getAverageRoundTripMicros() {
+        return _averageRoundTripMicros;
+    }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.cluster.node.impl.groups.async;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the batch size and the interval operations of an async channel to the observed round
+ * trip time of the replicated batches and to the size of the pending backlog. <p> While the round
+ * trip time is below the target the batch size is doubled whenever a full batch was sent and the
+ * backlog still holds more than a batch, so a target which keeps up gets more packets per round
+ * trip and the lag does not grow under bursts. Once the round trip time exceeds the target the
+ * batch size is reduced by a quarter, and when the backlog drains it slowly returns to the
+ * configured batch size. <p> The interval operations (the number of pending operations which wakes
+ * up the dispatcher before the interval elapses) is halved while the target responds fast, down
+ * to an eighth of the configured value, so small batches are not held back waiting for the
+ * interval at idle times, and is doubled back up to the configured value once the round trip time
+ * exceeds the target.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class AdaptiveBatchController {
+
+    //Weight of the previous average in the round trip time moving average, out of 8
+    private static final int AVERAGE_WEIGHT = 7;
+
+    private final int _configuredBatchSize;
+    private final int _minBatchSize;
+    private final int _maxBatchSize;
+    private final int _configuredIntervalOperations;
+    private final int _minIntervalOperations;
+    private final long _targetRoundTripNanos;
+
+    private volatile int _batchSize;
+    private volatile int _intervalOperations;
+    private volatile long _averageRoundTripNanos;
+
+    public AdaptiveBatchController(int batchSize, int maxBatchSize, int intervalOperations, long targetRoundTripMillis) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("batch size must be positive - " + batchSize);
+        if (targetRoundTripMillis <= 0)
+            throw new IllegalArgumentException("target round trip time must be positive - " + targetRoundTripMillis);
+        _configuredBatchSize = batchSize;
+        _minBatchSize = Math.max(1, batchSize / 4);
+        _maxBatchSize = Math.max(batchSize, maxBatchSize);
+        _configuredIntervalOperations = Math.max(1, intervalOperations);
+        //Waking up the dispatcher on each operation costs more than it saves
+        _minIntervalOperations = Math.max(1, _configuredIntervalOperations / 8);
+        _targetRoundTripNanos = TimeUnit.MILLISECONDS.toNanos(targetRoundTripMillis);
+        _batchSize = batchSize;
+        _intervalOperations = _configuredIntervalOperations;
+    }
+
+    public int getBatchSize() {
+        return _batchSize;
+    }
+
+    public int getIntervalOperations() {
+        return _intervalOperations;
+    }
+
+    public long getAverageRoundTripTime(TimeUnit unit) {
+        return unit.convert(_averageRoundTripNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Called by the dispatcher once a batch was replicated, the dispatcher calls it from a single
+     * thread at a time.
+     *
+     * @param batchSize       number of packets in the replicated batch
+     * @param roundTripNanos  time from sending the batch until its result arrived
+     * @param remainingWeight weight of the backlog which is still pending for the channel
+     */
+    public void onBatchReplicated(int batchSize, long roundTripNanos, long remainingWeight) {
+        long average = _averageRoundTripNanos;
+        average = average == 0 ? roundTripNanos : (average * AVERAGE_WEIGHT + roundTripNanos) / (AVERAGE_WEIGHT + 1);
+        _averageRoundTripNanos = average;
+
+        int currentBatchSize = _batchSize;
+        int newBatchSize = currentBatchSize;
+        int newIntervalOperations = _intervalOperations;
+        if (average > _targetRoundTripNanos) {
+            newBatchSize = Math.max(_minBatchSize, currentBatchSize - currentBatchSize / 4);
+            newIntervalOperations = (int) Math.min(_configuredIntervalOperations, newIntervalOperations * 2L);
+        } else {
+            if (batchSize >= currentBatchSize && remainingWeight > currentBatchSize)
+                newBatchSize = (int) Math.min(_maxBatchSize, currentBatchSize * 2L);
+            else if (remainingWeight < currentBatchSize && currentBatchSize > _configuredBatchSize)
+                newBatchSize = Math.max(_configuredBatchSize, currentBatchSize - Math.max(1, currentBatchSize / 8));
+            if (average <= _targetRoundTripNanos / 2)
+                newIntervalOperations = Math.max(_minIntervalOperations, newIntervalOperations / 2);
+        }
+        _batchSize = newBatchSize;
+        _intervalOperations = newIntervalOperations;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBatchController [batchSize=" + _batchSize
+                + ", intervalOperations=" + _intervalOperations
+                + ", averageRoundTripMicros=" + getAverageRoundTripTime(TimeUnit.MICROSECONDS)
+                + ", targetRoundTripMillis=" + TimeUnit.NANOSECONDS.toMillis(_targetRoundTripNanos) + "]";
+    }
+}
@@ -44,9 +44,12 @@ import com.gigaspaces.internal.utils.concurrent.AsyncCallable;
 import com.gigaspaces.internal.utils.concurrent.IAsyncHandler;
 import com.gigaspaces.internal.utils.concurrent.IAsyncHandlerProvider;
 import com.gigaspaces.internal.utils.concurrent.IAsyncHandlerProvider.CycleResult;
+import com.gigaspaces.metrics.Gauge;
+import com.gigaspaces.metrics.MetricRegistrator;
 import com.j_spaces.core.filters.ReplicationStatistics.ReplicationMode;
 import com.j_spaces.core.filters.ReplicationStatistics.ReplicationOperatingMode;
 import com.j_spaces.kernel.JSpaceUtilities;
+import com.j_spaces.kernel.SystemProperties;
 
 import java.rmi.RemoteException;
 import java.util.List;
@@ -67,6 +70,8 @@ public class AsyncReplicationSourceChannel
     private final int _intervalOperations;
     private final Object _asyncDispatcherLifeCycle = new Object();
     private volatile IAsyncHandler _asyncHandler;
+    //Null when adaptive batching is disabled
+    private final AdaptiveBatchController _adaptiveBatchController;
 
     public AsyncReplicationSourceChannel(
             DynamicSourceGroupConfigHolder groupConfig, String groupName,
@@ -126,6 +131,7 @@ public class AsyncReplicationSourceChannel
         _intervalMilis = intervalMilis;
         _intervalOperations = intervalOperations;
         _asyncProvider = asyncHandlerProvider;
+        _adaptiveBatchController = createAdaptiveBatchController(batchSize, intervalOperations, channelType);
         // After all is initialized we can let the super class to start since it
         // will perform operations that can delegate onConnected/onDisconnected
         // events
@@ -146,8 +152,68 @@ public class AsyncReplicationSourceChannel
                 false);
     }
 
+    private static AdaptiveBatchController createAdaptiveBatchController(int batchSize, int intervalOperations, ReplicationMode channelType) {
+        //Mirror batches are also the bulks of the mirror, their size is left as configured
+        if (channelType == ReplicationMode.MIRROR || batchSize <= 0)
+            return null;
+        if (!Boolean.parseBoolean(System.getProperty(SystemProperties.REPLICATION_ADAPTIVE_BATCHING, SystemProperties.REPLICATION_ADAPTIVE_BATCHING_DEFAULT)))
+            return null;
+        int maxBatchSize = Integer.getInteger(SystemProperties.REPLICATION_ADAPTIVE_BATCHING_MAX_BATCH_SIZE,
+                SystemProperties.REPLICATION_ADAPTIVE_BATCHING_MAX_BATCH_SIZE_DEFAULT);
+        long targetRoundTripMillis = Long.getLong(SystemProperties.REPLICATION_ADAPTIVE_BATCHING_TARGET_ROUND_TRIP,
+                SystemProperties.REPLICATION_ADAPTIVE_BATCHING_TARGET_ROUND_TRIP_DEFAULT);
+        return new AdaptiveBatchController(batchSize, maxBatchSize, intervalOperations, targetRoundTripMillis);
+    }
+
     public int getBatchSize() {
-        return _batchSize;
+        AdaptiveBatchController adaptiveBatchController = _adaptiveBatchController;
+        return adaptiveBatchController != null ? adaptiveBatchController.getBatchSize() : _batchSize;
+    }
+
+    public int getIntervalOperations() {
+        AdaptiveBatchController adaptiveBatchController = _adaptiveBatchController;
+        return adaptiveBatchController != null ? adaptiveBatchController.getIntervalOperations() : _intervalOperations;
+    }
+
+    @Override
+    protected int getCurrentBatchSize() {
+        return getBatchSize();
+    }
+
+    @Override
+    protected int getCurrentIntervalOperations() {
+        return getIntervalOperations();
+    }
+
+    @Override
+    protected long getAverageRoundTripMicros() {
+        return _adaptiveBatchController != null ? _adaptiveBatchController.getAverageRoundTripTime(TimeUnit.MICROSECONDS) : -1;
+    }
+
+    @Override
+    public void registerWith(MetricRegistrator metricRegister) {
+        super.registerWith(metricRegister);
+        if (_adaptiveBatchController == null)
+            return;
+        metricRegister.register("batch-size-packets", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() throws Exception {
+                return _adaptiveBatchController.getBatchSize();
+            }
+        });
+        metricRegister.register("round-trip-time-micros", new Gauge<Long>() {
+            @Override
+            public Long getValue() throws Exception {
+                return _adaptiveBatchController.getAverageRoundTripTime(TimeUnit.MICROSECONDS);
+            }
+        });
+    }
+
+    @Override
+    protected String onDumpState() {
+        if (_adaptiveBatchController == null)
+            return super.onDumpState();
+        return StringUtils.NEW_LINE + _adaptiveBatchController;
     }
 
     @Override
@@ -175,13 +241,14 @@ public class AsyncReplicationSourceChannel
         // and reduce lock
         // worst case the handler will be work twice.
         long currentPending = _pendingCount.addAndGet(groupContext.getWeight());
-        if (currentPending >= _intervalOperations) {
+        final int intervalOperations = getIntervalOperations();
+        if (currentPending >= intervalOperations) {
             synchronized (_pendingCountLock) {
                 if (_pendingCount.get() == 0)
                     return;
                 if (_specificLogger.isLoggable(Level.FINEST))
                     _specificLogger.finest("Reached interval operations ["
-                            + _pendingCount + "/" + _intervalOperations
+                            + _pendingCount + "/" + intervalOperations
                             + "], waking up async dispatcher");
                 _pendingCount.set(0);
                 _asyncHandler.wakeUp();
@@ -209,6 +276,7 @@ public class AsyncReplicationSourceChannel
 
         private List<IReplicationOrderedPacket> _currentCyclePackets;
         private IIdleStateData _currentCycleIdleStateData;
+        private long _currentCycleStartTime;
 
         public CycleResult call() throws Exception {
             if (!isActive()) {
@@ -269,6 +337,7 @@ public class AsyncReplicationSourceChannel
             //Make sure resume is not called before suspend in case async invocation ends before the suspend is returned.
             synchronized (_asyncDispatcherLifeCycle) {
                 try {
+                    _currentCycleStartTime = System.nanoTime();
                     replicateBatchDelayedAsync(_currentCyclePackets, this);
 
                     return CycleResult.SUSPEND;
@@ -434,10 +503,12 @@ public class AsyncReplicationSourceChannel
                 _currentCycleIdleStateData = null;
 
                 final long remainingWeight = getGroupBacklog().getWeight(getMemberName());
+                if (packets != null && _adaptiveBatchController != null)
+                    _adaptiveBatchController.onBatchReplicated(packets.size(), System.nanoTime() - _currentCycleStartTime, remainingWeight);
                 // If there are remaining unreplicated packets more than batch
                 // size, do another cycle
                 // otherwise considered as idle
-                if (remainingWeight >= _intervalOperations) {
+                if (remainingWeight >= getIntervalOperations()) {
                     getHandler().resumeNow();
                     return;
                 }
@@ -26,7 +26,9 @@ import com.gigaspaces.internal.version.PlatformLogicalVersion;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.ListIterator;
 
 @com.gigaspaces.api.InternalApi
 public class BatchReplicatedDataPacket
@@ -35,6 +37,7 @@ public class BatchReplicatedDataPacket
     private List<IReplicationOrderedPacket> _batch;
 
     private transient boolean _clean = true;
+    private transient SerializedPacketCache _serializedPacketCache;
 
     public BatchReplicatedDataPacket() {
     }
@@ -52,10 +55,36 @@ public class BatchReplicatedDataPacket
     public void readExternalImpl(ObjectInput in, PlatformLogicalVersion endpointLogicalVersion) throws IOException,
             ClassNotFoundException {
         _batch = IOUtils.readObject(in);
+        if (_batch != null)
+            unwrapSerializedPackets(_batch);
     }
 
     public void writeExternalImpl(ObjectOutput out, PlatformLogicalVersion endpointLogicalVersion) throws IOException {
-        IOUtils.writeObject(out, _batch);
+        // The cached serialized form depends on the endpoint version it was created for
+        if (_serializedPacketCache != null && PlatformLogicalVersion.getLogicalVersion().equals(endpointLogicalVersion))
+            IOUtils.writeObject(out, wrapSerializedPackets(_batch, _serializedPacketCache));
+        else
+            IOUtils.writeObject(out, _batch);
+    }
+
+    private static List<Object> wrapSerializedPackets(List<IReplicationOrderedPacket> batch,
+                                                      SerializedPacketCache serializedPacketCache) throws IOException {
+        List<Object> result = new ArrayList<Object>(batch.size());
+        for (IReplicationOrderedPacket packet : batch) {
+            if (SerializedPacketCache.isCacheable(packet))
+                result.add(new SerializedOrderedPacket(serializedPacketCache.getSerializedPacket(packet)));
+            else
+                result.add(packet);
+        }
+        return result;
+    }
+
+    private static void unwrapSerializedPackets(List batch) {
+        for (ListIterator iterator = batch.listIterator(); iterator.hasNext(); ) {
+            Object packet = iterator.next();
+            if (packet instanceof SerializedOrderedPacket)
+                iterator.set(((SerializedOrderedPacket) packet).getPacket());
+        }
     }
 
     public void setBatch(List<IReplicationOrderedPacket> batch) {
@@ -65,6 +94,14 @@ public class BatchReplicatedDataPacket
         _clean = false;
     }
 
+    /**
+     * Sets the cache of serialized packets shared by the channels of the group, which is used when
+     * the batch is written to an endpoint of this very version.
+     */
+    public void setSerializedPacketCache(SerializedPacketCache serializedPacketCache) {
+        _serializedPacketCache = serializedPacketCache;
+    }
+
     public List<IReplicationOrderedPacket> getBatch() {
         return _batch;
     }
@@ -72,6 +109,7 @@ public class BatchReplicatedDataPacket
     public void clean() {
         _clean = true;
         _batch = null;
+        _serializedPacketCache = null;
     }
 
     @Override
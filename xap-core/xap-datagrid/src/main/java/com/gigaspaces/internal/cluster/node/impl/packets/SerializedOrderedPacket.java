@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.cluster.node.impl.packets;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Wraps the serialized form of a {@link IReplicationOrderedPacket} taken from a {@link
+ * SerializedPacketCache} in a replicated batch, the packet is deserialized back when the batch is
+ * read at the target.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class SerializedOrderedPacket implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private byte[] _serializedPacket;
+    private transient IReplicationOrderedPacket _packet;
+
+    public SerializedOrderedPacket() {
+    }
+
+    public SerializedOrderedPacket(byte[] serializedPacket) {
+        _serializedPacket = serializedPacket;
+    }
+
+    public IReplicationOrderedPacket getPacket() {
+        return _packet;
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(_serializedPacket.length);
+        out.write(_serializedPacket);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte[] serializedPacket = new byte[in.readInt()];
+        in.readFully(serializedPacket);
+        _packet = SerializedPacketCache.deserialize(serializedPacket);
+    }
+}
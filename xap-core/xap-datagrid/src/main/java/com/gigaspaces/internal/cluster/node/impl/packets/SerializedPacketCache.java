@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.cluster.node.impl.packets;
+
+import com.gigaspaces.internal.io.GSByteArrayInputStream;
+import com.gigaspaces.internal.io.GSByteArrayOutputStream;
+import com.gigaspaces.internal.io.IOUtils;
+import com.gigaspaces.internal.io.MarshalInputStream;
+import com.gigaspaces.internal.io.MarshalOutputStream;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the serialized form of backlog packets, keyed by the packet key, which is shared by all the
+ * channels of a replication group so a packet replicated to several targets is serialized once.
+ * <p> A cached form is only reused for the very packet instance it was created from, a packet
+ * which was filtered, converted or discarded by a channel is a different instance and is serialized
+ * on its own. The serialized form is self contained (written by its own marshal stream, with no
+ * references to the context of the connection stream) so it can be copied as is to any stream.
+ * <p> Entries are released by the backlog once all of its members confirmed them, see {@link
+ * #releaseBefore(long)}. When the cache reaches its maximal size new packets are serialized without
+ * being cached until older ones are released.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class SerializedPacketCache {
+
+    private final long _maxSize;
+    private final ConcurrentNavigableMap<Long, CachedPacket> _packets = new ConcurrentSkipListMap<Long, CachedPacket>();
+    private final AtomicLong _size = new AtomicLong();
+
+    /**
+     * @param maxSize maximal total size in bytes of the cached serialized packets
+     */
+    public SerializedPacketCache(long maxSize) {
+        _maxSize = maxSize;
+    }
+
+    /**
+     * Returns the serialized form of the specified packet, serializing it on first use. Should be
+     * called while the packet is written to a stream of an endpoint of this very version, since
+     * the serialization of some packets depends on the endpoint version.
+     */
+    public byte[] getSerializedPacket(IReplicationOrderedPacket packet) throws IOException {
+        final Long key = packet.getKey();
+        final CachedPacket cachedPacket = _packets.get(key);
+        if (cachedPacket != null && cachedPacket.packet == packet)
+            return cachedPacket.serializedPacket;
+
+        final byte[] serializedPacket = serialize(packet);
+        // A different packet instance with the same key was filtered by its channel, keep the cached one
+        if (cachedPacket == null && _size.get() + serializedPacket.length <= _maxSize) {
+            if (_packets.putIfAbsent(key, new CachedPacket(packet, serializedPacket)) == null)
+                _size.addAndGet(serializedPacket.length);
+        }
+        return serializedPacket;
+    }
+
+    /**
+     * @return true if the specified packet may be replicated using its cached serialized form
+     */
+    public static boolean isCacheable(IReplicationOrderedPacket packet) {
+        // Discarded packets may be merged into a range by each channel differently, and are cheap
+        // to serialize anyway
+        return packet.isDataPacket() && !packet.isDiscardedPacket();
+    }
+
+    /**
+     * Releases the serialized packets whose key is lower than the specified key, called by the
+     * backlog once all of its members confirmed these packets.
+     */
+    public void releaseBefore(long key) {
+        release(_packets.headMap(key));
+    }
+
+    public void clear() {
+        release(_packets);
+    }
+
+    public int getCount() {
+        return _packets.size();
+    }
+
+    /**
+     * @return the total size in bytes of the cached serialized packets
+     */
+    public long getSize() {
+        return _size.get();
+    }
+
+    private void release(ConcurrentMap<Long, CachedPacket> packets) {
+        for (Map.Entry<Long, CachedPacket> entry : packets.entrySet()) {
+            if (packets.remove(entry.getKey(), entry.getValue()))
+                _size.addAndGet(-entry.getValue().serializedPacket.length);
+        }
+    }
+
+    static byte[] serialize(IReplicationOrderedPacket packet) throws IOException {
+        GSByteArrayOutputStream bos = new GSByteArrayOutputStream();
+        MarshalOutputStream mos = new MarshalOutputStream(bos, false);
+        try {
+            IOUtils.writeObject(mos, packet);
+            mos.flush();
+            return bos.toByteArray();
+        } finally {
+            mos.closeContext();
+        }
+    }
+
+    static IReplicationOrderedPacket deserialize(byte[] serializedPacket) throws IOException, ClassNotFoundException {
+        MarshalInputStream mis = new MarshalInputStream(new GSByteArrayInputStream(serializedPacket), MarshalInputStream.createContext());
+        try {
+            return IOUtils.readObject(mis);
+        } finally {
+            mis.closeContext();
+        }
+    }
+
+    private static class CachedPacket {
+        private final IReplicationOrderedPacket packet;
+        private final byte[] serializedPacket;
+
+        private CachedPacket(IReplicationOrderedPacket packet, byte[] serializedPacket) {
+            this.packet = packet;
+            this.serializedPacket = serializedPacket;
+        }
+    }
+}
@@ -68,6 +68,9 @@ public class EntryReplicaProducer
     private final ITemplateHolder _templateHolder;
     private final SpaceCopyReplicaParameters _parameters;
     private final Object _requestContext;
+    // entries whose uid hash falls in another segment are produced by another producer
+    private final int _segment;
+    private final int _segments;
 
     private int _generatedDataCount;
     private boolean _isClosed;
@@ -76,9 +79,26 @@ public class EntryReplicaProducer
     public EntryReplicaProducer(SpaceEngine engine,
                                 SpaceCopyReplicaParameters parameters,
                                 ITemplatePacket templatePacket, Object requestContext) {
+        this(engine, parameters, templatePacket, requestContext, null, 0, 1);
+    }
+
+    /**
+     * Creates a producer of a segment of the entries matching the template.
+     *
+     * @param types    the types whose entries are produced, or null for all the types matching the
+     *                 template
+     * @param segment  the segment of the entries uids produced
+     * @param segments the number of uid segments
+     */
+    public EntryReplicaProducer(SpaceEngine engine,
+                                SpaceCopyReplicaParameters parameters,
+                                ITemplatePacket templatePacket, Object requestContext,
+                                IServerTypeDesc[] types, int segment, int segments) {
         _engine = engine;
         _parameters = parameters;
         _requestContext = requestContext;
+        _segment = segment;
+        _segments = segments;
         ReplicationPolicy replicationPolicy = _engine.getClusterPolicy() == null ? null
                 : _engine.getClusterPolicy()
                 .getReplicationPolicy();
@@ -87,10 +107,7 @@ public class EntryReplicaProducer
 
         _context = _engine.getCacheManager().getCacheContext();
 
-        if (templatePacket == null) {
-            templatePacket = new TemplatePacket();
-            templatePacket.setFieldsValues(new Object[0]);
-        }
+        templatePacket = toTemplatePacket(templatePacket);
 
         try {
             IServerTypeDesc typeDesc = _engine.getTypeManager()
@@ -109,6 +126,7 @@ public class EntryReplicaProducer
                     .makeEntriesIter(_context,
                             _templateHolder,
                             typeDesc,
+                            types,
                             0,
                             SystemTime.timeMillis(),
                             parameters.isMemoryOnly(),
@@ -119,6 +137,14 @@ public class EntryReplicaProducer
 
     }
 
+    static ITemplatePacket toTemplatePacket(ITemplatePacket templatePacket) {
+        if (templatePacket == null) {
+            templatePacket = new TemplatePacket();
+            templatePacket.setFieldsValues(new Object[0]);
+        }
+        return templatePacket;
+    }
+
     public Object getRequestContext() {
         return _requestContext;
     }
@@ -165,6 +191,8 @@ public class EntryReplicaProducer
             close(false /*forced*/);
             return null;
         }
+        if (_segments > 1 && (entry.getUID().hashCode() & Integer.MAX_VALUE) % _segments != _segment)
+            return null;
 
         ITypeDesc typeDesc = _engine.getTypeManager()
                 .getTypeDesc(entry.getClassName());
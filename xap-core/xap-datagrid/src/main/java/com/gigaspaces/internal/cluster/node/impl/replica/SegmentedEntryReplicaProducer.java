@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gigaspaces.internal.cluster.node.impl.replica;
+
+import com.gigaspaces.internal.cluster.node.impl.replica.data.AbstractEntryReplicaData;
+import com.gigaspaces.internal.cluster.node.replica.SpaceCopyReplicaParameters;
+import com.gigaspaces.internal.server.metadata.IServerTypeDesc;
+import com.gigaspaces.internal.server.space.SpaceEngine;
+import com.gigaspaces.internal.transport.ITemplatePacket;
+import com.gigaspaces.logger.Constants;
+import com.j_spaces.core.cache.CacheManager;
+import com.j_spaces.core.cache.TypeData;
+import com.j_spaces.core.cluster.IReplicationFilterEntry;
+import com.j_spaces.core.exception.internal.ReplicationInternalSpaceException;
+import com.j_spaces.kernel.SystemProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Produces the entries matching a template from several segments, so the concurrent fetch requests
+ * of a replica are served in parallel instead of one at a time. When the template matches at least
+ * as many non empty types as there are segments, each segment scans a group of the types, balanced
+ * by their number of entries. Otherwise each segment scans all the types and produces the entries
+ * whose uid hash falls in it. <p> A request produces from the segment it used last if that segment
+ * is free, otherwise from any free segment, and waits for a busy segment only if all of them are
+ * busy.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class SegmentedEntryReplicaProducer
+        implements ISingleStageReplicaDataProducer<AbstractEntryReplicaData> {
+    protected final static Logger _logger = Logger.getLogger(Constants.LOGGER_REPLICATION_REPLICA);
+
+    private final EntryReplicaProducer[] _segments;
+    private final ReentrantLock[] _locks;
+    private final boolean[] _exhausted;
+    private final AtomicInteger _remaining;
+    private final AtomicInteger _nextSegment = new AtomicInteger();
+    private final ThreadLocal<Integer> _lastSegment = new ThreadLocal<Integer>();
+
+    public SegmentedEntryReplicaProducer(SpaceEngine engine, SpaceCopyReplicaParameters parameters,
+                                         ITemplatePacket templatePacket, Object requestContext, int segments) {
+        templatePacket = EntryReplicaProducer.toTemplatePacket(templatePacket);
+        final IServerTypeDesc typeDesc;
+        try {
+            typeDesc = engine.getTypeManager().loadServerTypeDesc(templatePacket);
+        } catch (Exception ex) {
+            throw new ReplicationInternalSpaceException("", ex);
+        }
+        final List<IServerTypeDesc[]> typeGroups = groupTypes(engine.getCacheManager(), typeDesc.getAssignableTypes(), segments);
+
+        _segments = new EntryReplicaProducer[segments];
+        try {
+            for (int i = 0; i < segments; i++)
+                _segments[i] = typeGroups != null
+                        ? new EntryReplicaProducer(engine, parameters, templatePacket, requestContext, typeGroups.get(i), 0, 1)
+                        : new EntryReplicaProducer(engine, parameters, templatePacket, requestContext, null, i, segments);
+        } catch (RuntimeException e) {
+            for (EntryReplicaProducer segment : _segments) {
+                if (segment != null)
+                    segment.close(false /*forced*/);
+            }
+            throw e;
+        }
+        _locks = new ReentrantLock[segments];
+        for (int i = 0; i < segments; i++)
+            _locks[i] = new ReentrantLock();
+        _exhausted = new boolean[segments];
+        _remaining = new AtomicInteger(segments);
+
+        if (_logger.isLoggable(Level.FINE))
+            _logger.fine(engine.getReplicationNode() + "context [" + requestContext + "] created " + segments
+                    + (typeGroups != null ? " type" : " uid") + " segments for templatePacket " + templatePacket);
+    }
+
+    /**
+     * @return the number of segments the entries of the space should be produced from, which is
+     * the number of concurrent consumers of a recovering space, or 1 if they should not be split.
+     */
+    public static int getSegments(SpaceEngine engine, SpaceCopyReplicaParameters parameters) {
+        if (!Boolean.parseBoolean(System.getProperty(SystemProperties.REPLICATION_PARALLEL_RECOVERY,
+                SystemProperties.REPLICATION_PARALLEL_RECOVERY_DEFAULT)))
+            return 1;
+        if (engine.getClusterPolicy() == null || engine.getClusterPolicy().getReplicationPolicy() == null)
+            return 1;
+        // entries which are not all in memory are iterated along with the data source, and can't be split
+        final CacheManager cacheManager = engine.getCacheManager();
+        if (cacheManager.isEvictableCachePolicy() || cacheManager.isOffHeapCachePolicy()
+                || parameters.getSynchronizationListFetcher() != null)
+            return 1;
+        return Math.max(1, engine.getClusterPolicy().getReplicationPolicy().getRecoveryThreadPoolSize());
+    }
+
+    /**
+     * Splits the types into the given number of groups with about the same number of entries, or
+     * returns null if there are not enough non empty types.
+     */
+    static List<IServerTypeDesc[]> groupTypes(CacheManager cacheManager, IServerTypeDesc[] types, int groups) {
+        final List<IServerTypeDesc> nonEmptyTypes = new ArrayList<IServerTypeDesc>();
+        final List<Integer> sizes = new ArrayList<Integer>();
+        for (IServerTypeDesc type : types) {
+            TypeData typeData = cacheManager.getTypeData(type);
+            int size = typeData == null ? 0 : typeData.getEntries().size();
+            if (size > 0) {
+                nonEmptyTypes.add(type);
+                sizes.add(size);
+            }
+        }
+        if (nonEmptyTypes.size() < groups)
+            return null;
+        return groupBySize(nonEmptyTypes.toArray(new IServerTypeDesc[nonEmptyTypes.size()]), toArray(sizes), groups);
+    }
+
+    /**
+     * Assigns each item, largest first, to the group with the least total size so far.
+     */
+    static <T> List<T[]> groupBySize(final T[] items, final int[] sizes, int groups) {
+        Integer[] order = new Integer[items.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return sizes[o2] < sizes[o1] ? -1 : (sizes[o2] == sizes[o1] ? 0 : 1);
+            }
+        });
+
+        final List<List<T>> grouped = new ArrayList<List<T>>(groups);
+        final long[] totals = new long[groups];
+        for (int i = 0; i < groups; i++)
+            grouped.add(new ArrayList<T>());
+        for (Integer index : order) {
+            int smallest = 0;
+            for (int i = 1; i < groups; i++) {
+                if (totals[i] < totals[smallest])
+                    smallest = i;
+            }
+            grouped.get(smallest).add(items[index]);
+            totals[smallest] += sizes[index];
+        }
+
+        final List<T[]> result = new ArrayList<T[]>(groups);
+        for (List<T> group : grouped)
+            result.add(group.toArray(Arrays.copyOf(items, 0)));
+        return Collections.unmodifiableList(result);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = list.get(i);
+        return result;
+    }
+
+    public AbstractEntryReplicaData produceNextData(ISynchronizationCallback synchCallback) {
+        Integer lastSegment = _lastSegment.get();
+        int start = lastSegment != null ? lastSegment : (_nextSegment.getAndIncrement() & Integer.MAX_VALUE) % _segments.length;
+        while (_remaining.get() > 0) {
+            // prefer a free segment, starting from the one this thread used last
+            for (int i = 0; i < _segments.length; i++) {
+                int segment = (start + i) % _segments.length;
+                if (_locks[segment].tryLock()) {
+                    AbstractEntryReplicaData data = produceFromLockedSegment(segment, synchCallback);
+                    if (data != null)
+                        return data;
+                }
+            }
+            // all segments are either busy or exhausted, wait for a busy one
+            for (int i = 0; i < _segments.length; i++) {
+                int segment = (start + i) % _segments.length;
+                if (_exhausted[segment])
+                    continue;
+                _locks[segment].lock();
+                AbstractEntryReplicaData data = produceFromLockedSegment(segment, synchCallback);
+                if (data != null)
+                    return data;
+                break;
+            }
+        }
+        return null;
+    }
+
+    private AbstractEntryReplicaData produceFromLockedSegment(int segment, ISynchronizationCallback synchCallback) {
+        try {
+            if (_exhausted[segment])
+                return null;
+            AbstractEntryReplicaData data = _segments[segment].produceNextData(synchCallback);
+            if (data != null) {
+                _lastSegment.set(segment);
+                return data;
+            }
+            _exhausted[segment] = true;
+            _remaining.decrementAndGet();
+            return null;
+        } finally {
+            _locks[segment].unlock();
+        }
+    }
+
+    public CloseStatus close(boolean forced) {
+        CloseStatus status = CloseStatus.CLOSED;
+        for (EntryReplicaProducer segment : _segments) {
+            if (segment.close(forced) == CloseStatus.CLOSING)
+                status = CloseStatus.CLOSING;
+        }
+        return status;
+    }
+
+    public IReplicationFilterEntry toFilterEntry(AbstractEntryReplicaData data) {
+        return _segments[0].toFilterEntry(data);
+    }
+
+    public String dumpState() {
+        StringBuilder dump = new StringBuilder("Segmented entries replica producer: remaining segments [" + _remaining.get() + "]");
+        for (EntryReplicaProducer segment : _segments)
+            dump.append(", ").append(segment.dumpState());
+        return dump.toString();
+    }
+
+    @Override
+    public String getName() {
+        return "SegmentedEntryReplicaProducer";
+    }
+}
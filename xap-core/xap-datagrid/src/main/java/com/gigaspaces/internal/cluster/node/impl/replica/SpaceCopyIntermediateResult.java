@@ -193,6 +193,8 @@ public class SpaceCopyIntermediateResult
         ///
         sb.append(" [duration=" + JSpaceUtilities.formatMillis(duration));
         sb.append(", total-objects=").append(_totalCopiedObjects.get());
+        if (duration > 0)
+            sb.append(", objects-per-second=").append(_totalCopiedObjects.get() * 1000L / duration);
         appendEntriesDesc(sb, _writtenTypesCount);
         appendNotifyTemplatesDesc(sb, _notifyTemplateTypesCount);
         appendDuplicatesDesc(sb, _duplicateEntries);
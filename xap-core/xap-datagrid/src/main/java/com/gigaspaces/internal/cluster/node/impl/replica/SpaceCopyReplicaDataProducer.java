@@ -65,8 +65,12 @@ public class SpaceCopyReplicaDataProducer
         dataProducers.add(new SpaceTypeReplicaDataProducer(_engine));
         if (_logger.isLoggable(Level.FINEST))
             _logger.finest(_engine.getReplicationNode() + "created SpaceTypeReplicaDataProducer");
+        final int segments = SegmentedEntryReplicaProducer.getSegments(_engine, parameters);
         for (ITemplatePacket templatePacket : parameters.getTemplatePackets()) {
-            dataProducers.add(new EntryReplicaProducer(_engine, parameters, templatePacket, _requestContext));
+            if (segments > 1)
+                dataProducers.add(new SegmentedEntryReplicaProducer(_engine, parameters, templatePacket, _requestContext, segments));
+            else
+                dataProducers.add(new EntryReplicaProducer(_engine, parameters, templatePacket, _requestContext));
             if (_logger.isLoggable(Level.FINEST))
                 _logger.finest(getLogPrefix() + "created EntryReplicaProducer for templatePacket " + templatePacket);
         }
@@ -30,6 +30,7 @@ import com.gigaspaces.internal.utils.concurrent.IAsyncHandlerProvider.CycleResul
 import com.gigaspaces.logger.Constants;
 import com.gigaspaces.time.SystemTime;
 import com.j_spaces.core.cluster.IReplicationFilterEntry;
+import com.j_spaces.kernel.SystemProperties;
 
 import java.util.Collection;
 import java.util.concurrent.ExecutionException;
@@ -60,6 +61,9 @@ public class SpaceCopyReplicaRunnable
     private final ISpaceCopyReplicaInFilter _inFilter;
     private final boolean _isFiltered;
     private final CyclicAtomicInteger _orderProvider;
+    private final boolean _prefetch;
+    // the fetch of the next batch which was dispatched while the current batch was consumed
+    private volatile AsyncFuture<Collection<ISpaceReplicaData>> _prefetchedBatch;
     private volatile boolean _aborted;
     private volatile long _lastIterationTimeStamp = SystemTime.timeMillis();
 
@@ -76,6 +80,8 @@ public class SpaceCopyReplicaRunnable
         _inFilter = inFilter;
         _orderProvider = orderProvider;
         _isFiltered = (_inFilter != null);
+        _prefetch = Boolean.parseBoolean(System.getProperty(SystemProperties.REPLICATION_PARALLEL_RECOVERY,
+                SystemProperties.REPLICATION_PARALLEL_RECOVERY_DEFAULT));
         _fetchDataPacket = new ReplicaFetchDataPacket(replicaRemoteContext,
                 fetchBatchSize);
         _intermediateResult = _replicaDataProducer.createEmptyResult();
@@ -90,7 +96,11 @@ public class SpaceCopyReplicaRunnable
             if (_aborted)
                 throw new ReplicaAbortedException();
 
-            AsyncFuture<Collection<ISpaceReplicaData>> future = _originConnection.dispatchAsync(_fetchDataPacket);
+            AsyncFuture<Collection<ISpaceReplicaData>> future = _prefetchedBatch;
+            if (future != null)
+                _prefetchedBatch = null;
+            else
+                future = _originConnection.dispatchAsync(_fetchDataPacket);
             future.setListener(this);
             return CycleResult.SUSPEND;
         } catch (Throwable e) {
@@ -163,6 +173,11 @@ public class SpaceCopyReplicaRunnable
                 }
             } else {
                 _lastIterationTimeStamp = SystemTime.timeMillis();
+                // Fetch the next batch while this one is consumed, a stage ends only once the
+                // fetch of each consumer returns empty, so a prefetched batch is never of the next stage
+                if (_prefetch && !_aborted)
+                    _prefetchedBatch = _originConnection.dispatchAsync(_fetchDataPacket);
+                _state.dataCopied(copiedData.size());
                 // Consume data
                 if (_replicationNode.getBlobStoreReplicaConsumeHelper() != null && copiedData.size() > 1)
                     _replicationNode.getBlobStoreReplicaConsumeHelper().prepareForBulking();
@@ -30,6 +30,7 @@ import java.util.Collection;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -53,6 +54,9 @@ public class SpaceReplicaState
     private volatile SpaceReplicaStage _stage = SpaceReplicaStage.COPY;
     private volatile ISpaceCopyResult _copyResult;
     private volatile ISpaceSynchronizeResult _syncResult;
+    private final long _startTime = SystemTime.timeMillis();
+    private final AtomicLong _copiedDataCount = new AtomicLong();
+    private volatile long _copyDuration = -1;
 
     public SpaceReplicaState(IReplicationMonitoredConnection originConnection,
                              boolean isSynchronize, long progressTimeout, IReplicationTargetGroup targetGroup) {
@@ -232,6 +236,33 @@ public class SpaceReplicaState
         }
     }
 
+    /**
+     * Counts the data which arrived in a batch of one of the consumers.
+     */
+    public void dataCopied(int count) {
+        _copiedDataCount.addAndGet(count);
+    }
+
+    /**
+     * @return the number of replica data items (entries, templates and types) copied so far.
+     */
+    public long getCopiedDataCount() {
+        return _copiedDataCount.get();
+    }
+
+    /**
+     * @return the average number of replica data items copied per second since the copy started,
+     * up to its completion.
+     */
+    public double getCopyThroughput() {
+        long duration = _copyDuration >= 0 ? _copyDuration : SystemTime.timeMillis() - _startTime;
+        return duration <= 0 ? 0 : _copiedDataCount.get() * 1000d / duration;
+    }
+
+    public int getConcurrentConsumers() {
+        return _consumers.size();
+    }
+
     public void addReplicateConsumer(SpaceCopyReplicaRunnable consumer) {
         _consumers.add(consumer);
     }
@@ -250,6 +281,7 @@ public class SpaceReplicaState
         _lock.lock();
         try {
             _copyStageDone = true;
+            _copyDuration = SystemTime.timeMillis() - _startTime;
 
             stopAllConsumers();
 
@@ -49,10 +49,13 @@ public class SynchronizeReplicaDataProducer
         dataProducers.add(new SpaceTypeReplicaDataProducer(_engine));
         if (_logger.isLoggable(Level.FINEST))
             _logger.finest(_engine.getReplicationNode() + "created SpaceTypeReplicaDataProducer");
+        final int segments = SegmentedEntryReplicaProducer.getSegments(_engine, parameters);
         for (ITemplatePacket templatePacket : parameters.getTemplatePackets()) {
             // create unique EntryReplicaProducer that deals with direct persistency sync list
             if (parameters.getSynchronizationListFetcher() != null) {
                 dataProducers.add(new DirectPersisntecyEntryReplicaProducer(_engine, parameters, templatePacket, _requestContext));
+            } else if (segments > 1) {
+                dataProducers.add(new SegmentedEntryReplicaProducer(_engine, parameters, templatePacket, _requestContext, segments));
             } else {
                 dataProducers.add(new EntryReplicaProducer(_engine, parameters, templatePacket, _requestContext));
             }
@@ -27,5 +27,7 @@ public interface ObjectIntegerMap<K> {
 
     void put(K key, int value);
 
+    int remove(K key);
+
     void clear();
 }
@@ -43,6 +43,12 @@ public class StandardObjectIntegerMap<K> implements ObjectIntegerMap<K> {
         map.put(key, value);
     }
 
+    @Override
+    public int remove(K key) {
+        Integer value = map.remove(key);
+        return value != null ? value : 0;
+    }
+
     @Override
     public void clear() {
         map.clear();
@@ -42,6 +42,11 @@ public class TroveObjectIntegerMap<K> implements ObjectIntegerMap<K> {
         map.put(key, value);
     }
 
+    @Override
+    public int remove(K key) {
+        return map.remove(key);
+    }
+
     @Override
     public void clear() {
         map.clear();
@@ -665,15 +665,20 @@ public class IOUtils {
             writeObject(out, obj);
     }
 
+    /**
+     * @return the serializer used by {@link #writeObject(ObjectOutput, Object)} for objects of the
+     * specified type (null for null objects).
+     */
+    public static IClassSerializer<?> getClassSerializer(Class<?> type) {
+        IClassSerializer<?> serializer = _typeCache.get(type);
+        // If type does not have serializer, or serializer is not supported in target version, use default serializer:
+        return serializer != null ? serializer : _defaultSerializer;
+    }
+
     public static void writeObject(ObjectOutput out, Object obj)
             throws IOException {
-        // Get object type:
-        Class<?> type = obj != null ? obj.getClass() : null;
-        // Get serializer by type:
-        IClassSerializer serializer = _typeCache.get(type);
-        // If type does not have serializer, or serializer is not supported in target version, use default serializer:
-        if (serializer == null)
-            serializer = _defaultSerializer;
+        // Get serializer by object type:
+        IClassSerializer serializer = getClassSerializer(obj != null ? obj.getClass() : null);
         // Write type code:
         out.writeByte(serializer.getCode());
         // Serialize object using serializer:
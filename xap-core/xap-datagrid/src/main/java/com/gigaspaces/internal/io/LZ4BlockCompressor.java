@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A pure java compressor of the LZ4 block format: a single pass greedy match finder over a hash
+ * table of the last positions of 4 bytes sequences, trading compression ratio for speed compared to
+ * {@link java.util.zip.Deflater}.
+ *
+ * The compressor does not allocate, the hash table is kept between calls and is never cleared since
+ * every candidate match is verified against the compressed data itself. As a result the same input
+ * may be compressed differently depending on the previous calls, unless {@link #reset()} is called
+ * first. Notice! the compressor is not Thread safe, decompression is stateless.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class LZ4BlockCompressor {
+    private static final int MIN_MATCH = 4;
+    // the last 5 bytes are always literals and the last match starts at least 12 bytes before the end
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int RUN_MASK = 15;
+    private static final int HASH_LOG = 12;
+    // the step between match attempts grows by one every 64 failed attempts
+    private static final int SKIP_STRENGTH = 6;
+
+    private final int[] _hashTable = new int[1 << HASH_LOG];
+
+    /**
+     * @return the maximal compressed length of <code>length</code> bytes, for incompressible input
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Clears the positions kept from previous calls, so the next compression output depends on its
+     * input only.
+     */
+    public void reset() {
+        Arrays.fill(_hashTable, 0);
+    }
+
+    /**
+     * Compresses <code>srcLen</code> bytes of <code>src</code> into <code>dest</code>, which must
+     * have at least {@link #maxCompressedLength(int)} bytes available from <code>destOff</code>.
+     *
+     * @return the compressed length
+     */
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff) {
+        final int[] hashTable = _hashTable;
+        final int srcEnd = srcOff + srcLen;
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        final int mfLimit = srcEnd - MF_LIMIT;
+
+        int sOff = srcOff;
+        int dOff = destOff;
+        int anchor = srcOff;
+
+        if (srcLen > MF_LIMIT) {
+            sOff++;
+            int attempts = 1 << SKIP_STRENGTH;
+            while (sOff <= mfLimit) {
+                final int sequence = readInt(src, sOff);
+                final int h = hash(sequence);
+                int ref = hashTable[h];
+                hashTable[h] = sOff;
+                if (ref < srcOff || ref >= sOff || sOff - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    sOff += attempts++ >>> SKIP_STRENGTH;
+                    continue;
+                }
+                attempts = 1 << SKIP_STRENGTH;
+
+                // extend the match backwards over the pending literals
+                while (sOff > anchor && ref > srcOff && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+                int matchLen = MIN_MATCH;
+                while (sOff + matchLen < matchLimit && src[sOff + matchLen] == src[ref + matchLen])
+                    matchLen++;
+
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dest, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+                if (sOff <= mfLimit)
+                    hashTable[hash(readInt(src, sOff - 2))] = sOff - 2;
+            }
+        }
+
+        // last literals
+        final int literals = srcEnd - anchor;
+        final int tokenOff = dOff++;
+        if (literals >= RUN_MASK) {
+            dest[tokenOff] = (byte) (RUN_MASK << 4);
+            dOff = writeLength(literals - RUN_MASK, dest, dOff);
+        } else {
+            dest[tokenOff] = (byte) (literals << 4);
+        }
+        System.arraycopy(src, anchor, dest, dOff, literals);
+        return dOff + literals - destOff;
+    }
+
+    /**
+     * Decompresses a block of <code>srcLen</code> bytes which was compressed from exactly
+     * <code>destLen</code> bytes into <code>dest</code>.
+     *
+     * @return the decompressed length
+     * @throws IOException if the block is malformed or does not decompress to <code>destLen</code>
+     *                     bytes
+     */
+    public static int decompress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff, int destLen)
+            throws IOException {
+        final int srcEnd = srcOff + srcLen;
+        final int destEnd = destOff + destLen;
+        int sOff = srcOff;
+        int dOff = destOff;
+
+        while (true) {
+            if (sOff >= srcEnd)
+                throw malformed(sOff - srcOff);
+            final int token = src[sOff++] & 0xFF;
+
+            int literals = token >>> 4;
+            if (literals == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd)
+                        throw malformed(sOff - srcOff);
+                    b = src[sOff++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            if (literals > srcEnd - sOff || literals > destEnd - dOff)
+                throw malformed(sOff - srcOff);
+            System.arraycopy(src, sOff, dest, dOff, literals);
+            sOff += literals;
+            dOff += literals;
+            if (sOff == srcEnd)
+                break;
+
+            if (srcEnd - sOff < 2)
+                throw malformed(sOff - srcOff);
+            final int offset = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+            sOff += 2;
+            final int ref = dOff - offset;
+            if (offset == 0 || ref < destOff)
+                throw malformed(sOff - srcOff);
+
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    if (sOff >= srcEnd)
+                        throw malformed(sOff - srcOff);
+                    b = src[sOff++] & 0xFF;
+                    matchLen += b;
+                } while (b == 255);
+            }
+            matchLen += MIN_MATCH;
+            if (matchLen > destEnd - dOff)
+                throw malformed(sOff - srcOff);
+            if (offset >= matchLen) {
+                System.arraycopy(dest, ref, dest, dOff, matchLen);
+            } else {
+                // overlapping match, repeats the last offset bytes
+                for (int i = 0; i < matchLen; i++)
+                    dest[dOff + i] = dest[ref + i];
+            }
+            dOff += matchLen;
+        }
+
+        if (dOff != destEnd)
+            throw new IOException("Malformed LZ4 block, decompressed " + (dOff - destOff) + " bytes instead of " + destLen);
+        return destLen;
+    }
+
+    private static int writeSequence(byte[] src, int literalsOff, int literals, int offset, int matchLen, byte[] dest, int dOff) {
+        final int tokenOff = dOff++;
+        int token;
+        if (literals >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            dOff = writeLength(literals - RUN_MASK, dest, dOff);
+        } else {
+            token = literals << 4;
+        }
+        System.arraycopy(src, literalsOff, dest, dOff, literals);
+        dOff += literals;
+
+        dest[dOff++] = (byte) offset;
+        dest[dOff++] = (byte) (offset >>> 8);
+
+        final int matchLength = matchLen - MIN_MATCH;
+        if (matchLength >= RUN_MASK) {
+            token |= RUN_MASK;
+            dOff = writeLength(matchLength - RUN_MASK, dest, dOff);
+        } else {
+            token |= matchLength;
+        }
+        dest[tokenOff] = (byte) token;
+        return dOff;
+    }
+
+    private static int writeLength(int length, byte[] dest, int dOff) {
+        while (length >= 255) {
+            dest[dOff++] = (byte) 255;
+            length -= 255;
+        }
+        dest[dOff++] = (byte) length;
+        return dOff;
+    }
+
+    private static int readInt(byte[] buf, int off) {
+        return (buf[off] & 0xFF) | ((buf[off + 1] & 0xFF) << 8) | ((buf[off + 2] & 0xFF) << 16) | (buf[off + 3] << 24);
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static IOException malformed(int position) {
+        return new IOException("Malformed LZ4 block at position " + position);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.io;
+
+
+/**
+ * LZ4CompressedMarshObject extends CompressedMarshObject by keeping the byte array compressed by
+ * {@link LZ4BlockCompressor}, prefixed by its uncompressed length.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class LZ4CompressedMarshObject extends CompressedMarshObject {
+    private static final long serialVersionUID = 1L;
+
+    public LZ4CompressedMarshObject() {
+        super();
+    }
+
+    public LZ4CompressedMarshObject(byte[] bytes) {
+        super(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "LZ4CompressedMarshObject [" + getBytes().length + " bytes]";
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.io;
+
+import com.gigaspaces.internal.utils.pool.IMemoryAwareResourceFactory;
+import com.gigaspaces.internal.utils.pool.IMemoryAwareResourcePool;
+
+import java.io.IOException;
+
+/**
+ * Converts objects to {@link LZ4CompressedMarshObject}, the serialized form of {@link
+ * ContextClassResolverMarshObjectConvertor} compressed by {@link LZ4BlockCompressor}. The
+ * compressor is reset per object, so equal objects are converted to equal bytes. <p> Notice! this
+ * implementation is not Thread safe and should be use in conjunction with {@link
+ * com.j_spaces.kernel.pool.ResourcePool} only.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class LZ4MarshObjectConvertor extends ContextClassResolverMarshObjectConvertor {
+
+    private static final int LENGTH_PREFIX = 4;
+
+    private static LZ4MarshObjectConvertorFactory _factory;
+
+    private final LZ4BlockCompressor _compressor = new LZ4BlockCompressor();
+    private byte[] _buffer = new byte[0];
+
+    public LZ4MarshObjectConvertor() {
+        this(null);
+    }
+
+    public LZ4MarshObjectConvertor(ISmartLengthBasedCacheCallback cacheCallback) {
+        super(cacheCallback);
+    }
+
+    @Override
+    public MarshObject getMarshObject(Object o) throws IOException {
+        final byte[] bytes = super.getMarshObject(o).getBytes();
+        final int maxLength = LENGTH_PREFIX + LZ4BlockCompressor.maxCompressedLength(bytes.length);
+        if (_buffer.length < maxLength)
+            _buffer = new byte[maxLength];
+
+        _compressor.reset();
+        final int compressedLength = _compressor.compress(bytes, 0, bytes.length, _buffer, LENGTH_PREFIX);
+        final byte[] res = new byte[LENGTH_PREFIX + compressedLength];
+        res[0] = (byte) (bytes.length >>> 24);
+        res[1] = (byte) (bytes.length >>> 16);
+        res[2] = (byte) (bytes.length >>> 8);
+        res[3] = (byte) bytes.length;
+        System.arraycopy(_buffer, LENGTH_PREFIX, res, LENGTH_PREFIX, compressedLength);
+        return new LZ4CompressedMarshObject(res);
+    }
+
+    @Override
+    public Object getObject(MarshObject marsh) throws IOException, ClassNotFoundException {
+        // the initialization of the streams by the super class goes through here with a plain MarshObject
+        if (!(marsh instanceof LZ4CompressedMarshObject))
+            return super.getObject(marsh);
+
+        final byte[] compressed = marsh.getBytes();
+        if (compressed.length < LENGTH_PREFIX)
+            throw new IOException("Malformed " + marsh);
+        final int length = ((compressed[0] & 0xFF) << 24) | ((compressed[1] & 0xFF) << 16)
+                | ((compressed[2] & 0xFF) << 8) | (compressed[3] & 0xFF);
+        if (length < 0)
+            throw new IOException("Malformed " + marsh);
+        final byte[] bytes = new byte[length];
+        LZ4BlockCompressor.decompress(compressed, LENGTH_PREFIX, compressed.length - LENGTH_PREFIX, bytes, 0, length);
+        return getObject(bytes);
+    }
+
+    @Override
+    public long getUsedMemory() {
+        return super.getUsedMemory() + _buffer.length;
+    }
+
+    public static IMemoryAwareResourceFactory<LZ4MarshObjectConvertor> getLZ4Factory() {
+        if (_factory == null)
+            _factory = new LZ4MarshObjectConvertorFactory();
+
+        return _factory;
+    }
+
+    private static class LZ4MarshObjectConvertorFactory
+            implements IMemoryAwareResourceFactory<LZ4MarshObjectConvertor> {
+
+        public LZ4MarshObjectConvertor allocate() {
+            return new LZ4MarshObjectConvertor();
+        }
+
+        @Override
+        public LZ4MarshObjectConvertor allocate(IMemoryAwareResourcePool resourcePool) {
+            return new LZ4MarshObjectConvertor(SmartLengthBasedCache.toCacheCallback(resourcePool));
+        }
+    }
+}
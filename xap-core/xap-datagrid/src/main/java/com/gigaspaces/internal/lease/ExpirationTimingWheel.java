@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.lease;
+
+import com.gigaspaces.internal.backport.java.util.concurrent.FastConcurrentSkipListMap;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Hierarchical timing wheel of values keyed by expiration time. Expiration times are multiples of
+ * the wheel tick. Times within one revolution of the wheel (tick * size) from the wheel base time
+ * are kept in the wheel slot of their tick, so getting the value of a near expiration time is a
+ * plain array read. Farther times are kept in a sorted overflow level, and are cascaded into the
+ * wheel as the base time advances. <p> Reads are lock free, modifications are synchronized -
+ * they happen only when a value is created or removed for a whole tick, not per lease.
+ * Iteration returns the values of both levels in ascending expiration time order.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ExpirationTimingWheel<V> implements Iterable<V> {
+    private final long _tick;
+    private final int _mask;
+    private final long _span;
+    private final AtomicReferenceArray<Slot<V>> _slots;
+    private final FastConcurrentSkipListMap<Long, V> _overflow = new FastConcurrentSkipListMap<Long, V>();
+    // the earliest expiration time kept in the wheel level, all wheel values are in [base, base + span)
+    private volatile long _baseTime;
+    private volatile int _wheelSize;
+    private volatile int _overflowSize;
+
+    /**
+     * @param tick      the resolution of the wheel, in milliseconds
+     * @param size      the number of slots, rounded up to a power of two
+     * @param startTime the initial base time of the wheel
+     */
+    public ExpirationTimingWheel(long tick, int size, long startTime) {
+        if (tick <= 0)
+            throw new IllegalArgumentException("tick must be positive [" + tick + "]");
+        if (size <= 0)
+            throw new IllegalArgumentException("size must be positive [" + size + "]");
+        int slots = Integer.highestOneBit(size);
+        if (slots < size)
+            slots <<= 1;
+        _tick = tick;
+        _mask = slots - 1;
+        _span = tick * slots;
+        _slots = new AtomicReferenceArray<Slot<V>>(slots);
+        _baseTime = align(startTime);
+    }
+
+    public long getTick() {
+        return _tick;
+    }
+
+    public int getNumOfSlots() {
+        return _mask + 1;
+    }
+
+    public long getBaseTime() {
+        return _baseTime;
+    }
+
+    /**
+     * @return the index of the slot the given expiration time is kept in, while it is within the
+     * wheel revolution
+     */
+    public int getSlot(long time) {
+        return (int) ((time / _tick) & _mask);
+    }
+
+    public V get(long time) {
+        Slot<V> slot = _slots.get(getSlot(time));
+        if (slot != null && slot._time == time)
+            return slot._value;
+        return _overflowSize == 0 ? null : _overflow.get(time);
+    }
+
+    /**
+     * Adds the value of the given expiration time, unless there's one already
+     *
+     * @return the current value of the expiration time, or null if the given value was added
+     */
+    public synchronized V putIfAbsent(long time, V value) {
+        V current = get(time);
+        if (current != null)
+            return current;
+
+        if (isInWheel(time)) {
+            int index = getSlot(time);
+            if (_slots.get(index) == null) {
+                _slots.set(index, new Slot<V>(time, value));
+                _wheelSize++;
+                return null;
+            }
+        }
+        _overflow.put(time, value);
+        _overflowSize++;
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return _wheelSize == 0 && _overflowSize == 0;
+    }
+
+    public int size() {
+        return _wheelSize + _overflowSize;
+    }
+
+    /**
+     * Advances the base time of the wheel up to the given time, as long as the values of the
+     * passed ticks were removed, and cascades the overflow values that the advanced wheel covers.
+     */
+    public synchronized void advance(long time) {
+        final long target = align(time);
+        if (_wheelSize == 0) {
+            if (target > _baseTime)
+                _baseTime = target;
+        } else {
+            long baseTime = _baseTime;
+            while (baseTime < target && _slots.get(getSlot(baseTime)) == null)
+                baseTime += _tick;
+            _baseTime = baseTime;
+        }
+        cascade();
+    }
+
+    private void cascade() {
+        if (_overflowSize == 0)
+            return;
+        final long baseTime = _baseTime;
+        // times before the base are never kept in the wheel, and a time whose slot is taken stays
+        // in the overflow - both are skipped, the times after them may still be cascaded
+        Iterator<Map.Entry<Long, V>> iter = _overflow.subMap(baseTime, true, baseTime + _span, false).entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<Long, V> entry = iter.next();
+            long time = entry.getKey();
+            int index = getSlot(time);
+            if (_slots.get(index) != null)
+                continue;
+            // published to the wheel before it is removed from the overflow, so concurrent readers
+            // always find it
+            _slots.set(index, new Slot<V>(time, entry.getValue()));
+            _wheelSize++;
+            _overflow.remove(time);
+            _overflowSize--;
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < _slots.length(); i++)
+            _slots.set(i, null);
+        _overflow.clear();
+        _wheelSize = 0;
+        _overflowSize = 0;
+    }
+
+    /**
+     * @return an iterator over the values in ascending expiration time order. The iterator is
+     * weakly consistent and supports removal.
+     */
+    public Iterator<V> iterator() {
+        return new ValuesIterator();
+    }
+
+    private synchronized boolean removeSlot(int index, Slot<V> slot) {
+        if (_slots.get(index) != slot)
+            return false;
+        _slots.set(index, null);
+        _wheelSize--;
+        return true;
+    }
+
+    private synchronized boolean removeOverflow(long time, V value) {
+        if (!_overflow.remove(time, value))
+            return false;
+        _overflowSize--;
+        return true;
+    }
+
+    private boolean isInWheel(long time) {
+        long baseTime = _baseTime;
+        return time >= baseTime && time < baseTime + _span;
+    }
+
+    private long align(long time) {
+        return (time / _tick) * _tick;
+    }
+
+    private static final class Slot<V> {
+        private final long _time;
+        private final V _value;
+
+        private Slot(long time, V value) {
+            _time = time;
+            _value = value;
+        }
+    }
+
+    /**
+     * Merges the wheel slots, which are ordered from the base time, with the sorted overflow
+     */
+    private final class ValuesIterator implements Iterator<V> {
+        private final long _startTime = _baseTime;
+        private final Iterator<Map.Entry<Long, V>> _overflowIter = _overflow.entrySet().iterator();
+        // number of slots scanned from the start time
+        private int _scanned;
+        private Slot<V> _nextSlot;
+        private int _nextSlotIndex;
+        private Map.Entry<Long, V> _nextOverflow;
+        // the last returned value - either a slot or an overflow entry
+        private Slot<V> _lastSlot;
+        private int _lastSlotIndex;
+        private Map.Entry<Long, V> _lastOverflow;
+
+        public boolean hasNext() {
+            if (_nextSlot == null)
+                _nextSlot = scanSlots();
+            if (_nextOverflow == null && _overflowIter.hasNext())
+                _nextOverflow = _overflowIter.next();
+            return _nextSlot != null || _nextOverflow != null;
+        }
+
+        public V next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (_nextOverflow == null || (_nextSlot != null && _nextSlot._time <= _nextOverflow.getKey())) {
+                _lastSlot = _nextSlot;
+                _lastSlotIndex = _nextSlotIndex;
+                _lastOverflow = null;
+                _nextSlot = null;
+                return _lastSlot._value;
+            }
+            _lastOverflow = _nextOverflow;
+            _lastSlot = null;
+            _nextOverflow = null;
+            return _lastOverflow.getValue();
+        }
+
+        public void remove() {
+            if (_lastSlot != null)
+                removeSlot(_lastSlotIndex, _lastSlot);
+            else if (_lastOverflow != null)
+                removeOverflow(_lastOverflow.getKey(), _lastOverflow.getValue());
+            else
+                throw new IllegalStateException();
+            _lastSlot = null;
+            _lastOverflow = null;
+        }
+
+        private Slot<V> scanSlots() {
+            while (_scanned <= _mask) {
+                long time = _startTime + _scanned * _tick;
+                int index = getSlot(time);
+                _scanned++;
+                Slot<V> slot = _slots.get(index);
+                // skip values of another revolution, added after the wheel advanced
+                if (slot != null && slot._time >= _startTime && slot._time < _startTime + _span) {
+                    _nextSlotIndex = index;
+                    return slot;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.gigaspaces.internal.query;
 
 import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.server.storage.IEntryData;
 import com.gigaspaces.internal.server.storage.IEntryHolder;
 import com.gigaspaces.internal.server.storage.ITemplateHolder;
 import com.gigaspaces.internal.transport.EntryPacketFactory;
@@ -36,6 +37,7 @@ public class EntryHolderAggregatorContext extends SpaceEntriesAggregatorContext
     private final ITemplateHolder template;
     private final int partitionId;
     private IEntryHolder entryHolder;
+    private IEntryData entryData;
 
     public EntryHolderAggregatorContext(List<SpaceEntriesAggregator> aggregators, ITemplateHolder template,
                                         int partitionId) {
@@ -46,9 +48,27 @@ public class EntryHolderAggregatorContext extends SpaceEntriesAggregatorContext
 
     public void scan(IEntryHolder entryHolder) {
         this.entryHolder = entryHolder;
+        this.entryData = null;
         aggregate();
     }
 
+    /**
+     * Aggregates the entry using the given data instead of the current data of the entry, for
+     * entries whose aggregation is done after the scan has moved on.
+     */
+    protected void scan(IEntryHolder entryHolder, IEntryData entryData) {
+        this.entryHolder = entryHolder;
+        this.entryData = entryData;
+        aggregate();
+    }
+
+    /**
+     * Called by the scanning thread once all the matching entries were scanned, before the
+     * aggregators results are collected.
+     */
+    public void complete() throws InterruptedException {
+    }
+
     @Override
     public int getPartitionId() {
         return partitionId;
@@ -61,7 +81,9 @@ public class EntryHolderAggregatorContext extends SpaceEntriesAggregatorContext
 
     @Override
     public RawEntry getRawEntry() {
-        return EntryPacketFactory.createFullPacket(entryHolder, template);
+        return entryData != null
+                ? EntryPacketFactory.createFullPacket(entryHolder, template, entryData)
+                : EntryPacketFactory.createFullPacket(entryHolder, template);
     }
 
 
@@ -76,6 +98,6 @@ public class EntryHolderAggregatorContext extends SpaceEntriesAggregatorContext
         final ITypeDesc typeDesc = entryHolder.getServerTypeDesc().getTypeDesc();
         if (typeDesc.isAutoGenerateId() && typeDesc.getIdPropertyName().equals(path))
             return entryHolder.getUID();
-        return entryHolder.getEntryData().getPathValue(path);
+        return (entryData != null ? entryData : entryHolder.getEntryData()).getPathValue(path);
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.query;
+
+import com.gigaspaces.internal.server.storage.IEntryData;
+import com.gigaspaces.internal.server.storage.IEntryHolder;
+import com.gigaspaces.internal.server.storage.ITemplateHolder;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Aggregation context which aggregates the matching entries of the partition in parallel. The
+ * scanning thread collects the matching entries into fixed size segments and hands each full
+ * segment to the executor, where it is aggregated by a worker owning its own clones of the
+ * aggregators and its own context. When all the permitted workers are busy the scanning thread
+ * aggregates the segment itself with the original aggregators, so a busy executor never stalls the
+ * scan. Once the scan is completed the results of the workers are merged into the original
+ * aggregators using {@link SpaceEntriesAggregator#aggregateIntermediateResult}, the same way the
+ * results of the partitions are merged by the client.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ParallelEntryHolderAggregatorContext extends EntryHolderAggregatorContext {
+
+    private final List<SpaceEntriesAggregator> _aggregators;
+    //Clones of the aggregators taken before any entry was scanned, the workers clone these
+    private final List<SpaceEntriesAggregator> _prototypes;
+    private final ITemplateHolder _template;
+    private final int _partitionId;
+    private final Executor _executor;
+    private final Semaphore _permits;
+    private final int _segmentSize;
+    //Workers not used by a running segment, a worker is used by a single segment at a time
+    private final Queue<Worker> _idleWorkers = new ConcurrentLinkedQueue<Worker>();
+    private final Object _lock = new Object();
+    //Guarded by _lock
+    private final List<Worker> _workers = new ArrayList<Worker>();
+    private int _pendingSegments;
+    private Throwable _failure;
+    //Used by the scanning thread only
+    private Segment _segment;
+
+    public ParallelEntryHolderAggregatorContext(List<SpaceEntriesAggregator> aggregators, ITemplateHolder template,
+                                                int partitionId, Executor executor, int parallelism, int segmentSize) {
+        super(aggregators, template, partitionId);
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be positive - " + parallelism);
+        if (segmentSize <= 0)
+            throw new IllegalArgumentException("segment size must be positive - " + segmentSize);
+        _aggregators = aggregators;
+        _prototypes = cloneAll(aggregators);
+        _template = template;
+        _partitionId = partitionId;
+        _executor = executor;
+        _permits = new Semaphore(parallelism);
+        _segmentSize = segmentSize;
+    }
+
+    @Override
+    public void scan(IEntryHolder entryHolder) {
+        if (_segment == null)
+            _segment = new Segment(_segmentSize);
+        //The data is taken now since the entry may be modified before its segment is aggregated
+        _segment.add(entryHolder, entryHolder.getEntryData());
+        if (_segment.isFull()) {
+            dispatch(_segment);
+            _segment = null;
+        }
+    }
+
+    @Override
+    public void complete() throws InterruptedException {
+        if (_segment != null) {
+            _segment.aggregate(this);
+            _segment = null;
+        }
+
+        synchronized (_lock) {
+            while (_pendingSegments != 0)
+                _lock.wait();
+
+            if (_failure instanceof RuntimeException)
+                throw (RuntimeException) _failure;
+            if (_failure instanceof Error)
+                throw (Error) _failure;
+            if (_failure != null)
+                throw new IllegalStateException("Failed to aggregate entries", _failure);
+
+            for (Worker worker : _workers)
+                worker.mergeInto(_aggregators);
+            _workers.clear();
+        }
+    }
+
+    private void dispatch(Segment segment) {
+        if (!_permits.tryAcquire()) {
+            segment.aggregate(this);
+            return;
+        }
+
+        synchronized (_lock) {
+            _pendingSegments++;
+        }
+        try {
+            _executor.execute(new SegmentTask(segment));
+        } catch (RejectedExecutionException e) {
+            segmentCompleted(null);
+            segment.aggregate(this);
+        }
+    }
+
+    private void segmentCompleted(Throwable failure) {
+        _permits.release();
+        synchronized (_lock) {
+            if (failure != null && _failure == null)
+                _failure = failure;
+            if (--_pendingSegments == 0)
+                _lock.notifyAll();
+        }
+    }
+
+    private Worker acquireWorker() {
+        Worker worker = _idleWorkers.poll();
+        if (worker == null) {
+            worker = new Worker();
+            synchronized (_lock) {
+                _workers.add(worker);
+            }
+        }
+        return worker;
+    }
+
+    private static List<SpaceEntriesAggregator> cloneAll(List<SpaceEntriesAggregator> aggregators) {
+        List<SpaceEntriesAggregator> clones = new ArrayList<SpaceEntriesAggregator>(aggregators.size());
+        for (SpaceEntriesAggregator aggregator : aggregators)
+            clones.add(aggregator.clone());
+        return clones;
+    }
+
+    private class SegmentTask implements Runnable {
+        private final Segment _taskSegment;
+
+        private SegmentTask(Segment segment) {
+            this._taskSegment = segment;
+        }
+
+        @Override
+        public void run() {
+            Throwable failure = null;
+            Worker worker = acquireWorker();
+            try {
+                _taskSegment.aggregate(worker._context);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                _idleWorkers.offer(worker);
+                segmentCompleted(failure);
+            }
+        }
+    }
+
+    private class Worker {
+        private final List<SpaceEntriesAggregator> _clones;
+        private final EntryHolderAggregatorContext _context;
+
+        private Worker() {
+            _clones = cloneAll(_prototypes);
+            _context = new EntryHolderAggregatorContext(_clones, _template, _partitionId);
+        }
+
+        private void mergeInto(List<SpaceEntriesAggregator> aggregators) {
+            for (int i = 0; i < aggregators.size(); i++) {
+                Serializable result = _clones.get(i).getIntermediateResult();
+                if (result != null)
+                    aggregators.get(i).aggregateIntermediateResult(result);
+            }
+        }
+    }
+
+    private static class Segment {
+        private final IEntryHolder[] _entries;
+        private final IEntryData[] _entriesData;
+        private int _size;
+
+        private Segment(int capacity) {
+            _entries = new IEntryHolder[capacity];
+            _entriesData = new IEntryData[capacity];
+        }
+
+        private void add(IEntryHolder entryHolder, IEntryData entryData) {
+            _entries[_size] = entryHolder;
+            _entriesData[_size] = entryData;
+            _size++;
+        }
+
+        private boolean isFull() {
+            return _size == _entries.length;
+        }
+
+        private void aggregate(EntryHolderAggregatorContext context) {
+            for (int i = 0; i < _size; i++)
+                context.scan(_entries[i], _entriesData[i]);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterEx
 import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterRemoteOperationRouter;
 import com.gigaspaces.lrmi.nio.LRMIMethodTrackingIdProvider;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,6 +48,8 @@ public interface RemoteOperationRequest<TResult extends RemoteOperationResult> e
 
     Object getPartitionedClusterRoutingValue(PartitionedClusterRemoteOperationRouter router);
 
+    Collection<?> getPartitionedClusterRoutingValues(PartitionedClusterRemoteOperationRouter router);
+
     boolean requiresPartitionedPreciseDistribution();
 
     int getPreciseDistributionGroupingCode();
@@ -33,23 +33,25 @@ public class BroadcastOperationFutureListener<T extends RemoteOperationResult> e
     private final RemoteOperationRequest<T> _mainRequest;
     private final PartitionedClusterRemoteOperationRouter _router;
     private final List<T> _previousResults;
-    private final int _startPartitionId;
+    private final int[] _partitionIds;
+    private final int _startIndex;
 
     public BroadcastOperationFutureListener(RemoteOperationRequest<T> mainRequest, AsyncFutureListener<Object> listener, PartitionedClusterRemoteOperationRouter router, boolean getResultOnCompletion) {
         super(router.getLogger(), listener, getResultOnCompletion);
         this._mainRequest = mainRequest;
         this._router = router;
         this._previousResults = new ArrayList<T>();
-        this._startPartitionId = router.getNextDistributionPartitionId(mainRequest);
+        this._partitionIds = router.getBroadcastPartitionIds(mainRequest);
+        this._startIndex = router.getNextDistributionPartitionId(mainRequest) % _partitionIds.length;
     }
 
     @Override
     protected boolean onOperationResultArrival(RemoteOperationRequest<T> partitionRequest) {
         // Process incoming partition result:
         T partitionResult = partitionRequest.getRemoteOperationResult();
-        boolean continueProcessing = _mainRequest.processPartitionResult(partitionResult, _previousResults, _router.getNumOfPartitions());
+        boolean continueProcessing = _mainRequest.processPartitionResult(partitionResult, _previousResults, _partitionIds.length);
         // If there are enough accumulated results, or this is the last possible result, signal completion:
-        if (!continueProcessing || _previousResults.size() + 1 >= _router.getNumOfPartitions())
+        if (!continueProcessing || _previousResults.size() + 1 >= _partitionIds.length)
             return true;
 
         // When the partition request is same as the main, clear the result for safety:
@@ -59,7 +61,7 @@ public class BroadcastOperationFutureListener<T extends RemoteOperationResult> e
         _previousResults.add(partitionResult);
         if (_mainRequest.getPartitionedClusterExecutionType() == PartitionedClusterExecutionType.BROADCAST_SEQUENTIAL) {
             // Get next partition to execute:
-            final int partitionId = (getStartPartitionId() + _previousResults.size()) % _router.getNumOfPartitions();
+            final int partitionId = _partitionIds[(_startIndex + _previousResults.size()) % _partitionIds.length];
             // Process request in next partition asynchronously:
             _router.getPartitionRouter(partitionId).executeAsync(_mainRequest, this);
         }
@@ -73,6 +75,13 @@ public class BroadcastOperationFutureListener<T extends RemoteOperationResult> e
     }
 
     public int getStartPartitionId() {
-        return _startPartitionId;
+        return _partitionIds[_startIndex];
+    }
+
+    /**
+     * @return the ids of the partitions the request is broadcast to.
+     */
+    public int[] getPartitionIds() {
+        return _partitionIds;
     }
 }
@@ -28,6 +28,8 @@ import com.gigaspaces.internal.remoting.routing.clustered.RemoteOperationsExecut
 import com.gigaspaces.internal.utils.concurrent.CyclicAtomicInteger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,6 +43,7 @@ public class PartitionedClusterRemoteOperationRouter extends AbstractRemoteOpera
     private static final RemoteOperationsExecutorProxy _dummyProxy = new RemoteOperationsExecutorProxy("dummy", null);
 
     private final RemoteOperationRouter[] _partitions;
+    private final int[] _allPartitionIds;
     private final CoordinatorFactory _listenerFactory;
     private final RemoteOperationsExecutorsCluster _partitionedCluster;
     private final CyclicAtomicInteger[] _roundRobinPreciseIndexes;
@@ -56,6 +59,9 @@ public class PartitionedClusterRemoteOperationRouter extends AbstractRemoteOpera
                                                    RemoteOperationsExecutorsCluster partitionedCluster) {
         super(name);
         this._partitions = partitions;
+        this._allPartitionIds = new int[partitions.length];
+        for (int i = 0; i < partitions.length; i++)
+            _allPartitionIds[i] = i;
         this._listenerFactory = coordinatorFactory;
         this._broadcastDisabled = broadcastDisabled;
         this._partitionedCluster = partitionedCluster;
@@ -219,21 +225,37 @@ public class PartitionedClusterRemoteOperationRouter extends AbstractRemoteOpera
 
     private <T extends RemoteOperationResult> void executeBroadcastSequential(RemoteOperationRequest<T> request)
             throws InterruptedException {
-        // Create a listener to monitor concurrent execution:
+        final int[] partitionIds = getBroadcastPartitionIds(request);
         final int startIndex = getNextDistributionPartitionId(request);
         List<T> previousResults = new ArrayList<T>();
-        for (int i = 0; i < _partitions.length; i++) {
-            int index = (i + startIndex) % _partitions.length;
+        for (int i = 0; i < partitionIds.length; i++) {
+            int index = partitionIds[(i + startIndex) % partitionIds.length];
             request.setRemoteOperationResult(null);
             this._partitions[index].execute(request);
             T partitionResult = request.getRemoteOperationResult();
-            boolean continueProcessing = request.processPartitionResult(partitionResult, previousResults, _partitions.length);
+            boolean continueProcessing = request.processPartitionResult(partitionResult, previousResults, partitionIds.length);
             if (!continueProcessing)
                 break;
             previousResults.add(partitionResult);
         }
     }
 
+    /**
+     * @return the ids of the partitions a broadcast request is executed on: the partitions of the
+     * routing values of the request if it has any, otherwise all partitions.
+     */
+    public int[] getBroadcastPartitionIds(RemoteOperationRequest<?> request) {
+        Collection<?> routingValues = request.getPartitionedClusterRoutingValues(this);
+        int[] partitionIds = routingValues != null && !routingValues.isEmpty()
+                ? PartitionedClusterUtils.getPartitionIds(routingValues, _partitions.length)
+                : null;
+        if (partitionIds == null)
+            return _allPartitionIds;
+        if (_logger.isLoggable(Level.FINEST))
+            _logger.log(Level.FINEST, "Routing values of " + request + " limit its execution to partitions " + Arrays.toString(partitionIds));
+        return partitionIds;
+    }
+
     public int getNextDistributionPartitionId(RemoteOperationRequest<?> request) {
         return request.requiresPartitionedPreciseDistribution() ? getNextPreciseDistributionPartitionId(request.getPreciseDistributionGroupingCode()) : getNextApproxDistributionPartitionId();
     }
@@ -256,8 +278,8 @@ public class PartitionedClusterRemoteOperationRouter extends AbstractRemoteOpera
         // Execute request on each partition asynchronously:
         // TODO: Ask Eitan why the duplicate clone.
         RemoteOperationRequest<T> isolatedCopy = request.createCopy(-1);
-        for (int i = 0; i < _partitions.length; i++)
-            this._partitions[i].executeAsync(isolatedCopy.createCopy(i), listener);
+        for (int partitionId : listener.getPartitionIds())
+            this._partitions[partitionId].executeAsync(isolatedCopy.createCopy(partitionId), listener);
     }
 
     private void executeBroadcastConcurrentOneway(
@@ -265,8 +287,8 @@ public class PartitionedClusterRemoteOperationRouter extends AbstractRemoteOpera
         // Clone request per partition since request is not multithread-safe:
         // Execute request on each partition in one way:
         RemoteOperationRequest isolatedCopy = request.createCopy(-1);
-        for (int i = 0; i < _partitions.length; i++)
-            this._partitions[i].executeOneway(isolatedCopy.createCopy(i));
+        for (int partitionId : getBroadcastPartitionIds(request))
+            this._partitions[partitionId].executeOneway(isolatedCopy.createCopy(partitionId));
 
     }
 
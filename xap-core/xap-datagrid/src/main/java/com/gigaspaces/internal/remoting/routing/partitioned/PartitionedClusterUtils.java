@@ -16,6 +16,8 @@
 
 package com.gigaspaces.internal.remoting.routing.partitioned;
 
+import java.util.Collection;
+
 /**
  * @author Niv Ingberg
  * @since 9.0.0
@@ -37,6 +39,29 @@ public class PartitionedClusterUtils {
         return safeAbs(routingValue.hashCode()) % numOfPartitions;
     }
 
+    /**
+     * @return the sorted distinct ids of the partitions of the given routing values, or null if
+     * any of the values is null.
+     */
+    public static int[] getPartitionIds(Collection<?> routingValues, int numOfPartitions) {
+        final boolean[] targeted = new boolean[numOfPartitions];
+        int numOfTargets = 0;
+        for (Object routingValue : routingValues) {
+            int partitionId = getPartitionId(routingValue, numOfPartitions);
+            if (partitionId == NO_PARTITION)
+                return null;
+            if (!targeted[partitionId]) {
+                targeted[partitionId] = true;
+                numOfTargets++;
+            }
+        }
+        final int[] partitionIds = new int[numOfTargets];
+        for (int partitionId = 0, index = 0; partitionId < numOfPartitions; partitionId++)
+            if (targeted[partitionId])
+                partitionIds[index++] = partitionId;
+        return partitionIds;
+    }
+
     public static int safeAbs(int value) {
         return value == Integer.MIN_VALUE ? Integer.MAX_VALUE : Math.abs(value);
     }
@@ -64,6 +64,7 @@ import com.gigaspaces.internal.metadata.EntryType;
 import com.gigaspaces.internal.metadata.ITypeDesc;
 import com.gigaspaces.internal.metadata.converter.ConversionException;
 import com.gigaspaces.internal.query.EntryHolderAggregatorContext;
+import com.gigaspaces.internal.query.ParallelEntryHolderAggregatorContext;
 import com.gigaspaces.internal.query.explainplan.SingleExplainPlan;
 import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterUtils;
 import com.gigaspaces.internal.server.metadata.AddTypeDescResult;
@@ -84,6 +85,7 @@ import com.gigaspaces.internal.sync.hybrid.SyncHybridTransactionException;
 import com.gigaspaces.internal.transport.*;
 import com.gigaspaces.internal.utils.StringUtils;
 import com.gigaspaces.internal.utils.collections.IAddOnlySet;
+import com.gigaspaces.internal.utils.concurrent.GSThreadFactory;
 import com.gigaspaces.lrmi.LRMIRuntime;
 import com.gigaspaces.lrmi.TransportProtocolHelper;
 import com.gigaspaces.lrmi.nio.IResponseContext;
@@ -105,7 +107,9 @@ import com.j_spaces.core.admin.TemplateInfo;
 import com.j_spaces.core.cache.CacheManager;
 import com.j_spaces.core.cache.IEntryCacheInfo;
 import com.j_spaces.core.cache.TerminatingFifoXtnsInfo;
+import com.j_spaces.core.cache.TypeData;
 import com.j_spaces.core.cache.XtnData;
+import com.j_spaces.core.cache.columnar.ColumnarTypeSnapshot;
 import com.j_spaces.core.cache.context.Context;
 import com.j_spaces.core.cache.offHeap.IOffHeapEntryHolder;
 import com.j_spaces.core.cache.offHeap.OffHeapEntryHolder;
@@ -128,6 +132,7 @@ import com.j_spaces.core.transaction.TransactionHandler;
 import com.j_spaces.kernel.ClassLoaderHelper;
 import com.j_spaces.kernel.*;
 import com.j_spaces.kernel.list.IScanListIterator;
+import com.j_spaces.kernel.threadpool.DynamicExecutors;
 import com.j_spaces.kernel.locks.ILockObject;
 import net.jini.core.entry.UnusableEntryException;
 import net.jini.core.lease.Lease;
@@ -145,6 +150,7 @@ import net.jini.space.JavaSpace;
 import javax.transaction.xa.Xid;
 import java.rmi.RemoteException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -183,6 +189,7 @@ public class SpaceEngine implements ISpaceModeListener {
     private final LocalViewRegistrations _localViewRegistrations;
     private final MetricManager _metricManager;
     private final MetricRegistrator _metricRegistrator;
+    private final SpaceOperationsLatency _operationsLatency;
     // Components which depend only on spaceImpl and configuration
     private final SpaceConfigReader _configReader;
     private final SpaceUidFactory _uidFactory;
@@ -259,6 +266,10 @@ public class SpaceEngine implements ISpaceModeListener {
     private final int _resultsSizeLimit;
     private final int _resultsSizeLimitMemoryCheckBatchSize;
 
+    private final int _aggregationParallelism;
+    private final int _aggregationSegmentSize;
+    private volatile ExecutorService _aggregationPool;
+
 
     static {
         EMPTY_ENTRYPACKET = new EntryPacket();
@@ -358,8 +369,14 @@ public class SpaceEngine implements ISpaceModeListener {
         _duplicateOperationIDFilter = createDuplicateOperationIDFilter();
         _resultsSizeLimit = _configReader.getIntSpaceProperty(ENGINE_QUERY_RESULT_SIZE_LIMIT, ENGINE_QUERY_RESULT_SIZE_LIMIT_DEFAULT);
         _resultsSizeLimitMemoryCheckBatchSize = _configReader.getIntSpaceProperty(ENGINE_QUERY_RESULT_SIZE_LIMIT_MEMORY_CHECK_BATCH_SIZE, ENGINE_QUERY_RESULT_SIZE_LIMIT_MEMORY_CHECK_BATCH_SIZE_DEFAULT);
+        _aggregationParallelism = _isLocalCache ? 0 : _configReader.getIntSpaceProperty(ENGINE_AGGREGATION_PARALLELISM_PROP, ENGINE_AGGREGATION_PARALLELISM_DEFAULT);
+        _aggregationSegmentSize = _configReader.getIntSpaceProperty(ENGINE_AGGREGATION_SEGMENT_SIZE_PROP, ENGINE_AGGREGATION_SEGMENT_SIZE_DEFAULT);
         if (!_isLocalCache)
             registerSpaceMetrics(_metricRegistrator);
+        _operationsLatency = new SpaceOperationsLatency(_metricRegistrator.extend(MetricConstants.OPERATIONS_METRIC_NAME),
+                !_isLocalCache && _configReader.getBooleanSpaceProperty(ENGINE_OPERATIONS_LATENCY_METRICS_PROP, ENGINE_OPERATIONS_LATENCY_METRICS_DEFAULT),
+                _configReader.getBooleanSpaceProperty(ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_PROP, ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_DEFAULT),
+                _configReader.getIntSpaceProperty(ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_MAX_TYPES_PROP, ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_MAX_TYPES_DEFAULT));
 
     }
 
@@ -713,6 +730,20 @@ public class SpaceEngine implements ISpaceModeListener {
                                   SpaceContext sc)
             throws TransactionException, UnusableEntryException,
             UnknownTypeException, RemoteException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return write_impl(entryPacket, txn, lease, modifiers, fromReplication, origin, sc);
+        } finally {
+            if (!fromReplication)
+                _operationsLatency.record(SpaceOperationsLatency.WRITE, entryPacket.getTypeName(), startTime);
+        }
+    }
+
+    private WriteEntryResult write_impl(IEntryPacket entryPacket, Transaction txn,
+                                        long lease, int modifiers, boolean fromReplication, boolean origin,
+                                        SpaceContext sc)
+            throws TransactionException, UnusableEntryException,
+            UnknownTypeException, RemoteException {
         monitorMemoryUsage(true);
         monitorReplicationStateForModifyingOperation(txn, OperationWeightInfoFactory.create(1, WeightInfoOperationType.WRITE));
 
@@ -1109,6 +1140,20 @@ public class SpaceEngine implements ISpaceModeListener {
                              boolean returnOnlyUid, boolean fromReplication, boolean origin,
                              int operationModifiers)
             throws TransactionException, UnusableEntryException, UnknownTypeException, RemoteException, InterruptedException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return read_impl(template, txn, timeout, ifExists, take, sc, returnOnlyUid, fromReplication, origin, operationModifiers);
+        } finally {
+            if (!fromReplication)
+                _operationsLatency.record(take ? SpaceOperationsLatency.TAKE : SpaceOperationsLatency.READ, template.getTypeName(), startTime);
+        }
+    }
+
+    private AnswerHolder read_impl(ITemplatePacket template, Transaction txn, long timeout, boolean ifExists,
+                                   boolean take, SpaceContext sc,
+                                   boolean returnOnlyUid, boolean fromReplication, boolean origin,
+                                   int operationModifiers)
+            throws TransactionException, UnusableEntryException, UnknownTypeException, RemoteException, InterruptedException {
         if (Modifiers.contains(operationModifiers, Modifiers.EXPLAIN_PLAN)) {
             SingleExplainPlan.validate(timeout, _cacheManager.isOffHeapCachePolicy(), operationModifiers, template.getCustomQuery(), getClassTypeInfo(template.getTypeName()).getIndexes());
         }
@@ -1413,6 +1458,17 @@ public class SpaceEngine implements ISpaceModeListener {
      */
     public WriteEntriesResult write(IEntryPacket[] entryPackets, Transaction txn, long lease, long leases[], int modifiers, SpaceContext sc, long timeout, boolean newRouter)
             throws TransactionException, RemoteException, UnknownTypesException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return write_impl(entryPackets, txn, lease, leases, modifiers, sc, timeout, newRouter);
+        } finally {
+            // the entries may be of several types
+            _operationsLatency.record(SpaceOperationsLatency.WRITE_MULTIPLE, null, startTime);
+        }
+    }
+
+    private WriteEntriesResult write_impl(IEntryPacket[] entryPackets, Transaction txn, long lease, long leases[], int modifiers, SpaceContext sc, long timeout, boolean newRouter)
+            throws TransactionException, RemoteException, UnknownTypesException {
         monitorMemoryUsage(true);
         monitorReplicationStateForModifyingOperation(txn, OperationWeightInfoFactory.create(entryPackets.length, WeightInfoOperationType.WRITE));
 
@@ -1857,6 +1913,21 @@ public class SpaceEngine implements ISpaceModeListener {
                                      BatchQueryOperationContext batchOperationContext,
                                      List<SpaceEntriesAggregator> aggregators)
             throws TransactionException, UnusableEntryException, UnknownTypeException, RemoteException, InterruptedException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return readMultiple_impl(template, txn, timeout, ifExists, take, sc, returnOnlyUid, operationModifiers,
+                    batchOperationContext, aggregators);
+        } finally {
+            _operationsLatency.record(take ? SpaceOperationsLatency.TAKE_MULTIPLE : SpaceOperationsLatency.READ_MULTIPLE,
+                    template.getTypeName(), startTime);
+        }
+    }
+
+    private AnswerHolder readMultiple_impl(ITemplatePacket template, Transaction txn, long timeout, boolean ifExists,
+                                           boolean take, SpaceContext sc, boolean returnOnlyUid, int operationModifiers,
+                                           BatchQueryOperationContext batchOperationContext,
+                                           List<SpaceEntriesAggregator> aggregators)
+            throws TransactionException, UnusableEntryException, UnknownTypeException, RemoteException, InterruptedException {
         monitorMemoryUsage(false);
         if (Modifiers.contains(operationModifiers, Modifiers.EXPLAIN_PLAN)) {
             SingleExplainPlan.validate(timeout, _cacheManager.isOffHeapCachePolicy(), operationModifiers, template.getCustomQuery(), getClassTypeInfo(template.getTypeName()).getIndexes());
@@ -1917,7 +1988,7 @@ public class SpaceEngine implements ISpaceModeListener {
         tHolder.setID(template.getID());
         tHolder.setBatchOperationContext(batchOperationContext);
         if (aggregators != null)
-            tHolder.setAggregatorContext(new EntryHolderAggregatorContext(aggregators, tHolder, getPartitionIdZeroBased()));
+            tHolder.setAggregatorContext(createAggregatorContext(aggregators, tHolder));
 
         if (take) // call  filters for take
         {
@@ -1951,6 +2022,8 @@ public class SpaceEngine implements ISpaceModeListener {
                 _coreProcessor.handleDirectMultipleReadIEOrTakeIESA(context, tHolder);
             else
                 _coreProcessor.handleDirectMultipleReadTakeSA(context, tHolder);
+            if (tHolder.getAggregatorContext() != null)
+                tHolder.getAggregatorContext().complete();
 
             answerSetByThisThread = context.isOpResultByThread();
             numOfEntriesMatched = context.getNumberOfEntriesMatched();
@@ -1991,6 +2064,16 @@ public class SpaceEngine implements ISpaceModeListener {
 
     public Pair<Integer, SingleExplainPlan> count(ITemplatePacket template, Transaction txn, SpaceContext sc, int operationModifiers)
             throws UnusableEntryException, UnknownTypeException, TransactionException, RemoteException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return count_impl(template, txn, sc, operationModifiers);
+        } finally {
+            _operationsLatency.record(SpaceOperationsLatency.COUNT, template.getTypeName(), startTime);
+        }
+    }
+
+    private Pair<Integer, SingleExplainPlan> count_impl(ITemplatePacket template, Transaction txn, SpaceContext sc, int operationModifiers)
+            throws UnusableEntryException, UnknownTypeException, TransactionException, RemoteException {
         monitorMemoryUsage(false);
         if (Modifiers.contains(operationModifiers, Modifiers.EXPLAIN_PLAN)) {
             SingleExplainPlan.validate(0, _cacheManager.isOffHeapCachePolicy(), operationModifiers, template.getCustomQuery(), getClassTypeInfo(template.getTypeName()).getIndexes());
@@ -2039,6 +2122,17 @@ public class SpaceEngine implements ISpaceModeListener {
     public Pair<Integer, SingleExplainPlan> clear(ITemplatePacket template, Transaction txn, SpaceContext sc, int operationModifiers)
             throws UnusableEntryException, UnknownTypeException,
             TransactionException, RemoteException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return clear_impl(template, txn, sc, operationModifiers);
+        } finally {
+            _operationsLatency.record(SpaceOperationsLatency.CLEAR, template.getTypeName(), startTime);
+        }
+    }
+
+    private Pair<Integer, SingleExplainPlan> clear_impl(ITemplatePacket template, Transaction txn, SpaceContext sc, int operationModifiers)
+            throws UnusableEntryException, UnknownTypeException,
+            TransactionException, RemoteException {
         if (Modifiers.contains(operationModifiers, Modifiers.EXPLAIN_PLAN)) {
             throw new UnsupportedOperationException("Sql explain plan is not supported for clear operation");
         }
@@ -2049,7 +2143,7 @@ public class SpaceEngine implements ISpaceModeListener {
         // memory management is called from readMultiple and from read.
         if (template.isIdQuery()) {
             try {
-                ah = read(template,
+                ah = read_impl(template,
                         txn,
                         0,
                         false /* ifExists */,
@@ -2076,7 +2170,7 @@ public class SpaceEngine implements ISpaceModeListener {
         } else {
             ClearContext batchOperationContext = new ClearContext(template, Integer.MAX_VALUE);
             try {
-                ah = readMultiple(template,
+                ah = readMultiple_impl(template,
                         txn,
                         0L /*timeout*/,
                         false, /*ifExists*/
@@ -2477,6 +2571,19 @@ public class SpaceEngine implements ISpaceModeListener {
                                        SpaceContext sc, boolean fromReplication, boolean origin,
                                        Collection<SpaceEntryMutator> mutators, int operationModifiers, boolean returnOnlyUid)
             throws UnusableEntryException, UnknownTypeException, TransactionException, RemoteException, InterruptedException {
+        final long startTime = _operationsLatency.start();
+        try {
+            return change_impl(template, txn, lease, timeout, sc, fromReplication, origin, mutators, operationModifiers, returnOnlyUid);
+        } finally {
+            if (!fromReplication)
+                _operationsLatency.record(SpaceOperationsLatency.CHANGE, template.getTypeName(), startTime);
+        }
+    }
+
+    private ExtendedAnswerHolder change_impl(ITemplatePacket template, Transaction txn, long lease, long timeout,
+                                             SpaceContext sc, boolean fromReplication, boolean origin,
+                                             Collection<SpaceEntryMutator> mutators, int operationModifiers, boolean returnOnlyUid)
+            throws UnusableEntryException, UnknownTypeException, TransactionException, RemoteException, InterruptedException {
         monitorMemoryUsage(true /*writeOp*/);
         if (Modifiers.contains(operationModifiers, Modifiers.EXPLAIN_PLAN)) {
             throw new UnsupportedOperationException("Sql explain plan is not supported for change operation");
@@ -3461,6 +3568,9 @@ public class SpaceEngine implements ISpaceModeListener {
         if (_processorWG != null)
             _processorWG.shutdown();
 
+        if (_aggregationPool != null)
+            _aggregationPool.shutdown();
+
         if (_leaseManager != null)
             _leaseManager.close();
 
@@ -6172,14 +6282,45 @@ public class SpaceEngine implements ISpaceModeListener {
         return XtnConfilctCheckIndicators.NO_CONFLICT;  // dirty read, allow xtn conflicts
     }
 
+    private EntryHolderAggregatorContext createAggregatorContext(List<SpaceEntriesAggregator> aggregators, ITemplateHolder template) {
+        if (_aggregationParallelism <= 0)
+            return new EntryHolderAggregatorContext(aggregators, template, getPartitionIdZeroBased());
+        return new ParallelEntryHolderAggregatorContext(aggregators, template, getPartitionIdZeroBased(),
+                getAggregationPool(), _aggregationParallelism, _aggregationSegmentSize);
+    }
+
+    private ExecutorService getAggregationPool() {
+        if (_aggregationPool == null) {
+            synchronized (this) {
+                if (_aggregationPool == null)
+                    _aggregationPool = DynamicExecutors.newScalingThreadPool(0, _aggregationParallelism, 60000,
+                            new GSThreadFactory(_fullSpaceName + "-aggregation", true));
+            }
+        }
+        return _aggregationPool;
+    }
+
     public void aggregate(ITemplatePacket queryPacket, List<SpaceEntriesAggregator> aggregators, int readModifiers,
                           SpaceContext sc)
             throws Exception {
+        final long startTime = _operationsLatency.start();
+        try {
+            aggregate_impl(queryPacket, aggregators, readModifiers, sc);
+        } finally {
+            _operationsLatency.record(SpaceOperationsLatency.AGGREGATE, queryPacket.getTypeName(), startTime);
+        }
+    }
+
+    private void aggregate_impl(ITemplatePacket queryPacket, List<SpaceEntriesAggregator> aggregators, int readModifiers,
+                                SpaceContext sc)
+            throws Exception {
         if (Modifiers.contains(readModifiers, Modifiers.EXPLAIN_PLAN)) {
             throw new UnsupportedOperationException("Sql explain plan is not supported for aggregation");
         }
+        if (aggregateFromColumnarSnapshot(queryPacket, aggregators, readModifiers))
+            return;
         BatchQueryOperationContext batchContext = new AggregateOperationContext(queryPacket, Integer.MAX_VALUE, 1);
-        AnswerHolder ah = readMultiple(queryPacket,
+        AnswerHolder ah = readMultiple_impl(queryPacket,
                 null /*txn*/,
                 0 /*timeout*/,
                 false, /*ifExists*/
@@ -6196,6 +6337,55 @@ public class SpaceEngine implements ISpaceModeListener {
 
     }
 
+    /**
+     * Computes the aggregators from the columnar snapshot of the queried type, if it keeps one and
+     * the query matches all of its entries. The snapshot ignores transactions, so it is not used
+     * while any transaction is active.
+     *
+     * @return false if the aggregators should be computed by scanning the entries.
+     */
+    private boolean aggregateFromColumnarSnapshot(ITemplatePacket queryPacket, List<SpaceEntriesAggregator> aggregators,
+                                                  int readModifiers)
+            throws UnknownTypeException, UnusableEntryException {
+        if (ReadModifiers.isFifoGroupingPoll(readModifiers) || !matchesAllEntries(queryPacket))
+            return false;
+        if (_filterManager._isFilter[FilterOperationCodes.BEFORE_READ_MULTIPLE] || _filterManager._isFilter[FilterOperationCodes.AFTER_READ_MULTIPLE])
+            return false;
+        if (!_transactionHandler.getXtnTable().isEmpty())
+            return false;
+
+        IServerTypeDesc typeDesc = _typeManager.loadServerTypeDesc(queryPacket);
+        //Entries of sub types are kept by the type data of each sub type
+        if (typeDesc.getAssignableTypes().length != 1)
+            return false;
+        TypeData typeData = _cacheManager.getTypeData(typeDesc);
+        ColumnarTypeSnapshot snapshot = typeData != null ? typeData.getColumnarSnapshot() : null;
+        return snapshot != null && snapshot.aggregate(aggregators, typeDesc.getTypeDesc(), SystemTime.timeMillis());
+    }
+
+    private static boolean matchesAllEntries(ITemplatePacket queryPacket) {
+        if (queryPacket.getUID() != null || queryPacket.getMultipleUIDs() != null || queryPacket.getCustomQuery() != null)
+            return false;
+        if (queryPacket.getDynamicProperties() != null && !queryPacket.getDynamicProperties().isEmpty())
+            return false;
+        Object[] values = queryPacket.getFieldValues();
+        if (values != null)
+            for (Object value : values)
+                if (value != null)
+                    return false;
+        Object[] rangeValues = queryPacket.getRangeValues();
+        if (rangeValues != null)
+            for (Object value : rangeValues)
+                if (value != null)
+                    return false;
+        short[] matchCodes = queryPacket.getExtendedMatchCodes();
+        if (matchCodes != null)
+            for (short matchCode : matchCodes)
+                if (matchCode != TemplateMatchCodes.EQ)
+                    return false;
+        return true;
+    }
+
     public int countIncomingConnections() throws RemoteException {
         if (isLocalCache())
             return 0;
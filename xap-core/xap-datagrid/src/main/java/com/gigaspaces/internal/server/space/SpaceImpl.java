@@ -98,6 +98,7 @@ import com.gigaspaces.management.space.LocalCacheDetails;
 import com.gigaspaces.management.space.LocalViewDetails;
 import com.gigaspaces.management.transport.ITransportConnection;
 import com.gigaspaces.metadata.StorageType;
+import com.gigaspaces.metrics.MetricConstants;
 import com.gigaspaces.security.SecurityException;
 import com.gigaspaces.security.authorities.Privilege;
 import com.gigaspaces.security.authorities.SpaceAuthority.SpacePrivilege;
@@ -2910,6 +2911,7 @@ public class SpaceImpl extends AbstractService implements IRemoteSpace, IInterna
             initReplicationStateBasedOnActiveElection();
             recover();
             _qp = createQueryProcessor();
+            _qp.registerMetrics(_engine.getMetricRegistrator().extend(MetricConstants.QUERY_CACHE_METRIC_NAME));
 
             if (_logger.isLoggable(Level.INFO) && !isPrivate()) {
                 long duration = System.currentTimeMillis() - _container.getStartTime();
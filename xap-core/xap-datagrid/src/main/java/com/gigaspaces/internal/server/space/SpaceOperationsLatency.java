@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space;
+
+import com.gigaspaces.internal.server.metadata.IServerTypeDesc;
+import com.gigaspaces.metrics.HistogramMetric;
+import com.gigaspaces.metrics.MetricRegistrator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms of the space engine operations, registered as the "[operation]-latency"
+ * metrics of the space operations. Histograms per type are registered lazily on the first
+ * operation of the type, when enabled, for up to a maximal number of types.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class SpaceOperationsLatency {
+    public static final int WRITE = 0;
+    public static final int READ = 1;
+    public static final int TAKE = 2;
+    public static final int CHANGE = 3;
+    public static final int WRITE_MULTIPLE = 4;
+    public static final int READ_MULTIPLE = 5;
+    public static final int TAKE_MULTIPLE = 6;
+    public static final int COUNT = 7;
+    public static final int CLEAR = 8;
+    public static final int AGGREGATE = 9;
+
+    private static final String[] OPERATION_NAMES = {"write", "read", "take", "change", "write-multiple",
+            "read-multiple", "take-multiple", "count", "clear", "aggregate"};
+    // histograms per type are many, so they are not striped
+    private static final int TYPE_HISTOGRAM_CONCURRENCY = 1;
+
+    private final MetricRegistrator _registrator;
+    private final boolean _enabled;
+    private final boolean _perType;
+    private final int _maxTypes;
+    private final HistogramMetric[] _histograms;
+    private final ConcurrentMap<String, HistogramMetric[]> _typesHistograms;
+
+    /**
+     * @param maxTypes the maximal number of types with histograms of their own, when per type
+     *                 histograms are enabled
+     */
+    public SpaceOperationsLatency(MetricRegistrator registrator, boolean enabled, boolean perType, int maxTypes) {
+        _registrator = registrator;
+        _enabled = enabled;
+        _perType = enabled && perType;
+        _maxTypes = maxTypes;
+        _histograms = new HistogramMetric[OPERATION_NAMES.length];
+        _typesHistograms = _perType ? new ConcurrentHashMap<String, HistogramMetric[]>() : null;
+        if (enabled) {
+            for (int i = 0; i < _histograms.length; i++) {
+                _histograms[i] = new HistogramMetric();
+                registrator.register(getMetricName(i), _histograms[i]);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return _enabled;
+    }
+
+    /**
+     * @return the start time of an operation, to pass to {@link #record(int, String, long)}
+     */
+    public long start() {
+        return _enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of an operation which started at the given time.
+     *
+     * @param typeName the type of the operation, or null if unknown
+     */
+    public void record(int operation, String typeName, long startTime) {
+        if (!_enabled)
+            return;
+        final long latency = System.nanoTime() - startTime;
+        _histograms[operation].record(latency);
+        if (_perType && typeName != null) {
+            final HistogramMetric typeHistogram = getTypeHistogram(typeName, operation);
+            if (typeHistogram != null)
+                typeHistogram.record(latency);
+        }
+    }
+
+    /**
+     * @return the histogram of the operation on the type, or null if the maximal number of types
+     * have histograms and the type is not one of them
+     */
+    private HistogramMetric getTypeHistogram(String typeName, int operation) {
+        HistogramMetric[] histograms = _typesHistograms.get(typeName);
+        if (histograms == null) {
+            // the limit is checked before adding, so concurrent new types may exceed it slightly
+            if (_typesHistograms.size() >= _maxTypes)
+                return null;
+            histograms = new HistogramMetric[OPERATION_NAMES.length];
+            HistogramMetric[] current = _typesHistograms.putIfAbsent(typeName, histograms);
+            if (current != null)
+                histograms = current;
+        }
+        HistogramMetric histogram = histograms[operation];
+        if (histogram == null) {
+            synchronized (histograms) {
+                histogram = histograms[operation];
+                if (histogram == null) {
+                    histogram = new HistogramMetric(TYPE_HISTOGRAM_CONCURRENCY);
+                    String metricTypeName = typeName.equals(IServerTypeDesc.ROOT_TYPE_NAME) ? "total" : typeName;
+                    _registrator.register(_registrator.toPath(getMetricName(operation), metricTypeName), histogram);
+                    histograms[operation] = histogram;
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static String getMetricName(int operation) {
+        return OPERATION_NAMES[operation] + "-latency";
+    }
+}
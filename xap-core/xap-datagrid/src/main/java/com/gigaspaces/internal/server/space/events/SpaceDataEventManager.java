@@ -45,6 +45,8 @@ import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_MAX_THREADS_DEFAU
 import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_MAX_THREADS_PROP;
 import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_MIN_THREADS_DEFAULT;
 import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_MIN_THREADS_PROP;
+import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_VIRTUAL_THREADS_DEFAULT;
+import static com.j_spaces.core.Constants.Engine.ENGINE_NOTIFY_VIRTUAL_THREADS_PROP;
 
 /**
  * Control NotifyStatus status. This controller calls a given NotifyStatus for each notification
@@ -87,6 +89,11 @@ public class SpaceDataEventManager implements ISpaceModeListener {
         this._dataEventDispatcherWorkingGroup = new WorkingGroup<RemoteEventBusPacket>(
                 _dataEventDispatcher, Thread.NORM_PRIORITY,
                 "Notifier", minThreads, maxThreads, 60 * 1000/*timeout*/);
+        if (configReader.getBooleanSpaceProperty(ENGINE_NOTIFY_VIRTUAL_THREADS_PROP, ENGINE_NOTIFY_VIRTUAL_THREADS_DEFAULT)
+                && !_dataEventDispatcherWorkingGroup.enableVirtualThreads()) {
+            if (_logger.isLoggable(Level.INFO))
+                _logger.info("Virtual threads are not supported by this JVM, notifications are delivered by the notify pool");
+        }
 
         this._batchNotifier = new BatchNotifyExecutor(configReader.getFullSpaceName(), this._dataEventDispatcherWorkingGroup);
         this._backupLog = new NotifyBackupLog(this._dataEventDispatcherWorkingGroup);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer;
+
+import com.gigaspaces.start.SystemInfo;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Base of the {@link IByteBufferStorage} implementations, which holds the single cursor of the
+ * storage, creating it on demand, and closes it when the storage is closed.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public abstract class AbstractByteBufferStorage
+        implements IByteBufferStorage {
+
+    private volatile IByteBufferStorageCursor _cursor;
+    private volatile boolean _closed;
+
+    public synchronized IByteBufferStorageCursor getCursor()
+            throws ByteBufferStorageException {
+        if (_closed)
+            throw createStorageException("storage is closed");
+        if (_cursor == null)
+            _cursor = createCursor();
+
+        return _cursor;
+    }
+
+    public synchronized void close() {
+        if (_closed)
+            return;
+        if (_cursor != null)
+            _cursor.close();
+        _cursor = null;
+        _closed = true;
+        onClose();
+    }
+
+    protected abstract IByteBufferStorageCursor createCursor() throws ByteBufferStorageException;
+
+    /**
+     * Releases the resources of the storage, called once when the storage is closed, after its
+     * cursor is closed.
+     */
+    protected abstract void onClose();
+
+    /**
+     * @return the unchecked exception of this storage type, thrown when the storage is misused or
+     * its underlying resource fails
+     */
+    protected abstract RuntimeException createStorageException(String message);
+
+    /**
+     * @return the current cursor, or null if there is none
+     */
+    protected IByteBufferStorageCursor getOpenCursor() {
+        return _cursor;
+    }
+
+    /**
+     * Called by the cursor when it is closed, so the next {@link #getCursor()} creates a new one.
+     */
+    protected void onCursorClosed() {
+        _cursor = null;
+    }
+
+    protected boolean isClosed() {
+        return _closed;
+    }
+
+    /**
+     * Creates a temp file under the replication directory of the work location, which is deleted
+     * when the JVM exits if the storage is not closed before.
+     */
+    protected static File createTempFile(String fileName) throws ByteBufferStorageException {
+        File file;
+        try {
+            File workLocation = new File(SystemInfo.singleton().locations().work());
+            workLocation.mkdirs();
+            File replicationDirPath = new File(workLocation, "replication");
+            replicationDirPath.mkdirs();
+            file = File.createTempFile(fileName, "tmp", replicationDirPath);
+        } catch (IOException e) {
+            throw new ByteBufferStorageException("error creating temp file", e);
+        }
+        try {
+            file.deleteOnExit();
+        } catch (Throwable t) {
+            //Do nothing, this can occurr if deleteOnExit is called when the jvm is during shutdown.
+        }
+        return file;
+    }
+
+}
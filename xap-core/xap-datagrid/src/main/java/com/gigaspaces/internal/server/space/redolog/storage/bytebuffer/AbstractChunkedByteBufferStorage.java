@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base of the {@link IByteBufferStorage} implementations which keep their content in fixed size
+ * {@link ByteBuffer} chunks. The {@link ChunkedCursor} translates positions in the storage to
+ * offsets in the chunks, and splits values which cross a chunk boundary; implementations only
+ * provide the chunk of a given index.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public abstract class AbstractChunkedByteBufferStorage
+        extends AbstractByteBufferStorage {
+
+    private final int _chunkShift;
+    private final int _chunkMask;
+    //The end of the written data, reading beyond it means the caller lost track of the content
+    private volatile long _length;
+
+    /**
+     * @param chunkSize size of each chunk, must be a power of 2.
+     */
+    protected AbstractChunkedByteBufferStorage(int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1)
+            throw new IllegalArgumentException("chunk size must be a positive power of 2 - " + chunkSize);
+        _chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        _chunkMask = chunkSize - 1;
+    }
+
+    protected int getChunkSize() {
+        return _chunkMask + 1;
+    }
+
+    /**
+     * Discards the written content, and moves the cursor if any to the start of the storage.
+     */
+    protected void resetContent() {
+        _length = 0;
+        ChunkedCursor cursor = (ChunkedCursor) getOpenCursor();
+        if (cursor != null) {
+            cursor.resetChunk();
+            cursor.setPosition(0);
+        }
+    }
+
+    protected abstract class ChunkedCursor implements IByteBufferStorageCursor {
+
+        private long _position;
+        //The chunk of the current position and its start position, cached for sequential access
+        private ByteBuffer _chunk;
+        private long _chunkStart = -1;
+
+        /**
+         * @return the chunk of the given index, allocating the chunks up to it if needed
+         */
+        protected abstract ByteBuffer getChunk(int chunkIndex);
+
+        public void close() {
+            onCursorClosed();
+        }
+
+        public long getPosition() {
+            return _position;
+        }
+
+        public void movePosition(long offset) {
+            setPosition(_position + offset);
+        }
+
+        public void setPosition(long position) {
+            if (position < 0)
+                throw createStorageException("negative position " + position);
+            _position = position;
+        }
+
+        public byte readByte() {
+            checkReadable(1);
+            byte value = chunkOf(_position).get(offsetOf(_position));
+            _position++;
+            return value;
+        }
+
+        public void writeByte(byte value) {
+            chunkOf(_position).put(offsetOf(_position), value);
+            advanceWriter(1);
+        }
+
+        public int readInt() {
+            checkReadable(4);
+            int offset = offsetOf(_position);
+            int value;
+            if (offset <= _chunkMask - 3) {
+                value = chunkOf(_position).getInt(offset);
+                _position += 4;
+            } else {
+                value = ((readByte() & 0xFF) << 24) | ((readByte() & 0xFF) << 16) | ((readByte() & 0xFF) << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        public void writeInt(int value) {
+            int offset = offsetOf(_position);
+            if (offset <= _chunkMask - 3) {
+                chunkOf(_position).putInt(offset, value);
+                advanceWriter(4);
+            } else {
+                writeByte((byte) (value >>> 24));
+                writeByte((byte) (value >>> 16));
+                writeByte((byte) (value >>> 8));
+                writeByte((byte) value);
+            }
+        }
+
+        public long readLong() {
+            checkReadable(8);
+            int offset = offsetOf(_position);
+            if (offset <= _chunkMask - 7) {
+                long value = chunkOf(_position).getLong(offset);
+                _position += 8;
+                return value;
+            }
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        public void writeLong(long value) {
+            int offset = offsetOf(_position);
+            if (offset <= _chunkMask - 7) {
+                chunkOf(_position).putLong(offset, value);
+                advanceWriter(8);
+            } else {
+                writeInt((int) (value >>> 32));
+                writeInt((int) value);
+            }
+        }
+
+        public void readBytes(byte[] result, int offset, int length) {
+            checkReadable(length);
+            while (length > 0) {
+                ByteBuffer chunk = chunkOf(_position);
+                int chunkOffset = offsetOf(_position);
+                int count = Math.min(length, _chunkMask + 1 - chunkOffset);
+                chunk.position(chunkOffset);
+                chunk.get(result, offset, count);
+                offset += count;
+                length -= count;
+                _position += count;
+            }
+        }
+
+        public void writeBytes(byte[] array, int offset, int length) {
+            while (length > 0) {
+                ByteBuffer chunk = chunkOf(_position);
+                int chunkOffset = offsetOf(_position);
+                int count = Math.min(length, _chunkMask + 1 - chunkOffset);
+                chunk.position(chunkOffset);
+                chunk.put(array, offset, count);
+                offset += count;
+                length -= count;
+                advanceWriter(count);
+            }
+        }
+
+        /**
+         * Drops the cached chunk, called when the chunks are released.
+         */
+        protected void resetChunk() {
+            _chunk = null;
+            _chunkStart = -1;
+        }
+
+        private int offsetOf(long position) {
+            return (int) (position & _chunkMask);
+        }
+
+        private void checkReadable(int length) {
+            if (_position + length > _length)
+                throw createStorageException("cannot read " + length + " bytes at position " + _position + ", storage length is " + _length);
+        }
+
+        private void advanceWriter(int length) {
+            _position += length;
+            if (_position > _length)
+                _length = _position;
+        }
+
+        private ByteBuffer chunkOf(long position) {
+            long chunkStart = position & ~((long) _chunkMask);
+            if (chunkStart == _chunkStart)
+                return _chunk;
+
+            _chunk = getChunk((int) (position >>> _chunkShift));
+            _chunkStart = chunkStart;
+            return _chunk;
+        }
+    }
+
+}
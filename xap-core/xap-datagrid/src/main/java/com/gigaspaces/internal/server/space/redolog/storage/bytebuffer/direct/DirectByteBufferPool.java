@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.direct;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of fixed size direct byte buffer chunks, bounded by a capacity in bytes. <p> Storages
+ * reserve the capacity they may use up front ({@link #tryReserve(long)}), and then acquire and
+ * release chunks as they grow and shrink. Released chunks are kept for reuse as long as the
+ * allocated chunks do not exceed the capacity, chunks beyond it (which can only be allocated when a
+ * storage exceeds its reservation) are left to the garbage collector.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class DirectByteBufferPool {
+
+    private final int _chunkSize;
+    private final long _capacity;
+    private final AtomicLong _reservedBytes = new AtomicLong();
+    private final AtomicLong _allocatedBytes = new AtomicLong();
+    private final ConcurrentLinkedQueue<ByteBuffer> _freeChunks = new ConcurrentLinkedQueue<ByteBuffer>();
+
+    /**
+     * @param chunkSize size of each chunk, must be a power of 2.
+     * @param capacity  max number of bytes that can be reserved.
+     */
+    public DirectByteBufferPool(int chunkSize, long capacity) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1)
+            throw new IllegalArgumentException("chunk size must be a positive power of 2 - " + chunkSize);
+        _chunkSize = chunkSize;
+        _capacity = capacity;
+    }
+
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+
+    public long getCapacity() {
+        return _capacity;
+    }
+
+    /**
+     * @return true if <code>bytes</code> were reserved, false if the reservation would exceed the
+     * capacity.
+     */
+    public boolean tryReserve(long bytes) {
+        while (true) {
+            long reserved = _reservedBytes.get();
+            if (reserved + bytes > _capacity)
+                return false;
+            if (_reservedBytes.compareAndSet(reserved, reserved + bytes))
+                return true;
+        }
+    }
+
+    public void unreserve(long bytes) {
+        _reservedBytes.addAndGet(-bytes);
+    }
+
+    public long getReservedBytes() {
+        return _reservedBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of the chunks allocated by this pool, both in use and free
+     */
+    public long getAllocatedBytes() {
+        return _allocatedBytes.get();
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer chunk = _freeChunks.poll();
+        if (chunk != null)
+            return chunk;
+
+        _allocatedBytes.addAndGet(_chunkSize);
+        return ByteBuffer.allocateDirect(_chunkSize);
+    }
+
+    public void release(ByteBuffer chunk) {
+        if (_allocatedBytes.get() > _capacity) {
+            _allocatedBytes.addAndGet(-_chunkSize);
+            return;
+        }
+        chunk.clear();
+        _freeChunks.offer(chunk);
+    }
+
+    /**
+     * Drops the free chunks, chunks in use are dropped once released.
+     */
+    public void close() {
+        ByteBuffer chunk;
+        while ((chunk = _freeChunks.poll()) != null)
+            _allocatedBytes.addAndGet(-chunk.capacity());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.direct;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.AbstractChunkedByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBufferStorageException;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link IByteBufferStorage} implementation that keeps its content off heap, in direct byte buffer
+ * chunks of a {@link DirectByteBufferPool}. Chunks are acquired as the content grows and are
+ * returned to the pool when the storage is cleared or closed. Unlike the file based storages the
+ * content belongs to the storage and not to the cursor, so closing a cursor releases nothing. <p>
+ * The storage is created with a reservation of pool capacity, which is released when it is closed.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class DirectByteBufferStorage
+        extends AbstractChunkedByteBufferStorage {
+
+    private final String _name;
+    private final DirectByteBufferPool _pool;
+    private final long _reservedBytes;
+    private final List<ByteBuffer> _chunks = new ArrayList<ByteBuffer>();
+
+    /**
+     * @param reservedBytes capacity reserved in the pool for this storage, which is unreserved when
+     *                      the storage is closed.
+     */
+    public DirectByteBufferStorage(String name, DirectByteBufferPool pool, long reservedBytes) {
+        super(pool.getChunkSize());
+        _name = name;
+        _pool = pool;
+        _reservedBytes = reservedBytes;
+    }
+
+    public synchronized void clear() throws ByteBufferStorageException {
+        releaseChunks();
+        resetContent();
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * @return the number of off heap bytes held by this storage
+     */
+    public synchronized long getAllocatedBytes() {
+        return (long) _chunks.size() * getChunkSize();
+    }
+
+    @Override
+    protected IByteBufferStorageCursor createCursor() {
+        return new Cursor();
+    }
+
+    @Override
+    protected void onClose() {
+        releaseChunks();
+        _pool.unreserve(_reservedBytes);
+    }
+
+    @Override
+    protected RuntimeException createStorageException(String message) {
+        return new DirectByteBufferStorageException(message);
+    }
+
+    private void releaseChunks() {
+        for (ByteBuffer chunk : _chunks)
+            _pool.release(chunk);
+        _chunks.clear();
+    }
+
+    private class Cursor extends ChunkedCursor {
+
+        @Override
+        public void close() {
+            //The cached chunk may be returned to the pool once the storage is closed
+            resetChunk();
+            super.close();
+        }
+
+        @Override
+        protected ByteBuffer getChunk(int chunkIndex) {
+            synchronized (DirectByteBufferStorage.this) {
+                if (isClosed())
+                    throw new DirectByteBufferStorageException("storage is closed");
+                while (_chunks.size() <= chunkIndex)
+                    _chunks.add(_pool.acquire());
+                return _chunks.get(chunkIndex);
+            }
+        }
+    }
+
+}
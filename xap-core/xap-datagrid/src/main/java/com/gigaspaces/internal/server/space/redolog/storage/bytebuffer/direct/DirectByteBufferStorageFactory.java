@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.direct;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBufferStorageException;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageFactory;
+import com.gigaspaces.logger.Constants;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link IByteBufferStorageFactory} implementation that provides {@link DirectByteBufferStorage}
+ * instances as long as the off heap capacity allows another segment, and otherwise spills to the
+ * storages of the provided file based factory. <p> This is off heap swap storage - it replaces the
+ * files of the swapped part of a backlog, and nothing else: the backlog still keeps packet objects
+ * on heap up to its memory capacity before swapping, and swapped packets are deserialized back to
+ * objects when they are read for replication rather than sent as the stored bytes.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class DirectByteBufferStorageFactory
+        implements IByteBufferStorageFactory {
+
+    private static final Logger _logger = Logger.getLogger(Constants.LOGGER_REPLICATION_BACKLOG);
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final String _name;
+    private final DirectByteBufferPool _pool;
+    private final long _segmentSize;
+    private final IByteBufferStorageFactory _spillStorageFactory;
+    private AtomicInteger _counter = new AtomicInteger(0);
+    private volatile boolean _spilling;
+
+    /**
+     * @param capacity            max number of off heap bytes of all the created storages.
+     * @param segmentSize         the size reserved per storage.
+     * @param spillStorageFactory creates the storages once the capacity is reserved.
+     */
+    public DirectByteBufferStorageFactory(String name, long capacity, long segmentSize, IByteBufferStorageFactory spillStorageFactory) {
+        this._name = name;
+        this._segmentSize = segmentSize;
+        this._spillStorageFactory = spillStorageFactory;
+        this._pool = new DirectByteBufferPool((int) Math.min(DEFAULT_CHUNK_SIZE, Long.highestOneBit(Math.max(segmentSize, 1))), capacity);
+    }
+
+    public IByteBufferStorage createStorage() throws ByteBufferStorageException {
+        if (_pool.tryReserve(_segmentSize)) {
+            if (_spilling) {
+                _spilling = false;
+                if (_logger.isLoggable(Level.FINE))
+                    _logger.fine(_name + " off heap storage has available capacity, stopped spilling to " + _spillStorageFactory.getClass().getSimpleName());
+            }
+            return new DirectByteBufferStorage(_name + "_" + _counter.getAndIncrement(), _pool, _segmentSize);
+        }
+
+        if (!_spilling) {
+            _spilling = true;
+            if (_logger.isLoggable(Level.FINE))
+                _logger.fine(_name + " off heap storage capacity (" + _pool.getCapacity() + " bytes) is reserved, spilling to " + _spillStorageFactory.getClass().getSimpleName());
+        }
+        return _spillStorageFactory.createStorage();
+    }
+
+    public DirectByteBufferPool getPool() {
+        return _pool;
+    }
+}
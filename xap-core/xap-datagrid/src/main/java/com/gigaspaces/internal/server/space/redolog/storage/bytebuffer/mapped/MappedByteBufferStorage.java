@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.mapped;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.AbstractChunkedByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBufferStorageException;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link IByteBufferStorage} implementation that maps its file to memory in fixed size regions,
+ * so reads and writes are plain memory accesses instead of a system call per value. Regions are
+ * mapped on demand as the cursor moves through the file, and unmapped when the cursor is closed
+ * (the same way {@link com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.raf.RAFByteBufferStorage}
+ * closes its file), so the open cursors limit of the redo log also limits the mapped memory.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class MappedByteBufferStorage
+        extends AbstractChunkedByteBufferStorage {
+
+    private final File _file;
+
+    /**
+     * @param regionSize size of each mapped region of the file, must be a power of 2.
+     */
+    public MappedByteBufferStorage(String fileName, int regionSize) throws ByteBufferStorageException {
+        super(regionSize);
+        _file = createTempFile(fileName);
+    }
+
+    public void clear() throws ByteBufferStorageException {
+        ((Cursor) getCursor()).clear();
+    }
+
+    public File getFile() {
+        return _file;
+    }
+
+    public String getName() {
+        try {
+            return _file.getAbsolutePath();
+        } catch (Throwable t) {
+            //We dont want to throw exception from here
+            return null;
+        }
+    }
+
+    @Override
+    protected IByteBufferStorageCursor createCursor() throws ByteBufferStorageException {
+        try {
+            return new Cursor();
+        } catch (IOException e) {
+            throw new ByteBufferStorageException("error creating cursor over the temp file", e);
+        }
+    }
+
+    @Override
+    protected void onClose() {
+        _file.delete();
+    }
+
+    @Override
+    protected RuntimeException createStorageException(String message) {
+        return new MappedByteBufferStorageException(message);
+    }
+
+    private class Cursor extends ChunkedCursor {
+
+        private final RandomAccessFile _raf;
+        private final FileChannel _channel;
+        private final List<MappedByteBuffer> _regions = new ArrayList<MappedByteBuffer>();
+
+        public Cursor() throws IOException {
+            _raf = new RandomAccessFile(_file, "rw");
+            _channel = _raf.getChannel();
+        }
+
+        public void clear() {
+            unmapRegions();
+            try {
+                _channel.truncate(0);
+            } catch (IOException e) {
+                throw new MappedByteBufferStorageException(e);
+            }
+            resetContent();
+        }
+
+        @Override
+        public void close() {
+            try {
+                unmapRegions();
+                _raf.close();
+            } catch (IOException e) {
+                throw new MappedByteBufferStorageException(e);
+            } finally {
+                super.close();
+            }
+        }
+
+        @Override
+        protected ByteBuffer getChunk(int regionIndex) {
+            try {
+                //Mapping a region beyond the end of the file extends the file
+                while (_regions.size() <= regionIndex)
+                    _regions.add(_channel.map(FileChannel.MapMode.READ_WRITE, (long) _regions.size() * getChunkSize(), getChunkSize()));
+            } catch (IOException e) {
+                throw new MappedByteBufferStorageException(e);
+            }
+            return _regions.get(regionIndex);
+        }
+
+        private void unmapRegions() {
+            for (MappedByteBuffer region : _regions)
+                unmap(region);
+            _regions.clear();
+            resetChunk();
+        }
+    }
+
+    private static volatile boolean _unmapSupported = true;
+
+    /**
+     * Releases the mapping of the buffer right away instead of when it is garbage collected, which
+     * keeps the file from being truncated or deleted on some platforms. Best effort - when the
+     * running JVM does not allow it the mapping is released by the garbage collector.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (!_unmapSupported)
+            return;
+        try {
+            try {
+                //Java 9 and later
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null)
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Throwable t) {
+            _unmapSupported = false;
+        }
+    }
+
+}
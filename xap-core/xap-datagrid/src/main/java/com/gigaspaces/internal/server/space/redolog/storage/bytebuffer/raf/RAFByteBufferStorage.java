@@ -16,10 +16,10 @@
 
 package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.raf;
 
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.AbstractByteBufferStorage;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBufferStorageException;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
 import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
-import com.gigaspaces.start.SystemInfo;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -34,63 +34,22 @@ import java.io.RandomAccessFile;
  */
 @com.gigaspaces.api.InternalApi
 public class RAFByteBufferStorage
-        implements IByteBufferStorage {
+        extends AbstractByteBufferStorage {
 
     private final File _file;
-    private volatile Cursor _cursor;
-    private volatile boolean _closed;
 
     public RAFByteBufferStorage(String fileName) throws ByteBufferStorageException {
-        try {
-            File workLocation = new File(SystemInfo.singleton().locations().work());
-            workLocation.mkdirs();
-            File replicationDirName = new File("replication");
-            File replicationDirPath = new File(workLocation, replicationDirName.getPath());
-            replicationDirPath.mkdirs();
-            _file = File.createTempFile(fileName, "tmp", replicationDirPath);
-        } catch (IOException e) {
-            throw new ByteBufferStorageException("error creating temp file", e);
-        }
-        try {
-            getFile().deleteOnExit();
-        } catch (Throwable t) {
-            //Do nothing, this can occurr if deleteOnExit is called when the jvm is during shutdown.
-        }
+        _file = createTempFile(fileName);
     }
 
     public void clear() throws ByteBufferStorageException {
-        if (_cursor == null)
-            getCursor();
-
-        _cursor.clear();
-    }
-
-    public synchronized void close() {
-        if (_cursor != null)
-            _cursor.close();
-        _cursor = null;
-        getFile().delete();
-        _closed = true;
+        ((Cursor) getCursor()).clear();
     }
 
     public File getFile() {
         return _file;
     }
 
-    public synchronized IByteBufferStorageCursor getCursor()
-            throws ByteBufferStorageException {
-        if (_closed)
-            throw new RAFByteBufferStorageException("storage is closed");
-        if (_cursor == null)
-            try {
-                _cursor = new Cursor();
-            } catch (FileNotFoundException e) {
-                throw new ByteBufferStorageException("error creating cursor over the temp file", e);
-            }
-
-        return _cursor;
-    }
-
     public String getName() {
         try {
             return _file.getAbsolutePath();
@@ -100,6 +59,25 @@ public class RAFByteBufferStorage
         }
     }
 
+    @Override
+    protected IByteBufferStorageCursor createCursor() throws ByteBufferStorageException {
+        try {
+            return new Cursor();
+        } catch (FileNotFoundException e) {
+            throw new ByteBufferStorageException("error creating cursor over the temp file", e);
+        }
+    }
+
+    @Override
+    protected void onClose() {
+        getFile().delete();
+    }
+
+    @Override
+    protected RuntimeException createStorageException(String message) {
+        return new RAFByteBufferStorageException(message);
+    }
+
     private class Cursor implements IByteBufferStorageCursor {
 
         private final RandomAccessFile _raf;
@@ -122,7 +100,7 @@ public class RAFByteBufferStorage
             } catch (IOException e) {
                 throw new RAFByteBufferStorageException(e);
             } finally {
-                _cursor = null;
+                onCursorClosed();
             }
         }
 
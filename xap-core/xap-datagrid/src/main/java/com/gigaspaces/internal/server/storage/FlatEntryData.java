@@ -18,10 +18,12 @@ package com.gigaspaces.internal.server.storage;
 
 import com.gigaspaces.document.DocumentProperties;
 import com.gigaspaces.internal.metadata.EntryTypeDesc;
+import com.gigaspaces.internal.utils.concurrent.UncheckedAtomicReferenceFieldUpdater;
 import com.j_spaces.core.server.transaction.EntryXtnInfo;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * @author Niv Ingberg
@@ -31,6 +33,11 @@ import java.util.Map;
 public class FlatEntryData extends AbstractEntryData {
     private final Object[] _fieldsValues;
     private Map<String, Object> _dynamicProperties;
+    // created by the first serialization of the fixed properties for a remote proxy, only for
+    // types whose serialized form is cached, see EntryPacket
+    private volatile SerializedFixedPropertiesCache _serializedFixedPropertiesCache;
+    private static final AtomicReferenceFieldUpdater<FlatEntryData, SerializedFixedPropertiesCache> serializedFixedPropertiesCacheUpdater =
+            UncheckedAtomicReferenceFieldUpdater.newUpdater(FlatEntryData.class, SerializedFixedPropertiesCache.class, "_serializedFixedPropertiesCache");
 
     public FlatEntryData(Object[] fieldsValues, Map<String, Object> dynamicProperties, EntryTypeDesc entryTypeDesc, int version, long expirationTime, boolean createEmptyTxnInfoIfNon) {
         super(entryTypeDesc, version, expirationTime, createEmptyTxnInfoIfNon);
@@ -116,6 +123,7 @@ public class FlatEntryData extends AbstractEntryData {
     @Override
     public void setFixedPropertyValue(int index, Object value) {
         _fieldsValues[index] = value;
+        invalidateSerializedFixedProperties();
     }
 
     @Override
@@ -123,6 +131,42 @@ public class FlatEntryData extends AbstractEntryData {
         return _fieldsValues;
     }
 
+    /**
+     * @return the cached serialized form of the fixed properties, or null if none is cached.
+     */
+    public byte[] getSerializedFixedProperties() {
+        SerializedFixedPropertiesCache cache = _serializedFixedPropertiesCache;
+        return cache != null ? cache.get() : null;
+    }
+
+    /**
+     * @return the cache of the serialized form of the fixed properties, or null if it was not
+     * created yet.
+     */
+    public SerializedFixedPropertiesCache getSerializedFixedPropertiesCache() {
+        return _serializedFixedPropertiesCache;
+    }
+
+    /**
+     * Creates the cache of the serialized form of the fixed properties, if it was not created yet.
+     * A serialization which started before the cache existed must not be cached, since the
+     * modifications which preceded the cache did not invalidate it.
+     */
+    public void createSerializedFixedPropertiesCache() {
+        if (_serializedFixedPropertiesCache == null)
+            serializedFixedPropertiesCacheUpdater.compareAndSet(this, null, new SerializedFixedPropertiesCache());
+    }
+
+    /**
+     * Drops the cached serialized form, and fails caching of a serialization in progress. Does
+     * nothing if the serialized form was never cached.
+     */
+    public void invalidateSerializedFixedProperties() {
+        SerializedFixedPropertiesCache cache = _serializedFixedPropertiesCache;
+        if (cache != null)
+            cache.invalidate();
+    }
+
     @Override
     public Map<String, Object> getDynamicProperties() {
         return _dynamicProperties;
@@ -147,6 +191,7 @@ public class FlatEntryData extends AbstractEntryData {
         for (int i = 0; i < values.length; i++) {
             _fieldsValues[i] = values[i];
         }
+        invalidateSerializedFixedProperties();
     }
 
     @Override
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.storage;
+
+/**
+ * The serialized form of the fixed properties of a {@link FlatEntryData}, cached for replies to
+ * remote proxies. The cached form is tagged with the modification count of the properties when
+ * their serialization started, and is used only while the count is unchanged, so a serialization
+ * which overlaps an in place modification is not used by later replies.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class SerializedFixedPropertiesCache {
+    private volatile int _modCount;
+    private volatile CachedForm _cachedForm;
+
+    /**
+     * @return the modification count to pass to {@link #set(int, byte[])}, taken before the
+     * properties are serialized
+     */
+    public int getModCount() {
+        return _modCount;
+    }
+
+    /**
+     * @return the cached serialized form, or null if none is cached for the current properties
+     */
+    public byte[] get() {
+        CachedForm cachedForm = _cachedForm;
+        return cachedForm != null && cachedForm.modCount == _modCount ? cachedForm.serializedFixedProperties : null;
+    }
+
+    /**
+     * Caches the serialized form of the properties, unless they were modified since the specified
+     * modification count was taken.
+     */
+    public void set(int modCount, byte[] serializedFixedProperties) {
+        if (modCount == _modCount)
+            _cachedForm = new CachedForm(modCount, serializedFixedProperties);
+    }
+
+    /**
+     * Called after the properties were modified in place. Modifications of an entry are serialized
+     * by the entry lock, and a lost increment would still differ from the count of a serialization
+     * in progress.
+     */
+    void invalidate() {
+        _modCount++;
+        _cachedForm = null;
+    }
+
+    private static final class CachedForm {
+        private final int modCount;
+        private final byte[] serializedFixedProperties;
+
+        private CachedForm(int modCount, byte[] serializedFixedProperties) {
+            this.modCount = modCount;
+            this.serializedFixedProperties = serializedFixedProperties;
+        }
+    }
+}
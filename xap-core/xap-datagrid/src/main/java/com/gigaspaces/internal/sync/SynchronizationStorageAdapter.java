@@ -61,6 +61,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -217,6 +218,21 @@ public class SynchronizationStorageAdapter implements IStorageAdapter {
         }
 
         try {
+            if (_engine.getCacheManager().getInitialLoadThreads() > 1) {
+                DataIterator<Object>[] iterators = _spaceDataSource.initialDataLoadIterators();
+                if (iterators != null) {
+                    // each part is loaded by its own thread, so each gets its own converting iterator
+                    List<ISAdapterIterator<IEntryHolder>> parts = new ArrayList<ISAdapterIterator<IEntryHolder>>(iterators.length);
+                    for (DataIterator<Object> iterator : iterators) {
+                        if (iterator == null)
+                            continue;
+                        DataAdaptorIterator part = new DataAdaptorIterator(_typeManager, _entryDataType);
+                        part.add(new EntryAdapterIterator(iterator, new EntryAdapter(_converter)));
+                        parts.add(part);
+                    }
+                    return new ParallelDataAdaptorIterator(parts);
+                }
+            }
             // Create adapter iterator that holds all the subclasses iterators
             // in case of a storage that supports inheritance - only one iterator is used
             DataAdaptorIterator cacheAdapterIterator = new DataAdaptorIterator(_typeManager, _entryDataType);
@@ -19,12 +19,18 @@
  */
 package com.gigaspaces.internal.transport;
 
+import com.gigaspaces.internal.io.GSByteArrayInputStream;
+import com.gigaspaces.internal.io.GSByteArrayOutputStream;
 import com.gigaspaces.internal.io.IOArrayException;
 import com.gigaspaces.internal.io.IOUtils;
+import com.gigaspaces.internal.io.MarshalInputStream;
+import com.gigaspaces.internal.io.MarshalOutputStream;
 import com.gigaspaces.internal.metadata.EntryType;
 import com.gigaspaces.internal.metadata.ITypeDesc;
 import com.gigaspaces.internal.metadata.PropertyInfo;
 import com.gigaspaces.internal.query.ICustomQuery;
+import com.gigaspaces.internal.server.storage.FlatEntryData;
+import com.gigaspaces.internal.server.storage.SerializedFixedPropertiesCache;
 import com.gigaspaces.internal.version.PlatformLogicalVersion;
 import com.j_spaces.core.EntrySerializationException;
 
@@ -69,6 +75,9 @@ public class EntryPacket extends AbstractEntryPacket {
     private boolean _noWriteLease;
     private boolean _fifo;
 
+    // server side only - the entry data which caches the serialized form of the fixed properties
+    private transient FlatEntryData _serializedPropertiesSource;
+
     /**
      * Default constructor required by {@link java.io.Externalizable}.
      */
@@ -166,6 +175,7 @@ public class EntryPacket extends AbstractEntryPacket {
     }
 
     public void setFieldValue(int index, Object value) {
+        _serializedPropertiesSource = null;
         try {
             _fixedProperties[index] = value;
         } catch (Exception e) {
@@ -201,6 +211,15 @@ public class EntryPacket extends AbstractEntryPacket {
         return _noWriteLease;
     }
 
+    /**
+     * Serializes the fixed properties using the serialized form cached by the specified entry data,
+     * which is created on first use. Applies as long as the fixed properties of this packet are
+     * the ones of the entry data.
+     */
+    public void setSerializedPropertiesSource(FlatEntryData entryData) {
+        _serializedPropertiesSource = entryData;
+    }
+
     public ICustomQuery getCustomQuery() {
         return _customQuery;
     }
@@ -221,8 +240,9 @@ public class EntryPacket extends AbstractEntryPacket {
     private static final short FLAG_RETURN_ONLY_UIDS = 1 << 9;
     private static final short FLAG_CUSTOM_QUERY = 1 << 10;
     private static final short FLAG_DYNAMIC_PROPERTIES = 1 << 11;
+    private static final short FLAG_SERIALIZED_FIELDS_VALUES = 1 << 12;
 
-    private short buildFlags() {
+    private short buildFlags(boolean serializedFieldsValues) {
         short flags = 0;
 
         if (_typeName != null)
@@ -236,7 +256,7 @@ public class EntryPacket extends AbstractEntryPacket {
         if (_multipleUIDs != null)
             flags |= FLAG_MULTIPLE_UIDS;
         if (_fixedProperties != null)
-            flags |= FLAG_FIELDS_VALUES;
+            flags |= serializedFieldsValues ? FLAG_SERIALIZED_FIELDS_VALUES : FLAG_FIELDS_VALUES;
         if (_fifo)
             flags |= FLAG_FIFO;
         if (_transient)
@@ -279,7 +299,13 @@ public class EntryPacket extends AbstractEntryPacket {
     private final void serializePacket(ObjectOutput out,
                                        PlatformLogicalVersion version) {
         try {
-            out.writeShort(buildFlags());
+            final byte[] serializedFieldsValues;
+            try {
+                serializedFieldsValues = getSerializedFieldsValues(version);
+            } catch (IOArrayException e) {
+                throw createPropertySerializationException(e, true);
+            }
+            out.writeShort(buildFlags(serializedFieldsValues != null));
 
             if (_typeName != null)
                 IOUtils.writeRepetitiveString(out, _typeName);
@@ -291,7 +317,10 @@ public class EntryPacket extends AbstractEntryPacket {
                 out.writeLong(_timeToLive);
             if (_multipleUIDs != null)
                 IOUtils.writeStringArray(out, _multipleUIDs);
-            if (_fixedProperties != null) {
+            if (serializedFieldsValues != null) {
+                out.writeInt(serializedFieldsValues.length);
+                out.write(serializedFieldsValues);
+            } else if (_fixedProperties != null) {
                 try {
                     IOUtils.writeObjectArrayCompressed(out, _fixedProperties);
                 } catch (IOArrayException e) {
@@ -345,6 +374,15 @@ public class EntryPacket extends AbstractEntryPacket {
                     throw createPropertySerializationException(e, false);
                 }
             }
+            if ((flags & FLAG_SERIALIZED_FIELDS_VALUES) != 0) {
+                byte[] serializedFieldsValues = new byte[in.readInt()];
+                in.readFully(serializedFieldsValues);
+                try {
+                    _fixedProperties = deserializeFieldsValues(serializedFieldsValues);
+                } catch (IOArrayException e) {
+                    throw createPropertySerializationException(e, false);
+                }
+            }
             if ((flags & FLAG_DYNAMIC_PROPERTIES) != 0)
                 _dynamicProperties = IOUtils.readObject(in);
             if ((flags & FLAG_CUSTOM_QUERY) != 0)
@@ -357,6 +395,58 @@ public class EntryPacket extends AbstractEntryPacket {
         }
     }
 
+    /**
+     * Returns the serialized fixed properties cached by the source entry data, serializing and
+     * caching them if needed - the first serialization only creates the cache of the entry data,
+     * so entries which are sent once pay nothing for it. The cached form is self contained (written by its own marshal stream, with no
+     * references to the context of the connection stream) so it can be copied as is to any
+     * stream, but it is only used for endpoints of this very version.
+     */
+    private byte[] getSerializedFieldsValues(PlatformLogicalVersion version)
+            throws IOException {
+        final FlatEntryData source = _serializedPropertiesSource;
+        if (source == null || source.getFixedPropertiesValues() != _fixedProperties
+                || !PlatformLogicalVersion.getLogicalVersion().equals(version))
+            return null;
+
+        final SerializedFixedPropertiesCache cache = source.getSerializedFixedPropertiesCache();
+        if (cache == null) {
+            source.createSerializedFixedPropertiesCache();
+            return serializeFieldsValues(_fixedProperties);
+        }
+        byte[] serializedFieldsValues = cache.get();
+        if (serializedFieldsValues != null)
+            return serializedFieldsValues;
+        final int modCount = cache.getModCount();
+        serializedFieldsValues = serializeFieldsValues(_fixedProperties);
+        // not cached if the properties were modified in place meanwhile
+        cache.set(modCount, serializedFieldsValues);
+        return serializedFieldsValues;
+    }
+
+    private static byte[] serializeFieldsValues(Object[] fieldsValues)
+            throws IOException {
+        GSByteArrayOutputStream bos = new GSByteArrayOutputStream();
+        MarshalOutputStream mos = new MarshalOutputStream(bos, false);
+        try {
+            IOUtils.writeObjectArrayCompressed(mos, fieldsValues);
+            mos.flush();
+            return bos.toByteArray();
+        } finally {
+            mos.closeContext();
+        }
+    }
+
+    private static Object[] deserializeFieldsValues(byte[] serializedFieldsValues)
+            throws IOException, ClassNotFoundException {
+        MarshalInputStream mis = new MarshalInputStream(new GSByteArrayInputStream(serializedFieldsValues), MarshalInputStream.createContext());
+        try {
+            return IOUtils.readObjectArrayCompressed(mis);
+        } finally {
+            mis.closeContext();
+        }
+    }
+
     private EntrySerializationException createPropertySerializationException(IOArrayException e, boolean isSerialize) {
         final int index = e.getIndex();
         String message = "Failed to " + (isSerialize ? "serialize" : "deserialize") +
@@ -24,19 +24,25 @@ import com.gigaspaces.internal.metadata.ITypeDesc;
 import com.gigaspaces.internal.metadata.ITypeIntrospector;
 import com.gigaspaces.internal.metadata.PropertyInfo;
 import com.gigaspaces.internal.server.storage.EntryDataType;
+import com.gigaspaces.internal.server.storage.FlatEntryData;
 import com.gigaspaces.internal.server.storage.IEntryData;
 import com.gigaspaces.internal.server.storage.IEntryHolder;
 import com.gigaspaces.internal.server.storage.ITemplateHolder;
 import com.gigaspaces.internal.server.storage.UserTypeEntryData;
 import com.gigaspaces.internal.utils.ObjectUtils;
+import com.gigaspaces.internal.utils.StringUtils;
 import com.gigaspaces.metadata.SpaceMetadataException;
 import com.j_spaces.core.ExternalEntryPacket;
 import com.j_spaces.core.LocalCacheResponseEntryPacket;
 import com.j_spaces.core.OperationID;
 import com.j_spaces.core.client.Modifiers;
+import com.j_spaces.kernel.SystemProperties;
 
 import java.io.Externalizable;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * a factory for IEntryPacket that depends on the type of the request.
@@ -46,6 +52,10 @@ import java.util.Map;
  */
 @com.gigaspaces.api.InternalApi
 public class EntryPacketFactory {
+    private static final String ALL_TYPES = "*";
+    private static final Set<String> SERIALIZED_ENTRY_CACHE_TYPES = new HashSet<String>(Arrays.asList(
+            StringUtils.tokenizeToStringArray(System.getProperty(SystemProperties.SERIALIZED_ENTRY_CACHE_TYPES, ""), ",")));
+
     /**
      * Creates an entry packet from an object. Used on proxy writes/updates and EDS.
      */
@@ -171,8 +181,11 @@ public class EntryPacketFactory {
                 if (!forceNotExternalizable && typeDesc.isExternalizable() && entryType.isConcrete() && !isReturnWeaklyTypeProperties)
                     return new ExternalizableEntryPacket(typeDesc, entryType, fixedProperties, entryData.getDynamicProperties(),
                             uid, entryData.getVersion(), timeToLive, isTransient);
-                return new EntryPacket(typeDesc, entryType, fixedProperties, entryData.getDynamicProperties(),
+                EntryPacket entryPacket = new EntryPacket(typeDesc, entryType, fixedProperties, entryData.getDynamicProperties(),
                         uid, entryData.getVersion(), timeToLive, isTransient);
+                if (!forceNotExternalizable && isSerializedEntryCacheEnabled(typeDesc) && entryData instanceof FlatEntryData)
+                    entryPacket.setSerializedPropertiesSource((FlatEntryData) entryData);
+                return entryPacket;
             case EXTERNAL_ENTRY:
                 final String eeImplClassName = template != null ? template.getExternalEntryImplClassName() : null;
                 return new ExternalEntryPacket(typeDesc, entryType, fixedProperties,
@@ -198,6 +211,11 @@ public class EntryPacketFactory {
         }
     }
 
+    private static boolean isSerializedEntryCacheEnabled(ITypeDesc typeDesc) {
+        return !SERIALIZED_ENTRY_CACHE_TYPES.isEmpty() &&
+                (SERIALIZED_ENTRY_CACHE_TYPES.contains(ALL_TYPES) || SERIALIZED_ENTRY_CACHE_TYPES.contains(typeDesc.getTypeName()));
+    }
+
     private static Object[] getPartialUpdateFieldValues(IEntryData entryData, boolean[] partialUpdatedValuesIndicators) {
         Object[] fieldValues = entryData.getFixedPropertiesValues();
         if (fieldValues != null && fieldValues.length > 0 && partialUpdatedValuesIndicators != null) {
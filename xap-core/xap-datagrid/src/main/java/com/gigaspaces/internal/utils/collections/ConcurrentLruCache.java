@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent bounded cache with approximate least recently used eviction. Reads take no lock,
+ * they only stamp the entry with its access time. Once the cache exceeds its maximal size, the
+ * thread which added the entry evicts the least recently used entries, a sixteenth of the maximal
+ * size at a time so the sort of the entries is amortized over many additions. Concurrent additions
+ * do not wait for an eviction in progress, so the cache may exceed its maximal size for a short
+ * while.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ConcurrentLruCache<Key, Value>
+        implements Map<Key, Value> {
+    private final ConcurrentHashMap<Key, CachedValue<Value>> _map = new ConcurrentHashMap<Key, CachedValue<Value>>();
+    private final ReentrantLock _evictionLock = new ReentrantLock();
+    private final long _maxSize;
+
+    /**
+     * @param maxSize maximal number of entries, nothing is cached if it is not positive.
+     */
+    public ConcurrentLruCache(long maxSize) {
+        _maxSize = maxSize;
+    }
+
+    public Value put(Key key, Value value) {
+        if (_maxSize <= 0)
+            return null;
+        CachedValue<Value> prev = _map.put(key, new CachedValue<Value>(value));
+        if (_map.size() > _maxSize)
+            evict();
+        return prev != null ? prev.value : null;
+    }
+
+    public Value get(Object key) {
+        CachedValue<Value> cachedValue = _map.get(key);
+        if (cachedValue == null)
+            return null;
+        cachedValue.lastAccessTime = System.nanoTime();
+        return cachedValue.value;
+    }
+
+    private void evict() {
+        if (!_evictionLock.tryLock())
+            return;
+        try {
+            // access times are taken once, readers keep updating them while sorting
+            List<EvictionCandidate<Key, Value>> candidates = new ArrayList<EvictionCandidate<Key, Value>>(_map.size());
+            for (Map.Entry<Key, CachedValue<Value>> entry : _map.entrySet())
+                candidates.add(new EvictionCandidate<Key, Value>(entry.getKey(), entry.getValue()));
+            long toEvict = candidates.size() - _maxSize + _maxSize / 16;
+            if (toEvict <= 0)
+                return;
+            Collections.sort(candidates);
+            for (int i = 0; i < toEvict; i++)
+                _map.remove(candidates.get(i).key, candidates.get(i).cachedValue);
+        } finally {
+            _evictionLock.unlock();
+        }
+    }
+
+    public Value remove(Object key) {
+        CachedValue<Value> removed = _map.remove(key);
+        return removed != null ? removed.value : null;
+    }
+
+    public boolean containsKey(Object key) {
+        return _map.containsKey(key);
+    }
+
+    public boolean isEmpty() {
+        return _map.isEmpty();
+    }
+
+    public Set<Key> keySet() {
+        return _map.keySet();
+    }
+
+    public int size() {
+        return _map.size();
+    }
+
+    public void clear() {
+        _map.clear();
+    }
+
+    /*
+     * Unsupported
+     */
+    public boolean containsValue(Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /*
+     * Unsupported
+     */
+    public Set<Map.Entry<Key, Value>> entrySet() {
+        throw new UnsupportedOperationException();
+    }
+
+    /*
+     * Unsupported
+     */
+    public void putAll(Map<? extends Key, ? extends Value> t) {
+        throw new UnsupportedOperationException();
+    }
+
+    /*
+     * Unsupported
+     */
+    public Collection<Value> values() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final class CachedValue<Value> {
+        private final Value value;
+        private volatile long lastAccessTime = System.nanoTime();
+
+        private CachedValue(Value value) {
+            this.value = value;
+        }
+    }
+
+    private static final class EvictionCandidate<Key, Value> implements Comparable<EvictionCandidate<Key, Value>> {
+        private final Key key;
+        private final CachedValue<Value> cachedValue;
+        private final long lastAccessTime;
+
+        private EvictionCandidate(Key key, CachedValue<Value> cachedValue) {
+            this.key = key;
+            this.cachedValue = cachedValue;
+            this.lastAccessTime = cachedValue.lastAccessTime;
+        }
+
+        public int compareTo(EvictionCandidate<Key, Value> other) {
+            return lastAccessTime < other.lastAccessTime ? -1 : (lastAccessTime == other.lastAccessTime ? 0 : 1);
+        }
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.utils.collections;
+
+import com.gigaspaces.internal.gnu.trove.TIntObjectHashMap;
+import com.gigaspaces.internal.gnu.trove.TIntObjectIterator;
+import com.gigaspaces.internal.gnu.trove.TLongObjectHashMap;
+import com.gigaspaces.internal.gnu.trove.TLongObjectIterator;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A segmented concurrent map for primitive (wrapper) keys. Each segment is an open-addressing
+ * trove map guarded by a read-write lock, so keys are kept unboxed and no hash-entry object is
+ * allocated per mapping. <p> The map exposes the regular {@link ConcurrentMap} contract so it can
+ * replace a {@link java.util.concurrent.ConcurrentHashMap} keyed by wrappers. Keys which are not
+ * of the map's {@link PrimitiveKeyType} (e.g. an Integer value of a property indexed as Long) are
+ * kept boxed in a regular concurrent map, created on first use, so they keep the equality
+ * semantics they have in a {@link java.util.concurrent.ConcurrentHashMap}. Iteration is weakly
+ * consistent - each segment is copied under its read lock.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ConcurrentPrimitiveKeyHashMap<V> extends AbstractMap<Object, V>
+        implements ConcurrentMap<Object, V> {
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final PrimitiveKeyType _keyType;
+    private final Segment<V>[] _segments;
+    private final int _segmentShift;
+    private final int _segmentMask;
+    //keys which are not of the map's key type, created on first use
+    private volatile ConcurrentMap<Object, V> _otherKeys;
+
+    private transient Set<Map.Entry<Object, V>> _entrySet;
+
+    public ConcurrentPrimitiveKeyHashMap(PrimitiveKeyType keyType) {
+        this(keyType, 16, 16);
+    }
+
+    public ConcurrentPrimitiveKeyHashMap(PrimitiveKeyType keyType, int initialCapacity, int concurrencyLevel) {
+        if (keyType == null)
+            throw new IllegalArgumentException("keyType cannot be null");
+        if (initialCapacity < 0 || concurrencyLevel <= 0)
+            throw new IllegalArgumentException();
+        if (concurrencyLevel > MAX_SEGMENTS)
+            concurrencyLevel = MAX_SEGMENTS;
+
+        int sshift = 0;
+        int ssize = 1;
+        while (ssize < concurrencyLevel) {
+            ++sshift;
+            ssize <<= 1;
+        }
+        _segmentShift = 32 - sshift;
+        _segmentMask = ssize - 1;
+        _keyType = keyType;
+
+        int segmentCapacity = Math.max(1, initialCapacity / ssize);
+        _segments = new Segment[ssize];
+        for (int i = 0; i < ssize; i++)
+            _segments[i] = keyType.isIntWidth() ? new IntSegment<V>(segmentCapacity) : new LongSegment<V>(segmentCapacity);
+    }
+
+    public PrimitiveKeyType getKeyType() {
+        return _keyType;
+    }
+
+    private static int hash(long key) {
+        //same spreading as ConcurrentHashMap - segment is selected by the upper bits
+        int h = (int) (key ^ (key >>> 32));
+        h += (h << 15) ^ 0xffffcd7d;
+        h ^= (h >>> 10);
+        h += (h << 3);
+        h ^= (h >>> 6);
+        h += (h << 2) + (h << 14);
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<V> segmentFor(long key) {
+        return _segments[(hash(key) >>> _segmentShift) & _segmentMask];
+    }
+
+    private ConcurrentMap<Object, V> getOrCreateOtherKeys() {
+        ConcurrentMap<Object, V> otherKeys = _otherKeys;
+        if (otherKeys == null) {
+            synchronized (this) {
+                otherKeys = _otherKeys;
+                if (otherKeys == null)
+                    _otherKeys = otherKeys = new ConcurrentHashMap<Object, V>(16, 0.75f, 4);
+            }
+        }
+        return otherKeys;
+    }
+
+    private static void verifyValue(Object value) {
+        if (value == null)
+            throw new NullPointerException();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!_keyType.isKeyOfType(key)) {
+            ConcurrentMap<Object, V> otherKeys = _otherKeys;
+            return otherKeys != null && key != null ? otherKeys.get(key) : null;
+        }
+        long k = _keyType.toLong(key);
+        return segmentFor(k).get(k);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(Object key, V value) {
+        verifyValue(value);
+        if (!_keyType.isKeyOfType(key))
+            return getOrCreateOtherKeys().put(key, value);
+        long k = _keyType.toLong(key);
+        return segmentFor(k).put(k, value, false);
+    }
+
+    public V putIfAbsent(Object key, V value) {
+        verifyValue(value);
+        if (!_keyType.isKeyOfType(key))
+            return getOrCreateOtherKeys().putIfAbsent(key, value);
+        long k = _keyType.toLong(key);
+        return segmentFor(k).put(k, value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!_keyType.isKeyOfType(key)) {
+            ConcurrentMap<Object, V> otherKeys = _otherKeys;
+            return otherKeys != null && key != null ? otherKeys.remove(key) : null;
+        }
+        long k = _keyType.toLong(key);
+        return segmentFor(k).remove(k, null);
+    }
+
+    public boolean remove(Object key, Object value) {
+        if (value == null)
+            return false;
+        if (!_keyType.isKeyOfType(key)) {
+            ConcurrentMap<Object, V> otherKeys = _otherKeys;
+            return otherKeys != null && key != null && otherKeys.remove(key, value);
+        }
+        long k = _keyType.toLong(key);
+        return segmentFor(k).remove(k, value) != null;
+    }
+
+    public boolean replace(Object key, V oldValue, V newValue) {
+        verifyValue(oldValue);
+        verifyValue(newValue);
+        if (!_keyType.isKeyOfType(key)) {
+            ConcurrentMap<Object, V> otherKeys = _otherKeys;
+            return otherKeys != null && otherKeys.replace(key, oldValue, newValue);
+        }
+        long k = _keyType.toLong(key);
+        return segmentFor(k).replace(k, oldValue, newValue) != null;
+    }
+
+    public V replace(Object key, V value) {
+        verifyValue(value);
+        if (!_keyType.isKeyOfType(key)) {
+            ConcurrentMap<Object, V> otherKeys = _otherKeys;
+            return otherKeys != null ? otherKeys.replace(key, value) : null;
+        }
+        long k = _keyType.toLong(key);
+        return segmentFor(k).replace(k, null, value);
+    }
+
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Segment<V> segment : _segments)
+            sum += segment._count;
+        ConcurrentMap<Object, V> otherKeys = _otherKeys;
+        if (otherKeys != null)
+            sum += otherKeys.size();
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<V> segment : _segments)
+            if (segment._count != 0)
+                return false;
+        ConcurrentMap<Object, V> otherKeys = _otherKeys;
+        return otherKeys == null || otherKeys.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<V> segment : _segments)
+            segment.clear();
+        ConcurrentMap<Object, V> otherKeys = _otherKeys;
+        if (otherKeys != null)
+            otherKeys.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<Object, V>> entrySet() {
+        Set<Map.Entry<Object, V>> es = _entrySet;
+        return es != null ? es : (_entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Object, V>> {
+        @Override
+        public Iterator<Map.Entry<Object, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentPrimitiveKeyHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentPrimitiveKeyHashMap.this.clear();
+        }
+    }
+
+    /**
+     * Weakly consistent iterator - each segment is copied under its read lock when reached, the
+     * keys of other types are iterated last.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Object, V>> {
+        private final List<Map.Entry<Object, V>> _buffer = new ArrayList<Map.Entry<Object, V>>();
+        private int _nextSegment;
+        private int _bufferPos;
+        private Iterator<Map.Entry<Object, V>> _otherKeysIterator;
+        private Map.Entry<Object, V> _last;
+
+        public boolean hasNext() {
+            while (_bufferPos >= _buffer.size()) {
+                if (_nextSegment >= _segments.length)
+                    return hasNextOtherKey();
+                _buffer.clear();
+                _bufferPos = 0;
+                _segments[_nextSegment++].copyEntries(_keyType, _buffer);
+            }
+            return true;
+        }
+
+        private boolean hasNextOtherKey() {
+            if (_otherKeysIterator == null) {
+                ConcurrentMap<Object, V> otherKeys = _otherKeys;
+                if (otherKeys == null)
+                    return false;
+                _otherKeysIterator = otherKeys.entrySet().iterator();
+            }
+            if (!_otherKeysIterator.hasNext())
+                return false;
+            _buffer.clear();
+            _bufferPos = 0;
+            _buffer.add(_otherKeysIterator.next());
+            return true;
+        }
+
+        public Map.Entry<Object, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            _last = _buffer.get(_bufferPos++);
+            return _last;
+        }
+
+        public void remove() {
+            if (_last == null)
+                throw new IllegalStateException();
+            ConcurrentPrimitiveKeyHashMap.this.remove(_last.getKey(), _last.getValue());
+            _last = null;
+        }
+    }
+
+    private abstract static class Segment<V> extends ReentrantReadWriteLock {
+        private static final long serialVersionUID = 1L;
+
+        volatile int _count;
+
+        abstract V getUnlocked(long key);
+
+        abstract V putUnlocked(long key, V value);
+
+        abstract V removeUnlocked(long key);
+
+        abstract int sizeUnlocked();
+
+        abstract void clearUnlocked();
+
+        abstract void copyEntriesUnlocked(PrimitiveKeyType keyType, List<Map.Entry<Object, V>> target);
+
+        V get(long key) {
+            readLock().lock();
+            try {
+                return getUnlocked(key);
+            } finally {
+                readLock().unlock();
+            }
+        }
+
+        V put(long key, V value, boolean onlyIfAbsent) {
+            writeLock().lock();
+            try {
+                V prev = getUnlocked(key);
+                if (prev == null || !onlyIfAbsent) {
+                    putUnlocked(key, value);
+                    _count = sizeUnlocked();
+                }
+                return prev;
+            } finally {
+                writeLock().unlock();
+            }
+        }
+
+        /**
+         * removes the mapping, if expectedValue is not null only if currently mapped to it.
+         *
+         * @return the removed value or null if nothing was removed
+         */
+        V remove(long key, Object expectedValue) {
+            writeLock().lock();
+            try {
+                V prev = getUnlocked(key);
+                if (prev == null || (expectedValue != null && !expectedValue.equals(prev)))
+                    return null;
+                removeUnlocked(key);
+                _count = sizeUnlocked();
+                return prev;
+            } finally {
+                writeLock().unlock();
+            }
+        }
+
+        /**
+         * replaces the mapping, if expectedValue is not null only if currently mapped to it.
+         *
+         * @return the replaced value or null if nothing was replaced
+         */
+        V replace(long key, V expectedValue, V newValue) {
+            writeLock().lock();
+            try {
+                V prev = getUnlocked(key);
+                if (prev == null || (expectedValue != null && !expectedValue.equals(prev)))
+                    return null;
+                putUnlocked(key, newValue);
+                return prev;
+            } finally {
+                writeLock().unlock();
+            }
+        }
+
+        void clear() {
+            writeLock().lock();
+            try {
+                clearUnlocked();
+                _count = 0;
+            } finally {
+                writeLock().unlock();
+            }
+        }
+
+        void copyEntries(PrimitiveKeyType keyType, List<Map.Entry<Object, V>> target) {
+            readLock().lock();
+            try {
+                copyEntriesUnlocked(keyType, target);
+            } finally {
+                readLock().unlock();
+            }
+        }
+    }
+
+    private static final class LongSegment<V> extends Segment<V> {
+        private static final long serialVersionUID = 1L;
+
+        private final TLongObjectHashMap<V> _map;
+
+        LongSegment(int initialCapacity) {
+            _map = new TLongObjectHashMap<V>(initialCapacity);
+        }
+
+        @Override
+        V getUnlocked(long key) {
+            return _map.get(key);
+        }
+
+        @Override
+        V putUnlocked(long key, V value) {
+            return _map.put(key, value);
+        }
+
+        @Override
+        V removeUnlocked(long key) {
+            return _map.remove(key);
+        }
+
+        @Override
+        int sizeUnlocked() {
+            return _map.size();
+        }
+
+        @Override
+        void clearUnlocked() {
+            _map.clear();
+        }
+
+        @Override
+        void copyEntriesUnlocked(PrimitiveKeyType keyType, List<Map.Entry<Object, V>> target) {
+            for (TLongObjectIterator<V> iter = _map.iterator(); iter.hasNext(); ) {
+                iter.advance();
+                target.add(new SimpleImmutableEntry<Object, V>(keyType.fromLong(iter.key()), iter.value()));
+            }
+        }
+    }
+
+    private static final class IntSegment<V> extends Segment<V> {
+        private static final long serialVersionUID = 1L;
+
+        private final TIntObjectHashMap<V> _map;
+
+        IntSegment(int initialCapacity) {
+            _map = new TIntObjectHashMap<V>(initialCapacity);
+        }
+
+        @Override
+        V getUnlocked(long key) {
+            return _map.get((int) key);
+        }
+
+        @Override
+        V putUnlocked(long key, V value) {
+            return _map.put((int) key, value);
+        }
+
+        @Override
+        V removeUnlocked(long key) {
+            return _map.remove((int) key);
+        }
+
+        @Override
+        int sizeUnlocked() {
+            return _map.size();
+        }
+
+        @Override
+        void clearUnlocked() {
+            _map.clear();
+        }
+
+        @Override
+        void copyEntriesUnlocked(PrimitiveKeyType keyType, List<Map.Entry<Object, V>> target) {
+            for (TIntObjectIterator<V> iter = _map.iterator(); iter.hasNext(); ) {
+                iter.advance();
+                target.add(new SimpleImmutableEntry<Object, V>(keyType.fromLong(iter.key()), iter.value()));
+            }
+        }
+    }
+}
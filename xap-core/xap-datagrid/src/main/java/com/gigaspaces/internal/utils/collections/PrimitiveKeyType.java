@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.utils.collections;
+
+/**
+ * Describes how a primitive (or primitive wrapper) key is encoded into a <code>long</code> and
+ * decoded back. The encoding preserves the <code>equals()</code> semantics of the wrapper type.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public enum PrimitiveKeyType {
+    LONG(Long.class, false) {
+        @Override
+        public long toLong(Object key) {
+            return (Long) key;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return key;
+        }
+    },
+    INT(Integer.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return (Integer) key;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return (int) key;
+        }
+    },
+    SHORT(Short.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return (Short) key;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return (short) key;
+        }
+    },
+    BYTE(Byte.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return (Byte) key;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return (byte) key;
+        }
+    },
+    CHAR(Character.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return (Character) key;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return (char) key;
+        }
+    },
+    BOOLEAN(Boolean.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return ((Boolean) key) ? 1 : 0;
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return key != 0;
+        }
+    },
+    //Double.equals() and Float.equals() are defined by their raw bits - so are we
+    DOUBLE(Double.class, false) {
+        @Override
+        public long toLong(Object key) {
+            return Double.doubleToLongBits((Double) key);
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return Double.longBitsToDouble(key);
+        }
+
+        @Override
+        public long toOrderedLong(Object key) {
+            long bits = toLong(key);
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+
+        @Override
+        public Object fromOrderedLong(long key) {
+            return fromLong(key ^ ((key >> 63) & Long.MAX_VALUE));
+        }
+    },
+    FLOAT(Float.class, true) {
+        @Override
+        public long toLong(Object key) {
+            return Float.floatToIntBits((Float) key);
+        }
+
+        @Override
+        public Object fromLong(long key) {
+            return Float.intBitsToFloat((int) key);
+        }
+
+        @Override
+        public long toOrderedLong(Object key) {
+            int bits = (int) toLong(key);
+            return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+        }
+
+        @Override
+        public Object fromOrderedLong(long key) {
+            int bits = (int) key;
+            return fromLong(bits ^ ((bits >> 31) & Integer.MAX_VALUE));
+        }
+    };
+
+    private final Class<?> _wrapperClass;
+    private final boolean _intWidth;
+
+    PrimitiveKeyType(Class<?> wrapperClass, boolean intWidth) {
+        _wrapperClass = wrapperClass;
+        _intWidth = intWidth;
+    }
+
+    /**
+     * @return the primitive key type of the given class, or null if the class is neither a
+     * primitive nor a primitive wrapper.
+     */
+    public static PrimitiveKeyType fromClass(Class<?> type) {
+        if (type == null)
+            return null;
+        if (type == Long.class || type == long.class)
+            return LONG;
+        if (type == Integer.class || type == int.class)
+            return INT;
+        if (type == Short.class || type == short.class)
+            return SHORT;
+        if (type == Byte.class || type == byte.class)
+            return BYTE;
+        if (type == Character.class || type == char.class)
+            return CHAR;
+        if (type == Boolean.class || type == boolean.class)
+            return BOOLEAN;
+        if (type == Double.class || type == double.class)
+            return DOUBLE;
+        if (type == Float.class || type == float.class)
+            return FLOAT;
+        return null;
+    }
+
+    /**
+     * @return true if the given object is a key of this type.
+     */
+    public boolean isKeyOfType(Object key) {
+        return key != null && key.getClass() == _wrapperClass;
+    }
+
+    /**
+     * @return true if every encoded key of this type fits in an <code>int</code>.
+     */
+    public boolean isIntWidth() {
+        return _intWidth;
+    }
+
+    public Class<?> getWrapperClass() {
+        return _wrapperClass;
+    }
+
+    public abstract long toLong(Object key);
+
+    public abstract Object fromLong(long key);
+
+    /**
+     * @return an encoding of the key whose signed <code>long</code> order is the order of
+     * <code>compareTo()</code> of the wrapper type.
+     */
+    public long toOrderedLong(Object key) {
+        return toLong(key);
+    }
+
+    public Object fromOrderedLong(long key) {
+        return fromLong(key);
+    }
+}
@@ -32,10 +32,14 @@ import com.gigaspaces.lrmi.nio.Pivot;
 import com.gigaspaces.lrmi.nio.async.LRMIThreadPoolExecutor;
 import com.gigaspaces.lrmi.nio.watchdog.Watchdog;
 import com.gigaspaces.management.transport.ITransportConnection;
+import com.gigaspaces.start.SystemBoot;
 import com.j_spaces.core.service.ServiceConfigLoader;
 import com.j_spaces.kernel.ClassLoaderHelper;
 import com.j_spaces.kernel.SystemProperties;
 import com.j_spaces.kernel.threadpool.DynamicThreadPoolExecutor;
+import com.j_spaces.kernel.threadpool.VirtualThreadExecutor;
+
+import org.jini.rio.boot.CommonClassLoader;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
@@ -45,6 +49,7 @@ import java.rmi.RemoteException;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,6 +86,7 @@ public class LRMIRuntime {
     final private LRMIThreadPoolExecutor _livenessPriorityThreadPool;
     final private LRMIThreadPoolExecutor _monitoringPriorityThreadPool;
     final private LRMIThreadPoolExecutor _customThreadPool;
+    final private VirtualThreadExecutor _virtualThreadExecutor;
     final private StubCache _stubCache;
     final private INetworkMapper _networkMapper = constructNetworkMapper();
     //Current lrmi usage simply doesn't support shutdown on last registrar since the client 
@@ -120,6 +126,12 @@ public class LRMIRuntime {
                 config.getMinThreads(), config.getMaxThreads(),
                 config.getThreadPoolIdleTimeout(), config.getThreadsQueueSize(),
                 Long.MAX_VALUE, Thread.NORM_PRIORITY, "LRMI Connection", true, true);
+        if (Boolean.getBoolean(SystemProperties.LRMI_ADAPTIVE_THREAD_POOL))
+            _lrmiThreadPool.enableAdaptiveSizing("LRMI Connection",
+                    Long.getLong(SystemProperties.LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET, SystemProperties.LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET_DEFAULT),
+                    Integer.getInteger(SystemProperties.LRMI_ADAPTIVE_THREAD_POOL_MAX_THREADS_CEILING, config.getMaxThreads() * 4),
+                    Long.getLong(SystemProperties.LRMI_ADAPTIVE_THREAD_POOL_INTERVAL, SystemProperties.LRMI_ADAPTIVE_THREAD_POOL_INTERVAL_DEFAULT),
+                    TimeUnit.MILLISECONDS);
         NIOConfiguration nioConfig = (NIOConfiguration) config;
         _livenessPriorityThreadPool = new LRMIThreadPoolExecutor(nioConfig.getSystemPriorityMinThreads(),
                 nioConfig.getSystemPriorityMaxThreads(),
@@ -145,6 +157,20 @@ public class LRMIRuntime {
                 Thread.NORM_PRIORITY,
                 "LRMI Custom Pool",
                 true, true);
+        _virtualThreadExecutor = Boolean.getBoolean(SystemProperties.LRMI_VIRTUAL_THREADS) ? createVirtualThreadExecutor() : null;
+    }
+
+    private static VirtualThreadExecutor createVirtualThreadExecutor() {
+        // same as the pool threads, which are created in the common class loader
+        final ClassLoader contextClassLoader = SystemBoot.isRunningWithinGSC() ? CommonClassLoader.getInstance() : null;
+        final VirtualThreadExecutor executor = VirtualThreadExecutor.create("LRMI Connection", contextClassLoader);
+        if (executor == null) {
+            if (_logger.isLoggable(Level.INFO))
+                _logger.info("Virtual threads are not supported by this JVM, LRMI invocations are executed by the LRMI thread pools");
+        } else if (_logger.isLoggable(Level.CONFIG)) {
+            _logger.config("LRMI invocations are executed on virtual threads");
+        }
+        return executor;
     }
 
 
@@ -209,6 +235,15 @@ public class LRMIRuntime {
         return _livenessPriorityThreadPool;
     }
 
+    /**
+     * @return the executor of invocations on virtual threads, or null if invocations are executed
+     * by the thread pools.
+     * @since 12.3
+     */
+    public VirtualThreadExecutor getVirtualThreadExecutor() {
+        return _virtualThreadExecutor;
+    }
+
     public DynamicThreadPoolExecutor getCustomThreadPool() {
         return _customThreadPool;
     }
@@ -513,6 +548,8 @@ public class LRMIRuntime {
         _monitoringPriorityThreadPool.shutdownNow();
         _livenessPriorityThreadPool.shutdownNow();
         _customThreadPool.shutdown();
+        if (_virtualThreadExecutor != null)
+            _virtualThreadExecutor.shutdown();
 
         DynamicSmartStub.shutdown();
 
@@ -60,7 +60,7 @@ import java.util.logging.Logger;
 @com.gigaspaces.api.InternalApi
 public class ChannelEntry implements IWriteInterestManager {
     final private static Logger _logger = Logger.getLogger(Constants.LOGGER_LRMI);
-
+    final private static boolean BATCHING_WRITER = Boolean.getBoolean(SystemProperties.LRMI_BATCHING_WRITER);
 
     final private Pivot _pivot;
     final private SocketChannel _socketChannel;
@@ -118,7 +118,7 @@ public class ChannelEntry implements IWriteInterestManager {
         _readSelectorThread = readSelectorThread;
         _writeSelectorThread = writeSelectorThread;
         _socketChannel = channel;
-        _writer = new Writer(channel, this);
+        _writer = new Writer(channel, this, BATCHING_WRITER);
         _reader = new Reader(channel, _pivot.getSystemRequestHandler());
         _connectionID = UIDGen.nextId();
         _connectionTimeStamp = SystemTime.timeMillis();
@@ -51,6 +51,7 @@ import com.gigaspaces.lrmi.nio.filters.IOFilterException;
 import com.gigaspaces.lrmi.nio.selector.SelectorManager;
 import com.gigaspaces.lrmi.nio.selector.handler.ReadSelectorThread;
 import com.gigaspaces.lrmi.nio.selector.handler.WriteSelectorThread;
+import com.gigaspaces.metrics.HistogramMetric;
 import com.gigaspaces.management.transport.ITransportConnection;
 import com.j_spaces.kernel.ClassLoaderHelper;
 
@@ -105,6 +106,9 @@ public class Pivot {
     // logger
     final private static Logger _logger = Logger.getLogger(Constants.LOGGER_LRMI);
     final private static Logger _contextLogger = Logger.getLogger(Constants.LOGGER_LRMI_CONTEXT);
+    // latency of handling incoming invocations by all the pivots in this process, until the reply is
+    // created - marshaling and writing the reply are not included
+    final private static HistogramMetric _invocationLatency = new HistogramMetric();
 
     private final IClassProvider _classProvider;
 
@@ -243,10 +247,12 @@ public class Pivot {
                 config.getBindPort(),
                 config.getReadSelectorThreads());
 
-        _threadPool = LRMIRuntime.getRuntime().getThreadPool();
+        // liveness and monitoring requests keep their own pools, so they are not delayed by regular requests
+        final Executor virtualThreadExecutor = LRMIRuntime.getRuntime().getVirtualThreadExecutor();
+        _threadPool = virtualThreadExecutor != null ? virtualThreadExecutor : LRMIRuntime.getRuntime().getThreadPool();
         _livenessPriorityThreadPool = LRMIRuntime.getRuntime().getLivenessPriorityThreadPool();
         _monitoringPriorityThreadPool = LRMIRuntime.getRuntime().getMonitoringPriorityThreadPool();
-        _customThreadPool = LRMIRuntime.getRuntime().getCustomThreadPool();
+        _customThreadPool = virtualThreadExecutor != null ? virtualThreadExecutor : LRMIRuntime.getRuntime().getCustomThreadPool();
 
         _protocolValidationEnabled = config.isProtocolValidationEnabled();
     }
@@ -269,6 +275,10 @@ public class Pivot {
         return _selectorManager.getHostName();
     }
 
+    public static HistogramMetric getInvocationLatencyHistogram() {
+        return _invocationLatency;
+    }
+
     public static boolean isMonitorActivity() {
         return LRMIRuntime.getRuntime().isMonitorActivity();
     }
@@ -569,7 +579,9 @@ public class Pivot {
             ResponseContext.setExistingResponseContext(respContext);
         }
 
+        final long startTime = System.nanoTime();
         ReplyPacket replyPacket = consumeAndHandleRequest(requestPacket, respContext, channelEntry);
+        _invocationLatency.recordSince(startTime);
         ResponseContext.clearResponseContext();
 
         //	 If replyPacket is null - it's a one way request or callback
@@ -37,8 +37,12 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +69,8 @@ public class Writer implements IChannelWriter {
 
     final static private int LENGTH_SIZE = 4; //4 bytes for length
 
+    final static private int MAX_GATHERED_WRITES = 64;
+
     final private MarshalOutputStream _oos;
     final private GSByteArrayOutputStream _baos;
 
@@ -93,6 +99,18 @@ public class Writer implements IChannelWriter {
 
     private IWriteInterestManager _writeInterestManager;
 
+    // Batching mode - contexts are marshalled under the writer lock, offered to the write queue and
+    // written by whichever thread owns the flush, see #flushWriteQueue
+    private final Queue<Context> _writeQueue;
+    private final AtomicInteger _queuedWrites;
+    private final AtomicInteger _flushRequests;
+    private volatile boolean _awaitingWriteEvent;
+    // The following are accessed only by the flush owner
+    private final ArrayDeque<Context> _inFlight;
+    private final ByteBuffer[] _gatheredBuffers;
+    private long _inFlightBytes;
+    private int _completedSinceInterestRestore;
+
     public static LongAdder getGeneratedTrafficCounter() {
         return generatedTraffic;
     }
@@ -102,10 +120,23 @@ public class Writer implements IChannelWriter {
     }
 
     public Writer(SocketChannel sockChannel, IWriteInterestManager writeInterestManager) {
-        this(sockChannel, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, writeInterestManager);
+        this(sockChannel, writeInterestManager, false);
+    }
+
+    /**
+     * @param batchWrites if true, non blocking writes are queued and flushed together using
+     *                    gathering writes, see {@link SystemProperties#LRMI_BATCHING_WRITER}
+     */
+    public Writer(SocketChannel sockChannel, IWriteInterestManager writeInterestManager, boolean batchWrites) {
+        this(sockChannel, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, writeInterestManager, batchWrites);
     }
 
     public Writer(SocketChannel sockChannel, int slowConsumerThroughput, int slowConsumerLatency, int slowConsumerRetries, IWriteInterestManager writeInterestManager) {
+        this(sockChannel, slowConsumerThroughput, slowConsumerLatency, slowConsumerRetries, writeInterestManager, false);
+    }
+
+    private Writer(SocketChannel sockChannel, int slowConsumerThroughput, int slowConsumerLatency, int slowConsumerRetries, IWriteInterestManager writeInterestManager,
+                   boolean batchWrites) {
         _sockChannel = sockChannel;
         _slowConsumerThroughput = slowConsumerThroughput;
         _slowConsumerLatency = slowConsumerLatency;
@@ -116,6 +147,19 @@ public class Writer implements IChannelWriter {
         _slowConsumerBytes = (_slowConsumerThroughput * _slowConsumerLatency) / 1000;
         _contexts = new LinkedList<Context>();
         _writeInterestManager = writeInterestManager;
+        if (batchWrites) {
+            _writeQueue = new ConcurrentLinkedQueue<Context>();
+            _queuedWrites = new AtomicInteger();
+            _flushRequests = new AtomicInteger();
+            _inFlight = new ArrayDeque<Context>();
+            _gatheredBuffers = new ByteBuffer[MAX_GATHERED_WRITES];
+        } else {
+            _writeQueue = null;
+            _queuedWrites = null;
+            _flushRequests = null;
+            _inFlight = null;
+            _gatheredBuffers = null;
+        }
 
         try {
             _baos = new GSByteArrayOutputStream();
@@ -177,8 +221,65 @@ public class Writer implements IChannelWriter {
         return _sockChannel.isOpen();
     }
 
+    private void writePacket(IPacket packet, boolean requestReuseBuffer, Context ctx) throws IOException, IOFilterException {
+        if (isBatchingWrites()) {
+            if (ctx != null) {
+                enqueuePacket(packet, requestReuseBuffer, ctx);
+                flushWriteQueue();
+            } else {
+                writePacketBlockingThroughQueue(packet, requestReuseBuffer);
+            }
+        } else {
+            writePacketExclusively(packet, requestReuseBuffer, ctx);
+        }
+    }
+
+    /**
+     * In batching mode a blocking write goes through the write queue as well, otherwise its bytes
+     * could be mixed with those of a concurrent flush, or reach the wire before packets marshalled
+     * earlier. The caller waits until the flush owner, which may be another thread, wrote it.
+     */
+    private void writePacketBlockingThroughQueue(IPacket packet, boolean requestReuseBuffer) throws IOException {
+        BlockingWriteContext ctx = new BlockingWriteContext();
+        enqueuePacket(packet, requestReuseBuffer, ctx);
+        flushWriteQueue();
+        ctx.awaitWritten();
+    }
+
     //Access to contexts should be synchronized
-    private synchronized void writePacket(IPacket packet, boolean requestReuseBuffer, Context ctx) throws IOException, IOFilterException {
+    private synchronized void writePacketExclusively(IPacket packet, boolean requestReuseBuffer, Context ctx) throws IOException, IOFilterException {
+        ByteBuffer buffer = marshalPacket(packet, requestReuseBuffer && canReuseBuffer());
+
+        if (ctx != null) {
+            // non blocking mode.
+            ctx.setBuffer(buffer);
+            writeBytesNonBlocking(ctx);
+        } else {
+            // blocking mode.
+            writeBytesBlocking(buffer);
+        }
+    }
+
+    /**
+     * Marshals the packet and offers it to the write queue. Marshalling and queueing are done
+     * under the writer lock since the marshal stream context requires the packets to be sent in
+     * the order they were marshalled.
+     */
+    private synchronized void enqueuePacket(IPacket packet, boolean requestReuseBuffer, Context ctx) throws IOException {
+        ctx.setBuffer(marshalPacket(packet, requestReuseBuffer && canReuseBuffer()));
+        _queuedWrites.incrementAndGet();
+        pendingWrites.increment();
+        _writeQueue.offer(ctx);
+    }
+
+    /**
+     * The cached buffer can be reused only if it is not held by a pending write.
+     */
+    private boolean canReuseBuffer() {
+        return _contexts.isEmpty() && (_queuedWrites == null || _queuedWrites.get() == 0);
+    }
+
+    private ByteBuffer marshalPacket(IPacket packet, boolean reuseBuffer) throws IOException {
         if (_logger.isLoggable(Level.FINEST)) {
             _logger.finest("--> Write Packet " + packet);
         }
@@ -186,7 +287,6 @@ public class Writer implements IChannelWriter {
         MarshalOutputStream mos;
         GSByteArrayOutputStream bos;
 
-        final boolean reuseBuffer = requestReuseBuffer && _contexts.isEmpty();
         if (reuseBuffer) {
             mos = _oos;
             bos = _baos;
@@ -226,15 +326,7 @@ public class Writer implements IChannelWriter {
         }
         _generatedTraffic += buffer.limit();
         generatedTraffic.add(buffer.limit());
-
-        if (ctx != null) {
-            // non blocking mode.
-            ctx.setBuffer(buffer);
-            writeBytesNonBlocking(ctx);
-        } else {
-            // blocking mode.
-            writeBytesBlocking(buffer);
-        }
+        return buffer;
     }
 
     public static class Context {
@@ -356,6 +448,53 @@ public class Writer implements IChannelWriter {
         }
     }
 
+    /**
+     * A blocking write queued in batching mode, see #writePacketBlockingThroughQueue
+     */
+    private class BlockingWriteContext extends Context {
+        private boolean _written;
+        private Throwable _failure;
+
+        private BlockingWriteContext() {
+            super(null);
+        }
+
+        @Override
+        public void setPhase(Phase phase) {
+            super.setPhase(phase);
+            if (phase == Phase.FINISH) {
+                synchronized (this) {
+                    _written = true;
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized void fail(Throwable failure) {
+            _failure = failure;
+            notifyAll();
+        }
+
+        private synchronized void awaitWritten() throws IOException {
+            while (!_written) {
+                if (_failure != null) {
+                    IOException ioe = new IOException("Failed to write packet: " + _failure.getMessage());
+                    ioe.initCause(_failure);
+                    throw ioe;
+                }
+                if (!_sockChannel.isOpen())
+                    throw new ClosedChannelException();
+                try {
+                    wait(1000);
+                } catch (InterruptedException e) {
+                    IOException ioe = new IOException("Interrupted while writing response.");
+                    ioe.initCause(e);
+                    throw ioe;
+                }
+            }
+        }
+    }
+
     public void setFilterManager(IOFilterManager filterManager) {
         this._filterManager = filterManager;
     }
@@ -365,6 +504,14 @@ public class Writer implements IChannelWriter {
         return _sockChannel.isBlocking();
     }
 
+    /**
+     * Filters (e.g. SSL) keep their own write state, hence batching applies only to unfiltered
+     * channels.
+     */
+    private boolean isBatchingWrites() {
+        return _writeQueue != null && _filterManager == null;
+    }
+
     private void writeBytesNonBlocking(Context ctx) throws IOException, IOFilterException {
         if (_filterManager != null && !ctx.isSystemResponse()) {
             _filterManager.writeBytesNonBlocking(ctx);
@@ -543,13 +690,142 @@ public class Writer implements IChannelWriter {
     }
 
     /**
-     * Called from WriteSelectorThread to complete pending write requests.
+     * Flushes the write queue unless another thread is already flushing it, in which case that
+     * thread will also write the contexts queued by this one. If the socket send buffer fills up
+     * the flush is resumed by {@link #onWriteEvent()}.
+     */
+    private void flushWriteQueue() throws IOException {
+        if (_flushRequests.getAndIncrement() != 0)
+            return;
+
+        int missed = 1;
+        try {
+            do {
+                if (!_awaitingWriteEvent) {
+                    if (writeQueuedContexts()) {
+                        if (_completedSinceInterestRestore != 0) {
+                            _completedSinceInterestRestore = 0;
+                            removeWriteInterest(true);
+                        }
+                    } else {
+                        // channel write buffer is full, wait on selector.
+                        _awaitingWriteEvent = true;
+                        setWriteInterest();
+                    }
+                }
+                missed = _flushRequests.addAndGet(-missed);
+            } while (missed != 0);
+        } catch (IOException e) {
+            failBlockingWrites(e);
+            _flushRequests.set(0);
+            throw e;
+        } catch (RuntimeException e) {
+            failBlockingWrites(e);
+            _flushRequests.set(0);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the callers waiting for their blocking writes, called by the flush owner when the
+     * flush fails.
+     */
+    private void failBlockingWrites(Throwable failure) {
+        for (Context ctx : _inFlight) {
+            if (ctx instanceof BlockingWriteContext)
+                ((BlockingWriteContext) ctx).fail(failure);
+        }
+        for (Context ctx : _writeQueue) {
+            if (ctx instanceof BlockingWriteContext)
+                ((BlockingWriteContext) ctx).fail(failure);
+        }
+    }
+
+    /**
+     * Writes the queued contexts using gathering writes, each one bounded by BUFFER_LIMIT bytes.
      *
+     * @return true if the queue was fully written, false if the socket send buffer is full.
+     */
+    private boolean writeQueuedContexts() throws IOException {
+        while (true) {
+            while (_inFlight.size() < MAX_GATHERED_WRITES && _inFlightBytes < BUFFER_LIMIT) {
+                Context ctx = _writeQueue.poll();
+                if (ctx == null)
+                    break;
+                ctx.setTotalLength(ctx.getBuffer().remaining());
+                ctx.setPhase(Context.Phase.WRITING);
+                _inFlight.offer(ctx);
+                _inFlightBytes += ctx.getTotalLength();
+            }
+            if (_inFlight.isEmpty())
+                return true;
+
+            int count = 0;
+            int windowBytes = 0;
+            ByteBuffer window = null;
+            ByteBuffer windowSource = null;
+            for (Context ctx : _inFlight) {
+                ByteBuffer buffer = ctx.getBuffer();
+                int remaining = buffer.remaining();
+                if (windowBytes + remaining > BUFFER_LIMIT) {
+                    // use a sliding window to avoid large temporary direct buffers
+                    int windowSize = BUFFER_LIMIT - windowBytes;
+                    if (windowSize > 0) {
+                        window = buffer.duplicate();
+                        window.limit(buffer.position() + windowSize);
+                        windowSource = buffer;
+                        _gatheredBuffers[count++] = window;
+                        windowBytes += windowSize;
+                    }
+                    break;
+                }
+                _gatheredBuffers[count++] = buffer;
+                windowBytes += remaining;
+            }
+
+            long bytes;
+            try {
+                bytes = _sockChannel.write(_gatheredBuffers, 0, count);
+            } finally {
+                Arrays.fill(_gatheredBuffers, 0, count, null);
+            }
+            if (window != null)
+                windowSource.position(window.position());
+            _inFlightBytes -= bytes;
+
+            while (!_inFlight.isEmpty() && !_inFlight.peek().getBuffer().hasRemaining()) {
+                Context ctx = _inFlight.poll();
+                ctx.setTotalBytesWritten(ctx.getTotalLength());
+                ctx.setPhase(Context.Phase.FINISH);
+                traceContextTotalWriteTime(ctx);
+                _queuedWrites.decrementAndGet();
+                pendingWrites.decrement();
+                _completedSinceInterestRestore++;
+            }
+
+            if (bytes < windowBytes)
+                return false;
+        }
+    }
+
+    /**
+     * Called from WriteSelectorThread to complete pending write requests.
+     */
+    public void onWriteEvent() throws IOException {
+        if (isBatchingWrites()) {
+            _awaitingWriteEvent = false;
+            flushWriteQueue();
+        } else {
+            writePendingContexts();
+        }
+    }
+
+    /**
      * This is synchronized to ensure mutual exclusion with writeBytesToChannelNoneBlocking method
      *
      * @see #noneBlockingWrite
      */
-    public synchronized void onWriteEvent() throws IOException {
+    private synchronized void writePendingContexts() throws IOException {
         LRMIInvocationTrace trace = null;
         try {
             while (!_contexts.isEmpty()) {
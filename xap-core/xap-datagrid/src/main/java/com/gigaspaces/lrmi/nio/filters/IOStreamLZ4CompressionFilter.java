@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gigaspaces.lrmi.nio.filters;
+
+import com.gigaspaces.internal.io.LZ4BlockCompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A network filter to send messages compressed with the LZ4 block format between client and server,
+ * a much cheaper alternative to {@link IOStreamCompressionFilter} for high throughput links. <p>
+ * Each wrapped message starts with a flag byte. Messages smaller than the threshold, or which do
+ * not get smaller when compressed, are sent as is after the flag. Compressed messages have their
+ * uncompressed length after the flag, followed by the compressed block. <p> The filter is created
+ * per connection and keeps its compression buffers between messages, buffers larger than {@link
+ * #MAX_RETAINED_BUFFER_SIZE} are not kept.
+ *
+ * @since 12.3
+ */
+public class IOStreamLZ4CompressionFilter implements IOStreamFilter {
+
+    private static final Logger logger = Logger.getLogger(IOStreamLZ4CompressionFilter.class.getName());
+
+    static final byte UNCOMPRESSED = 0;
+    static final byte COMPRESSED = 1;
+    private static final int HEADER_LENGTH = 5;
+    static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final int _threshold;
+    private final LZ4BlockCompressor _compressor = new LZ4BlockCompressor();
+    private byte[] _input = new byte[0];
+    private byte[] _output = new byte[0];
+
+    /**
+     * @param threshold messages smaller than this number of bytes are not compressed
+     */
+    public IOStreamLZ4CompressionFilter(int threshold) {
+        this._threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return _threshold;
+    }
+
+    public byte[] wrap(ByteBuffer buf) throws Exception {
+        final int size = buf.remaining();
+        if (size < _threshold)
+            return uncompressed(buf, size);
+
+        final byte[] input;
+        final int inputOffset;
+        if (buf.hasArray()) {
+            input = buf.array();
+            inputOffset = buf.arrayOffset() + buf.position();
+        } else {
+            input = _input.length >= size ? _input : allocate(size, true);
+            buf.duplicate().get(input, 0, size);
+            inputOffset = 0;
+        }
+
+        final int maxLength = HEADER_LENGTH + LZ4BlockCompressor.maxCompressedLength(size);
+        final byte[] output = _output.length >= maxLength ? _output : allocate(maxLength, false);
+        final int compressedLength = _compressor.compress(input, inputOffset, size, output, HEADER_LENGTH);
+        if (compressedLength >= size)
+            return uncompressed(buf, size);
+
+        buf.position(buf.position() + size);
+        final byte[] res = new byte[HEADER_LENGTH + compressedLength];
+        res[0] = COMPRESSED;
+        writeInt(res, 1, size);
+        System.arraycopy(output, HEADER_LENGTH, res, HEADER_LENGTH, compressedLength);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Compress message of " + size + " bytes to "
+                    + res.length + " bytes, ratio ["
+                    + (int) Math.ceil((res.length * 100.0) / size) + "%]");
+        }
+        return res;
+    }
+
+    public byte[] unrwap(ByteBuffer buf) throws Exception {
+        final int size = buf.remaining();
+        if (size == 0)
+            throw new IOException("Empty LZ4 compressed message");
+        final byte flag = buf.get();
+        if (flag == UNCOMPRESSED) {
+            byte[] res = new byte[size - 1];
+            buf.get(res);
+            return res;
+        }
+        if (flag != COMPRESSED || size < HEADER_LENGTH)
+            throw new IOException("Malformed LZ4 compressed message header");
+
+        final int length = buf.getInt();
+        if (length < 0)
+            throw new IOException("Malformed LZ4 compressed message length " + length);
+        final int compressedLength = size - HEADER_LENGTH;
+        final byte[] input;
+        final int inputOffset;
+        if (buf.hasArray()) {
+            input = buf.array();
+            inputOffset = buf.arrayOffset() + buf.position();
+        } else {
+            input = new byte[compressedLength];
+            buf.duplicate().get(input);
+            inputOffset = 0;
+        }
+        final byte[] res = new byte[length];
+        LZ4BlockCompressor.decompress(input, inputOffset, compressedLength, res, 0, length);
+        buf.position(buf.position() + compressedLength);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Uncompress message of " + size + " bytes to "
+                    + res.length + " bytes, ratio ["
+                    + (int) Math.ceil((size * 100.0) / res.length) + "%]");
+        }
+        return res;
+    }
+
+    private byte[] allocate(int size, boolean input) {
+        byte[] buffer = new byte[size];
+        if (size <= MAX_RETAINED_BUFFER_SIZE) {
+            if (input)
+                _input = buffer;
+            else
+                _output = buffer;
+        }
+        return buffer;
+    }
+
+    private static byte[] uncompressed(ByteBuffer buf, int size) {
+        byte[] res = new byte[size + 1];
+        res[0] = UNCOMPRESSED;
+        buf.get(res, 1, size);
+        return res;
+    }
+
+    private static void writeInt(byte[] buf, int offset, int value) {
+        // big endian, as read by ByteBuffer.getInt
+        buf[offset] = (byte) (value >>> 24);
+        buf[offset + 1] = (byte) (value >>> 16);
+        buf[offset + 2] = (byte) (value >>> 8);
+        buf[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gigaspaces.lrmi.nio.filters;
+
+import com.j_spaces.kernel.SystemProperties;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Use this network filter factory to send LZ4 compressed messages between client and server, e.g.
+ * <code>-Dcom.gs.lrmi.filter.factory=com.gigaspaces.lrmi.nio.filters.IOStreamLZ4CompressionFilterFactory</code>.
+ * Both sides of a connection must use it. @see SystemProperties#LRMI_LZ4_COMPRESSION_THRESHOLD
+ *
+ * @since 12.3
+ */
+
+public class IOStreamLZ4CompressionFilterFactory implements
+        IOFilterFactory {
+
+    public IOStreamLZ4CompressionFilterFactory() {
+    }
+
+    public IOFilter createFilter() throws Exception {
+        return new IOStreamLZ4CompressionFilter(Integer.getInteger(SystemProperties.LRMI_LZ4_COMPRESSION_THRESHOLD,
+                SystemProperties.LRMI_LZ4_COMPRESSION_THRESHOLD_DEFAULT));
+    }
+
+    public IOFilter createClientFilter(InetSocketAddress remoteAddress) throws Exception {
+        return createFilter();
+    }
+
+    public IOFilter createServerFilter(InetSocketAddress remoteAddress) throws Exception {
+        return createFilter();
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A metric which records the distribution of latencies in nanoseconds, and reports their
+ * percentiles in microseconds using sampling. <p> Values are counted in log-linear buckets, the
+ * same way HdrHistogram does: values below {@value #SUB_BUCKETS} have their own bucket, and every
+ * power of two above is split into {@value #HALF_SUB_BUCKETS} linear buckets, so the relative
+ * error of a reported value is below 1/{@value #HALF_SUB_BUCKETS}. Recording is a single lock free
+ * increment of the bucket, in one of several stripes of the buckets picked by the recording
+ * thread, so concurrent threads rarely contend on the same counter. <p> Each sample reports the
+ * distribution of the values recorded since the previous sample.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class HistogramMetric extends Metric {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // values are trimmed to 2^40 (~18 minutes in nanoseconds)
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int NUM_OF_BUCKETS = getBucket(MAX_VALUE) + 1;
+    private static final int MAX_STRIPES = 16;
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final AtomicLongArray[] stripes;
+    private final int stripesMask;
+    // bucket totals of the previous sample, accessed only by the sampler thread
+    private final long[] prevTotals = new long[NUM_OF_BUCKETS];
+
+    public HistogramMetric() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param concurrency the expected number of concurrently recording threads, rounded up to a
+     *                    power of two and limited to {@value #MAX_STRIPES} stripes. Each stripe
+     *                    takes about 9KB of heap, so histograms which are many should use few.
+     */
+    public HistogramMetric(int concurrency) {
+        int numOfStripes = Integer.highestOneBit(Math.max(1, Math.min(concurrency, MAX_STRIPES)));
+        if (numOfStripes < concurrency && numOfStripes < MAX_STRIPES)
+            numOfStripes <<= 1;
+        this.stripes = new AtomicLongArray[numOfStripes];
+        for (int i = 0; i < numOfStripes; i++)
+            stripes[i] = new AtomicLongArray(NUM_OF_BUCKETS);
+        this.stripesMask = numOfStripes - 1;
+    }
+
+    /**
+     * Records a value, negative values are recorded as zero and values above 2^40 are trimmed.
+     */
+    public void record(long value) {
+        final int bucket = getBucket(value < 0 ? 0 : (value > MAX_VALUE ? MAX_VALUE : value));
+        stripes[(int) Thread.currentThread().getId() & stripesMask].incrementAndGet(bucket);
+    }
+
+    /**
+     * Records the time elapsed since the given start time, which was taken from {@link
+     * System#nanoTime()}.
+     */
+    public void recordSince(long startTime) {
+        record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * @return the total number of values recorded.
+     */
+    public long getTotalCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes)
+            for (int i = 0; i < NUM_OF_BUCKETS; i++)
+                count += stripe.get(i);
+        return count;
+    }
+
+    /**
+     * Samples the distribution of the values recorded since the previous call to sample.
+     */
+    public Snapshot sample() {
+        final long[] counts = new long[NUM_OF_BUCKETS];
+        for (AtomicLongArray stripe : stripes)
+            for (int i = 0; i < NUM_OF_BUCKETS; i++)
+                counts[i] += stripe.get(i);
+        for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+            final long total = counts[i];
+            counts[i] = total - prevTotals[i];
+            prevTotals[i] = total;
+        }
+        return new Snapshot(counts);
+    }
+
+    static int getBucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        // the shift that leaves the SUB_BUCKET_BITS most significant bits of the value
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+    }
+
+    /**
+     * @return the highest value which is counted in the given bucket.
+     */
+    static long getBucketHighestValue(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        final int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        final long subBucket = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    static long getBucketLowestValue(int bucket) {
+        return bucket == 0 ? 0 : getBucketHighestValue(bucket - 1) + 1;
+    }
+
+    /**
+     * The distribution of the values recorded in one sampling interval.
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long count = 0;
+            for (long bucketCount : counts)
+                count += bucketCount;
+            this.count = count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @param percentile a percentile between 0 and 100
+         * @return the highest value of the bucket of the given percentile, or 0 if the interval
+         * has no values
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0)
+                return 0;
+            final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long accumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i];
+                if (accumulated >= countAtPercentile)
+                    return getBucketHighestValue(i);
+            }
+            return getMax();
+        }
+
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--)
+                if (counts[i] != 0)
+                    return getBucketHighestValue(i);
+            return 0;
+        }
+
+        public double getMean() {
+            if (count == 0)
+                return 0;
+            double total = 0;
+            for (int i = 0; i < counts.length; i++)
+                if (counts[i] != 0)
+                    total += counts[i] * ((getBucketLowestValue(i) + getBucketHighestValue(i)) / 2.0);
+            return total / count;
+        }
+
+        /**
+         * Adds the values of the snapshot to the given map, the same way other metric values are
+         * reported. Values are converted from nanoseconds to microseconds.
+         */
+        void report(String name, Map<String, Object> metricsValues) {
+            metricsValues.put(name + "-count", count);
+            metricsValues.put(name + "-mean", getMean() / NANOS_PER_MICRO);
+            metricsValues.put(name + "-p50", getValueAtPercentile(50) / NANOS_PER_MICRO);
+            metricsValues.put(name + "-p90", getValueAtPercentile(90) / NANOS_PER_MICRO);
+            metricsValues.put(name + "-p99", getValueAtPercentile(99) / NANOS_PER_MICRO);
+            metricsValues.put(name + "-p999", getValueAtPercentile(99.9) / NANOS_PER_MICRO);
+            metricsValues.put(name + "-max", getMax() / NANOS_PER_MICRO);
+        }
+    }
+}
@@ -28,5 +28,6 @@ public interface MetricConstants {
     String OPERATIONS_METRIC_NAME = "operations";
     String CONNECTIONS_METRIC_NAME = "connections";
     String ACTIVE_CONNECTIONS_METRIC_NAME = "active-connections";
+    String QUERY_CACHE_METRIC_NAME = "query-cache";
     String CACHE_SIZE = "cache-size";
 }
\ No newline at end of file
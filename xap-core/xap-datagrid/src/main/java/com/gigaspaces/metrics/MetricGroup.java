@@ -32,6 +32,7 @@ public class MetricGroup {
     private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
     private final ConcurrentHashMap<String, LongCounter> counters = new ConcurrentHashMap<String, LongCounter>();
     private final ConcurrentHashMap<String, ThroughputMetric> tpMetrics = new ConcurrentHashMap<String, ThroughputMetric>();
+    private final ConcurrentHashMap<String, HistogramMetric> histograms = new ConcurrentHashMap<String, HistogramMetric>();
 
     Map<String, Metric> getMetrics() {
         return metrics;
@@ -54,11 +55,13 @@ public class MetricGroup {
             return (ConcurrentHashMap<String, T>) counters;
         if (metric instanceof ThroughputMetric)
             return (ConcurrentHashMap<String, T>) tpMetrics;
+        if (metric instanceof HistogramMetric)
+            return (ConcurrentHashMap<String, T>) histograms;
         return null;
     }
 
     public boolean isEmpty() {
-        return gauges.isEmpty() && counters.isEmpty() && tpMetrics.isEmpty();
+        return gauges.isEmpty() && counters.isEmpty() && tpMetrics.isEmpty() && histograms.isEmpty();
     }
 
     public MetricGroupSnapshot snapshot() {
@@ -77,6 +80,10 @@ public class MetricGroup {
         for (Map.Entry<String, ThroughputMetric> entry : tpMetrics.entrySet())
             metricsValues.put(entry.getKey(), entry.getValue().sampleThroughput());
 
+        // each histogram is reported as several values - count, mean, percentiles and max
+        for (Map.Entry<String, HistogramMetric> entry : histograms.entrySet())
+            entry.getValue().sample().report(entry.getKey(), metricsValues);
+
         return new MetricGroupSnapshot(metricsValues);
     }
 
@@ -22,6 +22,7 @@ import com.gigaspaces.logger.Constants;
 import com.gigaspaces.lrmi.ConnectionPool;
 import com.gigaspaces.lrmi.LRMIRuntime;
 import com.gigaspaces.lrmi.nio.CPeer;
+import com.gigaspaces.lrmi.nio.Pivot;
 import com.gigaspaces.lrmi.nio.Reader;
 import com.gigaspaces.lrmi.nio.Writer;
 import com.gigaspaces.metrics.factories.JvmMemoryMetricFactory;
@@ -34,7 +35,9 @@ import com.gigaspaces.metrics.factories.SigarProcessMetricFactory;
 import com.gigaspaces.metrics.factories.SigarSwapMetricFactory;
 import com.gigaspaces.start.SystemBoot;
 import com.gigaspaces.start.SystemInfo;
+import com.j_spaces.kernel.threadpool.AdaptiveThreadPoolController;
 import com.j_spaces.kernel.threadpool.DynamicThreadPoolExecutor;
+import com.j_spaces.kernel.threadpool.VirtualThreadExecutor;
 
 import java.io.Closeable;
 import java.io.File;
@@ -45,6 +48,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -330,10 +334,20 @@ public class MetricManager implements Closeable {
         registrator.register("pending-writes", new LongCounter(Writer.getPendingWritesCounter()));
         registrator.register(MetricConstants.CONNECTIONS_METRIC_NAME, new LongCounter(CPeer.getConnectionsCounter()));
         registrator.register(MetricConstants.ACTIVE_CONNECTIONS_METRIC_NAME, new LongCounter(ConnectionPool.getActiveConnectionsCounter()));
+        registrator.register("invocation-latency", Pivot.getInvocationLatencyHistogram());
         registerThreadPoolMetrics(registrator.extend("connection-pool"), lrmiRuntime.getThreadPool());
         registerThreadPoolMetrics(registrator.extend("liveness-pool"), lrmiRuntime.getLivenessPriorityThreadPool());
         registerThreadPoolMetrics(registrator.extend("monitoring-pool"), lrmiRuntime.getMonitoringPriorityThreadPool());
         registerThreadPoolMetrics(registrator.extend("custom-pool"), lrmiRuntime.getCustomThreadPool());
+        final VirtualThreadExecutor virtualThreadExecutor = lrmiRuntime.getVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            registrator.extend("virtual-threads").register("active-threads", new Gauge<Integer>() {
+                @Override
+                public Integer getValue() throws Exception {
+                    return virtualThreadExecutor.getActiveCount();
+                }
+            });
+        }
         return registrator;
     }
 
@@ -351,5 +365,44 @@ public class MetricManager implements Closeable {
                 return q.size();
             }
         });
+        final AdaptiveThreadPoolController controller = dynamicThreadPoolExecutor.getAdaptiveController();
+        if (controller != null) {
+            registrator.register("max-threads", new Gauge<Integer>() {
+                @Override
+                public Integer getValue() throws Exception {
+                    return controller.getMaxThreads();
+                }
+            });
+            registrator.register("queue-wait-time", new Gauge<Long>() {
+                @Override
+                public Long getValue() throws Exception {
+                    return TimeUnit.NANOSECONDS.toMicros(controller.getQueueWaitNanos());
+                }
+            });
+            registrator.register("blocked-ratio", new Gauge<Double>() {
+                @Override
+                public Double getValue() throws Exception {
+                    return validate(controller.getBlockedRatio());
+                }
+            });
+            registrator.register("cpu-utilization", new Gauge<Double>() {
+                @Override
+                public Double getValue() throws Exception {
+                    return validate(controller.getCpuUtilization());
+                }
+            });
+            registrator.register("adaptive-state", new Gauge<Integer>() {
+                @Override
+                public Integer getValue() throws Exception {
+                    return controller.getState().ordinal();
+                }
+            });
+            registrator.register("resizes", new Gauge<Long>() {
+                @Override
+                public Long getValue() throws Exception {
+                    return controller.getResizes();
+                }
+            });
+        }
     }
 }
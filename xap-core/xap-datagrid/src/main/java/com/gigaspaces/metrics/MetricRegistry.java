@@ -86,7 +86,7 @@ public class MetricRegistry {
                 if (logger.isLoggable(Level.FINER))
                     logger.log(Level.FINER, "Verified gauge " + name + " => " + value);
             } else {
-                if (!(metric instanceof LongCounter) && !(metric instanceof ThroughputMetric))
+                if (!(metric instanceof LongCounter) && !(metric instanceof ThroughputMetric) && !(metric instanceof HistogramMetric))
                     throw new IllegalArgumentException("Unsupported metric type: " + metric.getClass().getName());
             }
             return true;
@@ -154,6 +154,9 @@ public class MetricRegistry {
         else if( metric instanceof ThroughputMetric ){
             resultVal = ( ( ThroughputMetric )metric ).getTotal();
         }
+        else if( metric instanceof HistogramMetric ){
+            resultVal = ( ( HistogramMetric )metric ).getTotalCount();
+        }
 
         return resultVal;
     }
@@ -90,4 +90,8 @@ public class AggregationInternalUtils {
     public static List<SpaceEntriesAggregator> getSelectors(GroupByAggregator aggregator) {
         return aggregator.getSelectAggregators();
     }
+
+    public static String[] getGroupByPaths(GroupByAggregator aggregator) {
+        return aggregator.getGroupByPaths();
+    }
 }
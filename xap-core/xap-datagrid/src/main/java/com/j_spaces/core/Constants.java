@@ -317,6 +317,13 @@ public interface Constants {
 
         String ENGINE_NOTIFY_MAX_THREADS_PROP = "engine.notify_max_threads";
 
+        /**
+         * Delivers notifications on virtual threads instead of the notify pool, if the JVM
+         * supports them, so slow listeners do not hold the notify threads.
+         */
+        String ENGINE_NOTIFY_VIRTUAL_THREADS_PROP = "engine.notify_virtual_threads";
+        String ENGINE_NOTIFY_VIRTUAL_THREADS_DEFAULT = "false";
+
         String ENGINE_THREADS_HIGHER_PRIORITY_PROP = "engine.threads_higher_priority";
 
         String ENGINE_DIRTY_READ_DEFAULT = "false";
@@ -423,6 +430,40 @@ public interface Constants {
         String ENGINE_QUERY_RESULT_SIZE_LIMIT_MEMORY_CHECK_BATCH_SIZE = "engine.query.result.size.limit.memory.check.batch.size";
         String ENGINE_QUERY_RESULT_SIZE_LIMIT_MEMORY_CHECK_BATCH_SIZE_DEFAULT = "0";
 
+        /**
+         * Number of threads aggregating the matching entries of a single aggregation in parallel,
+         * 0 aggregates them in the scanning thread.
+         */
+        String ENGINE_AGGREGATION_PARALLELISM_PROP = "engine.aggregation.parallelism";
+        String ENGINE_AGGREGATION_PARALLELISM_DEFAULT = "0";
+
+        /**
+         * Number of matching entries handed to an aggregation thread at a time.
+         */
+        String ENGINE_AGGREGATION_SEGMENT_SIZE_PROP = "engine.aggregation.segment_size";
+        String ENGINE_AGGREGATION_SEGMENT_SIZE_DEFAULT = "1024";
+
+        /**
+         * Records the latency histograms of the space operations, reported as the operations
+         * metrics.
+         */
+        String ENGINE_OPERATIONS_LATENCY_METRICS_PROP = "engine.metrics.operations_latency";
+        String ENGINE_OPERATIONS_LATENCY_METRICS_DEFAULT = "true";
+
+        /**
+         * Records the latency histograms of the space operations per type as well.
+         */
+        String ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_PROP = "engine.metrics.operations_latency.per_type";
+        String ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_DEFAULT = "false";
+
+        /**
+         * Maximal number of types with latency histograms of their own, operations of further
+         * types are recorded only in the histograms of all the types. Each histogram of a type
+         * takes about 9KB of heap.
+         */
+        String ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_MAX_TYPES_PROP = "engine.metrics.operations_latency.per_type.max_types";
+        String ENGINE_OPERATIONS_LATENCY_METRICS_PER_TYPE_MAX_TYPES_DEFAULT = "64";
+
     }
 
     public interface Replication {
@@ -527,6 +568,15 @@ public interface Constants {
         String FULL_LM_EXPIRATION_TIME_INTERVAL_PROP = SPACE_CONFIG_PREFIX + LM_EXPIRATION_TIME_INTERVAL_PROP;
         String LM_BACKUP_EXPIRATION_DELAY_PROP = "lease_manager.backup_leases_expiration_delay";
         String LM_SEGMEENTS_PER_EXPIRATION_CELL_PROP = "lease_manager.segments_per_expiration_cell";
+
+        String LM_TIMING_WHEEL_ENABLED_PROP = "lease_manager.timing_wheel.enabled";
+        boolean LM_TIMING_WHEEL_ENABLED_DEFAULT = false;
+        String LM_TIMING_WHEEL_TICK_PROP = "lease_manager.timing_wheel.tick";
+        long LM_TIMING_WHEEL_TICK_DEFAULT = 1000;
+        String LM_TIMING_WHEEL_SIZE_PROP = "lease_manager.timing_wheel.size";
+        int LM_TIMING_WHEEL_SIZE_DEFAULT = 4096;
+        String LM_REAPER_THREADS_PROP = "lease_manager.reaper_threads";
+        int LM_REAPER_THREADS_DEFAULT = 1;
     }
 
     public interface SystemTime {
@@ -678,6 +728,19 @@ public interface Constants {
         String FULL_CACHE_MANAGER_BLOBSTORE_PREFETCH_MAX_THREADS_PROP = SPACE_CONFIG_PREFIX + CACHE_MANAGER_BLOBSTORE_PREFETCH_MAX_THREADS_PROP;
         int CACHE_MANAGER_BLOBSTORE_PREFETCH_MAX_THREADS_DEFAULT = 16;
 
+        /**
+         * when positive, single entry writes/updates/removes of concurrent operations are grouped
+         * into blobstore bulks, collecting each group for up to this number of microseconds while
+         * the blobstore is busy executing another group
+         */
+        String CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_PROP = "engine.blobstore_group_commit_window_micros";
+        String FULL_CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_PROP = SPACE_CONFIG_PREFIX + CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_PROP;
+        long CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_DEFAULT = 0;
+
+        String CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_PROP = "engine.blobstore_group_commit_max_size";
+        String FULL_CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_PROP = SPACE_CONFIG_PREFIX + CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_PROP;
+        int CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_DEFAULT = 256;
+
         String CACHE_MANAGER_BOLBSTORE_USE_PREFETCH_PROP = "engine.blobstore_prefetch";
         String FULL_CACHE_MANAGER_BOLBSTORE_USE_PREFETCH_PROP = SPACE_CONFIG_PREFIX + CACHE_MANAGER_BOLBSTORE_USE_PREFETCH_PROP;
 
@@ -699,6 +762,20 @@ public interface Constants {
 
         String CACHE_MANAGER_INITIAL_LOAD_CLASS_PROP = "engine.initial_load_class";
 
+        /**
+         * the number of threads which insert the entries of the initial load, when the data source
+         * splits its data into several iterators
+         */
+        String CACHE_MANAGER_INITIAL_LOAD_THREADS_PROP = "engine.initial_load_threads";
+        String CACHE_MANAGER_INITIAL_LOAD_THREADS_DEFAULT = "1";
+
+        /**
+         * when the initial load is inserted by several threads, the indexes are built in bulk once
+         * all entries are inserted
+         */
+        String CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_PROP = "engine.initial_load_deferred_indexing";
+        String CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_DEFAULT = "true";
+
         String CACHE_MANAGER_MIN_EXTENDED_INDEX_ACTIVATION_DEFAULT = "1";
 
         String CACHE_MANAGER_MIN_EXTENDED_INDEX_ACTIVATION_PROP = "engine.extended-match.min_ext_index_activation_size";
@@ -734,10 +811,38 @@ public interface Constants {
 
         String CACHE_MANAGER_USE_ECONOMY_HASHMAP_DEFAULT = "false";
 
+        /**
+         * when true, indexes over primitive (or primitive wrapper) properties keep their values
+         * unboxed in a primitive-key hash map, which takes less heap but whose lookups take a read
+         * lock (see PrimitiveKeyIndexStoreBenchmark). Ignored when the economy hash map is used.
+         */
+        String CACHE_MANAGER_USE_PRIMITIVE_KEY_INDEX_STORE_PROP = "engine.use_primitive_key_index_store";
+
+        String CACHE_MANAGER_USE_PRIMITIVE_KEY_INDEX_STORE_DEFAULT = "false";
+
         String CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_PROP = "engine.partial_update_replication";
 
         String CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_DEFAULT = "true";
 
+        /**
+         * when true, an update which is not a partial update is compared with the entry it
+         * replaces, and only the fixed properties whose value changed are replicated, to the
+         * targets and the mirror, in the form of a partial update. requires partial update
+         * replication
+         */
+        String CACHE_MANAGER_DELTA_UPDATE_REPLICATION_PROP = "engine.delta_update_replication";
+
+        String CACHE_MANAGER_DELTA_UPDATE_REPLICATION_DEFAULT = "false";
+
+        /**
+         * comma separated names of types which keep a columnar snapshot of their numeric
+         * properties, used to compute aggregations over the whole type. applies to all in cache
+         * spaces only
+         */
+        String CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_PROP = "engine.columnar_snapshot_types";
+
+        String CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_DEFAULT = "";
+
         int CACHE_MANAGER_TIMEBASED_EVICTION_MEMORY_TIME_DEFAULT = 24 * 60 * 60 * 1000;
         String CACHE_MANAGER_TIMEBASED_EVICTION_MEMORY_TIME_PROP = "engine.time_based_eviction_memory_time";
 
@@ -757,6 +862,15 @@ public interface Constants {
         String CACHE_MANAGER_THIN_EXTENDED_INDEX_DEFAULT = "false";
         String CACHE_MANAGER_THIN_EXTENDED_INDEX_BLOBSTORE_DEFAULT = "true";
 
+        /**
+         * when true, extended indexes over primitive properties of a blobstore space keep their
+         * values in an off-heap B+tree instead of an on-heap skip-list
+         */
+        String CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_PROP = "engine.blobstore_offheap_extended_index";
+        String FULL_CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_PROP = SPACE_CONFIG_PREFIX + CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_PROP;
+
+        String CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_DEFAULT = "false";
+
 
     }
 
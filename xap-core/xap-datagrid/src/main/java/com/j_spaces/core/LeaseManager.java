@@ -24,6 +24,7 @@
 package com.j_spaces.core;
 
 import com.gigaspaces.internal.backport.java.util.concurrent.FastConcurrentSkipListMap;
+import com.gigaspaces.internal.lease.ExpirationTimingWheel;
 import com.gigaspaces.internal.lease.LeaseUtils;
 import com.gigaspaces.internal.server.metadata.IServerTypeDesc;
 import com.gigaspaces.internal.server.space.SpaceConfigReader;
@@ -71,8 +72,15 @@ import net.jini.space.InternalSpaceException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -95,7 +103,15 @@ import static com.j_spaces.core.Constants.LeaseManager.LM_EXPIRATION_TIME_RECENT
 import static com.j_spaces.core.Constants.LeaseManager.LM_EXPIRATION_TIME_STALE_REPLICAS_DEFAULT;
 import static com.j_spaces.core.Constants.LeaseManager.LM_EXPIRATION_TIME_STALE_REPLICAS_PROP;
 import static com.j_spaces.core.Constants.LeaseManager.LM_SEGMEENTS_PER_EXPIRATION_CELL_DEFAULT;
+import static com.j_spaces.core.Constants.LeaseManager.LM_REAPER_THREADS_DEFAULT;
+import static com.j_spaces.core.Constants.LeaseManager.LM_REAPER_THREADS_PROP;
 import static com.j_spaces.core.Constants.LeaseManager.LM_SEGMEENTS_PER_EXPIRATION_CELL_PROP;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_ENABLED_DEFAULT;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_ENABLED_PROP;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_SIZE_DEFAULT;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_SIZE_PROP;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_TICK_DEFAULT;
+import static com.j_spaces.core.Constants.LeaseManager.LM_TIMING_WHEEL_TICK_PROP;
 
 /**
  * Lease Manager handles operations that can be carried out on a lease: creation, renewal and
@@ -130,13 +146,17 @@ public class LeaseManager {
     private final TransactionHandler _transactionHandler;
     private final com.j_spaces.core.cache.CacheManager _cacheManager;
     private final boolean _dontReapUnderXtnLeases;
-    private final FastConcurrentSkipListMap<Long, Cell> _expirationList;
+    private final ExpirationCells _expirationList;
     private final AtomicLong _operationID;
     private final long _clientID;
     private final boolean _slaveLeaseManagerModeConfiguredForEntries;
     private final boolean _alwaysDisableEntriesLeases;
     private final boolean _slaveLeaseManagerModeConfiguredForNotifyTemplates;
     private final long _expirationTimeInterval;
+    // the time range of the leases grouped in a cell
+    private final long _cellTimeInterval;
+    private final int _reaperThreads;
+    private ExecutorService _reaperWorkers;
     private final long _backupSpaceLeasesDelay;
     private final int _segmentsPerExpirationCell;
     private final long _expirationTimeRecentDeletes;
@@ -157,7 +177,6 @@ public class LeaseManager {
         _typeManager = engine.getTypeManager();
         _transactionHandler = engine.getTransactionHandler();
         _cacheManager = engine.getCacheManager();
-        _expirationList = new FastConcurrentSkipListMap<Long, Cell>();
         _dontReapUnderXtnLeases = true;
         _operationID = new AtomicLong();
         _clientID = new SecureRandom().nextLong();
@@ -179,6 +198,18 @@ public class LeaseManager {
         _expirationTimeRecentUpdates = getLongValue(configReader, LM_EXPIRATION_TIME_RECENT_UPDATES_PROP, LM_EXPIRATION_TIME_RECENT_UPDATES_DEFAULT);
         _staleReplicaExpirationTime = getLongValue(configReader, LM_EXPIRATION_TIME_STALE_REPLICAS_PROP, LM_EXPIRATION_TIME_STALE_REPLICAS_DEFAULT);
 
+        if (configReader.getBooleanSpaceProperty(LM_TIMING_WHEEL_ENABLED_PROP, String.valueOf(LM_TIMING_WHEEL_ENABLED_DEFAULT))) {
+            // a cell can't expire between reaper cycles in a finer resolution than the reaper interval
+            _cellTimeInterval = Math.max(1, Math.min(_expirationTimeInterval, getLongValue(configReader, LM_TIMING_WHEEL_TICK_PROP, LM_TIMING_WHEEL_TICK_DEFAULT)));
+            int wheelSize = Math.max(1, getIntValue(configReader, LM_TIMING_WHEEL_SIZE_PROP, LM_TIMING_WHEEL_SIZE_DEFAULT));
+            _expirationList = new TimingWheelExpirationCells(new ExpirationTimingWheel<Cell>(_cellTimeInterval, wheelSize, SystemTime.timeMillis()));
+            _reaperThreads = Math.max(1, getIntValue(configReader, LM_REAPER_THREADS_PROP, LM_REAPER_THREADS_DEFAULT));
+        } else {
+            _cellTimeInterval = _expirationTimeInterval;
+            _expirationList = new SkipListExpirationCells();
+            _reaperThreads = 1;
+        }
+
         _supportsRecentExtendedUpdates = _engine.getCacheManager().isOffHeapCachePolicy();
         logConfiguration();
 
@@ -232,7 +263,9 @@ public class LeaseManager {
                     + _expirationTimeRecentUpdates
                     + " ms\n\t"
                     + "Transactions of FIFO entries - every "
-                    + LM_EXPIRATION_TIME_FIFOENTRY_XTNINFO + " ms\n\t");
+                    + LM_EXPIRATION_TIME_FIFOENTRY_XTNINFO + " ms\n\t"
+                    + "Expiration cells - " + _expirationList + " of " + _cellTimeInterval + " ms, "
+                    + _reaperThreads + " reaper thread(s)");
         }
     }
 
@@ -240,6 +273,19 @@ public class LeaseManager {
     public synchronized void init() {
         if (_closed)
             return;
+        if (_reaperThreads > 1 && _reaperWorkers == null) {
+            // the reaper daemon reaps one partition of the cells itself
+            _reaperWorkers = Executors.newFixedThreadPool(_reaperThreads - 1, new ThreadFactory() {
+                private final AtomicInteger _counter = new AtomicInteger();
+
+                public Thread newThread(Runnable r) {
+                    Thread thread = new ReaperWorkerThread(r, LeaseManager.class.getSimpleName()
+                            + "$Reaper-" + _counter.incrementAndGet() + " [" + _spaceName + "]");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
         LeaseReaper leaseReaperDaemon = new LeaseReaper(this.getClass().getSimpleName()
                 + "$Reaper [" + _spaceName + "]");
         _leaseReaperDaemon = leaseReaperDaemon;
@@ -265,8 +311,8 @@ public class LeaseManager {
             skip_registration = true;
 
         if (!skip_registration && leaseCacheInfo.isConnectedToLeaseManager()) {//check if new && old are in same cell, if so no need to reregister
-            long expirationTime_o = original_expiration != Lease.FOREVER ? (((original_expiration / _expirationTimeInterval + 1) * _expirationTimeInterval)) : -1;
-            long expirationTime_n = new_expiration != Lease.FOREVER ? (((new_expiration / _expirationTimeInterval + 1) * _expirationTimeInterval)) : -1;
+            long expirationTime_o = original_expiration != Lease.FOREVER ? toCellTime(original_expiration) : -1;
+            long expirationTime_n = new_expiration != Lease.FOREVER ? toCellTime(new_expiration) : -1;
             skip_registration = expirationTime_o == expirationTime_n; //same cell
         }
 
@@ -305,7 +351,9 @@ public class LeaseManager {
                 leaseReaperDaemon = _leaseReaperDaemon;
             }
         }
-        return Thread.currentThread() == leaseReaperDaemon;
+        Thread currentThread = Thread.currentThread();
+        return currentThread == leaseReaperDaemon
+                || (currentThread instanceof ReaperWorkerThread && ((ReaperWorkerThread) currentThread).getLeaseManager() == this);
     }
 
     /**
@@ -499,6 +547,8 @@ public class LeaseManager {
         _closed = true;
         if (_leaseReaperDaemon != null)
             _leaseReaperDaemon.clean();
+        if (_reaperWorkers != null)
+            _reaperWorkers.shutdownNow();
     }
 
     /**
@@ -580,7 +630,7 @@ public class LeaseManager {
     private void register(ILeasedEntryCacheInfo leaseCacheInfo, IEntryHolder entry, long expiration, int objectType) {
         boolean skipCellRegistration = expiration == Lease.FOREVER || (_alwaysDisableEntriesLeases && objectType == ObjectTypes.ENTRY);
         if (!skipCellRegistration) {
-            Long expirationTime = ((expiration / _expirationTimeInterval + 1) * _expirationTimeInterval);
+            Long expirationTime = toCellTime(expiration);
 
             while (true) {
                 Cell cell = _expirationList.get(expirationTime);
@@ -609,6 +659,20 @@ public class LeaseManager {
             leaseCacheInfo.setLeaseManagerListRefAndPosition(null, null);
     }
 
+    /**
+     * @return the key of the cell that groups leases of the given expiration time
+     */
+    private long toCellTime(long expiration) {
+        return (expiration / _cellTimeInterval + 1) * _cellTimeInterval;
+    }
+
+    /**
+     * @return the reaper partition of the given cell, cells are partitioned by their wheel slot
+     */
+    private int getCellPartition(long cellTime, int partitions) {
+        return (int) ((cellTime / _cellTimeInterval) % partitions);
+    }
+
     /**
      * unregister from lease manager based on direct backrefs Note: entry/template must be locked
      */
@@ -623,7 +687,7 @@ public class LeaseManager {
             if (!leaseCacheInfo.isOffHeapEntry()) {
                 leaseCacheInfo.getLeaseManagerListRef().remove(leaseCacheInfo.getLeaseManagerPosition());
             } else {//need to remove from cell
-                Long expirationTime = ((expiration / _expirationTimeInterval + 1) * _expirationTimeInterval);
+                Long expirationTime = toCellTime(expiration);
                 Cell cell = _expirationList.get(expirationTime);
                 if (cell != null)
                     cell.unregisterByPos(leaseCacheInfo.getLeaseManagerPosition(), true /*isEntry*/);
@@ -1070,15 +1134,58 @@ public class LeaseManager {
         private static final int DETACH_LIMIT_TO_REPORT = 1000;
 
         private final void reapExpiredEntries() {
+            if (_expirationList.isEmpty())
+                return;
+
+            if (_reaperWorkers == null)
+                reapExpiredEntries(0, 1);
+            else
+                reapExpiredEntriesInParallel();
+
+            //remove empty cell items
+            reapEmptyLeaseCells();
+        }
+
+        /**
+         * Each reaper thread reaps the cells of its own partition of the wheel slots, the reaper
+         * daemon reaps the first partition and waits for the others to complete.
+         */
+        private void reapExpiredEntriesInParallel() {
+            List<Future<?>> partitions = new ArrayList<Future<?>>(_reaperThreads - 1);
+            for (int i = 1; i < _reaperThreads; i++) {
+                final int partition = i;
+                partitions.add(_reaperWorkers.submit(new Runnable() {
+                    public void run() {
+                        reapExpiredEntries(partition, _reaperThreads);
+                    }
+                }));
+            }
+            reapExpiredEntries(0, _reaperThreads);
+
+            for (Future<?> partition : partitions) {
+                try {
+                    partition.get();
+                } catch (InterruptedException e) {
+                    //Restore the interrupted status
+                    interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    if (_logger.isLoggable(Level.SEVERE)) {
+                        _logger.log(Level.SEVERE, this.getName()
+                                + " - caught exception while reaping expired entries.", e.getCause());
+                    }
+                }
+            }
+        }
+
+        private void reapExpiredEntries(int partition, int partitions) {
             Context context = null;
             int reapCount = 0;
             int detached = 0;
-            if (_expirationList.isEmpty())
-                return;
             boolean reached_last_cell = false;
 
             try {
-                Iterator iter = _expirationList.values().iterator();
+                Iterator<Cell> iter = _expirationList.iterator();
 
                 while (iter.hasNext()) {
                     if (reached_last_cell)
@@ -1086,7 +1193,7 @@ public class LeaseManager {
 
                     long currentTime = getEffectiveEntryLeaseTimeForReaper(SystemTime.timeMillis());
 
-                    Cell cell = (Cell) iter.next();
+                    Cell cell = iter.next();
                     Long expirationTime = cell.getCellKey();
 
                     if (expirationTime.longValue() > currentTime) {
@@ -1095,6 +1202,9 @@ public class LeaseManager {
                         reached_last_cell = true;
                     }
 
+                    if (partitions > 1 && getCellPartition(expirationTime, partitions) != partition)
+                        continue;
+
                     ILockObject entryLock = null;
                     Iterator<IEntryHolder> entriesUids = !isSlaveLeaseManagerForEntries() ? cell.mateExpriedEntriesUidsIter(_engine) : null;
                     Iterator<IEntryHolder> n_templatesUids = cell.mateExpriedNotifyTemplatesUidsIter();
@@ -1320,20 +1430,17 @@ public class LeaseManager {
                             + "]");
                 }
             }
-
-            //remove empty cell items
-            reapEmptyLeaseCells();
         }
 
         private final void reapEmptyLeaseCells() {
-            Iterator iter = _expirationList.values().iterator();
+            Iterator<Cell> iter = _expirationList.iterator();
             long currentTime = getEffectiveEntryLeaseTimeForReaper(SystemTime.timeMillis());
             int numOfCellsRemoved = 0;
             int numOfCellsSkiped = 0;
 
             try {
                 while (iter.hasNext()) {
-                    Cell cell = (Cell) iter.next();
+                    Cell cell = iter.next();
                     long cellTime = cell.getCellKey();
 
                     if (currentTime <= cellTime)
@@ -1356,6 +1463,8 @@ public class LeaseManager {
 
                 }
             } finally {
+                //the removed cells are behind the expiration list from now on
+                _expirationList.advance(currentTime);
                 if (_logger.isLoggable(Level.FINEST))
                     _logger.finest("Number of expired cells removed is " + numOfCellsRemoved + " number of cells skipped=" + numOfCellsSkiped);
             }
@@ -1995,6 +2104,111 @@ public class LeaseManager {
 
     } //LeaseReaper class
 
+    /**
+     * Worker thread of the lease reaper, reaps a partition of the expired cells.
+     */
+    private final class ReaperWorkerThread extends GSThread {
+        private ReaperWorkerThread(Runnable target, String name) {
+            super(target, name);
+        }
+
+        private LeaseManager getLeaseManager() {
+            return LeaseManager.this;
+        }
+    }
+
+    /**
+     * The expiration cells, sorted by their expiration time.
+     */
+    private interface ExpirationCells {
+        Cell get(Long expirationTime);
+
+        Cell putIfAbsent(Long expirationTime, Cell cell);
+
+        boolean isEmpty();
+
+        /**
+         * @return an iterator over the cells in ascending expiration time, which supports removal
+         */
+        Iterator<Cell> iterator();
+
+        /**
+         * Called by the reaper after the cells which expired before the given time were removed
+         */
+        void advance(long time);
+
+        void clear();
+    }
+
+    private static final class SkipListExpirationCells implements ExpirationCells {
+        private final FastConcurrentSkipListMap<Long, Cell> _cells = new FastConcurrentSkipListMap<Long, Cell>();
+
+        public Cell get(Long expirationTime) {
+            return _cells.get(expirationTime);
+        }
+
+        public Cell putIfAbsent(Long expirationTime, Cell cell) {
+            return _cells.putIfAbsent(expirationTime, cell);
+        }
+
+        public boolean isEmpty() {
+            return _cells.isEmpty();
+        }
+
+        public Iterator<Cell> iterator() {
+            return _cells.values().iterator();
+        }
+
+        public void advance(long time) {
+        }
+
+        public void clear() {
+            _cells.clear();
+        }
+
+        @Override
+        public String toString() {
+            return "skip list";
+        }
+    }
+
+    private static final class TimingWheelExpirationCells implements ExpirationCells {
+        private final ExpirationTimingWheel<Cell> _wheel;
+
+        private TimingWheelExpirationCells(ExpirationTimingWheel<Cell> wheel) {
+            _wheel = wheel;
+        }
+
+        public Cell get(Long expirationTime) {
+            return _wheel.get(expirationTime);
+        }
+
+        public Cell putIfAbsent(Long expirationTime, Cell cell) {
+            return _wheel.putIfAbsent(expirationTime, cell);
+        }
+
+        public boolean isEmpty() {
+            return _wheel.isEmpty();
+        }
+
+        public Iterator<Cell> iterator() {
+            return _wheel.iterator();
+        }
+
+        public void advance(long time) {
+            _wheel.advance(time);
+        }
+
+        public void clear() {
+            _wheel.clear();
+        }
+
+        @Override
+        public String toString() {
+            return "timing wheel of " + _wheel.getNumOfSlots() + " slots";
+        }
+    }
+
     /**
      * Cell grouping entry/template within the <tt>LM_EXPIRATION_TIME_INTERVAL</tt> boundary of
      * their lease expiration.
@@ -91,6 +91,7 @@ import com.j_spaces.core.exception.internal.EngineInternalSpaceException;
 import com.j_spaces.core.fifo.DefaultFifoBackgroundDispatcher;
 import com.j_spaces.core.fifo.FifoBackgroundDispatcher;
 import com.j_spaces.core.fifo.FifoBackgroundRequest;
+import com.j_spaces.core.sadapter.IParallelSAdapterIterator;
 import com.j_spaces.core.sadapter.ISAdapterIterator;
 import com.j_spaces.core.sadapter.IStorageAdapter;
 import com.j_spaces.core.sadapter.SAException;
@@ -138,15 +139,23 @@ import java.util.logging.Logger;
 
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_STORAGE_HANDLER_CLASS_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_STORAGE_HANDLER_PROP;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_DEFAULT;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_EVICTION_STRATEGY_CLASS_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_EVICTION_STRATEGY_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_CLASS_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_DEFAULT;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_PROP;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_THREADS_DEFAULT;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_THREADS_PROP;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_DEFAULT;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_LRU_TOUCH_THRESHOLD_DEFAULT;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_LRU_TOUCH_THRESHOLD_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_MIN_EXTENDED_INDEX_ACTIVATION_DEFAULT;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_MIN_EXTENDED_INDEX_ACTIVATION_PROP;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_DELTA_UPDATE_REPLICATION_DEFAULT;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_DELTA_UPDATE_REPLICATION_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_DEFAULT;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_PROP;
 import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_SIZE_DEFAULT;
@@ -246,6 +255,11 @@ public class CacheManager extends AbstractCacheManager
     final private boolean _logRecoveryProcess = Boolean.parseBoolean(System.getProperty(SystemProperties.CACHE_MANAGER_LOG_RECOVER_PROCESS, "true"));
 
     private boolean _partialUpdateReplication;
+    private boolean _deltaUpdateReplication;
+    private int _initialLoadThreads;
+    private boolean _initialLoadDeferredIndexing;
+    //names of the types which keep a columnar snapshot, empty when not used
+    private final Set<String> _columnarSnapshotTypes = new HashSet<String>();
 
     private final FifoBackgroundDispatcher _fifoBackgroundDispatcher;
     private final FifoGroupCacheImpl _fifoGroupCacheImpl;
@@ -506,6 +520,38 @@ public class CacheManager extends AbstractCacheManager
                 CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_PROP,
                 CACHE_MANAGER_PARTIAL_UPDATE_REPLICATION_DEFAULT);
 
+        _deltaUpdateReplication = _partialUpdateReplication && configReader.getBooleanSpaceProperty(
+                CACHE_MANAGER_DELTA_UPDATE_REPLICATION_PROP,
+                CACHE_MANAGER_DELTA_UPDATE_REPLICATION_DEFAULT);
+
+        _initialLoadThreads = configReader.getIntSpaceProperty(
+                CACHE_MANAGER_INITIAL_LOAD_THREADS_PROP,
+                CACHE_MANAGER_INITIAL_LOAD_THREADS_DEFAULT);
+        _initialLoadDeferredIndexing = configReader.getBooleanSpaceProperty(
+                CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_PROP,
+                CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_DEFAULT);
+
+        if (isAllInCachePolicy() && !_engine.isLocalCache()) {
+            String columnarSnapshotTypes = configReader.getSpaceProperty(
+                    CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_PROP,
+                    CACHE_MANAGER_COLUMNAR_SNAPSHOT_TYPES_DEFAULT);
+            for (String typeName : columnarSnapshotTypes.split(",")) {
+                if (typeName.trim().length() != 0)
+                    _columnarSnapshotTypes.add(typeName.trim());
+            }
+        }
+
+    }
+
+    /**
+     * @return the number of threads which insert the entries of the initial load.
+     */
+    public int getInitialLoadThreads() {
+        return _initialLoadThreads;
+    }
+
+    public boolean isColumnarSnapshotType(String typeName) {
+        return !_columnarSnapshotTypes.isEmpty() && _columnarSnapshotTypes.contains(typeName);
     }
 
     public boolean isTimeBasedEvictionStrategy() {
@@ -983,7 +1029,11 @@ public class CacheManager extends AbstractCacheManager
         try {
             context.setInInitialLoad(true);
             entriesIterSA = _storageAdapter.initialLoad(context, th);
-            if (entriesIterSA != null) {
+            if (entriesIterSA instanceof IParallelSAdapterIterator && _initialLoadThreads > 1 && !isOffHeapCachePolicy()) {
+                // entries can only be indexed after insertion if the space is empty
+                new ParallelInitialLoader(this, initialLoadInfo, _initialLoadThreads, _initialLoadDeferredIndexing && _entries.isEmpty())
+                        .load(((IParallelSAdapterIterator<IEntryHolder>) entriesIterSA).getParts());
+            } else if (entriesIterSA != null) {
                 IServerTypeDesc serverTypeDesc = null;
                 Set<String> typesIn = _persistentBlobStore ? new HashSet<String>() : null;
                 while (true) {
@@ -1465,8 +1515,12 @@ public class CacheManager extends AbstractCacheManager
 
             IEntryData newEntryData = template.getUpdatedEntry().getEntryData();
 
-            pEntry = updateEntryInCache(context, pEntry, pEntry != null ? pEntry.getEntryHolder(this) : entry, newEntryData, newEntryData.getExpirationTime(), template.getOperationModifiers());
+            pEntry = updateEntryInCache(context, pEntry, pEntry != null ? pEntry.getEntryHolder(this) : entry, newEntryData, newEntryData.getExpirationTime(), template.getOperationModifiers(),
+                    _deltaUpdateReplication && !template.isChange());
             new_eh = pEntry.getEntryHolder(this);
+            // the serialized form cached for replies belongs to the replaced version
+            if (originalData instanceof FlatEntryData)
+                ((FlatEntryData) originalData).invalidateSerializedFixedProperties();
             if (entry.isOffHeapEntry() && isDirectPersistencyEmbeddedtHandlerUsed() && context.isActiveBlobStoreBulk())
                 context.setForBulkUpdate(new_eh, originalData, template.getMutators());
             _storageAdapter.updateEntry(context, new_eh, shouldReplicate, origin, context.getPartialUpdatedValuesIndicators());
@@ -1486,7 +1540,7 @@ public class CacheManager extends AbstractCacheManager
                         updateEntryInCache(context, null, entry,
                                 originalData,
                                 template.getUpdatedEntry().getEntryData().getExpirationTime(),
-                                template.getOperationModifiers());
+                                template.getOperationModifiers(), false /*deltaUpdate*/);
                     }
                 }
             } catch (Exception ex_)  //show the original cause, ignore the new
@@ -2190,7 +2244,8 @@ public class CacheManager extends AbstractCacheManager
                 //we set this flag here before the actual update of the entry
                 pEntry.getEntryHolder(this).setMaybeUnderXtn(true);
                 IEntryData new_content_data = new_content.getEntryData();
-                pEntry = updateEntryInCache(context, pEntry, pEntry.getEntryHolder(this), new_content_data, new_content_data.getExpirationTime(), template.getOperationModifiers());
+                pEntry = updateEntryInCache(context, pEntry, pEntry.getEntryHolder(this), new_content_data, new_content_data.getExpirationTime(), template.getOperationModifiers(),
+                        _deltaUpdateReplication && !template.isChange());
                 if (template.isChange())
                     pXtn.setInPlaceUpdatedEntry(pEntry.getEntryHolder(this), template.getMutators());
                 else
@@ -2647,6 +2702,9 @@ public class CacheManager extends AbstractCacheManager
 
 
                 pEntry.getEntryHolder(this).setExpirationTime(time);
+                TypeData typeData = _typeDataMap.get(eh.getServerTypeDesc());
+                if (typeData.getColumnarSnapshot() != null)
+                    typeData.getColumnarSnapshot().put(uid, eh.getEntryData());
                 break;
 
             default: /* Notify Template */
@@ -2711,6 +2769,18 @@ public class CacheManager extends AbstractCacheManager
                 memoryOnly, transientOnly);
     }
 
+    /**
+     * Creates an iterator over the entries of the given subset of the assignable types of the
+     * template type.
+     */
+    public ISAdapterIterator<IEntryHolder> makeEntriesIter(Context context, ITemplateHolder template,
+                                                           IServerTypeDesc serverTypeDesc, IServerTypeDesc[] types, long SCNFilter, long leaseFilter,
+                                                           boolean memoryOnly, boolean transientOnly)
+            throws SAException {
+        return new EntriesIter(context, template, serverTypeDesc, types, this, SCNFilter, leaseFilter,
+                memoryOnly, transientOnly);
+    }
+
     public ISAdapterIterator<IEntryHolder> makeEntriesIter(Context context, ITemplateHolder template,
                                                            IServerTypeDesc serverTypeDesc, long SCNFilter, long leaseFilter, boolean memoryOnly)
             throws SAException {
@@ -3229,6 +3299,16 @@ public class CacheManager extends AbstractCacheManager
     }
 
 
+    /**
+     * @return true if the given result of inserting the given entry to the cache is the entry
+     * itself, false if it is an entry with the same uid which was already in the space, or null if
+     * the entry was deleted meanwhile
+     */
+    public boolean isInsertedToCache(IEntryCacheInfo insertResult, IEntryHolder entryHolder) {
+        return insertResult != null && insertResult != _entryAlreadyInSpaceIndication
+                && insertResult.getEntryHolder(this) == entryHolder;
+    }
+
     /**
      * Inserts the specified entry to cache- if feasable. pin == rentry is locked and should be
      * pinned in cache
@@ -3455,39 +3535,9 @@ public class CacheManager extends AbstractCacheManager
         pEntry.setMainListBackRef(pType.getEntries().add(pEntry));
         int sequenceNumPlaceHolderPos = 0;
 
-        if (pType.hasIndexes()) {
-            // add entry to indexes
-            IEntryData entryData = pEntry.getEntryHolder(this).getEntryData();
-            int indexBuildNumber = 0;
-            final TypeDataIndex[] indexes = pType.getIndexes();
-            for (TypeDataIndex index : indexes) {
-                if (pType.disableIdIndexForOffHeapEntries(index))
-                    continue;
-                if (applySequenceNumber && index == pType.getSequenceNumberIndex()) {//delay this index until all other inserted and than apply a value
-                    if (pEntry.getBackRefs() != null) {
-                        pEntry.getBackRefs().add(TypeDataIndex._DummyOI);
-                        sequenceNumPlaceHolderPos = pEntry.getBackRefs().size() - 1;
-                        if (index.isExtendedIndex())
-                            pEntry.getBackRefs().add(TypeDataIndex._DummyOI);
-                    } else
-                        sequenceNumPlaceHolderPos = -1;   //for off-heap without backrefs
-                } else
-                    index.insertEntryIndexedField(pEntry, index.getIndexValue(entryData), pType);
-
-                if (pType.supportsDynamicIndexing() && index.getIndexCreationNumber() > indexBuildNumber)
-                    indexBuildNumber = index.getIndexCreationNumber();
-                context.incrementNumOfIndexesInserted();
-            } /* for (int pos...) */
-
-
-            if (pType.supportsDynamicIndexing() && indexBuildNumber > 0 && indexBuildNumber > pEntry.getLatestIndexCreationNumber())
-                pEntry.setLatestIndexCreationNumber(indexBuildNumber);
-
-
-//POC  insert to foreign indexes/queries
-            for (QueryExtensionIndexManagerWrapper queryExtensionIndexManager : pType.getForeignQueriesHandlers())
-                queryExtensionIndexManager.insertEntry(new SpaceServerEntryImpl(pEntry, this), false /*fromTransactionalUpdate*/);
-        } //if (m_AnyIndexes > 0)
+        // entries of a parallel initial load are indexed in bulk once all of them are inserted
+        if (pType.hasIndexes() && !(context.isDeferIndexing() && !applySequenceNumber && isIndexingDeferrable(pType)))
+            sequenceNumPlaceHolderPos = insertEntryIndexes(context, pEntry, pType, applySequenceNumber);
         if (applySequenceNumber)
             //set the sequence number in the field
             pEntry.getEntryHolder(this).getEntryData().setFixedPropertyValue(pEntry.getEntryHolder(this).getServerTypeDesc().getTypeDesc().getSequenceNumberFixedPropertyID(), pType.getSequenceNumberGenerator().getNext());
@@ -3506,6 +3556,73 @@ public class CacheManager extends AbstractCacheManager
                     pEntry.getBackRefs().set(sequenceNumPlaceHolderPos + 1, pEntry.getBackRefs().remove(curpos));
             }
         }
+
+        if (pType.getColumnarSnapshot() != null)
+            pType.getColumnarSnapshot().put(pEntry.getUID(), pEntry.getEntryHolder(this).getEntryData());
+    }
+
+
+    /**
+     * Inserts the entry to the indexes of its type.
+     *
+     * @return the position of the sequence number place holder in the back refs of the entry, or 0
+     * if there is none
+     */
+    int insertEntryIndexes(Context context, IEntryCacheInfo pEntry, TypeData pType, boolean applySequenceNumber) {
+        int sequenceNumPlaceHolderPos = 0;
+        // add entry to indexes
+        IEntryData entryData = pEntry.getEntryHolder(this).getEntryData();
+        int indexBuildNumber = 0;
+        final TypeDataIndex[] indexes = pType.getIndexes();
+        for (TypeDataIndex index : indexes) {
+            if (pType.disableIdIndexForOffHeapEntries(index))
+                continue;
+            if (applySequenceNumber && index == pType.getSequenceNumberIndex()) {//delay this index until all other inserted and than apply a value
+                if (pEntry.getBackRefs() != null) {
+                    pEntry.getBackRefs().add(TypeDataIndex._DummyOI);
+                    sequenceNumPlaceHolderPos = pEntry.getBackRefs().size() - 1;
+                    if (index.isExtendedIndex())
+                        pEntry.getBackRefs().add(TypeDataIndex._DummyOI);
+                } else
+                    sequenceNumPlaceHolderPos = -1;   //for off-heap without backrefs
+            } else
+                index.insertEntryIndexedField(pEntry, index.getIndexValue(entryData), pType);
+
+            if (pType.supportsDynamicIndexing() && index.getIndexCreationNumber() > indexBuildNumber)
+                indexBuildNumber = index.getIndexCreationNumber();
+            context.incrementNumOfIndexesInserted();
+        } /* for (int pos...) */
+
+
+        if (pType.supportsDynamicIndexing() && indexBuildNumber > 0 && indexBuildNumber > pEntry.getLatestIndexCreationNumber())
+            pEntry.setLatestIndexCreationNumber(indexBuildNumber);
+
+
+//POC  insert to foreign indexes/queries
+        for (QueryExtensionIndexManagerWrapper queryExtensionIndexManager : pType.getForeignQueriesHandlers())
+            queryExtensionIndexManager.insertEntry(new SpaceServerEntryImpl(pEntry, this), false /*fromTransactionalUpdate*/);
+        return sequenceNumPlaceHolderPos;
+    }
+
+    /**
+     * Entries of types with unique indexes are always indexed on insertion, so a violation fails
+     * the insertion of the violating entry.
+     */
+    boolean isIndexingDeferrable(TypeData pType) {
+        return pType.getNumUniqueIndexes() == 0;
+    }
+
+    /**
+     * @return the types whose entries may have been inserted without their indexes.
+     */
+    Collection<TypeData> getDeferredIndexingTypes() {
+        Set<TypeData> types = new HashSet<TypeData>();
+        for (IServerTypeDesc serverTypeDesc : _typeManager.getSafeTypeTable().values()) {
+            TypeData typeData = _typeDataMap.get(serverTypeDesc);
+            if (typeData != null && typeData.hasIndexes() && isIndexingDeferrable(typeData) && typeData.getEntries().size() > 0)
+                types.add(typeData);
+        }
+        return types;
     }
 
 
@@ -3613,11 +3730,12 @@ public class CacheManager extends AbstractCacheManager
     }
 
     /**
-     * update entry values in cache. pEntry - the current in cache or null if unknown
+     * update entry values in cache. pEntry - the current in cache or null if unknown. deltaUpdate -
+     * if true a full update is replicated as a partial update of the properties which changed
      */
 
     private IEntryCacheInfo updateEntryInCache(Context context, IEntryCacheInfo pEntry, IEntryHolder entryHolder, IEntryData newEntryData, long newExpirationTime,
-                                               int modifiers) {
+                                               int modifiers, boolean deltaUpdate) {
         final TypeData typeData = _typeDataMap.get(entryHolder.getServerTypeDesc());
         final boolean partial_update = UpdateModifiers.isPartialUpdate(modifiers);
 
@@ -3650,6 +3768,8 @@ public class CacheManager extends AbstractCacheManager
 
                 if (anyPartial)
                     context.setPartialUpdatedValuesIndicators(partialUpdatedValuesIndicators);
+            } else if (deltaUpdate) {
+                context.setPartialUpdatedValuesIndicators(getUnchangedValuesIndicators(originalEntryData, newEntryData));
             }
 
             //in case of sequence number verify it havent been changed
@@ -3671,6 +3791,8 @@ public class CacheManager extends AbstractCacheManager
             entryHolder.updateEntryData(newEntryData, newExpirationTime);
 
             typeData.updateEntryReferences(this, entryHolder, pEntry, originalEntryData);
+            if (typeData.getColumnarSnapshot() != null)
+                typeData.getColumnarSnapshot().put(pEntry.getUID(), entryHolder.getEntryData());
 
             if (context.isReRegisterLeaseOnUpdate())
             //need to re-register in lease manager
@@ -3846,6 +3968,9 @@ public class CacheManager extends AbstractCacheManager
                 queryExtensionIndexManager.removeEntry(new SpaceServerEntryImpl(pEntry, this), QueryExtensionIndexRemoveMode.NO_XTN, pEntry.getVersion());
         } /* if pType.m_AnyIndexes */
 
+        if (pType.getColumnarSnapshot() != null)
+            pType.getColumnarSnapshot().remove(pEntry.getUID());
+
         if (pEntry.getBackRefs() != null)
             pEntry.getBackRefs().clear();
     }
@@ -5084,6 +5209,8 @@ public class CacheManager extends AbstractCacheManager
             keptEntryData = shadowEh.getEntryData();
             pmaster.setBackRefs(shadowEh.getBackRefs());
             pmaster.getEntryHolder(this).restoreUpdateXtnRollback(shadowEh.getEntryData());
+            if (pType.getColumnarSnapshot() != null)
+                pType.getColumnarSnapshot().put(pmaster.getUID(), pmaster.getEntryHolder(this).getEntryData());
         } else {
             if (shadowEh.getNumOfLeaseUpdates() > 0  /*!pmaster.isSameLeaseManagerRef(shadowEh)*/)
                 _leaseManager.unregister(shadowEh, shadowEh.getEntryData().getExpirationTime());
@@ -5279,6 +5406,36 @@ public class CacheManager extends AbstractCacheManager
         return _fifoGroupCacheImpl;
     }
 
+    /**
+     * Compares the fixed properties of an updated entry with the entry it replaces, so the update
+     * can be replicated as a partial update which carries only the properties which changed.
+     *
+     * @return indicators of the properties whose value did not change, or null if the update can
+     * not be expressed as a partial update
+     */
+    static boolean[] getUnchangedValuesIndicators(IEntryData originalEntryData, IEntryData newEntryData) {
+        final int numOfFields = newEntryData.getNumOfFixedProperties();
+        if (numOfFields == 0 || numOfFields != originalEntryData.getNumOfFixedProperties())
+            return null;
+        // a partial update keeps the dynamic properties of the target when it has none
+        if (newEntryData.getDynamicProperties() == null && originalEntryData.getDynamicProperties() != null)
+            return null;
+
+        boolean[] unchangedValuesIndicators = new boolean[numOfFields];
+        boolean anyUnchanged = false;
+        for (int i = 0; i < numOfFields; i++) {
+            Object newValue = newEntryData.getFixedPropertyValue(i);
+            if (TypeData.objectsEquality(originalEntryData.getFixedPropertyValue(i), newValue)) {
+                unchangedValuesIndicators[i] = true;
+                anyUnchanged = true;
+            } else if (newValue == null) {
+                // a null value in a partial update means the property is not updated
+                return null;
+            }
+        }
+        return anyUnchanged ? unchangedValuesIndicators : null;
+    }
+
     private void updateReplicationContextForUpdateEntry(IReplicationOutContext replicationContext, IEntryData originalData, Context context,
                                                         boolean[] partialUpdatedValuesIndicators) {
 
@@ -80,6 +80,17 @@ public class EntriesIter extends SAIterBase implements ISAdapterIterator<IEntryH
                        CacheManager cacheManager, long SCNFilter, long leaseFilter,
                        boolean memoryOnly, boolean transientOnly)
             throws SAException {
+        this(context, template, serverTypeDesc, null, cacheManager, SCNFilter, leaseFilter, memoryOnly, transientOnly);
+    }
+
+    /**
+     * @param types the types to scan, a subset of the assignable types of the given type, or null
+     *              to scan all of them
+     */
+    public EntriesIter(Context context, ITemplateHolder template, IServerTypeDesc serverTypeDesc, IServerTypeDesc[] types,
+                       CacheManager cacheManager, long SCNFilter, long leaseFilter,
+                       boolean memoryOnly, boolean transientOnly)
+            throws SAException {
         super(context, cacheManager);
 
         _templateServerTypeDesc = serverTypeDesc;
@@ -102,7 +113,7 @@ public class EntriesIter extends SAIterBase implements ISAdapterIterator<IEntryH
 		 * SALeaseManager needs to support numeric-cells and not String-cells of
 		 * classname. 
 		 */
-        _types = serverTypeDesc.getAssignableTypes();
+        _types = types != null ? types : serverTypeDesc.getAssignableTypes();
 
         //FIFO++++++++++++++++++++++++++++++++++++++++++=
         //fifo not for all classes- return only relevant classes from SA
@@ -43,17 +43,27 @@ import java.util.logging.Logger;
 public class ExtendedIndexHandler<K>
         implements IExtendedEntriesIndex<K, IEntryCacheInfo> {
     private static final Logger _logger = Logger.getLogger(com.gigaspaces.logger.Constants.LOGGER_CACHE);
-    private final FastConcurrentSkipListMap<Object, IStoredList<IEntryCacheInfo>> _orderedStore;
-    private final FastConcurrentSkipListMap<Object, IEntryCacheInfo> _uniqueOrderedStore;
+    //the same ordered store, viewed as a concurrent map and as a navigable map
+    private final ConcurrentMap<Object, IStoredList<IEntryCacheInfo>> _orderedStore;
+    private final NavigableMap<Object, IStoredList<IEntryCacheInfo>> _navigableOrderedStore;
+    private final ConcurrentMap<Object, IEntryCacheInfo> _uniqueOrderedStore;
     private final TypeDataIndex _index;
     private final RecentExtendedIndexUpdates _recentExtendedIndexUpdates;
 
     private static final boolean FORCE_ORDERED_SCAN = true;
 
     public ExtendedIndexHandler(TypeDataIndex index) {
+        this(index, new FastConcurrentSkipListMap<Object, IStoredList<IEntryCacheInfo>>());
+    }
+
+    /**
+     * @param orderedStore the store of the index values, e.g. an off-heap ordered store
+     */
+    public <M extends ConcurrentMap<Object, IStoredList<IEntryCacheInfo>> & NavigableMap<Object, IStoredList<IEntryCacheInfo>>> ExtendedIndexHandler(TypeDataIndex index, M orderedStore) {
         _index = index;
-        _orderedStore = new FastConcurrentSkipListMap<Object, IStoredList<IEntryCacheInfo>>();
-        _uniqueOrderedStore = _index.isUniqueIndex() ? (FastConcurrentSkipListMap<Object, IEntryCacheInfo>) ((FastConcurrentSkipListMap) _orderedStore) : null;
+        _orderedStore = orderedStore;
+        _navigableOrderedStore = orderedStore;
+        _uniqueOrderedStore = _index.isUniqueIndex() ? (ConcurrentMap<Object, IEntryCacheInfo>) ((ConcurrentMap) _orderedStore) : null;
         if (index.getCacheManager().getEngine().getLeaseManager().isSupportsRecentExtendedUpdates())
             _recentExtendedIndexUpdates = new RecentExtendedIndexUpdates(index.getCacheManager());
         else
@@ -63,7 +73,7 @@ public class ExtendedIndexHandler<K>
 
     @Override
     public FastConcurrentSkipListMap<Object, IStoredList<IEntryCacheInfo>> getOrderedStore() {
-        return _orderedStore;
+        return _orderedStore instanceof FastConcurrentSkipListMap ? (FastConcurrentSkipListMap<Object, IStoredList<IEntryCacheInfo>>) _orderedStore : null;
     }
 
 
@@ -329,7 +339,7 @@ public class ExtendedIndexHandler<K>
 
         }
 
-        NavigableMap baseMap = _orderedStore;
+        NavigableMap baseMap = _navigableOrderedStore;
         NavigableMap mapToScan;
         if (end == null)
             mapToScan = start != null ? baseMap.tailMap(start, startinclusive) : baseMap;
@@ -347,7 +357,7 @@ public class ExtendedIndexHandler<K>
         short originalStartCondition = reversedScan ? 0 : relation;
         short originalEndCondition = !reversedScan ? 0 : relation;
 
-        NavigableMap baseMap = reversedScan ? _orderedStore.descendingMap() : _orderedStore;
+        NavigableMap baseMap = reversedScan ? _navigableOrderedStore.descendingMap() : _navigableOrderedStore;
         NavigableMap mapToScan;
         if (endPos == null)
             mapToScan = startPos != null ? baseMap.tailMap(startPos, startinclusive) : baseMap;
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.j_spaces.core.cache;
+
+import com.gigaspaces.internal.server.space.SpaceEngine;
+import com.gigaspaces.internal.server.storage.IEntryHolder;
+import com.gigaspaces.metrics.LongCounter;
+import com.gigaspaces.metrics.MetricRegistrator;
+import com.gigaspaces.metrics.ThroughputMetric;
+import com.gigaspaces.time.SystemTime;
+import com.j_spaces.core.cache.CacheManager.InitialLoadOrigin;
+import com.j_spaces.core.cache.context.Context;
+import com.j_spaces.core.sadapter.ISAdapterIterator;
+import com.j_spaces.core.sadapter.SAException;
+import com.j_spaces.kernel.IStoredList;
+import com.j_spaces.kernel.IStoredListIterator;
+import com.j_spaces.kernel.JSpaceUtilities;
+import com.j_spaces.kernel.threadpool.DynamicExecutors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads the parts of the initial load data concurrently, each part by its own thread. <p> When
+ * indexing is deferred, entries are inserted to the entries list of their type only, and the
+ * indexes of each type are built once all parts are loaded, by a thread per type. This is only
+ * done when the space is empty and for types without unique indexes, since there is nothing to
+ * check the loaded entries against. <p> Entries of different parts are inserted in any order, so
+ * fifo order is kept only within a part.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ParallelInitialLoader {
+    private static final String METRICS_PREFIX = "initial-load";
+
+    private final CacheManager _cacheManager;
+    private final SpaceEngine _engine;
+    private final InitialLoadInfo _initialLoadInfo;
+    private final int _threads;
+    private final boolean _deferIndexing;
+    private final Logger _logger;
+
+    private final LongCounter _found = new LongCounter();
+    private final LongCounter _inserted = new LongCounter();
+    private final ThroughputMetric _insertedThroughput = new ThroughputMetric();
+    private final LongCounter _indexed = new LongCounter();
+    private final List<String> _errors = new ArrayList<String>();
+
+    public ParallelInitialLoader(CacheManager cacheManager, InitialLoadInfo initialLoadInfo, int threads, boolean deferIndexing) {
+        this._cacheManager = cacheManager;
+        this._engine = cacheManager.getEngine();
+        this._initialLoadInfo = initialLoadInfo;
+        this._threads = threads;
+        this._deferIndexing = deferIndexing;
+        this._logger = initialLoadInfo.getLogger();
+    }
+
+    /**
+     * Loads the given parts, which are not closed by this method.
+     */
+    public void load(List<ISAdapterIterator<IEntryHolder>> parts) throws SAException {
+        if (_logger.isLoggable(Level.INFO))
+            _logger.info("Loading " + parts.size() + " data source parts with " + Math.min(_threads, parts.size())
+                    + " threads" + (_deferIndexing ? ", indexes are built once all entries are loaded" : ""));
+
+        final MetricRegistrator registrator = _engine.getMetricRegistrator();
+        registerMetrics(registrator);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(_threads, parts.size())),
+                DynamicExecutors.daemonThreadFactory(_engine.getFullSpaceName() + "-initial-load"));
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>(parts.size());
+            for (final ISAdapterIterator<IEntryHolder> part : parts) {
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        loadPart(part);
+                        return null;
+                    }
+                }));
+            }
+            waitFor(futures);
+
+            if (_deferIndexing)
+                buildIndexes(executor);
+        } finally {
+            executor.shutdownNow();
+            registrator.unregisterByPrefix(registrator.toPath("data", METRICS_PREFIX));
+
+            _initialLoadInfo.setFoundInDatabase(_initialLoadInfo.getFoundInDatabase() + (int) _found.getCount());
+            _initialLoadInfo.setInsertedToCache(_initialLoadInfo.getInsertedToCache() + (int) _inserted.getCount());
+            synchronized (_errors) {
+                _initialLoadInfo.getInitialLoadErrors().addAll(_errors);
+            }
+        }
+    }
+
+    private void loadPart(ISAdapterIterator<IEntryHolder> part) throws SAException {
+        final Context context = _cacheManager.getCacheContext();
+        try {
+            context.setInInitialLoad(true);
+            context.setInitialLoadInfo(_initialLoadInfo);
+            context.setDeferIndexing(_deferIndexing);
+            while (true) {
+                IEntryHolder eh = part.next();
+                if (eh == null)
+                    break;
+
+                _found.inc();
+                //Verify that entry read
+                //from the DB belongs to this partition
+                if (_engine.isPartitionedSpace()) {
+                    if (eh.getRoutingValue() == null) {
+                        addError("Object without routing  -  [" + eh.getClassName() + ":" + eh.getUID() + "]");
+                        continue;
+                    }
+                    if (!_engine.isEntryFromPartition(eh))
+                        continue;
+                }
+                if (_cacheManager.getPEntryByUid(eh.getUID()) != null) {
+                    addError("Object with duplicate uid -  [" + eh.getClassName() + ":" + eh.getUID() + "]");
+                    continue;
+                }
+                IEntryCacheInfo pEntry = _cacheManager.safeInsertEntryToCache(context, eh, false /* newEntry */, null /*pType*/, false /*pin*/, InitialLoadOrigin.FROM_NON_BLOBSTORE /*fromInitialLoad*/);
+                // another part may have inserted an entry with the same uid since it was checked
+                if (!_cacheManager.isInsertedToCache(pEntry, eh)) {
+                    addError("Object with duplicate uid -  [" + eh.getClassName() + ":" + eh.getUID() + "]");
+                    continue;
+                }
+                _inserted.inc();
+                _insertedThroughput.increment();
+            }
+        } finally {
+            _cacheManager.freeCacheContext(context);
+        }
+    }
+
+    private void buildIndexes(ExecutorService executor) throws SAException {
+        final long startTime = SystemTime.timeMillis();
+        final Collection<TypeData> types = _cacheManager.getDeferredIndexingTypes();
+        List<Future<?>> futures = new ArrayList<Future<?>>(types.size());
+        for (final TypeData typeData : types) {
+            futures.add(executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    buildIndexes(typeData);
+                    return null;
+                }
+            }));
+        }
+        waitFor(futures);
+        if (_logger.isLoggable(Level.INFO))
+            _logger.info("Built indexes of " + _indexed.getCount() + " entries of " + types.size() + " types ["
+                    + JSpaceUtilities.formatMillis(SystemTime.timeMillis() - startTime) + "]");
+    }
+
+    private void buildIndexes(TypeData typeData) {
+        final IStoredList<IEntryCacheInfo> entries = typeData.getEntries();
+        final Context context = _cacheManager.getCacheContext();
+        IStoredListIterator<IEntryCacheInfo> pos = null;
+        try {
+            for (pos = entries.establishListScan(false); pos != null; pos = entries.next(pos)) {
+                IEntryCacheInfo pEntry = pos.getSubject();
+                if (pEntry == null)
+                    continue;
+                _cacheManager.insertEntryIndexes(context, pEntry, typeData, false /*applySequenceNumber*/);
+                _indexed.inc();
+            }
+        } finally {
+            entries.freeSLHolder(pos);
+            _cacheManager.freeCacheContext(context);
+        }
+    }
+
+    private void waitFor(List<Future<?>> futures) throws SAException {
+        long lastLoggedTime = _initialLoadInfo.getLastLoggedTime();
+        try {
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get(_initialLoadInfo.getRecoveryLogInterval(), TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        if (_initialLoadInfo.isLogRecoveryProcess() && _logger.isLoggable(Level.INFO)) {
+                            long curTime = SystemTime.timeMillis();
+                            _logger.info("Entries loaded so far: " + _inserted.getCount() + ", indexed: " + _indexed.getCount()
+                                    + " [" + JSpaceUtilities.formatMillis(curTime - _initialLoadInfo.getRecoveryStartTime()) + "]");
+                            lastLoggedTime = curTime;
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SAException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof SAException ? (SAException) cause : new SAException(cause);
+        } finally {
+            _initialLoadInfo.setLastLoggedTime(lastLoggedTime);
+        }
+    }
+
+    private void addError(String error) {
+        synchronized (_errors) {
+            _errors.add(error);
+        }
+    }
+
+    private void registerMetrics(MetricRegistrator registrator) {
+        registrator.register(registrator.toPath("data", METRICS_PREFIX, "found"), _found);
+        registrator.register(registrator.toPath("data", METRICS_PREFIX, "inserted"), _inserted);
+        registrator.register(registrator.toPath("data", METRICS_PREFIX, "indexed"), _indexed);
+        registrator.register(registrator.toPath("data", METRICS_PREFIX, "inserted-tp"), _insertedThroughput);
+    }
+}
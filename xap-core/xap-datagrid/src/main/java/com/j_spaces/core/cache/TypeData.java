@@ -39,6 +39,7 @@ import com.j_spaces.core.SpaceOperations;
 import com.j_spaces.core.XtnEntry;
 import com.j_spaces.core.admin.TemplateInfo;
 import com.j_spaces.core.cache.TypeDataIndex.UpdateIndexModes;
+import com.j_spaces.core.cache.columnar.ColumnarTypeSnapshot;
 import com.j_spaces.core.cache.fifoGroup.FifoGroupCacheImpl;
 import com.j_spaces.core.client.SequenceNumberException;
 import com.j_spaces.kernel.IObjectInfo;
@@ -158,6 +159,8 @@ public class TypeData {
     //the following relates to sequenceNumber
     private final SequenceNumberGenerator _sequenceNumberGenerator;
     private final TypeDataIndex<?> _sequenceNumberIndex; //null if not indexed or undefined
+    //null if the type does not keep a columnar snapshot
+    private final ColumnarTypeSnapshot _columnarSnapshot;
 
     //reasons for replacing type-data
     public static enum TypeDataRecreationReasons {
@@ -196,6 +199,7 @@ public class TypeData {
         _className = serverTypeDesc.getTypeName();
         _properties = serverTypeDesc.getTypeDesc().getProperties();
         _indexTable = new ConcurrentHashMap<String, TypeDataIndex<?>>();
+        _columnarSnapshot = _cacheManager.isColumnarSnapshotType(_className) ? new ColumnarTypeSnapshot(serverTypeDesc.getTypeDesc()) : null;
 
         _fifoSupport = serverTypeDesc.isFifoSupported();
         TypeDataIndex<Object> fifoGroupingIndex = null;
@@ -457,6 +461,7 @@ public class TypeData {
 
         _className = originalTypeData._className;
         _properties = serverTypeDesc.getTypeDesc().getProperties();
+        _columnarSnapshot = originalTypeData._columnarSnapshot;
 
         _fifoSupport = originalTypeData._fifoSupport;
         _columnsOrdinalsByName = originalTypeData._columnsOrdinalsByName;
@@ -799,6 +804,10 @@ public class TypeData {
         return _cacheManager;
     }
 
+    public ColumnarTypeSnapshot getColumnarSnapshot() {
+        return _columnarSnapshot;
+    }
+
     /**
      * @return field ordinal by name
      */
@@ -31,6 +31,8 @@ import com.gigaspaces.internal.server.storage.IEntryData;
 import com.gigaspaces.internal.server.storage.IEntryHolder;
 import com.gigaspaces.internal.server.storage.ShadowEntryHolder;
 import com.gigaspaces.internal.utils.StringUtils;
+import com.gigaspaces.internal.utils.collections.ConcurrentPrimitiveKeyHashMap;
+import com.gigaspaces.internal.utils.collections.PrimitiveKeyType;
 import com.gigaspaces.internal.utils.collections.economy.EconomyConcurrentHashMap;
 import com.gigaspaces.internal.utils.collections.economy.HashEntryHandlerSpaceEntry;
 import com.gigaspaces.internal.utils.collections.economy.IEconomyConcurrentMap;
@@ -40,6 +42,7 @@ import com.gigaspaces.server.ServerEntry;
 import com.j_spaces.core.Constants;
 import com.j_spaces.core.cache.fifoGroup.FifoGroupsMainIndexExtention;
 import com.j_spaces.core.cache.fifoGroup.IFifoGroupsIndexExtention;
+import com.j_spaces.core.cache.offHeap.index.OffHeapOrderedIndexStore;
 import com.j_spaces.core.client.DuplicateIndexValueException;
 import com.j_spaces.core.client.TemplateMatchCodes;
 import com.j_spaces.kernel.IObjectInfo;
@@ -124,6 +127,9 @@ public class TypeDataIndex<K> {
 
     private final boolean _useEconomyHashMap;
 
+    //not null if the index values are primitives kept in a primitive-key store
+    private final PrimitiveKeyType _primitiveKeyType;
+
     private Class<?> _valueType;
 
     //creation version of this index
@@ -162,7 +168,6 @@ public class TypeDataIndex<K> {
 
     public TypeDataIndex(CacheManager cacheManager, ISpaceIndex index, int pos, boolean useEconomyHashmap, int indexCreationNumber, Class<?> valueClass, ISpaceIndex.FifoGroupsIndexTypes fifoGroupsIndexType) {
         _cacheManager = cacheManager;
-        _useEconomyHashMap = useEconomyHashmap;
         _indexCreationNumber = indexCreationNumber;
 
         this._position = pos;
@@ -175,8 +180,17 @@ public class TypeDataIndex<K> {
         _unique = index.isUnique();
         int numOfCHMSegents = Integer.getInteger(SystemProperties.CACHE_MANAGER_HASHMAP_SEGMENTS, SystemProperties.CACHE_MANAGER_HASHMAP_SEGMENTS_DEFAULT);
 
+        //primitive index values are kept unboxed only if requested, an explicit economy hash map setting takes precedence
+        _primitiveKeyType = !_thinExtendedIndex && !useEconomyHashmap && cacheManager.getEngine().getConfigReader().getBooleanSpaceProperty(
+                Constants.CacheManager.CACHE_MANAGER_USE_PRIMITIVE_KEY_INDEX_STORE_PROP, Constants.CacheManager.CACHE_MANAGER_USE_PRIMITIVE_KEY_INDEX_STORE_DEFAULT) ?
+                PrimitiveKeyType.fromClass(valueClass) : null;
+        _useEconomyHashMap = useEconomyHashmap;
+
         if (!_thinExtendedIndex) {
-            if (_useEconomyHashMap) {
+            if (_primitiveKeyType != null) {
+                this._uniqueEntriesStore = index.isUnique() ? new ConcurrentPrimitiveKeyHashMap<IEntryCacheInfo>(_primitiveKeyType, 16, numOfCHMSegents) : null;
+                this._nonUniqueEntriesStore = new ConcurrentPrimitiveKeyHashMap<IStoredList<IEntryCacheInfo>>(_primitiveKeyType, 16, numOfCHMSegents);
+            } else if (_useEconomyHashMap) {
                 this._uniqueEntriesStore = index.isUnique() ? new EconomyConcurrentHashMap<Object, IEntryCacheInfo>(16, 0.75f, numOfCHMSegents, new HashEntryHandlerSpaceEntry(pos)) : null;
                 this._nonUniqueEntriesStore = new EconomyConcurrentHashMap<Object, IStoredList<IEntryCacheInfo>>(16, 0.75f, numOfCHMSegents, new HashEntryHandlerSpaceEntry<Object>(pos));
             } else {
@@ -205,7 +219,11 @@ public class TypeDataIndex<K> {
         }
 
         if (_indexType == SpaceIndexType.EXTENDED) {
-            _concurrentExtendedIndex = new ExtendedIndexHandler<K>(this);
+            PrimitiveKeyType offHeapKeyType = useOffHeapExtendedIndex(cacheManager, valueClass, fifoGroupsIndexType) ? PrimitiveKeyType.fromClass(valueClass) : null;
+            if (offHeapKeyType != null)
+                _concurrentExtendedIndex = new ExtendedIndexHandler<K>(this, new OffHeapOrderedIndexStore<IStoredList<IEntryCacheInfo>>(offHeapKeyType));
+            else
+                _concurrentExtendedIndex = new ExtendedIndexHandler<K>(this);
 
             m_Notify_GT_Index = new TemplatesExtendedIndexHandler<K>(this);
             m_RT_GT_Index = new TemplatesExtendedIndexHandler<K>(this);
@@ -258,6 +276,14 @@ public class TypeDataIndex<K> {
         }
     }
 
+    //off-heap ordered store is used for primitive values of a blobstore space if configured
+    private static boolean useOffHeapExtendedIndex(CacheManager cacheManager, Class<?> valueClass, ISpaceIndex.FifoGroupsIndexTypes fifoGroupsIndexType) {
+        return fifoGroupsIndexType == ISpaceIndex.FifoGroupsIndexTypes.NONE && cacheManager.isOffHeapCachePolicy() &&
+                PrimitiveKeyType.fromClass(valueClass) != null &&
+                cacheManager.getEngine().getConfigReader().getBooleanSpaceProperty(
+                        Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_PROP, Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_OFFHEAP_EXTENDED_INDEX_DEFAULT);
+    }
+
     public boolean isExtendedIndex() {
         return _concurrentExtendedIndex != null;
     }
@@ -908,6 +934,10 @@ public class TypeDataIndex<K> {
         return _useEconomyHashMap;
     }
 
+    public boolean usedPrimitiveKeyStore() {
+        return _primitiveKeyType != null;
+    }
+
     public Class<?> getValueType() {
         return _valueType;
     }
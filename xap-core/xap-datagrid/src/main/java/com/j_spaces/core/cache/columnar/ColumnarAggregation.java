@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.columnar;
+
+import com.gigaspaces.internal.collections.CollectionsFactory;
+import com.gigaspaces.internal.collections.LongObjectIterator;
+import com.gigaspaces.internal.collections.LongObjectMap;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.utils.math.MutableNumber;
+import com.gigaspaces.query.aggregators.AbstractPathAggregator;
+import com.gigaspaces.query.aggregators.AggregationInternalUtils;
+import com.gigaspaces.query.aggregators.AverageAggregator;
+import com.gigaspaces.query.aggregators.CountAggregator;
+import com.gigaspaces.query.aggregators.GroupByAggregator;
+import com.gigaspaces.query.aggregators.GroupByKey;
+import com.gigaspaces.query.aggregators.GroupByResult;
+import com.gigaspaces.query.aggregators.GroupByValue;
+import com.gigaspaces.query.aggregators.MaxValueAggregator;
+import com.gigaspaces.query.aggregators.MinValueAggregator;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
+import com.gigaspaces.query.aggregators.SumAggregator;
+import com.j_spaces.core.cache.columnar.ColumnarTypeSnapshot.Column;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes aggregators over the columns of a {@link ColumnarTypeSnapshot}. Supports count, sum,
+ * average, min value and max value over numeric properties, and group by a single integral
+ * property selecting those. The results are produced in the intermediate form of the matching
+ * aggregator, so they are merged with the results of the other partitions as usual.
+ *
+ * @since 12.3
+ */
+class ColumnarAggregation {
+
+    private final Accumulator[] _accumulators;
+
+    private ColumnarAggregation(Accumulator[] accumulators) {
+        this._accumulators = accumulators;
+    }
+
+    /**
+     * @return null if any of the aggregators cannot be computed from the columns.
+     */
+    static ColumnarAggregation create(List<SpaceEntriesAggregator> aggregators, ITypeDesc typeDesc, Column[] columns) {
+        Accumulator[] accumulators = new Accumulator[aggregators.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = createAccumulator(aggregators.get(i), typeDesc, columns, true);
+            if (accumulators[i] == null)
+                return null;
+        }
+        return new ColumnarAggregation(accumulators);
+    }
+
+    void accept(int[] slots, int numOfSlots) {
+        for (Accumulator accumulator : _accumulators)
+            accumulator.acceptAll(slots, numOfSlots);
+    }
+
+    void mergeInto(List<SpaceEntriesAggregator> aggregators) {
+        for (int i = 0; i < _accumulators.length; i++) {
+            Serializable result = _accumulators[i].getResult();
+            if (result != null)
+                aggregators.get(i).aggregateIntermediateResult(result);
+        }
+    }
+
+    private static Accumulator createAccumulator(SpaceEntriesAggregator aggregator, ITypeDesc typeDesc, Column[] columns,
+                                                 boolean allowGroupBy) {
+        //Subclasses may aggregate differently, only the exact classes are supported
+        Class<?> aggregatorClass = aggregator.getClass();
+        if (aggregatorClass == CountAggregator.class) {
+            String path = ((CountAggregator) aggregator).getPath();
+            if (path == null)
+                return new CountAccumulator(null);
+            Column column = getColumn(path, typeDesc, columns);
+            return column != null ? new CountAccumulator(column) : null;
+        }
+        if (aggregatorClass == GroupByAggregator.class)
+            return allowGroupBy ? createGroupByAccumulator((GroupByAggregator) aggregator, typeDesc, columns) : null;
+        if (aggregatorClass != SumAggregator.class && aggregatorClass != AverageAggregator.class
+                && aggregatorClass != MinValueAggregator.class && aggregatorClass != MaxValueAggregator.class)
+            return null;
+
+        Column column = getColumn(((AbstractPathAggregator) aggregator).getPath(), typeDesc, columns);
+        if (column == null)
+            return null;
+        if (aggregatorClass == SumAggregator.class)
+            return new SumAccumulator(column, false);
+        if (aggregatorClass == AverageAggregator.class)
+            return new SumAccumulator(column, true);
+        return new ExtremumAccumulator(column, aggregatorClass == MaxValueAggregator.class);
+    }
+
+    private static Accumulator createGroupByAccumulator(GroupByAggregator aggregator, ITypeDesc typeDesc, Column[] columns) {
+        String[] groupByPaths = AggregationInternalUtils.getGroupByPaths(aggregator);
+        if (groupByPaths == null || groupByPaths.length != 1)
+            return null;
+        Column keyColumn = getColumn(groupByPaths[0], typeDesc, columns);
+        if (keyColumn == null || !keyColumn.isIntegral())
+            return null;
+
+        List<SpaceEntriesAggregator> selectors = AggregationInternalUtils.getSelectors(aggregator);
+        Accumulator[] prototypes = new Accumulator[selectors.size()];
+        for (int i = 0; i < prototypes.length; i++) {
+            prototypes[i] = createAccumulator(selectors.get(i), typeDesc, columns, false);
+            if (prototypes[i] == null)
+                return null;
+        }
+        return new GroupByAccumulator(keyColumn, prototypes);
+    }
+
+    private static Column getColumn(String path, ITypeDesc typeDesc, Column[] columns) {
+        if (path == null)
+            return null;
+        int position = typeDesc.getFixedPropertyPosition(path);
+        Column column = position >= 0 && position < columns.length ? columns[position] : null;
+        return column != null && column.isValid() ? column : null;
+    }
+
+    private abstract static class Accumulator {
+        abstract void accept(int slot);
+
+        void acceptAll(int[] slots, int numOfSlots) {
+            for (int i = 0; i < numOfSlots; i++)
+                accept(slots[i]);
+        }
+
+        /**
+         * @return the intermediate result of the matching aggregator, or null if nothing was
+         * aggregated.
+         */
+        abstract Serializable getResult();
+
+        /**
+         * @return an empty accumulator of the same kind.
+         */
+        abstract Accumulator newInstance();
+    }
+
+    private static class CountAccumulator extends Accumulator {
+        private final Column _column;
+        private long _count;
+
+        private CountAccumulator(Column column) {
+            this._column = column;
+        }
+
+        @Override
+        void accept(int slot) {
+            if (_column == null || !_column.isNull(slot))
+                _count++;
+        }
+
+        @Override
+        void acceptAll(int[] slots, int numOfSlots) {
+            if (_column == null)
+                _count += numOfSlots;
+            else
+                super.acceptAll(slots, numOfSlots);
+        }
+
+        @Override
+        Serializable getResult() {
+            return _count;
+        }
+
+        @Override
+        Accumulator newInstance() {
+            return new CountAccumulator(_column);
+        }
+    }
+
+    /**
+     * Sum, or average when the count is kept as well.
+     */
+    private static class SumAccumulator extends Accumulator {
+        private final Column _column;
+        private final boolean _average;
+        private long _longSum;
+        private double _doubleSum;
+        private long _count;
+
+        private SumAccumulator(Column column, boolean average) {
+            this._column = column;
+            this._average = average;
+        }
+
+        @Override
+        void accept(int slot) {
+            if (_column.isNull(slot))
+                return;
+            _count++;
+            if (_column.isIntegral())
+                _longSum += _column.getLong(slot);
+            else
+                _doubleSum += _column.getDouble(slot);
+        }
+
+        @Override
+        Serializable getResult() {
+            if (_count == 0)
+                return null;
+            Number sum;
+            Number zero;
+            if (_column.isIntegral()) {
+                sum = _longSum;
+                zero = 0L;
+            } else {
+                sum = _doubleSum;
+                zero = 0d;
+            }
+            if (_average)
+                //The tuple counts its initial sum as a single value
+                return new AverageAggregator.AverageTuple(sum).add(zero, _count - 1);
+            MutableNumber result = MutableNumber.fromClass(_column.getType(), true);
+            result.add(sum);
+            return result;
+        }
+
+        @Override
+        Accumulator newInstance() {
+            return new SumAccumulator(_column, _average);
+        }
+    }
+
+    private static class ExtremumAccumulator extends Accumulator {
+        private final Column _column;
+        private final boolean _max;
+        private boolean _found;
+        private long _longValue;
+        private double _doubleValue;
+
+        private ExtremumAccumulator(Column column, boolean max) {
+            this._column = column;
+            this._max = max;
+        }
+
+        @Override
+        void accept(int slot) {
+            if (_column.isNull(slot))
+                return;
+            if (_column.isIntegral()) {
+                long value = _column.getLong(slot);
+                if (!_found || (_max ? value > _longValue : value < _longValue))
+                    _longValue = value;
+            } else {
+                double value = _column.getDouble(slot);
+                if (!_found || (_max ? value > _doubleValue : value < _doubleValue))
+                    _doubleValue = value;
+            }
+            _found = true;
+        }
+
+        @Override
+        Serializable getResult() {
+            if (!_found)
+                return null;
+            return (Serializable) (_column.isIntegral() ? _column.box(_longValue) : _column.box(_doubleValue));
+        }
+
+        @Override
+        Accumulator newInstance() {
+            return new ExtremumAccumulator(_column, _max);
+        }
+    }
+
+    private static class GroupByAccumulator extends Accumulator {
+        private final Column _keyColumn;
+        private final Accumulator[] _prototypes;
+        private final LongObjectMap<Accumulator[]> _groups = CollectionsFactory.getInstance().createLongObjectMap();
+
+        private GroupByAccumulator(Column keyColumn, Accumulator[] prototypes) {
+            this._keyColumn = keyColumn;
+            this._prototypes = prototypes;
+        }
+
+        @Override
+        void accept(int slot) {
+            //Entries without a key are not grouped, same as in GroupByAggregator
+            if (_keyColumn.isNull(slot))
+                return;
+            long key = _keyColumn.getLong(slot);
+            Accumulator[] group = _groups.get(key);
+            if (group == null) {
+                group = new Accumulator[_prototypes.length];
+                for (int i = 0; i < group.length; i++)
+                    group[i] = _prototypes[i].newInstance();
+                _groups.put(key, group);
+            }
+            for (Accumulator accumulator : group)
+                accumulator.accept(slot);
+        }
+
+        @Override
+        Serializable getResult() {
+            if (_groups.size() == 0)
+                return null;
+            Map<GroupByKey, GroupByValue> result = new HashMap<GroupByKey, GroupByValue>();
+            for (LongObjectIterator<Accumulator[]> iterator = _groups.iterator(); iterator.hasNext(); ) {
+                iterator.advance();
+                Accumulator[] group = iterator.value();
+                Object[] values = new Object[group.length];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = group[i].getResult();
+                result.put(new GroupByKey(new Object[]{_keyColumn.box(iterator.key())}), new GroupByValue(values));
+            }
+            return new GroupByResult(result);
+        }
+
+        @Override
+        Accumulator newInstance() {
+            return new GroupByAccumulator(_keyColumn, _prototypes);
+        }
+    }
+}
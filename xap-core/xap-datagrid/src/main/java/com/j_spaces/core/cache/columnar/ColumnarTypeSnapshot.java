@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.columnar;
+
+import com.gigaspaces.internal.collections.CollectionsFactory;
+import com.gigaspaces.internal.collections.ObjectIntegerMap;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.metadata.PropertyInfo;
+import com.gigaspaces.internal.server.storage.IEntryData;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar copy of the numeric fixed properties of the entries of a single type, kept for
+ * aggregations over the whole type. Each numeric property is kept unboxed in a primitive array,
+ * where each entry owns a slot of all the arrays, so aggregators can be computed by a plain loop
+ * over the arrays instead of resolving the property value of each entry. <p> The snapshot is
+ * maintained by the {@link com.j_spaces.core.cache.CacheManager} whenever entries of the type are
+ * inserted, updated or removed, it does not know about transactions so it may be used only when
+ * no transaction is active. <p> Entries are spread by uid over segments, each with its own arrays
+ * and lock, so concurrent updates of different entries seldom contend. A property whose value in
+ * some entry is not of the exact type of its column (e.g. a Long value of an Integer document
+ * property) is no longer kept, aggregations over it fall back to scanning the entries.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ColumnarTypeSnapshot {
+
+    //a power of 2
+    private static final int SEGMENTS = 16;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] _segments;
+
+    public ColumnarTypeSnapshot(ITypeDesc typeDesc) {
+        PropertyInfo[] properties = typeDesc.getProperties();
+        _segments = new Segment[SEGMENTS];
+        for (int i = 0; i < _segments.length; i++)
+            _segments[i] = new Segment(properties);
+    }
+
+    private Segment segmentOf(String uid) {
+        int hash = uid.hashCode();
+        hash ^= (hash >>> 16);
+        return _segments[hash & (_segments.length - 1)];
+    }
+
+    /**
+     * Keeps the values of the entry, replacing its previous values if it is already kept.
+     */
+    public void put(String uid, IEntryData entryData) {
+        segmentOf(uid).put(uid, entryData);
+    }
+
+    public void remove(String uid) {
+        segmentOf(uid).remove(uid);
+    }
+
+    /**
+     * Computes the given aggregators over all the non expired entries of the snapshot.
+     *
+     * @return false if any of the aggregators cannot be computed from the snapshot, in which case
+     * none of the aggregators is modified.
+     */
+    public boolean aggregate(List<SpaceEntriesAggregator> aggregators, ITypeDesc typeDesc, long leaseFilter) {
+        ColumnarAggregation[] aggregations = new ColumnarAggregation[_segments.length];
+        for (int i = 0; i < aggregations.length; i++) {
+            aggregations[i] = ColumnarAggregation.create(aggregators, typeDesc, _segments[i]._columns);
+            if (aggregations[i] == null)
+                return false;
+        }
+        for (int i = 0; i < aggregations.length; i++) {
+            _segments[i].accept(aggregations[i], leaseFilter);
+            aggregations[i].mergeInto(aggregators);
+        }
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : _segments)
+            size += segment.size();
+        return size;
+    }
+
+    private static final class Segment {
+        private final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+        private final ObjectIntegerMap<String> _slots = CollectionsFactory.getInstance().createObjectIntegerMap();
+        //Indexed by fixed property position, null for properties which are not kept
+        private final Column[] _columns;
+        //Expiration time of the entry in each slot, 0 for free slots
+        private long[] _expirations;
+        private int[] _freeSlots;
+        private int _numOfFreeSlots;
+        //Slots beyond it were never used
+        private int _highWatermark;
+
+        private Segment(PropertyInfo[] properties) {
+            _columns = new Column[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                Class<?> type = Column.toWrapperType(properties[i].getType());
+                if (Column.isSupported(type))
+                    _columns[i] = new Column(type, INITIAL_SEGMENT_CAPACITY);
+            }
+            _expirations = new long[INITIAL_SEGMENT_CAPACITY];
+            _freeSlots = new int[INITIAL_SEGMENT_CAPACITY];
+        }
+
+        private void put(String uid, IEntryData entryData) {
+            _lock.writeLock().lock();
+            try {
+                int slot;
+                if (_slots.containsKey(uid))
+                    slot = _slots.get(uid);
+                else {
+                    slot = allocateSlot();
+                    _slots.put(uid, slot);
+                }
+                for (int i = 0; i < _columns.length; i++)
+                    if (_columns[i] != null)
+                        _columns[i].set(slot, entryData.getFixedPropertyValue(i));
+                _expirations[slot] = entryData.getExpirationTime();
+            } finally {
+                _lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(String uid) {
+            _lock.writeLock().lock();
+            try {
+                if (!_slots.containsKey(uid))
+                    return;
+                int slot = _slots.remove(uid);
+                _expirations[slot] = 0;
+                _freeSlots[_numOfFreeSlots++] = slot;
+            } finally {
+                _lock.writeLock().unlock();
+            }
+        }
+
+        private void accept(ColumnarAggregation aggregation, long leaseFilter) {
+            _lock.readLock().lock();
+            try {
+                int[] slots = new int[_highWatermark];
+                int numOfSlots = 0;
+                for (int slot = 0; slot < _highWatermark; slot++)
+                    if (_expirations[slot] >= leaseFilter)
+                        slots[numOfSlots++] = slot;
+                aggregation.accept(slots, numOfSlots);
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        private int size() {
+            _lock.readLock().lock();
+            try {
+                return _highWatermark - _numOfFreeSlots;
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        private int allocateSlot() {
+            if (_numOfFreeSlots != 0)
+                return _freeSlots[--_numOfFreeSlots];
+            if (_highWatermark == _expirations.length) {
+                int capacity = _expirations.length * 2;
+                _expirations = Arrays.copyOf(_expirations, capacity);
+                _freeSlots = Arrays.copyOf(_freeSlots, capacity);
+                for (Column column : _columns)
+                    if (column != null)
+                        column.ensureCapacity(capacity);
+            }
+            return _highWatermark++;
+        }
+    }
+
+    /**
+     * Values of a single numeric property, integral values are kept as longs and floating point
+     * values as doubles. All the values are of the type of the property, so a kept value can be
+     * boxed back to that type without losing precision.
+     */
+    static final class Column {
+        private final Class<?> _type;
+        private final boolean _integral;
+        //false once a value which is not of the column type was set
+        private volatile boolean _valid = true;
+        private long[] _longs;
+        private double[] _doubles;
+        private boolean[] _nulls;
+
+        Column(Class<?> type, int capacity) {
+            _type = type;
+            _integral = type != Double.class && type != Float.class;
+            if (_integral)
+                _longs = new long[capacity];
+            else
+                _doubles = new double[capacity];
+            _nulls = new boolean[capacity];
+        }
+
+        static boolean isSupported(Class<?> type) {
+            return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                    || type == Double.class || type == Float.class;
+        }
+
+        static Class<?> toWrapperType(Class<?> type) {
+            if (type == long.class) return Long.class;
+            if (type == int.class) return Integer.class;
+            if (type == short.class) return Short.class;
+            if (type == byte.class) return Byte.class;
+            if (type == double.class) return Double.class;
+            if (type == float.class) return Float.class;
+            return type;
+        }
+
+        Class<?> getType() {
+            return _type;
+        }
+
+        boolean isIntegral() {
+            return _integral;
+        }
+
+        /**
+         * @return false if the values of the column may not reflect the values of the entries.
+         */
+        boolean isValid() {
+            return _valid;
+        }
+
+        boolean isNull(int slot) {
+            return _nulls[slot];
+        }
+
+        long getLong(int slot) {
+            return _longs[slot];
+        }
+
+        double getDouble(int slot) {
+            return _doubles[slot];
+        }
+
+        /**
+         * @return the value as it is kept by the entry.
+         */
+        Number box(long value) {
+            if (_type == Long.class) return value;
+            if (_type == Integer.class) return (int) value;
+            if (_type == Short.class) return (short) value;
+            return (byte) value;
+        }
+
+        Number box(double value) {
+            if (_type == Double.class) return value;
+            return (float) value;
+        }
+
+        private void set(int slot, Object value) {
+            if (value != null && !accepts(value)) {
+                //e.g. a document property of another type, the values are not kept any more
+                _valid = false;
+                value = null;
+            }
+            _nulls[slot] = value == null;
+            if (_integral)
+                _longs[slot] = value != null ? ((Number) value).longValue() : 0;
+            else
+                _doubles[slot] = value != null ? ((Number) value).doubleValue() : 0;
+        }
+
+        private boolean accepts(Object value) {
+            //a value of another type would be truncated when boxed back, or yield results of
+            //another type than the scan over the entries
+            return value.getClass() == _type;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (_integral)
+                _longs = Arrays.copyOf(_longs, capacity);
+            else
+                _doubles = Arrays.copyOf(_doubles, capacity);
+            _nulls = Arrays.copyOf(_nulls, capacity);
+        }
+    }
+}
@@ -246,6 +246,7 @@ public class Context {
 
     private Boolean _optimizedBlobStoreReadEnabled;
     private boolean _inInitialLoad;
+    private boolean _deferIndexing;
 
     public Context() {
     }
@@ -475,6 +476,7 @@ public class Context {
         _owningThreadName = null;
         _optimizedBlobStoreReadEnabled = null;
         _inInitialLoad = false;
+        _deferIndexing = false;
     }
 
     /**
@@ -1218,4 +1220,16 @@ public class Context {
     {
         _inInitialLoad = val;
     }
+
+    /**
+     * @return true if entries are inserted without their indexes, which are built once the initial
+     * load completes.
+     */
+    public boolean isDeferIndexing() {
+        return _deferIndexing;
+    }
+
+    public void setDeferIndexing(boolean deferIndexing) {
+        _deferIndexing = deferIndexing;
+    }
 }
@@ -18,6 +18,7 @@
 package com.j_spaces.core.cache.offHeap;
 
 import com.gigaspaces.datasource.DataIterator;
+import com.gigaspaces.internal.server.space.SpaceConfigReader;
 import com.gigaspaces.metrics.LongCounter;
 import com.gigaspaces.metrics.MetricConstants;
 import com.gigaspaces.metrics.MetricRegistrator;
@@ -30,6 +31,7 @@ import com.gigaspaces.server.blobstore.BlobStoreObjectType;
 import com.gigaspaces.server.blobstore.BlobStoreStorageHandler;
 import com.j_spaces.core.Constants;
 import com.j_spaces.core.cache.CacheManager;
+import com.j_spaces.core.cache.offHeap.storage.bulks.BlobStoreGroupCommitter;
 import com.j_spaces.kernel.threadpool.DynamicExecutors;
 
 import java.util.List;
@@ -57,6 +59,8 @@ public class BlobStoreOperationsWrapper extends BlobStoreExtendedStorageHandler
     private final BlobStoreStorageHandler _blobStore;
     private final BlobStoreSerializationUtils _serialization;
     private final boolean _needSerialization;
+    //null when single entry data operations are executed one by one
+    private final BlobStoreGroupCommitter _groupCommitter;
     private MetricRegistrator _registrator;
     private ExecutorService _preFetchThreadPool;
 
@@ -79,7 +83,16 @@ public class BlobStoreOperationsWrapper extends BlobStoreExtendedStorageHandler
         _serialization = new BlobStoreSerializationUtils(cacheManager);
 //		_needSerialization = !(blobStore instanceof BlobStoreNoSerializationHashMock);
         _needSerialization = true;
-
+        SpaceConfigReader configReader = cacheManager.getEngine().getConfigReader();
+        long groupCommitWindowMicros = configReader.getLongSpaceProperty(Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_PROP,
+                String.valueOf(Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_WINDOW_MICROS_DEFAULT));
+        if (cacheManager.useBlobStoreBulks() && groupCommitWindowMicros > 0) {
+            int groupCommitMaxSize = configReader.getIntSpaceProperty(Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_PROP,
+                    String.valueOf(Constants.CacheManager.CACHE_MANAGER_BLOBSTORE_GROUP_COMMIT_MAX_SIZE_DEFAULT));
+            _groupCommitter = new BlobStoreGroupCommitter(blobStore, groupCommitWindowMicros, groupCommitMaxSize);
+            _logger.info("blobstore group commit window=" + groupCommitWindowMicros + "us max-size=" + groupCommitMaxSize);
+        } else
+            _groupCommitter = null;
     }
 
     @Override
@@ -100,11 +113,10 @@ public class BlobStoreOperationsWrapper extends BlobStoreExtendedStorageHandler
             add.inc();
             add_tp.increment();
         }
-        if (_needSerialization) {
-            byte[] sdata = _serialization.serialize(data, objectType);
-            return _blobStore.add(id, sdata, objectType);
-        } else
-            return _blobStore.add(id, data, objectType);
+        java.io.Serializable sdata = _needSerialization ? _serialization.serialize(data, objectType) : data;
+        if (_groupCommitter != null && objectType.equals(BlobStoreObjectType.DATA))
+            return _groupCommitter.add(id, sdata);
+        return _blobStore.add(id, sdata, objectType);
     }
 
     @Override
@@ -140,11 +152,10 @@ public class BlobStoreOperationsWrapper extends BlobStoreExtendedStorageHandler
 
         initCacheSize();
 
-        if (_needSerialization) {
-            byte[] sdata = _serialization.serialize(data, objectType);
-            return _blobStore.replace(id, sdata, position, objectType);
-        } else
-            return _blobStore.replace(id, data, position, objectType);
+        java.io.Serializable sdata = _needSerialization ? _serialization.serialize(data, objectType) : data;
+        if (_groupCommitter != null && objectType.equals(BlobStoreObjectType.DATA))
+            return _groupCommitter.replace(id, sdata, position);
+        return _blobStore.replace(id, sdata, position, objectType);
     }
 
     @Override
@@ -164,7 +175,10 @@ public class BlobStoreOperationsWrapper extends BlobStoreExtendedStorageHandler
     @Override
     public void removeIfExists(java.io.Serializable id, Object position, BlobStoreObjectType objectType) {
         //NOTE execption is thrown from underlying driver if remove fails
-        java.io.Serializable data = _blobStore.remove(id, position, objectType);
+        if (_groupCommitter != null && objectType.equals(BlobStoreObjectType.DATA))
+            _groupCommitter.remove(id, position);
+        else
+            _blobStore.remove(id, position, objectType);
         if (objectType.equals(BlobStoreObjectType.DATA)) {
             remove.inc();
             remove_tp.increment();
@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.offHeap.index;
+
+import com.gigaspaces.internal.gnu.trove.TIntArrayList;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+/**
+ * B+tree of <code>long</code> keys and <code>int</code> values whose nodes are fixed-size pages
+ * in direct byte buffers. Leaves are doubly linked for ascending and descending scans. <p> Empty
+ * or sparse leaves are merged into a sibling on removal; inner nodes are released only when they
+ * become empty. The tree is not thread-safe - updates must be serialized by the caller. A read
+ * which runs concurrently with an update may see a torn structure, it then returns a wrong result
+ * or throws a runtime exception (it never loops), so such reads must be validated by the caller.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class OffHeapLongBPlusTree {
+    public static final int NO_VALUE = -1;
+
+    static final int PAGE_SIZE = 4096;
+    private static final int PAGES_PER_SLAB_SHIFT = 8;
+    private static final int PAGES_PER_SLAB = 1 << PAGES_PER_SLAB_SHIFT;
+
+    //page header: count, flags, next leaf, prev leaf
+    private static final int COUNT_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 4;
+    private static final int NEXT_OFFSET = 8;
+    private static final int PREV_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+    private static final int LEAF_FLAG = 1;
+    private static final int NIL = -1;
+
+    //leaf: keys[LEAF_CAPACITY] followed by values[LEAF_CAPACITY]
+    static final int LEAF_CAPACITY = (PAGE_SIZE - HEADER_SIZE) / 12;
+    //inner: keys[INNER_CAPACITY - 1] (one spare slot) followed by children[INNER_CAPACITY]
+    static final int INNER_CAPACITY = (PAGE_SIZE - HEADER_SIZE) / 12;
+    private static final int LEAF_VALUES_OFFSET = HEADER_SIZE + LEAF_CAPACITY * 8;
+    private static final int INNER_CHILDREN_OFFSET = HEADER_SIZE + INNER_CAPACITY * 8;
+    //a sparse leaf is merged into its sibling if both fit in this many keys
+    private static final int MERGE_THRESHOLD = LEAF_CAPACITY * 3 / 4;
+    private static final int MAX_DEPTH = 32;
+
+    private final ArrayList<ByteBuffer> _slabs = new ArrayList<ByteBuffer>();
+    private final TIntArrayList _freePages = new TIntArrayList();
+    private int _allocatedPages;
+    private int _root;
+    private int _size;
+
+    //reusable descent path
+    private final int[] _pathPages = new int[MAX_DEPTH];
+    private final int[] _pathChildIndexes = new int[MAX_DEPTH];
+
+    public OffHeapLongBPlusTree() {
+        _root = allocatePage(true);
+    }
+
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * @return number of off-heap pages in use.
+     */
+    public int getUsedPages() {
+        return _allocatedPages - _freePages.size();
+    }
+
+    /**
+     * @return off-heap bytes reserved by this tree.
+     */
+    public long getReservedBytes() {
+        return (long) _slabs.size() * PAGES_PER_SLAB * PAGE_SIZE;
+    }
+
+    public int get(long key) {
+        int leaf = findLeaf(key);
+        int pos = searchLeaf(leaf, key);
+        return pos >= 0 ? getInt(leaf, LEAF_VALUES_OFFSET + pos * 4) : NO_VALUE;
+    }
+
+    /**
+     * @return the previous value of the key or {@link #NO_VALUE}
+     */
+    public int put(long key, int value, boolean onlyIfAbsent) {
+        int depth = descend(key);
+        int leaf = _pathPages[depth];
+        int pos = searchLeaf(leaf, key);
+        if (pos >= 0) {
+            int prev = getInt(leaf, LEAF_VALUES_OFFSET + pos * 4);
+            if (!onlyIfAbsent)
+                putInt(leaf, LEAF_VALUES_OFFSET + pos * 4, value);
+            return prev;
+        }
+        pos = -pos - 1;
+        int count = getCount(leaf);
+        if (count < LEAF_CAPACITY) {
+            insertIntoLeaf(leaf, count, pos, key, value);
+        } else {
+            //split the leaf - the right half moves to a new leaf
+            int right = allocatePage(true);
+            int half = LEAF_CAPACITY / 2;
+            moveLeafEntries(leaf, half, right, 0, LEAF_CAPACITY - half);
+            setCount(leaf, half);
+            setCount(right, LEAF_CAPACITY - half);
+            int next = getInt(leaf, NEXT_OFFSET);
+            putInt(right, NEXT_OFFSET, next);
+            putInt(right, PREV_OFFSET, leaf);
+            putInt(leaf, NEXT_OFFSET, right);
+            if (next != NIL)
+                putInt(next, PREV_OFFSET, right);
+            if (pos <= half)
+                insertIntoLeaf(leaf, half, pos, key, value);
+            else
+                insertIntoLeaf(right, LEAF_CAPACITY - half, pos - half, key, value);
+            insertIntoParent(depth, getLong(right, HEADER_SIZE), right);
+        }
+        _size++;
+        return NO_VALUE;
+    }
+
+    /**
+     * @return the removed value or {@link #NO_VALUE}
+     */
+    public int remove(long key) {
+        int depth = descend(key);
+        int leaf = _pathPages[depth];
+        int pos = searchLeaf(leaf, key);
+        if (pos < 0)
+            return NO_VALUE;
+        int prev = getInt(leaf, LEAF_VALUES_OFFSET + pos * 4);
+        int count = getCount(leaf);
+        moveLeafEntries(leaf, pos + 1, leaf, pos, count - pos - 1);
+        setCount(leaf, --count);
+        _size--;
+        if (depth > 0)
+            rebalanceLeaf(depth, leaf, count);
+        return prev;
+    }
+
+    public void clear() {
+        _slabs.clear();
+        _freePages.clear();
+        _allocatedPages = 0;
+        _size = 0;
+        _root = allocatePage(true);
+    }
+
+    /**
+     * Scans keys in order starting at <code>fromKey</code> (or from the first/last key if
+     * <code>hasFrom</code> is false) and fills the given arrays up to their length.
+     *
+     * @return number of keys copied
+     */
+    public int scan(boolean hasFrom, long fromKey, boolean fromInclusive, boolean descending, long[] keys, int[] values) {
+        int leaf;
+        int pos;
+        if (!hasFrom) {
+            leaf = descending ? edgeLeaf(true) : edgeLeaf(false);
+            pos = descending ? getCount(leaf) - 1 : 0;
+        } else {
+            leaf = findLeaf(fromKey);
+            pos = searchLeaf(leaf, fromKey);
+            if (pos >= 0) {
+                if (!fromInclusive)
+                    pos = descending ? pos - 1 : pos + 1;
+            } else {
+                pos = -pos - 1;
+                if (descending)
+                    pos--;
+            }
+        }
+        int copied = 0;
+        //leaves other than the root are never empty, only the first leaf may contribute nothing
+        int leaves = 0;
+        while (leaf != NIL && copied < keys.length) {
+            if (++leaves > copied + 2)
+                throw new IllegalStateException("Scan passed an empty leaf");
+            int count = getCount(leaf);
+            if (descending) {
+                if (pos >= count)
+                    pos = count - 1;
+                for (; pos >= 0 && copied < keys.length; pos--, copied++) {
+                    keys[copied] = getLong(leaf, HEADER_SIZE + pos * 8);
+                    values[copied] = getInt(leaf, LEAF_VALUES_OFFSET + pos * 4);
+                }
+                leaf = getInt(leaf, PREV_OFFSET);
+                pos = Integer.MAX_VALUE;
+            } else {
+                for (; pos < count && copied < keys.length; pos++, copied++) {
+                    keys[copied] = getLong(leaf, HEADER_SIZE + pos * 8);
+                    values[copied] = getInt(leaf, LEAF_VALUES_OFFSET + pos * 4);
+                }
+                leaf = getInt(leaf, NEXT_OFFSET);
+                pos = 0;
+            }
+        }
+        return copied;
+    }
+
+    private int edgeLeaf(boolean last) {
+        int page = _root;
+        for (int depth = 0; !isLeaf(page); depth++) {
+            checkDepth(depth);
+            page = getChild(page, last ? getCount(page) - 1 : 0);
+        }
+        return page;
+    }
+
+    private int findLeaf(long key) {
+        int page = _root;
+        for (int depth = 0; !isLeaf(page); depth++) {
+            checkDepth(depth);
+            page = getChild(page, searchInner(page, key));
+        }
+        return page;
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth == MAX_DEPTH)
+            throw new IllegalStateException("Tree is deeper than " + MAX_DEPTH);
+    }
+
+    /**
+     * descends to the leaf of the key recording the path.
+     *
+     * @return the depth of the leaf
+     */
+    private int descend(long key) {
+        int page = _root;
+        int depth = 0;
+        while (!isLeaf(page)) {
+            int childIndex = searchInner(page, key);
+            _pathPages[depth] = page;
+            _pathChildIndexes[depth] = childIndex;
+            depth++;
+            page = getChild(page, childIndex);
+        }
+        _pathPages[depth] = page;
+        return depth;
+    }
+
+    /**
+     * @return index of the key in the leaf or (-(insertion point) - 1)
+     */
+    private int searchLeaf(int leaf, long key) {
+        int low = 0;
+        int high = getCount(leaf) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = getLong(leaf, HEADER_SIZE + mid * 8);
+            if (midKey < key)
+                low = mid + 1;
+            else if (midKey > key)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return index of the child which covers the key. keys[i] is the lowest key of child i+1
+     */
+    private int searchInner(int page, long key) {
+        int low = 0;
+        int high = getCount(page) - 2;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (getLong(page, HEADER_SIZE + mid * 8) <= key)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    private void insertIntoLeaf(int leaf, int count, int pos, long key, int value) {
+        moveLeafEntries(leaf, pos, leaf, pos + 1, count - pos);
+        putLong(leaf, HEADER_SIZE + pos * 8, key);
+        putInt(leaf, LEAF_VALUES_OFFSET + pos * 4, value);
+        setCount(leaf, count + 1);
+    }
+
+    private void moveLeafEntries(int fromPage, int fromPos, int toPage, int toPos, int length) {
+        if (length <= 0)
+            return;
+        if (fromPage == toPage && toPos > fromPos) {
+            for (int i = length - 1; i >= 0; i--) {
+                putLong(toPage, HEADER_SIZE + (toPos + i) * 8, getLong(fromPage, HEADER_SIZE + (fromPos + i) * 8));
+                putInt(toPage, LEAF_VALUES_OFFSET + (toPos + i) * 4, getInt(fromPage, LEAF_VALUES_OFFSET + (fromPos + i) * 4));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                putLong(toPage, HEADER_SIZE + (toPos + i) * 8, getLong(fromPage, HEADER_SIZE + (fromPos + i) * 8));
+                putInt(toPage, LEAF_VALUES_OFFSET + (toPos + i) * 4, getInt(fromPage, LEAF_VALUES_OFFSET + (fromPos + i) * 4));
+            }
+        }
+    }
+
+    /**
+     * inserts a separator key and the new right child after the child of the path at the given
+     * depth, splitting inner nodes up the path as needed.
+     */
+    private void insertIntoParent(int depth, long separator, int rightChild) {
+        while (true) {
+            if (depth == 0) {
+                //the root was split - grow the tree
+                int newRoot = allocatePage(false);
+                setChild(newRoot, 0, _root);
+                setChild(newRoot, 1, rightChild);
+                putLong(newRoot, HEADER_SIZE, separator);
+                setCount(newRoot, 2);
+                _root = newRoot;
+                return;
+            }
+            int parent = _pathPages[depth - 1];
+            int childIndex = _pathChildIndexes[depth - 1];
+            int children = getCount(parent);
+            if (children < INNER_CAPACITY) {
+                for (int i = children - 1; i > childIndex; i--) {
+                    setChild(parent, i + 1, getChild(parent, i));
+                    putLong(parent, HEADER_SIZE + i * 8, getLong(parent, HEADER_SIZE + (i - 1) * 8));
+                }
+                setChild(parent, childIndex + 1, rightChild);
+                putLong(parent, HEADER_SIZE + childIndex * 8, separator);
+                setCount(parent, children + 1);
+                return;
+            }
+            //split the inner node
+            long[] keys = new long[children];
+            int[] childPages = new int[children + 1];
+            for (int i = 0, j = 0; i <= children; i++) {
+                if (i == childIndex + 1) {
+                    childPages[i] = rightChild;
+                } else {
+                    childPages[i] = getChild(parent, j++);
+                }
+            }
+            for (int i = 0, j = 0; i < children; i++) {
+                if (i == childIndex) {
+                    keys[i] = separator;
+                } else {
+                    keys[i] = getLong(parent, HEADER_SIZE + (j++) * 8);
+                }
+            }
+            int leftChildren = (children + 1) / 2;
+            int right = allocatePage(false);
+            for (int i = 0; i < leftChildren; i++)
+                setChild(parent, i, childPages[i]);
+            for (int i = 0; i < leftChildren - 1; i++)
+                putLong(parent, HEADER_SIZE + i * 8, keys[i]);
+            setCount(parent, leftChildren);
+            int rightChildren = children + 1 - leftChildren;
+            for (int i = 0; i < rightChildren; i++)
+                setChild(right, i, childPages[leftChildren + i]);
+            for (int i = 0; i < rightChildren - 1; i++)
+                putLong(right, HEADER_SIZE + i * 8, keys[leftChildren + i]);
+            setCount(right, rightChildren);
+
+            separator = keys[leftChildren - 1];
+            rightChild = right;
+            depth--;
+        }
+    }
+
+    private void rebalanceLeaf(int depth, int leaf, int count) {
+        int parent = _pathPages[depth - 1];
+        int childIndex = _pathChildIndexes[depth - 1];
+        int children = getCount(parent);
+        if (count == 0) {
+            unlinkLeaf(leaf);
+            removeChild(depth - 1, childIndex);
+            return;
+        }
+        if (count >= MERGE_THRESHOLD / 2 || children < 2)
+            return;
+        //merge the pair (left, right) which share this parent into the left leaf
+        int left = childIndex > 0 ? getChild(parent, childIndex - 1) : leaf;
+        int right = childIndex > 0 ? leaf : getChild(parent, childIndex + 1);
+        int leftCount = getCount(left);
+        int rightCount = getCount(right);
+        if (leftCount + rightCount > MERGE_THRESHOLD)
+            return;
+        moveLeafEntries(right, 0, left, leftCount, rightCount);
+        setCount(left, leftCount + rightCount);
+        unlinkLeaf(right);
+        removeChild(depth - 1, childIndex > 0 ? childIndex : childIndex + 1);
+    }
+
+    private void unlinkLeaf(int leaf) {
+        int next = getInt(leaf, NEXT_OFFSET);
+        int prev = getInt(leaf, PREV_OFFSET);
+        if (prev != NIL)
+            putInt(prev, NEXT_OFFSET, next);
+        if (next != NIL)
+            putInt(next, PREV_OFFSET, prev);
+        freePage(leaf);
+    }
+
+    /**
+     * removes a (released) child from the inner node at the given depth, releasing inner nodes
+     * which become empty and collapsing a single-child root.
+     */
+    private void removeChild(int depth, int childIndex) {
+        while (true) {
+            int page = _pathPages[depth];
+            int children = getCount(page);
+            //removing child i removes keys[i-1] (or keys[0] for the first child)
+            int keyIndex = childIndex > 0 ? childIndex - 1 : 0;
+            for (int i = childIndex; i < children - 1; i++)
+                setChild(page, i, getChild(page, i + 1));
+            for (int i = keyIndex; i < children - 2; i++)
+                putLong(page, HEADER_SIZE + i * 8, getLong(page, HEADER_SIZE + (i + 1) * 8));
+            setCount(page, --children);
+            if (children > 0 || depth == 0)
+                break;
+            freePage(page);
+            childIndex = _pathChildIndexes[depth - 1];
+            depth--;
+        }
+        while (!isLeaf(_root) && getCount(_root) <= 1) {
+            int oldRoot = _root;
+            if (getCount(oldRoot) == 0) {
+                //the whole tree was emptied
+                setCount(oldRoot, 0);
+                putInt(oldRoot, FLAGS_OFFSET, LEAF_FLAG);
+                putInt(oldRoot, NEXT_OFFSET, NIL);
+                putInt(oldRoot, PREV_OFFSET, NIL);
+                return;
+            }
+            _root = getChild(oldRoot, 0);
+            freePage(oldRoot);
+        }
+    }
+
+    private int allocatePage(boolean leaf) {
+        int page;
+        if (!_freePages.isEmpty()) {
+            page = _freePages.remove(_freePages.size() - 1);
+        } else {
+            page = _allocatedPages++;
+            if ((page >>> PAGES_PER_SLAB_SHIFT) >= _slabs.size())
+                _slabs.add(ByteBuffer.allocateDirect(PAGES_PER_SLAB * PAGE_SIZE).order(ByteOrder.nativeOrder()));
+        }
+        setCount(page, 0);
+        putInt(page, FLAGS_OFFSET, leaf ? LEAF_FLAG : 0);
+        putInt(page, NEXT_OFFSET, NIL);
+        putInt(page, PREV_OFFSET, NIL);
+        return page;
+    }
+
+    private void freePage(int page) {
+        _freePages.add(page);
+    }
+
+    private boolean isLeaf(int page) {
+        return getInt(page, FLAGS_OFFSET) == LEAF_FLAG;
+    }
+
+    private int getCount(int page) {
+        return getInt(page, COUNT_OFFSET);
+    }
+
+    private void setCount(int page, int count) {
+        putInt(page, COUNT_OFFSET, count);
+    }
+
+    private int getChild(int page, int index) {
+        return getInt(page, INNER_CHILDREN_OFFSET + index * 4);
+    }
+
+    private void setChild(int page, int index, int child) {
+        putInt(page, INNER_CHILDREN_OFFSET + index * 4, child);
+    }
+
+    private ByteBuffer slab(int page) {
+        return _slabs.get(page >>> PAGES_PER_SLAB_SHIFT);
+    }
+
+    private static int address(int page, int offset) {
+        return ((page & (PAGES_PER_SLAB - 1)) * PAGE_SIZE) + offset;
+    }
+
+    private int getInt(int page, int offset) {
+        return slab(page).getInt(address(page, offset));
+    }
+
+    private void putInt(int page, int offset, int value) {
+        slab(page).putInt(address(page, offset), value);
+    }
+
+    private long getLong(int page, int offset) {
+        return slab(page).getLong(address(page, offset));
+    }
+
+    private void putLong(int page, int offset, long value) {
+        slab(page).putLong(address(page, offset), value);
+    }
+}
@@ -0,0 +1,894 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.offHeap.index;
+
+import com.gigaspaces.internal.gnu.trove.TIntArrayList;
+import com.gigaspaces.internal.utils.collections.PrimitiveKeyType;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ordered index store for primitive keys, used as the store of an extended index. Keys and the
+ * tree structure are kept off-heap in an {@link OffHeapLongBPlusTree}; the heap holds only one
+ * reference slot per key, for the stored value. <p> The store implements both {@link
+ * ConcurrentMap} and {@link NavigableMap} (sub-map and key-set views included). <p> Updates are
+ * serialized by a write lock and bump a version before and after changing the tree. Reads are
+ * optimistic - they traverse the tree without locking and validate the version afterwards, falling
+ * back to the read lock if an update ran meanwhile - so readers neither block each other nor write
+ * shared state. Iteration is weakly consistent - iterators fetch keys in batches and re-position
+ * after the last fetched key.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class OffHeapOrderedIndexStore<V> extends AbstractMap<Object, V>
+        implements ConcurrentMap<Object, V>, NavigableMap<Object, V> {
+    private static final int SCAN_BATCH_SIZE = 32;
+
+    private final Core<V> _core;
+    //view bounds, encoded as ordered longs
+    private final boolean _hasLo;
+    private final long _lo;
+    private final boolean _loInclusive;
+    private final boolean _hasHi;
+    private final long _hi;
+    private final boolean _hiInclusive;
+    private final boolean _descending;
+
+    public OffHeapOrderedIndexStore(PrimitiveKeyType keyType) {
+        this(new Core<V>(keyType), false, 0, false, false, 0, false, false);
+    }
+
+    private OffHeapOrderedIndexStore(Core<V> core, boolean hasLo, long lo, boolean loInclusive,
+                                     boolean hasHi, long hi, boolean hiInclusive, boolean descending) {
+        _core = core;
+        _hasLo = hasLo;
+        _lo = lo;
+        _loInclusive = loInclusive;
+        _hasHi = hasHi;
+        _hi = hi;
+        _hiInclusive = hiInclusive;
+        _descending = descending;
+    }
+
+    public PrimitiveKeyType getKeyType() {
+        return _core._keyType;
+    }
+
+    /**
+     * @return off-heap bytes reserved by the underlying tree.
+     */
+    public long getOffHeapReservedBytes() {
+        return _core.getReservedBytes();
+    }
+
+    private boolean isFullView() {
+        return !_hasLo && !_hasHi;
+    }
+
+    private boolean tooLow(long key) {
+        return _hasLo && (key < _lo || (key == _lo && !_loInclusive));
+    }
+
+    private boolean tooHigh(long key) {
+        return _hasHi && (key > _hi || (key == _hi && !_hiInclusive));
+    }
+
+    private boolean inRange(long key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private long toKey(Object key) {
+        if (key == null)
+            throw new NullPointerException();
+        if (!_core._keyType.isKeyOfType(key))
+            throw new ClassCastException("Key " + key + " of class " + key.getClass().getName() +
+                    " is not of type " + _core._keyType.getWrapperClass().getName());
+        return _core._keyType.toOrderedLong(key);
+    }
+
+    private long toKeyInRange(Object key) {
+        long k = toKey(key);
+        if (!inRange(k))
+            throw new IllegalArgumentException("key out of range");
+        return k;
+    }
+
+    private static void verifyValue(Object value) {
+        if (value == null)
+            throw new NullPointerException();
+    }
+
+    private Map.Entry<Object, V> toEntry(Position<V> position) {
+        return position == null ? null : new SimpleImmutableEntry<Object, V>(_core._keyType.fromOrderedLong(position.key), position.value);
+    }
+
+    // ----------------------------------- ConcurrentMap
+
+    @Override
+    public V get(Object key) {
+        if (!_core._keyType.isKeyOfType(key))
+            return null;
+        long k = _core._keyType.toOrderedLong(key);
+        return inRange(k) ? _core.get(k) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(Object key, V value) {
+        verifyValue(value);
+        return _core.put(toKeyInRange(key), value, false);
+    }
+
+    public V putIfAbsent(Object key, V value) {
+        verifyValue(value);
+        return _core.put(toKeyInRange(key), value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!_core._keyType.isKeyOfType(key))
+            return null;
+        long k = _core._keyType.toOrderedLong(key);
+        return inRange(k) ? _core.remove(k, null) : null;
+    }
+
+    public boolean remove(Object key, Object value) {
+        if (value == null || !_core._keyType.isKeyOfType(key))
+            return false;
+        long k = _core._keyType.toOrderedLong(key);
+        return inRange(k) && _core.remove(k, value) != null;
+    }
+
+    public boolean replace(Object key, V oldValue, V newValue) {
+        verifyValue(oldValue);
+        verifyValue(newValue);
+        if (!_core._keyType.isKeyOfType(key))
+            return false;
+        long k = _core._keyType.toOrderedLong(key);
+        return inRange(k) && _core.replace(k, oldValue, newValue) != null;
+    }
+
+    public V replace(Object key, V value) {
+        verifyValue(value);
+        if (!_core._keyType.isKeyOfType(key))
+            return null;
+        long k = _core._keyType.toOrderedLong(key);
+        return inRange(k) ? _core.replace(k, null, value) : null;
+    }
+
+    @Override
+    public int size() {
+        if (isFullView())
+            return _core.size();
+        int count = 0;
+        for (Iterator<Map.Entry<Object, V>> iter = new EntryIterator(); iter.hasNext(); iter.next())
+            count++;
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return absLowest() == null;
+    }
+
+    @Override
+    public void clear() {
+        if (isFullView()) {
+            _core.clear();
+        } else {
+            for (Iterator<Map.Entry<Object, V>> iter = new EntryIterator(); iter.hasNext(); ) {
+                iter.next();
+                iter.remove();
+            }
+        }
+    }
+
+    // ----------------------------------- NavigableMap
+
+    /*
+     * navigation in absolute (ascending) key order, restricted to the view bounds
+     */
+    private Position<V> absLowest() {
+        Position<V> res = _hasLo ? _core.seek(_lo, _loInclusive, false) : _core.seek(false);
+        return res == null || tooHigh(res.key) ? null : res;
+    }
+
+    private Position<V> absHighest() {
+        Position<V> res = _hasHi ? _core.seek(_hi, _hiInclusive, true) : _core.seek(true);
+        return res == null || tooLow(res.key) ? null : res;
+    }
+
+    private Position<V> absCeiling(long key, boolean inclusive) {
+        if (tooLow(key))
+            return absLowest();
+        Position<V> res = _core.seek(key, inclusive, false);
+        return res == null || tooHigh(res.key) ? null : res;
+    }
+
+    private Position<V> absFloor(long key, boolean inclusive) {
+        if (tooHigh(key))
+            return absHighest();
+        Position<V> res = _core.seek(key, inclusive, true);
+        return res == null || tooLow(res.key) ? null : res;
+    }
+
+    public Map.Entry<Object, V> lowerEntry(Object key) {
+        long k = toKey(key);
+        return toEntry(_descending ? absCeiling(k, false) : absFloor(k, false));
+    }
+
+    public Object lowerKey(Object key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    public Map.Entry<Object, V> floorEntry(Object key) {
+        long k = toKey(key);
+        return toEntry(_descending ? absCeiling(k, true) : absFloor(k, true));
+    }
+
+    public Object floorKey(Object key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    public Map.Entry<Object, V> ceilingEntry(Object key) {
+        long k = toKey(key);
+        return toEntry(_descending ? absFloor(k, true) : absCeiling(k, true));
+    }
+
+    public Object ceilingKey(Object key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    public Map.Entry<Object, V> higherEntry(Object key) {
+        long k = toKey(key);
+        return toEntry(_descending ? absFloor(k, false) : absCeiling(k, false));
+    }
+
+    public Object higherKey(Object key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    public Map.Entry<Object, V> firstEntry() {
+        return toEntry(_descending ? absHighest() : absLowest());
+    }
+
+    public Map.Entry<Object, V> lastEntry() {
+        return toEntry(_descending ? absLowest() : absHighest());
+    }
+
+    public Map.Entry<Object, V> pollFirstEntry() {
+        return poll(true);
+    }
+
+    public Map.Entry<Object, V> pollLastEntry() {
+        return poll(false);
+    }
+
+    private Map.Entry<Object, V> poll(boolean first) {
+        while (true) {
+            Map.Entry<Object, V> entry = first ? firstEntry() : lastEntry();
+            if (entry == null || remove(entry.getKey(), entry.getValue()))
+                return entry;
+        }
+    }
+
+    public Comparator<? super Object> comparator() {
+        //natural ordering
+        return null;
+    }
+
+    public Object firstKey() {
+        Map.Entry<Object, V> entry = firstEntry();
+        if (entry == null)
+            throw new NoSuchElementException();
+        return entry.getKey();
+    }
+
+    public Object lastKey() {
+        Map.Entry<Object, V> entry = lastEntry();
+        if (entry == null)
+            throw new NoSuchElementException();
+        return entry.getKey();
+    }
+
+    private static Object keyOrNull(Map.Entry<Object, ?> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    public NavigableMap<Object, V> descendingMap() {
+        return new OffHeapOrderedIndexStore<V>(_core, _hasLo, _lo, _loInclusive, _hasHi, _hi, _hiInclusive, !_descending);
+    }
+
+    @Override
+    public NavigableSet<Object> keySet() {
+        return navigableKeySet();
+    }
+
+    public NavigableSet<Object> navigableKeySet() {
+        return new KeySet(this);
+    }
+
+    public NavigableSet<Object> descendingKeySet() {
+        return new KeySet(descendingMap());
+    }
+
+    public NavigableMap<Object, V> subMap(Object fromKey, boolean fromInclusive, Object toKey, boolean toInclusive) {
+        long from = toKey(fromKey);
+        long to = toKey(toKey);
+        return _descending ? newView(true, to, toInclusive, true, from, fromInclusive) : newView(true, from, fromInclusive, true, to, toInclusive);
+    }
+
+    public NavigableMap<Object, V> headMap(Object toKey, boolean inclusive) {
+        long to = toKey(toKey);
+        return _descending ? newView(true, to, inclusive, false, 0, false) : newView(false, 0, false, true, to, inclusive);
+    }
+
+    public NavigableMap<Object, V> tailMap(Object fromKey, boolean inclusive) {
+        long from = toKey(fromKey);
+        return _descending ? newView(false, 0, false, true, from, inclusive) : newView(true, from, inclusive, false, 0, false);
+    }
+
+    public SortedMap<Object, V> subMap(Object fromKey, Object toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    public SortedMap<Object, V> headMap(Object toKey) {
+        return headMap(toKey, false);
+    }
+
+    public SortedMap<Object, V> tailMap(Object fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /**
+     * creates a view restricted by the given (absolute) bounds and the bounds of this view.
+     */
+    private OffHeapOrderedIndexStore<V> newView(boolean hasLo, long lo, boolean loInclusive, boolean hasHi, long hi, boolean hiInclusive) {
+        if (_hasLo && (!hasLo || _lo > lo || (_lo == lo && !_loInclusive))) {
+            lo = _lo;
+            loInclusive = _loInclusive;
+            hasLo = true;
+        }
+        if (_hasHi && (!hasHi || _hi < hi || (_hi == hi && !_hiInclusive))) {
+            hi = _hi;
+            hiInclusive = _hiInclusive;
+            hasHi = true;
+        }
+        return new OffHeapOrderedIndexStore<V>(_core, hasLo, lo, loInclusive, hasHi, hi, hiInclusive, _descending);
+    }
+
+    // ----------------------------------- iteration
+
+    @Override
+    public Set<Map.Entry<Object, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, V>>() {
+            @Override
+            public Iterator<Map.Entry<Object, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return OffHeapOrderedIndexStore.this.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return OffHeapOrderedIndexStore.this.isEmpty();
+            }
+
+            @Override
+            public void clear() {
+                OffHeapOrderedIndexStore.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterates the view in its order, reading the tree a batch of keys at a time and re-positioning
+     * after the last fetched key.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Object, V>> {
+        private final Cursor<V> _cursor;
+        private Map.Entry<Object, V> _last;
+
+        private EntryIterator() {
+            _cursor = _descending ? new Cursor<V>(_core, _hasHi, _hi, _hiInclusive, true)
+                    : new Cursor<V>(_core, _hasLo, _lo, _loInclusive, false);
+        }
+
+        public boolean hasNext() {
+            //stop at the far end of the view
+            return _cursor.hasCurrent() && !(_descending ? tooLow(_cursor.key()) : tooHigh(_cursor.key()));
+        }
+
+        public Map.Entry<Object, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            _last = new SimpleImmutableEntry<Object, V>(_core._keyType.fromOrderedLong(_cursor.key()), _cursor.value());
+            _cursor.advance();
+            return _last;
+        }
+
+        public void remove() {
+            if (_last == null)
+                throw new IllegalStateException();
+            OffHeapOrderedIndexStore.this.remove(_last.getKey(), _last.getValue());
+            _last = null;
+        }
+    }
+
+    /**
+     * Navigable key set view of a store or of one of its views.
+     */
+    private static final class KeySet extends AbstractSet<Object> implements NavigableSet<Object> {
+        private final NavigableMap<Object, ?> _map;
+
+        private KeySet(NavigableMap<Object, ?> map) {
+            _map = map;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new KeyIterator(_map.entrySet().iterator());
+        }
+
+        public Iterator<Object> descendingIterator() {
+            return new KeyIterator(_map.descendingMap().entrySet().iterator());
+        }
+
+        @Override
+        public int size() {
+            return _map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return _map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return _map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return _map.remove(o) != null;
+        }
+
+        @Override
+        public void clear() {
+            _map.clear();
+        }
+
+        public Object lower(Object e) {
+            return _map.lowerKey(e);
+        }
+
+        public Object floor(Object e) {
+            return _map.floorKey(e);
+        }
+
+        public Object ceiling(Object e) {
+            return _map.ceilingKey(e);
+        }
+
+        public Object higher(Object e) {
+            return _map.higherKey(e);
+        }
+
+        public Object first() {
+            return _map.firstKey();
+        }
+
+        public Object last() {
+            return _map.lastKey();
+        }
+
+        public Object pollFirst() {
+            return keyOrNull(_map.pollFirstEntry());
+        }
+
+        public Object pollLast() {
+            return keyOrNull(_map.pollLastEntry());
+        }
+
+        public Comparator<? super Object> comparator() {
+            return _map.comparator();
+        }
+
+        public NavigableSet<Object> descendingSet() {
+            return new KeySet(_map.descendingMap());
+        }
+
+        public NavigableSet<Object> subSet(Object fromElement, boolean fromInclusive, Object toElement, boolean toInclusive) {
+            return new KeySet(_map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        public NavigableSet<Object> headSet(Object toElement, boolean inclusive) {
+            return new KeySet(_map.headMap(toElement, inclusive));
+        }
+
+        public NavigableSet<Object> tailSet(Object fromElement, boolean inclusive) {
+            return new KeySet(_map.tailMap(fromElement, inclusive));
+        }
+
+        public SortedSet<Object> subSet(Object fromElement, Object toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        public SortedSet<Object> headSet(Object toElement) {
+            return headSet(toElement, false);
+        }
+
+        public SortedSet<Object> tailSet(Object fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    private static final class KeyIterator implements Iterator<Object> {
+        private final Iterator<? extends Map.Entry<Object, ?>> _entries;
+
+        private KeyIterator(Iterator<? extends Map.Entry<Object, ?>> entries) {
+            _entries = entries;
+        }
+
+        public boolean hasNext() {
+            return _entries.hasNext();
+        }
+
+        public Object next() {
+            return _entries.next().getKey();
+        }
+
+        public void remove() {
+            _entries.remove();
+        }
+    }
+
+    private static final class Position<V> {
+        private final long key;
+        private final V value;
+
+        private Position(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The tree of a store, its on-heap value slots and the lock guarding both - shared by a store
+     * and its views.
+     */
+    private static final class Core<V> {
+        private static final int CHUNK_SHIFT = 12;
+        private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+        private final PrimitiveKeyType _keyType;
+        private final OffHeapLongBPlusTree _tree = new OffHeapLongBPlusTree();
+        //serializes updates, and blocks readers which failed to read optimistically
+        private final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+        //odd while an update is in progress
+        private volatile long _version;
+        //value slots - the tree maps keys to slot numbers
+        private Object[][] _chunks = new Object[16][];
+        private final TIntArrayList _freeSlots = new TIntArrayList();
+        private int _nextSlot;
+
+        private Core(PrimitiveKeyType keyType) {
+            if (keyType == null)
+                throw new IllegalArgumentException("keyType cannot be null");
+            _keyType = keyType;
+        }
+
+        private V slotValue(int slot) {
+            return (V) _chunks[slot >>> CHUNK_SHIFT][slot & (CHUNK_SIZE - 1)];
+        }
+
+        private void setSlotValue(int slot, Object value) {
+            _chunks[slot >>> CHUNK_SHIFT][slot & (CHUNK_SIZE - 1)] = value;
+        }
+
+        private int allocateSlot(Object value) {
+            int slot;
+            if (!_freeSlots.isEmpty()) {
+                slot = _freeSlots.remove(_freeSlots.size() - 1);
+            } else {
+                slot = _nextSlot++;
+                int chunk = slot >>> CHUNK_SHIFT;
+                if (chunk >= _chunks.length) {
+                    Object[][] chunks = new Object[_chunks.length * 2][];
+                    System.arraycopy(_chunks, 0, chunks, 0, _chunks.length);
+                    _chunks = chunks;
+                }
+                if (_chunks[chunk] == null)
+                    _chunks[chunk] = new Object[CHUNK_SIZE];
+            }
+            setSlotValue(slot, value);
+            return slot;
+        }
+
+        private void releaseSlot(int slot) {
+            setSlotValue(slot, null);
+            _freeSlots.add(slot);
+        }
+
+        private void beginUpdate() {
+            _lock.writeLock().lock();
+            _version++;
+        }
+
+        private void endUpdate() {
+            _version++;
+            _lock.writeLock().unlock();
+        }
+
+        /**
+         * @return a version to validate an optimistic read against, or -1 if an update is in
+         * progress
+         */
+        private long beginOptimisticRead() {
+            long version = _version;
+            return (version & 1) == 0 ? version : -1;
+        }
+
+        private boolean validate(long version) {
+            return version != -1 && _version == version;
+        }
+
+        int size() {
+            _lock.readLock().lock();
+            try {
+                return _tree.size();
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        long getReservedBytes() {
+            _lock.readLock().lock();
+            try {
+                return _tree.getReservedBytes();
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        V get(long key) {
+            long version = beginOptimisticRead();
+            if (version != -1) {
+                try {
+                    int slot = _tree.get(key);
+                    V value = slot == OffHeapLongBPlusTree.NO_VALUE ? null : slotValue(slot);
+                    if (validate(version))
+                        return value;
+                } catch (RuntimeException e) {
+                    //a torn read of a concurrent update, read again under the lock
+                }
+            }
+            _lock.readLock().lock();
+            try {
+                int slot = _tree.get(key);
+                return slot == OffHeapLongBPlusTree.NO_VALUE ? null : slotValue(slot);
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        V put(long key, V value, boolean onlyIfAbsent) {
+            beginUpdate();
+            try {
+                int slot = _tree.get(key);
+                if (slot != OffHeapLongBPlusTree.NO_VALUE) {
+                    V prev = slotValue(slot);
+                    if (!onlyIfAbsent)
+                        setSlotValue(slot, value);
+                    return prev;
+                }
+                _tree.put(key, allocateSlot(value), false);
+                return null;
+            } finally {
+                endUpdate();
+            }
+        }
+
+        /**
+         * removes the mapping, if expectedValue is not null only if currently mapped to it.
+         *
+         * @return the removed value or null if nothing was removed
+         */
+        V remove(long key, Object expectedValue) {
+            beginUpdate();
+            try {
+                int slot = _tree.get(key);
+                if (slot == OffHeapLongBPlusTree.NO_VALUE)
+                    return null;
+                V prev = slotValue(slot);
+                if (expectedValue != null && !expectedValue.equals(prev))
+                    return null;
+                _tree.remove(key);
+                releaseSlot(slot);
+                return prev;
+            } finally {
+                endUpdate();
+            }
+        }
+
+        /**
+         * replaces the mapping, if expectedValue is not null only if currently mapped to it.
+         *
+         * @return the replaced value or null if nothing was replaced
+         */
+        V replace(long key, V expectedValue, V newValue) {
+            beginUpdate();
+            try {
+                int slot = _tree.get(key);
+                if (slot == OffHeapLongBPlusTree.NO_VALUE)
+                    return null;
+                V prev = slotValue(slot);
+                if (expectedValue != null && !expectedValue.equals(prev))
+                    return null;
+                setSlotValue(slot, newValue);
+                return prev;
+            } finally {
+                endUpdate();
+            }
+        }
+
+        void clear() {
+            beginUpdate();
+            try {
+                _tree.clear();
+                _chunks = new Object[16][];
+                _freeSlots.clear();
+                _nextSlot = 0;
+            } finally {
+                endUpdate();
+            }
+        }
+
+        /**
+         * @return first (or last if descending) mapping
+         */
+        Position<V> seek(boolean descending) {
+            return seek(false, 0, false, descending);
+        }
+
+        /**
+         * @return the nearest mapping at or after (before if descending) the key
+         */
+        Position<V> seek(long key, boolean inclusive, boolean descending) {
+            return seek(true, key, inclusive, descending);
+        }
+
+        private Position<V> seek(boolean hasFrom, long key, boolean inclusive, boolean descending) {
+            long[] keys = new long[1];
+            int[] slots = new int[1];
+            Object[] values = new Object[1];
+            return scan(hasFrom, key, inclusive, descending, keys, slots, values) == 0 ? null : new Position<V>(keys[0], (V) values[0]);
+        }
+
+        /**
+         * Copies the mappings in order starting at the given key (or at the first/last mapping if
+         * there is no key) to the given arrays, up to their length.
+         *
+         * @param slots work array of the same length as the keys
+         * @return number of mappings copied
+         */
+        int scan(boolean hasFrom, long from, boolean fromInclusive, boolean descending, long[] keys, int[] slots, Object[] values) {
+            long version = beginOptimisticRead();
+            if (version != -1) {
+                try {
+                    int count = scanSlots(hasFrom, from, fromInclusive, descending, keys, slots, values);
+                    if (validate(version))
+                        return count;
+                } catch (RuntimeException e) {
+                    //a torn read of a concurrent update, read again under the lock
+                }
+            }
+            _lock.readLock().lock();
+            try {
+                return scanSlots(hasFrom, from, fromInclusive, descending, keys, slots, values);
+            } finally {
+                _lock.readLock().unlock();
+            }
+        }
+
+        private int scanSlots(boolean hasFrom, long from, boolean fromInclusive, boolean descending, long[] keys, int[] slots, Object[] values) {
+            int count = _tree.scan(hasFrom, from, fromInclusive, descending, keys, slots);
+            for (int i = 0; i < count; i++)
+                values[i] = slotValue(slots[i]);
+            return count;
+        }
+    }
+
+    /**
+     * Reads the mappings of a store in order, a batch of keys at a time.
+     */
+    private static final class Cursor<V> {
+        private final Core<V> _core;
+        private final boolean _descending;
+        private final long[] _keys = new long[SCAN_BATCH_SIZE];
+        private final int[] _slots = new int[SCAN_BATCH_SIZE];
+        private final Object[] _values = new Object[SCAN_BATCH_SIZE];
+        private boolean _hasFrom;
+        private long _from;
+        private boolean _fromInclusive;
+        private int _count;
+        private int _pos;
+        private boolean _exhausted;
+
+        private Cursor(Core<V> core, boolean hasFrom, long from, boolean fromInclusive, boolean descending) {
+            _core = core;
+            _hasFrom = hasFrom;
+            _from = from;
+            _fromInclusive = fromInclusive;
+            _descending = descending;
+        }
+
+        /**
+         * @return true if the cursor is positioned on a mapping, fetches the next batch if needed
+         */
+        boolean hasCurrent() {
+            if (_pos < _count)
+                return true;
+            if (_exhausted)
+                return false;
+            _count = _core.scan(_hasFrom, _from, _fromInclusive, _descending, _keys, _slots, _values);
+            _pos = 0;
+            if (_count < _keys.length)
+                _exhausted = true;
+            if (_count == 0)
+                return false;
+            //the next batch starts after the last fetched key
+            _hasFrom = true;
+            _from = _keys[_count - 1];
+            _fromInclusive = false;
+            return true;
+        }
+
+        long key() {
+            return _keys[_pos];
+        }
+
+        V value() {
+            return (V) _values[_pos];
+        }
+
+        void advance() {
+            _values[_pos++] = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.offHeap.storage.bulks;
+
+import com.gigaspaces.server.blobstore.BlobStoreBulkOperationRequest;
+import com.gigaspaces.server.blobstore.BlobStoreBulkOperationResult;
+import com.gigaspaces.server.blobstore.BlobStoreException;
+import com.gigaspaces.server.blobstore.BlobStoreObjectType;
+import com.gigaspaces.server.blobstore.BlobStoreRemoveBulkOperationRequest;
+import com.gigaspaces.server.blobstore.BlobStoreReplaceBulkOperationRequest;
+import com.gigaspaces.server.blobstore.BlobStoreStorageHandler;
+import com.gigaspaces.server.blobstore.BoloStoreAddBulkOperationRequest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups single entry add/replace/remove operations of concurrent threads into a single blobstore
+ * bulk. The first thread of a group is its leader - if no other group is being executed it
+ * executes the group right away, otherwise it lets the group collect more operations for up to
+ * the configured window or until the group is full, and then executes it on behalf of all the
+ * threads of the group. A thread running alone is therefore never delayed, and the window is only
+ * spent while the storage is busy anyway. <p> Each thread waits for its own operation to complete
+ * and gets its own result or failure, the same as if it executed the operation by itself.
+ * Operations are executed as a non transactional bulk since they are not related to each other.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class BlobStoreGroupCommitter {
+
+    private final BlobStoreStorageHandler _blobStore;
+    private final long _windowNanos;
+    private final int _maxGroupSize;
+    private final Object _lock = new Object();
+    //Guarded by _lock
+    private Group _openGroup;
+    private int _executingGroups;
+
+    public BlobStoreGroupCommitter(BlobStoreStorageHandler blobStore, long windowMicros, int maxGroupSize) {
+        if (windowMicros < 0)
+            throw new IllegalArgumentException("window must not be negative - " + windowMicros);
+        if (maxGroupSize <= 0)
+            throw new IllegalArgumentException("max group size must be positive - " + maxGroupSize);
+        _blobStore = blobStore;
+        _windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        _maxGroupSize = maxGroupSize;
+    }
+
+    public Object add(Serializable id, Serializable data) {
+        return execute(new BoloStoreAddBulkOperationRequest(id, data)).getPosition();
+    }
+
+    public Object replace(Serializable id, Serializable data, Object position) {
+        return execute(new BlobStoreReplaceBulkOperationRequest(id, data, position)).getPosition();
+    }
+
+    public void remove(Serializable id, Object position) {
+        execute(new BlobStoreRemoveBulkOperationRequest(id, position));
+    }
+
+    private BlobStoreBulkOperationResult execute(BlobStoreBulkOperationRequest request) {
+        boolean interrupted = false;
+        Group group;
+        boolean leader;
+        synchronized (_lock) {
+            //The results are matched by id, an id already in the open group waits for the next one
+            while (_openGroup != null && _openGroup.contains(request.getId())) {
+                try {
+                    _lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            leader = _openGroup == null;
+            if (leader)
+                _openGroup = new Group();
+            group = _openGroup;
+            group.add(request);
+            if (group.size() >= _maxGroupSize)
+                closeGroup(group);
+        }
+
+        if (leader)
+            interrupted |= lead(group);
+
+        try {
+            return group.getResult(request);
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if the thread was interrupted while waiting for the group to fill.
+     */
+    private boolean lead(Group group) {
+        boolean interrupted = false;
+        synchronized (_lock) {
+            if (_executingGroups != 0) {
+                long deadline = System.nanoTime() + _windowNanos;
+                long remaining = _windowNanos;
+                while (_openGroup == group && remaining > 0 && !interrupted) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(_lock, remaining);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+            if (_openGroup == group)
+                closeGroup(group);
+            _executingGroups++;
+        }
+        try {
+            group.execute(_blobStore);
+        } finally {
+            synchronized (_lock) {
+                _executingGroups--;
+            }
+        }
+        return interrupted;
+    }
+
+    //Called under _lock
+    private void closeGroup(Group group) {
+        if (_openGroup == group)
+            _openGroup = null;
+        _lock.notifyAll();
+    }
+
+    private static class Group {
+        private final List<BlobStoreBulkOperationRequest> _requests = new ArrayList<BlobStoreBulkOperationRequest>();
+        private final Set<Serializable> _ids = new HashSet<Serializable>();
+        private final Map<Serializable, BlobStoreBulkOperationResult> _results = new HashMap<Serializable, BlobStoreBulkOperationResult>();
+        private final CountDownLatch _executed = new CountDownLatch(1);
+        private Throwable _failure;
+
+        private boolean contains(Serializable id) {
+            return _ids.contains(id);
+        }
+
+        private void add(BlobStoreBulkOperationRequest request) {
+            _requests.add(request);
+            _ids.add(request.getId());
+        }
+
+        private int size() {
+            return _requests.size();
+        }
+
+        private void execute(BlobStoreStorageHandler blobStore) {
+            try {
+                for (BlobStoreBulkOperationResult result : blobStore.executeBulk(_requests, BlobStoreObjectType.DATA, false /*transactional*/))
+                    _results.put(result.getId(), result);
+            } catch (Throwable t) {
+                _failure = t;
+            } finally {
+                _executed.countDown();
+            }
+        }
+
+        private BlobStoreBulkOperationResult getResult(BlobStoreBulkOperationRequest request) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    _executed.await();
+                    break;
+                } catch (InterruptedException e) {
+                    //The operation cannot be abandoned once it joined the group
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+
+            if (_failure != null)
+                throw _failure instanceof BlobStoreException ? (BlobStoreException) _failure : new BlobStoreException(_failure);
+            BlobStoreBulkOperationResult result = _results.get(request.getId());
+            if (result == null)
+                throw new BlobStoreException("blobstore bulk returned no result for id=" + request.getId());
+            if (result.getException() != null)
+                throw result.getException() instanceof BlobStoreException ? (BlobStoreException) result.getException() : new BlobStoreException(result.getException());
+            return result;
+        }
+    }
+}
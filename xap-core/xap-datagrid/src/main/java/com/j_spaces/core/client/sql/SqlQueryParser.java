@@ -24,6 +24,7 @@ import com.j_spaces.core.client.SQLQuery;
 import com.j_spaces.jdbc.AbstractDMLQuery;
 import com.j_spaces.jdbc.Query;
 import com.j_spaces.jdbc.QueryCache;
+import com.j_spaces.jdbc.StatementNormalizer.NormalizedStatement;
 import com.j_spaces.jdbc.builder.QueryTemplatePacket;
 import com.j_spaces.jdbc.parser.grammar.ParseException;
 import com.j_spaces.jdbc.parser.grammar.SqlParser;
@@ -57,8 +58,11 @@ public abstract class SqlQueryParser {
      * cache.
      */
     public AbstractDMLQuery parseSqlQuery(SQLQuery sqlQuery, ISpaceProxy space) throws SQLException {
+        // queries that differ only by their literals share the same cached query
+        NormalizedStatement normalized = sqlQuery.hasParameters() ? null : _queryCache.normalize(sqlQuery.getQuery());
+        String statement = normalized != null ? normalized.getStatement() : sqlQuery.getQuery();
         // first, try to get it from the cache.
-        AbstractDMLQuery query = (AbstractDMLQuery) getQueryFromCache(getUniqueKey(sqlQuery));
+        AbstractDMLQuery query = (AbstractDMLQuery) getQueryFromCache(getUniqueKey(sqlQuery, statement));
         try {
             if (query == null) {
                 if (_logger.isLoggable(Level.FINE)) {
@@ -66,7 +70,7 @@ public abstract class SqlQueryParser {
                 }
 
                 // query was not in the cache to build a parser to parse it.
-                SqlParser parser = initParser(sqlQuery.getQuery());
+                SqlParser parser = initParser(statement);
 
                 query = parse(parser);
                 query.setTableName(sqlQuery.getTypeName());
@@ -76,7 +80,7 @@ public abstract class SqlQueryParser {
                 if (!query.isPrepared() && !query.containsSubQueries())
                     query.build();
 
-                addQueryToCache(getUniqueKey(sqlQuery), query);
+                addQueryToCache(getUniqueKey(sqlQuery, statement), query);
 
                 if (!query.isPrepared())
                     return query;
@@ -84,6 +88,8 @@ public abstract class SqlQueryParser {
             // Clone the query  to avoid concurrency issues
             query = query.clone();
 
+            if (normalized != null)
+                query.setLiteralValues(normalized.getValues());
             return query;
         } catch (SQLException sqlEx) {
             if (_logger.isLoggable(Level.FINE)) {
@@ -146,8 +152,8 @@ public abstract class SqlQueryParser {
     }
 
 
-    private String getUniqueKey(SQLQuery<?> sqlQuery) {
-        return sqlQuery.getTypeName() + ":" + sqlQuery.getQuery();
+    private String getUniqueKey(SQLQuery<?> sqlQuery, String statement) {
+        return sqlQuery.getTypeName() + ":" + statement;
     }
 
 
@@ -371,6 +371,8 @@ public class ClusterXML {
     final static public String SWAP_REDOLOG_FLUSH_BUFFER_PACKET_COUNT = "flush-buffer-packet-count";
     final static public String SWAP_REDOLOG_FETCH_BUFFER_PACKET_COUNT = "fetch-buffer-packet-count";
     final static public String SWAP_REDOLOG_SEGMENT_SIZE = "segment-size";
+    final static public String SWAP_REDOLOG_MEMORY_MAPPED = "memory-mapped";
+    final static public String SWAP_REDOLOG_OFF_HEAP_SWAP_CAPACITY = "off-heap-swap-capacity";
     final static public String SWAP_REDOLOG_MAX_SCAN_LENGTH = "max-scan-length";
     final static public String SWAP_REDOLOG_MAX_OPEN_CURSORS = "max-open-cursors";
     final static public String SWAP_REDOLOG_WRITER_BUFFER_SIZE = "writer-buffer-size";
@@ -1702,6 +1704,14 @@ public class ClusterXML {
             value = getNodeValueIfExists(swapRedologNode, SWAP_REDOLOG_WRITER_BUFFER_SIZE);
             if (value != null)
                 replPolicy.getSwapRedologPolicy().setWriterBufferSize(Integer.parseInt(value));
+
+            value = getNodeValueIfExists(swapRedologNode, SWAP_REDOLOG_MEMORY_MAPPED);
+            if (value != null)
+                replPolicy.getSwapRedologPolicy().setMemoryMapped(JSpaceUtilities.parseBooleanTag(SWAP_REDOLOG_MEMORY_MAPPED, value));
+
+            value = getNodeValueIfExists(swapRedologNode, SWAP_REDOLOG_OFF_HEAP_SWAP_CAPACITY);
+            if (value != null)
+                replPolicy.getSwapRedologPolicy().setOffHeapSwapCapacity(Long.parseLong(value));
         }//SWAP REDO LOG
 
 
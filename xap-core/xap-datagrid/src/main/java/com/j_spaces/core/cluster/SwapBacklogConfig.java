@@ -40,6 +40,7 @@ public class SwapBacklogConfig
     final static public int MAX_SCAN_LENGTH_DEFAULT = ByteBufferRedoLogFileConfig.DEFAULT_MAX_SCAN;
     final static public int MAX_OPEN_CURSORS_DEFAULT = ByteBufferRedoLogFileConfig.DEFAULT_MAX_STORAGE_CURSORS;
     final static public int WRITE_BUFFER_SIZE_DEFAULT = ByteBufferRedoLogFileConfig.DEFAULT_MAX_BUFFER_SIZE;
+    final static public long OFF_HEAP_SWAP_CAPACITY_DEFAULT = 0;
 
     private int _flushBufferPacketsCount = FLUSH_BUFFER_PACKETS_COUNT_DEFAULT;
     private int _fetchBufferPacketsCount = FETCH_BUFFER_PACKETS_COUNT_DEFAULT;
@@ -47,6 +48,8 @@ public class SwapBacklogConfig
     private int _maxScanLength = MAX_SCAN_LENGTH_DEFAULT;
     private int _maxOpenCursors = MAX_OPEN_CURSORS_DEFAULT;
     private int _writerBufferSize = WRITE_BUFFER_SIZE_DEFAULT;
+    private boolean _memoryMapped;
+    private long _offHeapSwapCapacity = OFF_HEAP_SWAP_CAPACITY_DEFAULT;
 
     private interface BitMap {
         int FLUSH_BUFFER_PACKETS_COUNT = 1 << 0;
@@ -55,6 +58,8 @@ public class SwapBacklogConfig
         int MAX_SCAN_LENGTH = 1 << 3;
         int MAX_OPEN_CURSORS = 1 << 4;
         int WRITE_BUFFER_SIZE = 1 << 5;
+        int MEMORY_MAPPED = 1 << 6;
+        int OFF_HEAP_SWAP_CAPACITY = 1 << 7;
     }
 
     public int getFlushBufferPacketsCount() {
@@ -105,6 +110,36 @@ public class SwapBacklogConfig
         _writerBufferSize = writerBufferSize;
     }
 
+    /**
+     * @return true if the swapped packets are stored in memory mapped files instead of random
+     * access files.
+     */
+    public boolean isMemoryMapped() {
+        return _memoryMapped;
+    }
+
+    public void setMemoryMapped(boolean memoryMapped) {
+        _memoryMapped = memoryMapped;
+    }
+
+    /**
+     * @return the number of bytes of swapped packets kept off heap, in direct byte buffers, before
+     * spilling to files. 0 (the default) keeps no packets off heap. This only moves the swap tier
+     * of the backlog off heap - packets are kept on heap until the backlog memory capacity is
+     * reached, and are read back into packet objects to be sent.
+     */
+    public long getOffHeapSwapCapacity() {
+        return _offHeapSwapCapacity;
+    }
+
+    public void setOffHeapSwapCapacity(long offHeapSwapCapacity) {
+        _offHeapSwapCapacity = offHeapSwapCapacity;
+    }
+
+    public boolean isOffHeapSwap() {
+        return _offHeapSwapCapacity > 0;
+    }
+
     public void writeExternal(ObjectOutput out) throws IOException {
         int flags = 0;
 
@@ -126,6 +161,12 @@ public class SwapBacklogConfig
         if (_writerBufferSize != WRITE_BUFFER_SIZE_DEFAULT)
             flags |= BitMap.WRITE_BUFFER_SIZE;
 
+        if (_memoryMapped)
+            flags |= BitMap.MEMORY_MAPPED;
+
+        if (_offHeapSwapCapacity != OFF_HEAP_SWAP_CAPACITY_DEFAULT)
+            flags |= BitMap.OFF_HEAP_SWAP_CAPACITY;
+
         out.writeInt(flags);
 
         if (_flushBufferPacketsCount != FLUSH_BUFFER_PACKETS_COUNT_DEFAULT)
@@ -140,6 +181,8 @@ public class SwapBacklogConfig
             out.writeInt(_maxOpenCursors);
         if (_writerBufferSize != WRITE_BUFFER_SIZE_DEFAULT)
             out.writeInt(_writerBufferSize);
+        if (_offHeapSwapCapacity != OFF_HEAP_SWAP_CAPACITY_DEFAULT)
+            out.writeLong(_offHeapSwapCapacity);
     }
 
     public void readExternal(ObjectInput in) throws IOException,
@@ -171,6 +214,17 @@ public class SwapBacklogConfig
         } else {
             _maxOpenCursors = MAX_OPEN_CURSORS_DEFAULT;
         }
+        if ((flags & BitMap.WRITE_BUFFER_SIZE) != 0) {
+            _writerBufferSize = in.readInt();
+        } else {
+            _writerBufferSize = WRITE_BUFFER_SIZE_DEFAULT;
+        }
+        _memoryMapped = (flags & BitMap.MEMORY_MAPPED) != 0;
+        if ((flags & BitMap.OFF_HEAP_SWAP_CAPACITY) != 0) {
+            _offHeapSwapCapacity = in.readLong();
+        } else {
+            _offHeapSwapCapacity = OFF_HEAP_SWAP_CAPACITY_DEFAULT;
+        }
     }
 
     @Override
@@ -180,7 +234,8 @@ public class SwapBacklogConfig
                 + _fetchBufferPacketsCount + ", _segmentSize=" + _segmentSize
                 + ", _maxScanLength=" + _maxScanLength + ", _maxOpenCursors="
                 + _maxOpenCursors + ", _writerBufferSize=" + _writerBufferSize
-                + "]";
+                + ", _memoryMapped=" + _memoryMapped
+                + ", _offHeapSwapCapacity=" + _offHeapSwapCapacity + "]";
     }
 
 
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.j_spaces.core.sadapter;
+
+import java.util.List;
+
+/**
+ * An {@link ISAdapterIterator} whose elements are split to parts which can be iterated
+ * concurrently, each by its own thread. Iterating this iterator iterates its parts one after the
+ * other.
+ *
+ * @since 12.3
+ */
+public interface IParallelSAdapterIterator<T> extends ISAdapterIterator<T> {
+    /**
+     * @return the parts of this iterator, each of which should be iterated and closed by a single
+     * thread.
+     */
+    List<ISAdapterIterator<T>> getParts();
+}
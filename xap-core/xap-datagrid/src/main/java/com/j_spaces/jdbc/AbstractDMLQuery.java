@@ -111,6 +111,8 @@ public abstract class AbstractDMLQuery implements Query, Cloneable {
     protected QueryResultTypeInternal _queryResultType = QueryResultTypeInternal.NOT_SET;
     protected SecurityInterceptor securityInterceptor;
     private boolean _containsSubQueries;
+    // the prepared values replaced the literals of a normalized statement
+    private boolean _literalValues;
     protected AbstractProjectionTemplate _projectionTemplate;
 
     private ExplainPlan _explainPlan;
@@ -253,6 +255,17 @@ public abstract class AbstractDMLQuery implements Query, Cloneable {
         this.preparedValues = preparedValues;
     }
 
+    /**
+     * Sets the literals that were replaced by parameters when the statement of this query was
+     * normalized, they take the place of the query parameters.
+     *
+     * @see StatementNormalizer
+     */
+    public void setLiteralValues(Object[] literalValues) {
+        this.preparedValues = literalValues;
+        this._literalValues = true;
+    }
+
     public QuerySession getSession() {
         return session;
     }
@@ -660,6 +673,9 @@ public abstract class AbstractDMLQuery implements Query, Cloneable {
     }
 
     public void assignParameters(SQLQuery<?> sqlQuery, IDirectSpaceProxy proxy) {
+        // the values of a normalized query are its literals, the query itself has no parameters
+        if (_literalValues)
+            return;
         // If the query has parameters, set them anyway since they might
         // only relate to a sub query
         if (sqlQuery.hasParameters()) {
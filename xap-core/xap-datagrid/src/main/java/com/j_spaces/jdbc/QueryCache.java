@@ -16,15 +16,18 @@
 
 package com.j_spaces.jdbc;
 
-import com.gigaspaces.internal.utils.collections.ConcurrentBoundedCache;
+import com.gigaspaces.internal.utils.collections.ConcurrentLruCache;
 import com.gigaspaces.internal.utils.collections.ConcurrentSoftCache;
+import com.gigaspaces.metrics.LongCounter;
+import com.j_spaces.jdbc.StatementNormalizer.NormalizedStatement;
 import com.j_spaces.kernel.SystemProperties;
 
 import java.util.Map;
 
 
 /**
- * Caches JDBC queries by their string representation
+ * Caches JDBC queries by their string representation. When bounded, the least recently used
+ * queries are evicted (approximately, without locking the reads) once the cache is full.
  *
  * @author anna
  * @since 6.1
@@ -34,7 +37,10 @@ public class QueryCache {
     /**
      *
      */
-    private Map<String, Query> _statementCache;
+    private final Map<String, Query> _statementCache;
+    private final boolean _normalizeStatements;
+    private final LongCounter _hits = new LongCounter();
+    private final LongCounter _misses = new LongCounter();
 
     /**
      *
@@ -42,7 +48,11 @@ public class QueryCache {
     public QueryCache() {
         String val = System.getProperty(SystemProperties.ENABLE_BOUNDED_QUERY_CACHE);
         boolean isCacheBounded = new Boolean(val != null ? val : SystemProperties.ENABLE_BOUNDED_QUERY_CACHE_DEFAULT);
-        _statementCache = isCacheBounded ? new ConcurrentBoundedCache<String, Query>() : new ConcurrentSoftCache<String, Query>();
+        _statementCache = isCacheBounded
+                ? new ConcurrentLruCache<String, Query>(Long.getLong(SystemProperties.BOUNDED_QUERY_CACHE_SIZE, SystemProperties.BOUNDED_QUERY_CACHE_SIZE_DEFAULT))
+                : new ConcurrentSoftCache<String, Query>();
+        _normalizeStatements = Boolean.parseBoolean(System.getProperty(SystemProperties.QUERY_CACHE_NORMALIZE_STATEMENTS,
+                SystemProperties.QUERY_CACHE_NORMALIZE_STATEMENTS_DEFAULT));
     }
 
     public void addQueryToCache(String statement, Query query) {
@@ -52,9 +62,34 @@ public class QueryCache {
     // return the query from the cache, it may be null though, so the caller
     // method should check
     public Query getQueryFromCache(String statement) {
-        return _statementCache.get(statement);
+        Query query = _statementCache.get(statement);
+        if (query != null)
+            _hits.inc();
+        else
+            _misses.inc();
+        return query;
     }
 
+    /**
+     * @return the statement with its literals replaced by parameters, or null if the statement
+     * should be cached as is
+     * @see StatementNormalizer
+     */
+    public NormalizedStatement normalize(String statement) {
+        return _normalizeStatements ? StatementNormalizer.normalize(statement) : null;
+    }
+
+    public long getHits() {
+        return _hits.getCount();
+    }
+
+    public long getMisses() {
+        return _misses.getCount();
+    }
+
+    public int size() {
+        return _statementCache.size();
+    }
 
     /**
      *
@@ -65,4 +100,4 @@ public class QueryCache {
     }
 
 
-}
\ No newline at end of file
+}
@@ -23,6 +23,7 @@ import com.gigaspaces.internal.exceptions.BatchQueryException;
 import com.gigaspaces.logger.Constants;
 import com.gigaspaces.security.service.SecurityInterceptor;
 import com.j_spaces.core.IJSpace;
+import com.j_spaces.jdbc.StatementNormalizer.NormalizedStatement;
 import com.j_spaces.jdbc.driver.GConnection;
 import com.j_spaces.jdbc.parser.grammar.SqlParser;
 import com.j_spaces.jdbc.request.SetAutoCommitRequest;
@@ -162,8 +163,13 @@ public class QueryHandler {
      * cache.
      */
     public Query handleStatement(RequestPacket request, ISpaceProxy space) throws SQLException {
+        // statements that differ only by their literals share the same cached query, the values
+        // of prepared statements are set by the client so these are cached as is
+        NormalizedStatement normalized = request.getType() == RequestPacket.Type.STATEMENT
+                ? _queryCache.normalize(request.getStatement()) : null;
+        String statement = normalized != null ? normalized.getStatement() : request.getStatement();
         // first, try to get it from the cache.
-        Query query = _queryCache.getQueryFromCache(request.getStatement());
+        Query query = _queryCache.getQueryFromCache(statement);
         try {
             if (query == null) {
                 if (_logger.isLoggable(Level.FINE)) {
@@ -171,23 +177,21 @@ public class QueryHandler {
                 }
 
                 // query was not in the cache to build a parser to parse it.
-                StringReader sReader = new StringReader(request.getStatement());
-                Reader reader = new BufferedReader(sReader);
-                SqlParser parser = new SqlParser(reader);
-                query = parser.parseStatement();
-                query.validateQuery(space);
+                query = parseStatement(statement, space);
 
-                if (!query.isPrepared() && !query.containsSubQueries())
-                    query.build();
-
-                _queryCache.addQueryToCache(request.getStatement(), query);
+                _queryCache.addQueryToCache(statement, query);
 
+                // the literals are bound to a copy, the cached query is shared
+                if (normalized != null)
+                    query = ((AbstractDMLQuery) query).clone();
             }
             // Clone the query  to avoid concurrency issues
             else if (query instanceof AbstractDMLQuery) {
                 query = (Query) ((AbstractDMLQuery) query).clone();
             }
 
+            if (normalized != null)
+                ((AbstractDMLQuery) query).setLiteralValues(normalized.getValues());
             return query;
         } catch (SQLException sqlEx) {
             if (_logger.isLoggable(Level.FINE)) {
@@ -208,6 +212,18 @@ public class QueryHandler {
         }
     }
 
+    private Query parseStatement(String statement, ISpaceProxy space) throws Exception {
+        StringReader sReader = new StringReader(statement);
+        Reader reader = new BufferedReader(sReader);
+        SqlParser parser = new SqlParser(reader);
+        Query query = parser.parseStatement();
+        query.validateQuery(space);
+
+        if (!query.isPrepared() && !query.containsSubQueries())
+            query.build();
+        return query;
+    }
+
     /**
      * Create new transaction using the local transaction manager
      *
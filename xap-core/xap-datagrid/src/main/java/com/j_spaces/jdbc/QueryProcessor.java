@@ -19,6 +19,8 @@ package com.j_spaces.jdbc;
 import com.gigaspaces.internal.client.spaceproxy.IDirectSpaceProxy;
 import com.gigaspaces.internal.server.space.IRemoteSpace;
 import com.gigaspaces.logger.Constants;
+import com.gigaspaces.metrics.Gauge;
+import com.gigaspaces.metrics.MetricRegistrator;
 import com.gigaspaces.security.AccessDeniedException;
 import com.gigaspaces.security.service.SecurityInterceptor;
 import com.j_spaces.core.IJSpace;
@@ -189,6 +191,31 @@ public class QueryProcessor implements IQueryProcessor {
         return _stub;
     }
 
+    /**
+     * Registers the metrics of the query cache, the metrics follow the cache across {@link
+     * #clean()}
+     */
+    public void registerMetrics(MetricRegistrator registrator) {
+        registrator.register("hits", new Gauge<Long>() {
+            @Override
+            public Long getValue() throws Exception {
+                return _queryHandler.getQueryCache().getHits();
+            }
+        });
+        registrator.register("misses", new Gauge<Long>() {
+            @Override
+            public Long getValue() throws Exception {
+                return _queryHandler.getQueryCache().getMisses();
+            }
+        });
+        registrator.register("size", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() throws Exception {
+                return _queryHandler.getQueryCache().size();
+            }
+        });
+    }
+
     public static synchronized void setDefaultConfig(QueryProcessorConfiguration defaultConfig) {
         if (QueryProcessor.defaultConfig == null)
             QueryProcessor.defaultConfig = defaultConfig;
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc;
+
+import com.j_spaces.jdbc.parser.PreparedNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Replaces the literals of the conditions of a statement with parameters, so statements that
+ * differ only by their literal values share the same parsed query in the {@link QueryCache}.
+ * Only string and numeric literals compared to a column by a comparison or like operator are
+ * replaced - these are the places the parser accepts a parameter instead of a literal. Statements
+ * which already have parameters, contain sub queries or are not plain select/delete statements
+ * are not normalized.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class StatementNormalizer {
+    // keywords of statements that can't be normalized
+    private static final Set<String> UNSUPPORTED_KEYWORDS = new HashSet<String>(Arrays.asList(
+            "insert", "update", "set", "values", "create", "drop", "alter", "call", "commit", "rollback",
+            "rownum", "uid"));
+    private static final Set<String> OPERATORS = new HashSet<String>(Arrays.asList(
+            "=", "<", "<=", ">", ">=", "<>", "!=", "like", "rlike"));
+
+    private StatementNormalizer() {
+    }
+
+    /**
+     * @return the normalized statement, or null if the statement can't be normalized or has no
+     * literals to replace
+     */
+    public static NormalizedStatement normalize(String statement) {
+        final int length = statement.length();
+        StringBuilder normalized = new StringBuilder(length);
+        List<Object> values = new ArrayList<Object>();
+        boolean afterOperator = false;
+        boolean firstWord = true;
+
+        int i = 0;
+        while (i < length) {
+            char c = statement.charAt(i);
+            if (Character.isWhitespace(c)) {
+                // collapse white spaces so formatting differences share the same key as well
+                while (i < length && Character.isWhitespace(statement.charAt(i)))
+                    i++;
+                if (normalized.length() != 0 && i < length)
+                    normalized.append(' ');
+                continue;
+            }
+
+            if (c == '?' || c == '"')
+                return null;
+
+            if (c == '\'') {
+                int end = findStringEnd(statement, i);
+                if (end == -1)
+                    return null;
+                if (afterOperator) {
+                    values.add(new PreparedNode.LiteralValue(statement.substring(i + 1, end)));
+                    normalized.append('?');
+                } else {
+                    normalized.append(statement, i, end + 1);
+                }
+                i = end + 1;
+                afterOperator = false;
+                continue;
+            }
+
+            if (afterOperator && (isDigit(c) || c == '.' || c == '-')) {
+                boolean negative = false;
+                if (c == '-') {
+                    negative = true;
+                    i++;
+                    while (i < length && Character.isWhitespace(statement.charAt(i)))
+                        i++;
+                }
+                int end = findNumberEnd(statement, i);
+                if (end == -1)
+                    return null;
+                String number = statement.substring(i, end);
+                // the parser drops the suffix of long literals
+                if (number.endsWith("L"))
+                    number = number.substring(0, number.length() - 1);
+                values.add(new PreparedNode.LiteralValue(negative ? "-" + number : number));
+                normalized.append('?');
+                i = end;
+                afterOperator = false;
+                continue;
+            }
+
+            if (isWordPart(c)) {
+                int start = i;
+                while (i < length && isWordPart(statement.charAt(i)))
+                    i++;
+                String word = statement.substring(start, i).toLowerCase();
+                if (UNSUPPORTED_KEYWORDS.contains(word))
+                    return null;
+                // a select which is not the statement itself is a sub query
+                if (word.equals("select") && !firstWord)
+                    return null;
+                normalized.append(statement, start, i);
+                afterOperator = OPERATORS.contains(word);
+                firstWord = false;
+                continue;
+            }
+
+            if (isOperatorPart(c)) {
+                int start = i;
+                while (i < length && isOperatorPart(statement.charAt(i)))
+                    i++;
+                normalized.append(statement, start, i);
+                afterOperator = OPERATORS.contains(statement.substring(start, i));
+                firstWord = false;
+                continue;
+            }
+
+            normalized.append(c);
+            afterOperator = false;
+            firstWord = false;
+            i++;
+        }
+
+        if (values.isEmpty())
+            return null;
+        return new NormalizedStatement(normalized.toString(), values.toArray());
+    }
+
+    /**
+     * @return the index of the quote that closes the string literal which starts at the given
+     * index, or -1 if the literal is not closed
+     */
+    private static int findStringEnd(String statement, int start) {
+        for (int i = start + 1; i < statement.length(); i++) {
+            if (statement.charAt(i) != '\'')
+                continue;
+            // two quotes are an escaped quote
+            if (i + 1 < statement.length() && statement.charAt(i + 1) == '\'')
+                i++;
+            else
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index following the numeric literal which starts at the given index, or -1 if
+     * it is not a numeric literal the parser accepts
+     */
+    private static int findNumberEnd(String statement, int start) {
+        final int length = statement.length();
+        int i = skipDigits(statement, start);
+        boolean integer = true;
+        if (i < length && statement.charAt(i) == '.') {
+            int fractionStart = i + 1;
+            i = skipDigits(statement, fractionStart);
+            if (i == fractionStart)
+                return -1;
+            integer = false;
+        } else if (i == start) {
+            return -1;
+        }
+        if (i < length && (statement.charAt(i) == 'e' || statement.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (statement.charAt(i) == '+' || statement.charAt(i) == '-'))
+                i++;
+            int exponentStart = i;
+            i = skipDigits(statement, exponentStart);
+            if (i == exponentStart)
+                return -1;
+            integer = false;
+        }
+        if (integer && i < length && statement.charAt(i) == 'L')
+            i++;
+        // the literal must not be followed by an identifier
+        if (i < length && (isWordPart(statement.charAt(i)) || statement.charAt(i) == '.'))
+            return -1;
+        return i;
+    }
+
+    private static int skipDigits(String statement, int i) {
+        while (i < statement.length() && isDigit(statement.charAt(i)))
+            i++;
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+
+    private static boolean isOperatorPart(char c) {
+        return c == '=' || c == '<' || c == '>' || c == '!';
+    }
+
+    /**
+     * A statement whose literals were replaced with parameters, and the replaced literals
+     */
+    public static class NormalizedStatement {
+        private final String _statement;
+        private final Object[] _values;
+
+        NormalizedStatement(String statement, Object[] values) {
+            _statement = statement;
+            _values = values;
+        }
+
+        public String getStatement() {
+            return _statement;
+        }
+
+        /**
+         * @return the literals, in the order of the parameters that replaced them
+         */
+        public Object[] getValues() {
+            return _values;
+        }
+
+        @Override
+        public String toString() {
+            return _statement + ", values=" + Arrays.toString(_values);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.gigaspaces.internal.query.ICustomQuery;
 import com.gigaspaces.internal.query.IQueryIndexScanner;
 import com.gigaspaces.internal.query.NullValueIndexScanner;
 import com.gigaspaces.internal.query.RangeCompoundIndexScanner;
+import com.gigaspaces.internal.server.space.SpaceUidFactory;
 import com.gigaspaces.query.explainplan.ExplainPlan;
 import com.gigaspaces.internal.transport.AbstractProjectionTemplate;
 import com.gigaspaces.internal.transport.IEntryPacket;
@@ -51,6 +52,7 @@ import com.j_spaces.jdbc.SQLUtil;
 import com.j_spaces.jdbc.builder.range.ContainsItemIntersectionBase;
 import com.j_spaces.jdbc.builder.range.ContainsItemValueRange;
 import com.j_spaces.jdbc.builder.range.EmptyRange;
+import com.j_spaces.jdbc.builder.range.InRange;
 import com.j_spaces.jdbc.builder.range.Range;
 import com.j_spaces.jdbc.builder.range.RelationRange;
 import com.j_spaces.jdbc.query.ArrayListResult;
@@ -66,6 +68,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -709,6 +712,40 @@ public class QueryTemplatePacket extends ExternalTemplatePacket {
         return (_routing != null) ? _routing : super.getRoutingFieldValue();
     }
 
+    /**
+     * @return the routing values an entry matching this template can have, when the routing
+     * property is constrained to a list of values, or null if it is not constrained. Used to
+     * execute the query only on the partitions of these values instead of all partitions.
+     */
+    public Collection<Object> getRoutingValues() {
+        Object routing = getRoutingFieldValue();
+        if (routing != null)
+            return Collections.singletonList(routing);
+        String routingPropertyName = _typeDesc != null ? _typeDesc.getRoutingPropertyName() : null;
+        Range routingRange = routingPropertyName != null && _ranges != null ? _ranges.get(routingPropertyName) : null;
+        if (routingRange instanceof InRange && routingRange.getFunctionCallDescription() == null) {
+            Set inValues = ((InRange) routingRange).getInValues();
+            if (!inValues.isEmpty() && !inValues.contains(null))
+                return _typeDesc.isAutoGenerateRouting() ? getPartitionIds(inValues) : new ArrayList<Object>(inValues);
+        }
+        return null;
+    }
+
+    /**
+     * An auto generated routing is the partition id encoded in the uid, so the uids are routed by
+     * the partition ids they encode, the same way an entry with such a uid is routed.
+     */
+    private static Collection<Object> getPartitionIds(Set uids) {
+        List<Object> partitionIds = new ArrayList<Object>(uids.size());
+        for (Object uid : uids) {
+            Integer partitionId = uid instanceof String ? SpaceUidFactory.extractPartitionId((String) uid) : null;
+            if (partitionId == null)
+                return null;
+            partitionIds.add(partitionId);
+        }
+        return partitionIds;
+    }
+
     /**
      * Sets the routing value for the template.
      */
@@ -27,8 +27,12 @@ import com.gigaspaces.internal.transport.IEntryPacket;
 import com.j_spaces.jdbc.JoinedEntry;
 import com.j_spaces.jdbc.query.QueryTableData;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -232,6 +236,27 @@ public class UnionTemplatePacket extends QueryTemplatePacket {
         _preparedForSpace = true;
     }
 
+    /**
+     * @return the routing values of all the sub packets, or null if any of them does not constrain
+     * the routing property.
+     */
+    @Override
+    public Collection<Object> getRoutingValues() {
+        Object routing = getRoutingFieldValue();
+        if (routing != null)
+            return Collections.singletonList(routing);
+        if (_packets == null || _packets.isEmpty())
+            return null;
+        Set<Object> routingValues = new LinkedHashSet<Object>();
+        for (QueryTemplatePacket packet : _packets) {
+            Collection<Object> packetRoutingValues = packet.getRoutingValues();
+            if (packetRoutingValues == null)
+                return null;
+            routingValues.addAll(packetRoutingValues);
+        }
+        return routingValues;
+    }
+
     private void addRouting(QueryTemplatePacket packet) {
         Object routing = packet.getRoutingFieldValue();
         if (routing != null)
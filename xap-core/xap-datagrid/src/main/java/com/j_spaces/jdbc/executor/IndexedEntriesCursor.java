@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc.executor;
+
+import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
+import com.gigaspaces.internal.transport.IEntryPacket;
+import com.j_spaces.jdbc.AbstractDMLQuery;
+import com.j_spaces.jdbc.builder.QueryTemplatePacket;
+import com.j_spaces.jdbc.builder.range.EqualValueRange;
+import com.j_spaces.jdbc.parser.ColumnNode;
+import com.j_spaces.jdbc.parser.ExpNode;
+import com.j_spaces.jdbc.query.IQueryResultSet;
+import com.j_spaces.jdbc.query.QueryTableData;
+
+import net.jini.core.transaction.Transaction;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+
+/**
+ * Index nested loop join cursor - instead of reading all the entries of the table, the entries
+ * matching the current entry of the joined table are read from the space by the join column, so
+ * the space resolves them using its index on that column. The entries read for each join value
+ * are kept, so a value repeating in the joined table is read only once. Used for equi-joins.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class IndexedEntriesCursor
+        implements EntriesCursor {
+    private final Map<Object, IQueryResultSet<IEntryPacket>> _lookups = new HashMap<Object, IQueryResultSet<IEntryPacket>>();
+
+    private final QueryTableData _table;
+    private final QueryTableData _joinTable;
+    private final ColumnNode _joinCol;
+    private final String _indexPath;
+
+    private final ISpaceProxy _space;
+    private final Transaction _txn;
+    private final AbstractDMLQuery _query;
+
+    private Iterator<IEntryPacket> _cursor;
+    private IEntryPacket _currentEntry;
+
+    public IndexedEntriesCursor(QueryTableData table, ExpNode indexNode, ISpaceProxy space, Transaction txn,
+                                AbstractDMLQuery query) {
+        _table = table;
+        _joinCol = (ColumnNode) indexNode.getLeftChild();
+        _joinTable = _joinCol.getColumnData().getColumnTableData();
+        _indexPath = ((ColumnNode) indexNode.getRightChild()).getColumnPath();
+        _space = space;
+        _txn = txn;
+        _query = query;
+    }
+
+    public boolean next() {
+        //check if cursor needs to be initialized
+        if (_cursor == null) {
+            Object joinValue = _joinCol.getFieldValue(_joinTable.getCurrentEntry());
+            // null never satisfies the join condition
+            if (joinValue == null)
+                return false;
+
+            IQueryResultSet<IEntryPacket> match = _lookups.get(joinValue);
+            if (match == null) {
+                match = lookup(joinValue);
+                _lookups.put(joinValue, match);
+            }
+            _cursor = match.iterator();
+        }
+
+        if (_cursor.hasNext()) {
+            _currentEntry = _cursor.next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private IQueryResultSet<IEntryPacket> lookup(Object joinValue) {
+        QueryTemplatePacket template = new QueryTemplatePacket(_table, _query.getQueryResultType(),
+                _indexPath, new EqualValueRange(_indexPath, joinValue));
+        if (_table.getTableCondition() != null)
+            template = template.and(_table.getTableCondition().getTemplate());
+        template.prepareForSpace(_table.getTypeDesc());
+        try {
+            return template.readMultiple(_space, _txn, Integer.MAX_VALUE, _query.getReadModifier());
+        } catch (Exception e) {
+            throw new LookupFailedException(e);
+        }
+    }
+
+    public IEntryPacket getCurrentEntry() {
+        return _currentEntry;
+    }
+
+    public void reset() {
+        _cursor = null;
+    }
+
+    public boolean isBeforeFirst() {
+        return _cursor == null;
+    }
+
+    /**
+     * Thrown when reading the entries matching a join value failed, the cursor interface does not
+     * allow checked exceptions.
+     */
+    public static class LookupFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public LookupFailedException(Exception cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
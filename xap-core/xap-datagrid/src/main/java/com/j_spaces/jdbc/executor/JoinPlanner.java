@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc.executor;
+
+import com.gigaspaces.internal.client.spaceproxy.ISpaceProxy;
+import com.gigaspaces.internal.transport.IEntryPacket;
+import com.j_spaces.jdbc.AbstractDMLQuery;
+import com.j_spaces.jdbc.builder.QueryTemplatePacket;
+import com.j_spaces.jdbc.builder.UnionTemplatePacket;
+import com.j_spaces.jdbc.parser.ColumnNode;
+import com.j_spaces.jdbc.parser.EqualNode;
+import com.j_spaces.jdbc.parser.ExpNode;
+import com.j_spaces.jdbc.query.IQueryResultSet;
+import com.j_spaces.jdbc.query.QueryTableData;
+
+import net.jini.core.transaction.Transaction;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Chooses how the entries of each table of a join query are iterated. The tables are initialized
+ * in join order, so when a table is reached the number of entries of the table it is joined to is
+ * already known. An equi-joined table is either read entirely and hashed by its join column (hash
+ * join), or - when the space indexes its join column and the expected number of lookups is small
+ * compared to the number of entries in the table - its matching entries are read from the space
+ * per join value (index nested loop join). Tables which are not equi-joined are read entirely and
+ * scanned.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class JoinPlanner {
+    // the cost of a single index lookup, in terms of the number of entries read by a full read
+    static final int INDEX_LOOKUP_COST = 20;
+
+    private final ISpaceProxy _space;
+    private final Transaction _txn;
+    private final AbstractDMLQuery _query;
+
+    public JoinPlanner(ISpaceProxy space, Transaction txn, AbstractDMLQuery query) {
+        _space = space;
+        _txn = txn;
+        _query = query;
+    }
+
+    /**
+     * Initializes the entries cursor of each of the given tables
+     */
+    public void init(List<QueryTableData> tablesData) throws Exception {
+        // estimated number of entries of each table which was already initialized
+        Map<QueryTableData, Integer> sizes = new HashMap<QueryTableData, Integer>();
+        for (QueryTableData tableData : getJoinOrder(tablesData))
+            sizes.put(tableData, init(tableData, sizes));
+    }
+
+    /**
+     * @return the estimated number of entries of the table that take part in the join
+     */
+    private int init(QueryTableData tableData, Map<QueryTableData, Integer> sizes) throws Exception {
+        ExpNode joinCondition = tableData.getJoinCondition();
+        if (supportsIndexLookup(tableData, joinCondition)) {
+            QueryTableData joinTable = ((ColumnNode) joinCondition.getLeftChild()).getColumnData().getColumnTableData();
+            Integer lookups = sizes.get(joinTable);
+            if (lookups != null) {
+                int tableSize = count(tableData);
+                if (useIndexLookup(lookups, tableSize)) {
+                    tableData.setEntriesCursor(new IndexedEntriesCursor(tableData, joinCondition, _space, _txn, _query));
+                    return Math.min(lookups, tableSize);
+                }
+            }
+        }
+
+        IQueryResultSet<IEntryPacket> entries = tableData.readEntries(_space, _txn, _query);
+        tableData.init(entries);
+        return entries.size();
+    }
+
+    static boolean useIndexLookup(int lookups, int tableSize) {
+        return (long) lookups * INDEX_LOOKUP_COST < tableSize;
+    }
+
+    private int count(QueryTableData tableData) throws Exception {
+        QueryTemplatePacket template = tableData.getTemplate(_query.getQueryResultType());
+        if (template.isAlwaysEmpty())
+            return 0;
+        return _space.count(template, _txn, _query.getReadModifier());
+    }
+
+    /**
+     * An index lookup is possible for an equality between plain columns, when the space indexes
+     * the column of this table
+     */
+    private static boolean supportsIndexLookup(QueryTableData tableData, ExpNode joinCondition) {
+        if (joinCondition == null || joinCondition.getClass() != EqualNode.class)
+            return false;
+        ColumnNode joinCol = (ColumnNode) joinCondition.getLeftChild();
+        ColumnNode indexCol = (ColumnNode) joinCondition.getRightChild();
+        if (joinCol.getFunctionCallDescription() != null || indexCol.getFunctionCallDescription() != null)
+            return false;
+        if (!tableData.equals(indexCol.getColumnData().getColumnTableData()))
+            return false;
+        if (!tableData.getTypeDesc().getIndexType(indexCol.getColumnPath()).isIndexed())
+            return false;
+        // union conditions can't be merged with the join value without modifying them
+        ExpNode tableCondition = tableData.getTableCondition();
+        return tableCondition == null || !(tableCondition.getTemplate() instanceof UnionTemplatePacket);
+    }
+
+    /**
+     * @return the tables ordered so each table comes after the table it is joined to
+     */
+    static Set<QueryTableData> getJoinOrder(List<QueryTableData> tablesData) {
+        Set<QueryTableData> order = new LinkedHashSet<QueryTableData>();
+        for (QueryTableData tableData : tablesData) {
+            //check for sequence beginning
+            if (tableData.isJoined())
+                continue;
+            for (QueryTableData curr = tableData; curr != null && order.add(curr); )
+                curr = curr.getJoinTable();
+        }
+        // should not happen - but make sure all the tables are initialized
+        order.addAll(tablesData);
+        return order;
+    }
+}
@@ -52,7 +52,8 @@ import java.util.logging.Level;
 
 /**
  * Executes a join query. Create a cartesian product of all the tables , keep only the products that
- * satisfy the where condition
+ * satisfy the where condition. Equi-joined tables are not iterated entirely for each product, their
+ * matching entries are found either by hash or by index lookup - see {@link JoinPlanner}.
  *
  * @author anna
  * @since 7.0
@@ -449,10 +450,8 @@ public class JoinedQueryExecutor
             _tablesData = tablesData;
 
             try {
-                for (QueryTableData tableData : query.getTablesData()) {
-                    // first all entries for each table in the query
-                    tableData.init(space, txn, query);
-                }
+                // first all entries for each table in the query
+                new JoinPlanner(space, txn, query).init(query.getTablesData());
             } catch (Exception e) {
                 if (_logger.isLoggable(Level.SEVERE)) {
                     _logger.log(Level.SEVERE, e.getMessage(), e);
@@ -480,9 +479,17 @@ public class JoinedQueryExecutor
         /**
          * @return advanced iterator of the joined product
          */
-        boolean next() {
-            return _tableData.next();
-
+        boolean next() throws SQLException {
+            try {
+                return _tableData.next();
+            } catch (IndexedEntriesCursor.LookupFailedException e) {
+                if (_logger.isLoggable(Level.SEVERE)) {
+                    _logger.log(Level.SEVERE, e.getMessage(), e.getCause());
+                }
+                throw new SQLException("Failed to read objects: " + e.getMessage(),
+                        "GSP",
+                        -111);
+            }
         }
 
         /**
@@ -32,6 +32,8 @@ import java.util.TreeMap;
 public class PreparedNode extends LiteralNode {
 
     final private int index;
+    // the value replaced a literal of the statement, so it is converted the way a literal is
+    private boolean literalValue;
 
     public PreparedNode(Object value) {
         this(value, -1);
@@ -47,7 +49,7 @@ public class PreparedNode extends LiteralNode {
     }
 
     public boolean isPreparedValue() {
-        return true;
+        return !literalValue;
     }
 
     @Override
@@ -59,7 +61,13 @@ public class PreparedNode extends LiteralNode {
             throw new SQLException("Prepared value missing!", "GSP", -110);
         }
 
-        this.value = values[index - 1];
+        Object preparedValue = values[index - 1];
+        if (preparedValue instanceof LiteralValue) {
+            this.value = ((LiteralValue) preparedValue).getValue();
+            this.literalValue = true;
+        } else {
+            this.value = preparedValue;
+        }
     }
 
 
@@ -74,12 +82,34 @@ public class PreparedNode extends LiteralNode {
 
     @Override
     public Object getConvertedObject(ITypeDesc typeDesc, String propertyName) throws SQLException {
-        return SQLUtil.cast(typeDesc, propertyName, value, true);
+        return SQLUtil.cast(typeDesc, propertyName, value, isPreparedValue());
     }
 
     //override the clone method in ValueNode. we need the index only.
     public Object clone() {
         return new PreparedNode(null, this.index);
     }
-}
 
+    /**
+     * A prepared value that replaced a literal of the statement when the statement was normalized.
+     *
+     * @see com.j_spaces.jdbc.StatementNormalizer
+     * @since 12.3
+     */
+    public static class LiteralValue {
+        private final Object _value;
+
+        public LiteralValue(Object value) {
+            _value = value;
+        }
+
+        public Object getValue() {
+            return _value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(_value);
+        }
+    }
+}
@@ -300,9 +300,22 @@ public class QueryTableData {
     public void init(ISpaceProxy space, Transaction txn, AbstractDMLQuery query)
             throws Exception {
 
-        IQueryResultSet<IEntryPacket> tableEntries = getTemplate(query.getQueryResultType()).readMultiple(
+        init(readEntries(space, txn, query));
+    }
+
+    /**
+     * Read all the entries from space that match this table condition
+     */
+    public IQueryResultSet<IEntryPacket> readEntries(ISpaceProxy space, Transaction txn, AbstractDMLQuery query)
+            throws Exception {
+        return getTemplate(query.getQueryResultType()).readMultiple(
                 space, txn, Integer.MAX_VALUE, query.getReadModifier());
+    }
 
+    /**
+     * Iterate the given entries, indexed by the join condition if possible
+     */
+    public void init(IQueryResultSet<IEntryPacket> tableEntries) {
         if (_joinCondition != null)
             setEntriesCursor(_joinCondition.createIndex(this, tableEntries));
         else
@@ -310,6 +310,15 @@ public class SystemProperties extends CommonSystemProperties {
 
     public final static String LRMI_NETWORK_FILTER_FACTORY_ADDRESS_MATCHERS_FILE = "com.gs.lrmi.filter.address-matchers-file";
 
+    /**
+     * Messages smaller than this number of bytes are sent uncompressed by the {@link
+     * com.gigaspaces.lrmi.nio.filters.IOStreamLZ4CompressionFilterFactory} filters.
+     *
+     * @since 12.3
+     */
+    public final static String LRMI_LZ4_COMPRESSION_THRESHOLD = "com.gs.lrmi.filter.lz4-compression.threshold";
+    public final static int LRMI_LZ4_COMPRESSION_THRESHOLD_DEFAULT = 512;
+
     /**
      * Retry to connect, this is a property is use for workaround for a bug in the JVM see (IBM JVM
      * bugid:IZ19325)
@@ -318,6 +327,40 @@ public class SystemProperties extends CommonSystemProperties {
 
     public final static String LRMI_RESOURCE_WARN_THRESHOLD_FACTOR = "com.gs.lrmi.resources.warn-threshold-factor";
 
+    /**
+     * When enabled, the max threads of the LRMI connection pool is resized at runtime toward a
+     * target queue wait time, between the configured max threads and a ceiling. @see
+     * #LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET
+     *
+     * @since 12.3
+     */
+    public final static String LRMI_ADAPTIVE_THREAD_POOL = "com.gs.transport_protocol.lrmi.threadpool.adaptive";
+    /**
+     * The time in milliseconds tasks of an adaptive LRMI connection pool may wait before the pool
+     * is grown. @see #LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET_DEFAULT
+     */
+    public final static String LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET = "com.gs.transport_protocol.lrmi.threadpool.adaptive.queue-wait-target";
+    public final static long LRMI_ADAPTIVE_THREAD_POOL_QUEUE_WAIT_TARGET_DEFAULT = 5;
+    /**
+     * The max threads an adaptive LRMI connection pool may grow to, by default 4 times the
+     * configured max threads.
+     */
+    public final static String LRMI_ADAPTIVE_THREAD_POOL_MAX_THREADS_CEILING = "com.gs.transport_protocol.lrmi.threadpool.adaptive.max-threads-ceiling";
+    /**
+     * The interval in milliseconds on which an adaptive LRMI connection pool is resized. @see
+     * #LRMI_ADAPTIVE_THREAD_POOL_INTERVAL_DEFAULT
+     */
+    public final static String LRMI_ADAPTIVE_THREAD_POOL_INTERVAL = "com.gs.transport_protocol.lrmi.threadpool.adaptive.interval";
+    public final static long LRMI_ADAPTIVE_THREAD_POOL_INTERVAL_DEFAULT = 1000;
+
+    /**
+     * When enabled, LRMI invocations of the regular and custom priorities are executed on virtual
+     * threads instead of the LRMI connection and custom pools, if the JVM supports them.
+     *
+     * @since 12.3
+     */
+    public final static String LRMI_VIRTUAL_THREADS = "com.gs.transport_protocol.lrmi.virtual-threads";
+
     /**
      * XAP-13299 -- allow adjustment of the tmp selector pool size.
      */
@@ -331,8 +374,25 @@ public class SystemProperties extends CommonSystemProperties {
      */
     public final static String LRMI_PROTOCOL_VALIDATION_DISABLED = "com.gs.transport_protocol.lrmi.protocol-validation-disabled";
 
+    /**
+     * When enabled the server queues the replies of each connection on a lock-free queue and
+     * flushes the pending replies together using a single gathering write, instead of writing
+     * each reply under the writer lock. Blocking writes on such a connection are queued as well
+     * and wait until they are flushed. Defaults to false.
+     */
+    public final static String LRMI_BATCHING_WRITER = "com.gs.transport_protocol.lrmi.batching-writer";
+
     public final static String SERIALIZE_USING_EXTERNALIZABLE = "com.gs.transport_protocol.lrmi.serialize-using-externalizable";
 
+    /**
+     * Comma separated names of types (or * for all types) whose space entries keep the serialized
+     * form of their properties, per entry version, once they are sent to a remote proxy. Further
+     * replies of the same version copy the cached bytes instead of serializing the properties again.
+     * Meant for read mostly types, since the cached form is held in memory until the entry is
+     * updated. Defaults to none.
+     */
+    public final static String SERIALIZED_ENTRY_CACHE_TYPES = "com.gs.serialized-entry-cache.types";
+
     /**
      * Set the maximum used buffer size that may be cached for storage type serialization
      */
@@ -382,6 +442,17 @@ public class SystemProperties extends CommonSystemProperties {
      */
     public final static int STORAGE_TYPE_SERIALIZATION_MAX_POOL_RESOURCE_COUNT_SIZE_DEFAULT = 100;
 
+    /**
+     * The codec used to serialize properties of the {@link com.gigaspaces.metadata.StorageType#COMPRESSED}
+     * storage type, <code>zip</code> or <code>lz4</code>. Values serialized by either codec can be
+     * deserialized regardless of this property, but all the clients of a space should use the same
+     * codec since compressed values are matched by their bytes. @see #STORAGE_TYPE_COMPRESSION_CODEC_DEFAULT
+     *
+     * @since 12.3
+     */
+    public final static String STORAGE_TYPE_COMPRESSION_CODEC = "com.gs.client.storage-type-serialization.compression-codec";
+    public final static String STORAGE_TYPE_COMPRESSION_CODEC_DEFAULT = "zip";
+
     //    -Dcom.gigaspaces.lrmi.nio.filters.SSLFilterFactory
     //    -Dcom.gs.lrmi.filter.security.keystore=keystore.ks
     //    -Dcom.gs.lrmi.filter.security.password=password
@@ -684,6 +755,17 @@ public class SystemProperties extends CommonSystemProperties {
      */
     public final static long BOUNDED_QUERY_CACHE_SIZE_DEFAULT = 1000L;
 
+    /**
+     * Indication for if statements that differ only by their literals share the same cached query
+     */
+    public final static String QUERY_CACHE_NORMALIZE_STATEMENTS = "com.gs.queryCache.normalize.enable";
+
+    /**
+     * The default indication for if statements that differ only by their literals share the same
+     * cached query
+     */
+    public final static String QUERY_CACHE_NORMALIZE_STATEMENTS_DEFAULT = "false";
+
     /**
      * disable quiesce mode- false means quiesce command will be rejected
      */
@@ -724,6 +806,43 @@ public class SystemProperties extends CommonSystemProperties {
     public static final String REPLICATION_USE_BACKUP_BLOBSTORE_BULKS = "com.gs.replication.blobstore.use_backup_bulks";
     public static final String REPLICATION_USE_BACKUP_BLOBSTORE_BULKS_DEFAULT = "true";
 
+    /**
+     * Adapt the batch size and interval operations of async replication channels to the observed
+     * round trip time and backlog size.
+     */
+    public static final String REPLICATION_ADAPTIVE_BATCHING = "com.gs.replication.adaptive_batching.enabled";
+    public static final String REPLICATION_ADAPTIVE_BATCHING_DEFAULT = "false";
+
+    public static final String REPLICATION_ADAPTIVE_BATCHING_MAX_BATCH_SIZE = "com.gs.replication.adaptive_batching.max_batch_size";
+    public static final int REPLICATION_ADAPTIVE_BATCHING_MAX_BATCH_SIZE_DEFAULT = 20000;
+
+    public static final String REPLICATION_ADAPTIVE_BATCHING_TARGET_ROUND_TRIP = "com.gs.replication.adaptive_batching.target_round_trip_millis";
+    public static final long REPLICATION_ADAPTIVE_BATCHING_TARGET_ROUND_TRIP_DEFAULT = 100;
+
+    /**
+     * Split the entries copied to a recovering space into segments, by type or by uid, which the
+     * concurrent recovery consumers (recovery-thread-pool-size) fetch in parallel, and let each
+     * consumer prefetch its next batch while it consumes the current one.
+     *
+     * @since 12.3
+     */
+    public static final String REPLICATION_PARALLEL_RECOVERY = "com.gs.replication.parallel_recovery.enabled";
+    public static final String REPLICATION_PARALLEL_RECOVERY_DEFAULT = "false";
+
+    /**
+     * Share the serialized form of backlog packets between the channels of a replication group
+     * with more than one target (e.g. backup, mirror and gateways), so each packet is serialized
+     * once instead of once per target. Serialized packets are kept until every target confirmed
+     * them, up to max_size bytes.
+     *
+     * @since 12.3
+     */
+    public static final String REPLICATION_SERIALIZED_PACKET_CACHE = "com.gs.replication.serialized_packet_cache.enabled";
+    public static final String REPLICATION_SERIALIZED_PACKET_CACHE_DEFAULT = "false";
+
+    public static final String REPLICATION_SERIALIZED_PACKET_CACHE_MAX_SIZE = "com.gs.replication.serialized_packet_cache.max_size";
+    public static final long REPLICATION_SERIALIZED_PACKET_CACHE_MAX_SIZE_DEFAULT = 64 * 1024 * 1024;
+
     public static final String DIRECT_PERSISTENCY_RECOVER_RETRIES = "com.gs.direct_persistency.recover_retries";
     public static final int DIRECT_PERSISTENCY_RECOVER_RETRIES_DEFAULT = 10;
 
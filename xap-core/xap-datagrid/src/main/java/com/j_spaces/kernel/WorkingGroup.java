@@ -28,6 +28,7 @@ package com.j_spaces.kernel;
 import com.gigaspaces.logger.Constants;
 import com.j_spaces.kernel.threadpool.DynamicExecutors;
 import com.j_spaces.kernel.threadpool.DynamicThreadPoolExecutor;
+import com.j_spaces.kernel.threadpool.VirtualThreadExecutor;
 import com.j_spaces.kernel.threadpool.policy.ForceQueuePolicy;
 import com.j_spaces.kernel.threadpool.policy.TimedBlockingPolicy;
 import com.j_spaces.kernel.threadpool.queue.DynamicQueue;
@@ -53,6 +54,7 @@ public class WorkingGroup<E>
     final private IConsumerObject<E> _consumerObject;
     final private String _workingGroupName;
     final private static Logger _logger = Logger.getLogger(Constants.LOGGER_KERNEL);
+    private volatile VirtualThreadExecutor _virtualThreadExecutor;
 
     /**
      * TaskWrapper for the runnable object to be run by a dispatcher. Dispatcher implements the
@@ -144,12 +146,29 @@ public class WorkingGroup<E>
         this.prestartAllCoreThreads();
     }
 
+    /**
+     * Dispatches the tasks of this working group on virtual threads instead of its worker
+     * threads, if the JVM supports them.
+     *
+     * @return true if tasks are dispatched on virtual threads
+     * @since 12.3
+     */
+    public boolean enableVirtualThreads() {
+        if (_virtualThreadExecutor == null)
+            _virtualThreadExecutor = VirtualThreadExecutor.create(_workingGroupName, Thread.currentThread().getContextClassLoader());
+        return _virtualThreadExecutor != null;
+    }
+
     /**
      * wraps the enqueueBlocked method of the threadpool
      */
     public void enqueueBlocked(E o) {
         try {
-            this.execute(new TaskWrapper<E>(o, _consumerObject));
+            final VirtualThreadExecutor virtualThreadExecutor = _virtualThreadExecutor;
+            if (virtualThreadExecutor != null)
+                virtualThreadExecutor.execute(new TaskWrapper<E>(o, _consumerObject));
+            else
+                this.execute(new TaskWrapper<E>(o, _consumerObject));
         } catch (RejectedExecutionException ree) {
             if (_logger.isLoggable(Level.INFO)) {
                 _logger.log(Level.INFO, "Task cannot be accepted for execution.", ree);
@@ -172,6 +191,8 @@ public class WorkingGroup<E>
      */
     @Override
     public void shutdown() {
+        if (_virtualThreadExecutor != null)
+            _virtualThreadExecutor.shutdown();
         if (!this.isShutdown()) {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine(_workingGroupName
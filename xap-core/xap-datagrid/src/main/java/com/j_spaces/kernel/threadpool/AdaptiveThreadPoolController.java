@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.kernel.threadpool;
+
+import com.gigaspaces.logger.Constants;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A feedback controller which resizes the maximum size of a {@link DynamicThreadPoolExecutor}
+ * toward a target queue wait time. <p> The tasks of the pool are measured for the time they
+ * waited before running, and for the wall and CPU time they ran. On each interval the pool is
+ * grown if tasks waited longer than the target, unless its threads already saturate the CPU, in
+ * which case more threads would only add context switches. Threads which spend most of their
+ * time blocked on I/O or locks grow the pool in larger steps than CPU bound ones. Once tasks no
+ * longer wait, the pool is shrunk back to its configured maximum size, which the controller never
+ * goes below.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class AdaptiveThreadPoolController implements Runnable {
+    public enum State {STEADY, GROWING, SHRINKING, CPU_SATURATED, AT_CEILING}
+
+    private static final Logger _logger = Logger.getLogger(Constants.LOGGER_KERNEL);
+    private static final ThreadMXBean _threadMXBean = ManagementFactory.getThreadMXBean();
+    private static final ScheduledExecutorService _scheduler = Executors.newSingleThreadScheduledExecutor(
+            DynamicExecutors.daemonThreadFactory("Adaptive Thread Pool Controller"));
+
+    // the ratio of the pool cpu time to the available cpu time above which the cpu is saturated
+    static final double CPU_SATURATION_RATIO = 0.9;
+    // the ratio of blocked time to the wall time of tasks above which the pool grows faster
+    static final double BLOCKED_RATIO_THRESHOLD = 0.5;
+    // the number of consecutive intervals below the target before the pool is shrunk
+    static final int SHRINK_INTERVALS = 3;
+
+    private final DynamicThreadPoolExecutor _executor;
+    private final String _name;
+    private final long _queueWaitTargetNanos;
+    private final int _baseMaxThreads;
+    private final int _maxThreadsCeiling;
+    private final int _processors;
+    private final boolean _cpuTimeSupported;
+
+    private final AtomicLong _tasks = new AtomicLong();
+    private final AtomicLong _queueWaitNanos = new AtomicLong();
+    private final AtomicLong _wallNanos = new AtomicLong();
+    private final AtomicLong _cpuNanos = new AtomicLong();
+
+    private volatile long _lastQueueWaitNanos;
+    private volatile double _lastBlockedRatio = -1;
+    private volatile double _lastCpuUtilization = -1;
+    private volatile State _state = State.STEADY;
+    private volatile long _resizes;
+    private long _lastRunTime = System.nanoTime();
+    private int _intervalsBelowTarget;
+    private ScheduledFuture<?> _future;
+
+    public AdaptiveThreadPoolController(DynamicThreadPoolExecutor executor, String name,
+                                        long queueWaitTarget, TimeUnit unit, int maxThreadsCeiling) {
+        this(executor, name, queueWaitTarget, unit, maxThreadsCeiling, Runtime.getRuntime().availableProcessors(),
+                _threadMXBean.isCurrentThreadCpuTimeSupported() && _threadMXBean.isThreadCpuTimeEnabled());
+    }
+
+    AdaptiveThreadPoolController(DynamicThreadPoolExecutor executor, String name, long queueWaitTarget, TimeUnit unit,
+                                 int maxThreadsCeiling, int processors, boolean cpuTimeSupported) {
+        if (queueWaitTarget <= 0)
+            throw new IllegalArgumentException("Queue wait target must be positive: " + queueWaitTarget);
+        _executor = executor;
+        _name = name;
+        _queueWaitTargetNanos = unit.toNanos(queueWaitTarget);
+        _baseMaxThreads = executor.getMaximumPoolSize();
+        _maxThreadsCeiling = Math.max(maxThreadsCeiling, _baseMaxThreads);
+        _processors = processors;
+        _cpuTimeSupported = cpuTimeSupported;
+    }
+
+    /**
+     * Starts adjusting the pool on the given interval.
+     */
+    public synchronized void start(long interval, TimeUnit unit) {
+        if (_future == null)
+            _future = _scheduler.scheduleWithFixedDelay(this, interval, interval, unit);
+    }
+
+    public synchronized void stop() {
+        if (_future != null) {
+            _future.cancel(false);
+            _future = null;
+        }
+    }
+
+    /**
+     * Wraps a task so its queue wait, wall and cpu time are measured when it runs.
+     */
+    Runnable wrap(Runnable task) {
+        return new MeasuredTask(task, System.nanoTime());
+    }
+
+    public State getState() {
+        return _state;
+    }
+
+    /**
+     * @return the average time tasks waited in the last interval, in nanoseconds.
+     */
+    public long getQueueWaitNanos() {
+        return _lastQueueWaitNanos;
+    }
+
+    /**
+     * @return the ratio of the time tasks were not on cpu to their wall time in the last
+     * interval, or -1 if it is not known.
+     */
+    public double getBlockedRatio() {
+        return _lastBlockedRatio;
+    }
+
+    /**
+     * @return the ratio of the cpu time used by tasks to the cpu time available in the last
+     * interval, or -1 if it is not known.
+     */
+    public double getCpuUtilization() {
+        return _lastCpuUtilization;
+    }
+
+    public int getMaxThreads() {
+        return _executor.getMaximumPoolSize();
+    }
+
+    public int getMaxThreadsCeiling() {
+        return _maxThreadsCeiling;
+    }
+
+    /**
+     * @return the number of times the pool was resized.
+     */
+    public long getResizes() {
+        return _resizes;
+    }
+
+    @Override
+    public void run() {
+        try {
+            final long now = System.nanoTime();
+            final long elapsed = now - _lastRunTime;
+            _lastRunTime = now;
+            final Runnable head = _executor.getQueue().peek();
+            final long headWait = head instanceof MeasuredTask ? now - ((MeasuredTask) head)._enqueueTime : 0;
+            adjust(_tasks.getAndSet(0), _queueWaitNanos.getAndSet(0), _wallNanos.getAndSet(0),
+                    _cpuTimeSupported ? _cpuNanos.getAndSet(0) : -1, headWait, elapsed);
+        } catch (RuntimeException e) {
+            if (_logger.isLoggable(Level.WARNING))
+                _logger.log(Level.WARNING, "Failed to adjust thread pool " + _name, e);
+        }
+    }
+
+    /**
+     * Adjusts the maximum size of the pool according to the measurements of an interval.
+     *
+     * @param headWait the time the task at the head of the queue is waiting, so a pool whose
+     *                 threads are all stuck is grown even though no task completed
+     * @param cpu      the cpu time of the tasks, or -1 if it is not measured
+     */
+    State adjust(long tasks, long queueWait, long wall, long cpu, long headWait, long elapsed) {
+        final long averageQueueWait = Math.max(tasks == 0 ? 0 : queueWait / tasks, headWait);
+        final double blockedRatio = cpu < 0 || wall == 0 ? -1 : Math.max(0, 1 - (double) cpu / wall);
+        final double cpuUtilization = cpu < 0 || elapsed <= 0 ? -1 : (double) cpu / ((double) elapsed * _processors);
+        _lastQueueWaitNanos = averageQueueWait;
+        _lastBlockedRatio = blockedRatio;
+        _lastCpuUtilization = cpuUtilization;
+
+        final int maxThreads = _executor.getMaximumPoolSize();
+        final State state;
+        int newMaxThreads = maxThreads;
+        if (cpuUtilization >= CPU_SATURATION_RATIO) {
+            // more threads would not run sooner, give back the threads added on top of the base size
+            _intervalsBelowTarget = 0;
+            state = State.CPU_SATURATED;
+            if (maxThreads > _baseMaxThreads)
+                newMaxThreads = maxThreads - 1;
+        } else if (averageQueueWait > _queueWaitTargetNanos) {
+            _intervalsBelowTarget = 0;
+            if (maxThreads >= _maxThreadsCeiling) {
+                state = State.AT_CEILING;
+            } else {
+                state = State.GROWING;
+                // blocked threads free their cpu, so several threads can be added at once
+                final int step = blockedRatio < 0 || blockedRatio >= BLOCKED_RATIO_THRESHOLD ? Math.max(1, maxThreads / 4) : 1;
+                newMaxThreads = Math.min(_maxThreadsCeiling, maxThreads + step);
+            }
+        } else if (averageQueueWait < _queueWaitTargetNanos / 2 && maxThreads > _baseMaxThreads
+                && ++_intervalsBelowTarget >= SHRINK_INTERVALS) {
+            _intervalsBelowTarget = 0;
+            state = State.SHRINKING;
+            newMaxThreads = maxThreads - Math.max(1, (maxThreads - _baseMaxThreads) / 2);
+        } else {
+            if (averageQueueWait >= _queueWaitTargetNanos / 2)
+                _intervalsBelowTarget = 0;
+            state = State.STEADY;
+        }
+
+        if (newMaxThreads != maxThreads) {
+            _executor.setMaximumPoolSize(newMaxThreads);
+            _resizes++;
+            if (_logger.isLoggable(Level.FINE))
+                _logger.log(Level.FINE, "Thread pool " + _name + " is " + state + ", resized max threads from " + maxThreads
+                        + " to " + newMaxThreads + " [queue-wait=" + TimeUnit.NANOSECONDS.toMicros(averageQueueWait)
+                        + "us, blocked-ratio=" + blockedRatio + ", cpu-utilization=" + cpuUtilization + "]");
+        }
+        _state = state;
+        return state;
+    }
+
+    private static long currentThreadCpuTime() {
+        return _threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    private void record(long queueWait, long wall, long cpu) {
+        _tasks.incrementAndGet();
+        _queueWaitNanos.addAndGet(queueWait);
+        _wallNanos.addAndGet(wall);
+        if (cpu > 0)
+            _cpuNanos.addAndGet(cpu);
+    }
+
+    private class MeasuredTask implements Runnable {
+        private final Runnable _task;
+        private final long _enqueueTime;
+
+        private MeasuredTask(Runnable task, long enqueueTime) {
+            _task = task;
+            _enqueueTime = enqueueTime;
+        }
+
+        @Override
+        public void run() {
+            final long startTime = System.nanoTime();
+            final long startCpu = _cpuTimeSupported ? currentThreadCpuTime() : 0;
+            try {
+                _task.run();
+            } finally {
+                final long cpu = _cpuTimeSupported ? currentThreadCpuTime() - startCpu : 0;
+                record(startTime - _enqueueTime, System.nanoTime() - startTime, cpu);
+            }
+        }
+    }
+}
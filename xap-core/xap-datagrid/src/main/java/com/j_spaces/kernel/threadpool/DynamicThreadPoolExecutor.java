@@ -37,6 +37,7 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
      * number of threads that are actively executing tasks
      */
     private final AtomicInteger activeCount = new AtomicInteger();
+    private volatile AdaptiveThreadPoolController adaptiveController;
 
     public DynamicThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
                                      long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue) {
@@ -48,6 +49,43 @@ public class DynamicThreadPoolExecutor extends ThreadPoolExecutor {
         super(corePoolSize, maximumPoolSize, keepAliveTime, unit, new LinkedBlockingQueue<Runnable>());
     }
 
+    /**
+     * Starts resizing the maximum size of this pool toward a target queue wait time, between the
+     * current maximum size and the given ceiling.
+     *
+     * @see AdaptiveThreadPoolController
+     * @since 12.3
+     */
+    public synchronized AdaptiveThreadPoolController enableAdaptiveSizing(String name, long queueWaitTarget, int maxThreadsCeiling,
+                                                                          long interval, TimeUnit unit) {
+        if (adaptiveController == null) {
+            AdaptiveThreadPoolController controller = new AdaptiveThreadPoolController(this, name, queueWaitTarget, unit, maxThreadsCeiling);
+            controller.start(interval, unit);
+            adaptiveController = controller;
+        }
+        return adaptiveController;
+    }
+
+    /**
+     * @return the controller which resizes this pool, or null if the pool is not adaptive.
+     */
+    public AdaptiveThreadPoolController getAdaptiveController() {
+        return adaptiveController;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        final AdaptiveThreadPoolController controller = adaptiveController;
+        super.execute(controller != null && command != null ? controller.wrap(command) : command);
+    }
+
+    @Override
+    protected void terminated() {
+        final AdaptiveThreadPoolController controller = adaptiveController;
+        if (controller != null)
+            controller.stop();
+    }
+
     @Override
     public int getActiveCount() {
         return activeCount.get();
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.kernel.threadpool;
+
+import com.gigaspaces.logger.Constants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An {@link Executor} which runs each task on a new virtual thread, so tasks which block do not
+ * hold a pooled platform thread. <p> Virtual threads are created by reflection, since they are
+ * only available on recent JVMs. Use {@link #create} which returns null when the JVM does not
+ * support them, so the caller can keep using its thread pool.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class VirtualThreadExecutor implements Executor {
+    private static final Logger _logger = Logger.getLogger(Constants.LOGGER_KERNEL);
+
+    private static final Method _ofVirtualMethod;
+    private static final Method _nameMethod;
+    private static final Method _factoryMethod;
+
+    static {
+        Method ofVirtualMethod = null;
+        Method nameMethod = null;
+        Method factoryMethod = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            nameMethod = builderClass.getMethod("name", String.class, long.class);
+            factoryMethod = builderClass.getMethod("factory");
+        } catch (Exception e) {
+            // virtual threads are not available in this JVM
+            ofVirtualMethod = null;
+        }
+        _ofVirtualMethod = ofVirtualMethod;
+        _nameMethod = nameMethod;
+        _factoryMethod = factoryMethod;
+    }
+
+    private final String _name;
+    private final ThreadFactory _threadFactory;
+    private final ClassLoader _contextClassLoader;
+    private final AtomicInteger _activeCount = new AtomicInteger();
+    private volatile boolean _shutdown;
+
+    private VirtualThreadExecutor(String name, ThreadFactory threadFactory, ClassLoader contextClassLoader) {
+        _name = name;
+        _threadFactory = threadFactory;
+        _contextClassLoader = contextClassLoader;
+    }
+
+    /**
+     * Creates an executor whose threads are named after the given name.
+     *
+     * @param contextClassLoader the context class loader of the threads, or null to inherit the
+     *                           one of the thread which executes the task
+     * @return the executor, or null if the JVM does not support virtual threads
+     */
+    public static VirtualThreadExecutor create(String name, ClassLoader contextClassLoader) {
+        if (_ofVirtualMethod == null)
+            return null;
+        try {
+            Object builder = _ofVirtualMethod.invoke(null);
+            builder = _nameMethod.invoke(builder, name + "-virtual-thread-", 1L);
+            return new VirtualThreadExecutor(name, (ThreadFactory) _factoryMethod.invoke(builder), contextClassLoader);
+        } catch (InvocationTargetException e) {
+            // virtual threads are a preview feature which is not enabled
+            if (_logger.isLoggable(Level.FINE))
+                _logger.log(Level.FINE, "Virtual threads are not enabled in this JVM", e.getCause());
+            return null;
+        } catch (IllegalAccessException e) {
+            if (_logger.isLoggable(Level.FINE))
+                _logger.log(Level.FINE, "Virtual threads are not accessible", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return create("probe", null) != null;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (command == null)
+            throw new NullPointerException("Can't execute null task.");
+        if (_shutdown)
+            throw new RejectedExecutionException(_name + " is shut down");
+
+        Thread thread = _threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                _activeCount.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    _activeCount.decrementAndGet();
+                }
+            }
+        });
+        if (_contextClassLoader != null)
+            thread.setContextClassLoader(_contextClassLoader);
+        thread.start();
+    }
+
+    /**
+     * @return the number of tasks which are running.
+     */
+    public int getActiveCount() {
+        return _activeCount.get();
+    }
+
+    /**
+     * Rejects new tasks, tasks which are running are not interrupted.
+     */
+    public void shutdown() {
+        _shutdown = true;
+    }
+
+    public boolean isShutdown() {
+        return _shutdown;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.j_spaces.sadapter.datasource;
+
+import com.gigaspaces.internal.server.storage.IEntryHolder;
+import com.j_spaces.core.sadapter.IParallelSAdapterIterator;
+import com.j_spaces.core.sadapter.ISAdapterIterator;
+import com.j_spaces.core.sadapter.SAException;
+
+import java.util.List;
+
+/**
+ * Holds an iterator per part of the data returned by {@link com.gigaspaces.datasource.SpaceDataSource#initialDataLoadIterators()}.
+ *
+ * @since 12.3
+ */
+@com.gigaspaces.api.InternalApi
+public class ParallelDataAdaptorIterator implements IParallelSAdapterIterator<IEntryHolder> {
+    private final List<ISAdapterIterator<IEntryHolder>> _parts;
+    private int _cursor;
+
+    public ParallelDataAdaptorIterator(List<ISAdapterIterator<IEntryHolder>> parts) {
+        this._parts = parts;
+    }
+
+    @Override
+    public List<ISAdapterIterator<IEntryHolder>> getParts() {
+        return _parts;
+    }
+
+    @Override
+    public IEntryHolder next() throws SAException {
+        while (_cursor < _parts.size()) {
+            IEntryHolder next = _parts.get(_cursor).next();
+            if (next != null)
+                return next;
+            _cursor++;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws SAException {
+        SAException error = null;
+        for (ISAdapterIterator<IEntryHolder> part : _parts) {
+            try {
+                part.close();
+            } catch (SAException e) {
+                if (error == null)
+                    error = e;
+            }
+        }
+        if (error != null)
+            throw error;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.cluster.node.impl.groups.async;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveBatchControllerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    public void testBatchGrowsWhileBacklogIsBehind() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 40, 100);
+        controller.onBatchReplicated(100, FAST, 5000);
+        Assert.assertEquals(200, controller.getBatchSize());
+        controller.onBatchReplicated(200, FAST, 5000);
+        controller.onBatchReplicated(400, FAST, 5000);
+        controller.onBatchReplicated(800, FAST, 5000);
+        Assert.assertEquals(1000, controller.getBatchSize());
+        // a partial batch means the backlog was drained, no reason to grow
+        controller.onBatchReplicated(10, FAST, 5000);
+        Assert.assertEquals(1000, controller.getBatchSize());
+    }
+
+    @Test
+    public void testBatchReturnsToConfiguredWhenIdle() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 40, 100);
+        controller.onBatchReplicated(100, FAST, 5000);
+        controller.onBatchReplicated(200, FAST, 5000);
+        Assert.assertEquals(400, controller.getBatchSize());
+        for (int i = 0; i < 100; i++)
+            controller.onBatchReplicated(1, FAST, 0);
+        Assert.assertEquals(100, controller.getBatchSize());
+    }
+
+    @Test
+    public void testSlowRoundTripShrinksBatch() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 40, 100);
+        for (int i = 0; i < 20; i++)
+            controller.onBatchReplicated(100, SLOW, 5000);
+        Assert.assertEquals(25, controller.getBatchSize());
+        Assert.assertEquals(40, controller.getIntervalOperations());
+        Assert.assertEquals(500, controller.getAverageRoundTripTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testIntervalOperationsAdaptToRoundTrip() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 40, 100);
+        for (int i = 0; i < 10; i++)
+            controller.onBatchReplicated(1, FAST, 0);
+        Assert.assertEquals(5, controller.getIntervalOperations());
+        for (int i = 0; i < 20; i++)
+            controller.onBatchReplicated(1, SLOW, 0);
+        Assert.assertEquals(40, controller.getIntervalOperations());
+    }
+}
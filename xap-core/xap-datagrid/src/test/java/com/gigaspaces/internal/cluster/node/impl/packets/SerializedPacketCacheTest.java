@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.cluster.node.impl.packets;
+
+import com.gigaspaces.internal.cluster.node.impl.backlog.globalorder.GlobalOrderDiscardedReplicationPacket;
+import com.gigaspaces.internal.cluster.node.impl.backlog.globalorder.GlobalOrderOperationPacket;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerializedPacketCacheTest {
+
+    @Test
+    public void testPacketIsSerializedOnce() throws Exception {
+        SerializedPacketCache cache = new SerializedPacketCache(Long.MAX_VALUE);
+        GlobalOrderOperationPacket packet = new GlobalOrderOperationPacket(7, null);
+
+        byte[] serialized = cache.getSerializedPacket(packet);
+        Assert.assertSame(serialized, cache.getSerializedPacket(packet));
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertEquals(serialized.length, cache.getSize());
+
+        IReplicationOrderedPacket deserialized = SerializedPacketCache.deserialize(serialized);
+        Assert.assertEquals(7, deserialized.getKey());
+    }
+
+    @Test
+    public void testOtherInstanceWithSameKeyIsNotShared() throws Exception {
+        SerializedPacketCache cache = new SerializedPacketCache(Long.MAX_VALUE);
+        GlobalOrderOperationPacket packet = new GlobalOrderOperationPacket(7, null);
+        byte[] serialized = cache.getSerializedPacket(packet);
+
+        // e.g. a packet converted by a channel filter
+        byte[] other = cache.getSerializedPacket(new GlobalOrderOperationPacket(7, null));
+        Assert.assertNotSame(serialized, other);
+        Assert.assertEquals(1, cache.getCount());
+        Assert.assertSame(serialized, cache.getSerializedPacket(packet));
+    }
+
+    @Test
+    public void testReleaseBefore() throws Exception {
+        SerializedPacketCache cache = new SerializedPacketCache(Long.MAX_VALUE);
+        GlobalOrderOperationPacket[] packets = new GlobalOrderOperationPacket[5];
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = new GlobalOrderOperationPacket(i, null);
+            cache.getSerializedPacket(packets[i]);
+        }
+        long size = cache.getSize();
+        long packetSize = size / packets.length;
+
+        cache.releaseBefore(3);
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertEquals(size - 3 * packetSize, cache.getSize());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getCount());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        int packetSize = SerializedPacketCache.serialize(new GlobalOrderOperationPacket(0, null)).length;
+        SerializedPacketCache cache = new SerializedPacketCache(2 * packetSize);
+        for (int i = 0; i < 3; i++)
+            Assert.assertEquals(packetSize, cache.getSerializedPacket(new GlobalOrderOperationPacket(i, null)).length);
+
+        Assert.assertEquals(2, cache.getCount());
+        cache.releaseBefore(1);
+        cache.getSerializedPacket(new GlobalOrderOperationPacket(3, null));
+        Assert.assertEquals(2, cache.getCount());
+        Assert.assertEquals(2 * packetSize, cache.getSize());
+    }
+
+    @Test
+    public void testDiscardedPacketIsNotCacheable() {
+        Assert.assertTrue(SerializedPacketCache.isCacheable(new GlobalOrderOperationPacket(1, null)));
+        Assert.assertFalse(SerializedPacketCache.isCacheable(new GlobalOrderDiscardedReplicationPacket(1, 1)));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gigaspaces.internal.cluster.node.impl.replica;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SegmentedEntryReplicaProducerTest {
+
+    @Test
+    public void testGroupBySize() {
+        String[] types = {"a", "b", "c", "d", "e"};
+        int[] sizes = {10, 70, 20, 30, 40};
+        List<String[]> groups = SegmentedEntryReplicaProducer.groupBySize(types, sizes, 2);
+        Assert.assertEquals(2, groups.size());
+        // largest first: b->0, e->1, d->1, c->0, a->1
+        Assert.assertEquals(Arrays.asList("b", "c"), Arrays.asList(groups.get(0)));
+        Assert.assertEquals(Arrays.asList("e", "d", "a"), Arrays.asList(groups.get(1)));
+    }
+
+    @Test
+    public void testGroupBySizeWithMoreGroupsThanItems() {
+        List<String[]> groups = SegmentedEntryReplicaProducer.groupBySize(new String[]{"a"}, new int[]{5}, 3);
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals(1, groups.get(0).length);
+        Assert.assertEquals(0, groups.get(1).length);
+        Assert.assertEquals(0, groups.get(2).length);
+    }
+}
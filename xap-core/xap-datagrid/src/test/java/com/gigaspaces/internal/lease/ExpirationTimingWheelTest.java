@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.lease;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class ExpirationTimingWheelTest {
+
+    @Test
+    public void testSizeIsRoundedUp() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 5, 1005);
+        Assert.assertEquals(8, wheel.getNumOfSlots());
+        Assert.assertEquals(1000, wheel.getBaseTime());
+        Assert.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        Assert.assertNull(wheel.putIfAbsent(20, "a"));
+        Assert.assertEquals("a", wheel.putIfAbsent(20, "b"));
+        Assert.assertEquals("a", wheel.get(20));
+        Assert.assertNull(wheel.get(30));
+        // same slot, next revolution - kept in the overflow
+        Assert.assertNull(wheel.putIfAbsent(100, "c"));
+        Assert.assertEquals("c", wheel.get(100));
+        Assert.assertEquals("a", wheel.get(20));
+        Assert.assertEquals(2, wheel.size());
+    }
+
+    @Test
+    public void testIterationIsAscending() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        wheel.putIfAbsent(500, "e");
+        wheel.putIfAbsent(70, "c");
+        wheel.putIfAbsent(10, "a");
+        wheel.putIfAbsent(90, "d");
+        wheel.putIfAbsent(40, "b");
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), values(wheel));
+    }
+
+    @Test
+    public void testRemoveByIterator() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        wheel.putIfAbsent(10, "a");
+        wheel.putIfAbsent(20, "b");
+        wheel.putIfAbsent(200, "c");
+        for (Iterator<String> iter = wheel.iterator(); iter.hasNext(); ) {
+            String value = iter.next();
+            if (!value.equals("b"))
+                iter.remove();
+        }
+        Assert.assertEquals(Arrays.asList("b"), values(wheel));
+        Assert.assertEquals(1, wheel.size());
+        Assert.assertNull(wheel.get(10));
+        Assert.assertNull(wheel.get(200));
+    }
+
+    @Test
+    public void testAdvanceCascadesOverflow() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        wheel.putIfAbsent(10, "a");
+        wheel.putIfAbsent(90, "b");
+        removeFirst(wheel);
+        wheel.advance(25);
+        Assert.assertEquals(20, wheel.getBaseTime());
+        // 90 is covered by the wheel now, and its slot is free
+        Assert.assertEquals("b", wheel.get(90));
+        Assert.assertNull(wheel.putIfAbsent(30, "c"));
+        Assert.assertEquals(Arrays.asList("c", "b"), values(wheel));
+    }
+
+    @Test
+    public void testAdvanceCascadesPastExpiredOverflow() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 100);
+        wheel.putIfAbsent(50, "a");
+        wheel.putIfAbsent(200, "b");
+        wheel.advance(130);
+        Assert.assertEquals(130, wheel.getBaseTime());
+        // 50 is before the base, 200 is cascaded into the wheel anyway and holds the base
+        wheel.advance(300);
+        Assert.assertEquals(200, wheel.getBaseTime());
+        Assert.assertEquals(Arrays.asList("a", "b"), values(wheel));
+    }
+
+    @Test
+    public void testAdvanceStopsAtNonEmptySlot() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        wheel.putIfAbsent(30, "a");
+        wheel.advance(100);
+        Assert.assertEquals(30, wheel.getBaseTime());
+        removeFirst(wheel);
+        wheel.advance(100);
+        Assert.assertEquals(100, wheel.getBaseTime());
+        Assert.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        ExpirationTimingWheel<String> wheel = new ExpirationTimingWheel<String>(10, 8, 0);
+        wheel.putIfAbsent(10, "a");
+        wheel.putIfAbsent(1000, "b");
+        wheel.clear();
+        Assert.assertTrue(wheel.isEmpty());
+        Assert.assertFalse(wheel.iterator().hasNext());
+        Assert.assertNull(wheel.get(10));
+    }
+
+    private static void removeFirst(ExpirationTimingWheel<String> wheel) {
+        Iterator<String> iter = wheel.iterator();
+        iter.next();
+        iter.remove();
+    }
+
+    private static List<String> values(ExpirationTimingWheel<String> wheel) {
+        List<String> values = new ArrayList<String>();
+        for (String value : wheel)
+            values.add(value);
+        return values;
+    }
+}
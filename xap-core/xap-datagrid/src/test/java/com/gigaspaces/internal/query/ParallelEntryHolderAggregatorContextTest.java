@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.query;
+
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.server.metadata.IServerTypeDesc;
+import com.gigaspaces.internal.server.storage.IEntryData;
+import com.gigaspaces.internal.server.storage.IEntryHolder;
+import com.gigaspaces.query.aggregators.CountAggregator;
+import com.gigaspaces.query.aggregators.GroupByAggregator;
+import com.gigaspaces.query.aggregators.GroupByResult;
+import com.gigaspaces.query.aggregators.GroupByValue;
+import com.gigaspaces.query.aggregators.MaxValueAggregator;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregatorContext;
+import com.gigaspaces.query.aggregators.SumAggregator;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ParallelEntryHolderAggregatorContextTest {
+    private static final int ENTRIES = 10000;
+    private static final int GROUPS = 7;
+
+    private final ExecutorService _executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        _executor.shutdownNow();
+    }
+
+    @Test
+    public void testResultsMatchSingleThreadedAggregation() throws Exception {
+        List<SpaceEntriesAggregator> expected = createAggregators();
+        EntryHolderAggregatorContext context = new EntryHolderAggregatorContext(expected, null, 0);
+        for (int i = 0; i < ENTRIES; i++)
+            context.scan(createEntry(i));
+        context.complete();
+
+        List<SpaceEntriesAggregator> actual = createAggregators();
+        context = new ParallelEntryHolderAggregatorContext(actual, null, 0, _executor, 4, 100);
+        for (int i = 0; i < ENTRIES; i++)
+            context.scan(createEntry(i));
+        context.complete();
+
+        for (int i = 0; i < expected.size(); i++)
+            assertResult(expected.get(i).getFinalResult(), actual.get(i).getFinalResult());
+    }
+
+    @Test
+    public void testLessThanSegmentIsAggregatedByScanningThread() throws Exception {
+        List<SpaceEntriesAggregator> aggregators = createAggregators();
+        EntryHolderAggregatorContext context = new ParallelEntryHolderAggregatorContext(aggregators, null, 0, _executor, 4, 100);
+        for (int i = 0; i < 10; i++)
+            context.scan(createEntry(i));
+        context.complete();
+
+        Assert.assertEquals(10L, ((Number) aggregators.get(0).getIntermediateResult()).longValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWorkerFailureIsThrownOnComplete() throws Exception {
+        List<SpaceEntriesAggregator> aggregators = new ArrayList<SpaceEntriesAggregator>();
+        aggregators.add(new FailingAggregator());
+        EntryHolderAggregatorContext context = new ParallelEntryHolderAggregatorContext(aggregators, null, 0, _executor, 4, 10);
+        for (int i = 0; i < 100; i++)
+            context.scan(createEntry(i));
+        context.complete();
+    }
+
+    private static List<SpaceEntriesAggregator> createAggregators() {
+        List<SpaceEntriesAggregator> aggregators = new ArrayList<SpaceEntriesAggregator>();
+        aggregators.add(new CountAggregator());
+        aggregators.add(new SumAggregator().setPath("value"));
+        aggregators.add(new MaxValueAggregator().setPath("value"));
+        aggregators.add(new GroupByAggregator().groupBy("group").selectCount().selectSum("value"));
+        return aggregators;
+    }
+
+    private static void assertResult(Object expected, Object actual) {
+        if (expected instanceof GroupByResult) {
+            GroupByResult expectedGroups = (GroupByResult) expected;
+            GroupByResult actualGroups = (GroupByResult) actual;
+            Assert.assertEquals(GROUPS, actualGroups.size());
+            for (int i = 0; i < GROUPS; i++) {
+                GroupByValue expectedGroup = expectedGroups.get(i);
+                GroupByValue actualGroup = actualGroups.get(i);
+                Assert.assertEquals(((Number) expectedGroup.get(0)).longValue(), ((Number) actualGroup.get(0)).longValue());
+                Assert.assertEquals(expectedGroup.get(1), actualGroup.get(1));
+            }
+        } else {
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    private static IEntryHolder createEntry(final int i) {
+        final ITypeDesc typeDesc = stub(ITypeDesc.class, new Stub() {
+            @Override
+            public Object invoke(String method, Object[] args) {
+                return "isAutoGenerateId".equals(method) ? Boolean.FALSE : null;
+            }
+        });
+        final IServerTypeDesc serverTypeDesc = stub(IServerTypeDesc.class, new Stub() {
+            @Override
+            public Object invoke(String method, Object[] args) {
+                return "getTypeDesc".equals(method) ? typeDesc : null;
+            }
+        });
+        final IEntryData entryData = stub(IEntryData.class, new Stub() {
+            @Override
+            public Object invoke(String method, Object[] args) {
+                if (!"getPathValue".equals(method))
+                    return null;
+                if ("group".equals(args[0]))
+                    return i % GROUPS;
+                return (long) i;
+            }
+        });
+        return stub(IEntryHolder.class, new Stub() {
+            @Override
+            public Object invoke(String method, Object[] args) {
+                if ("getServerTypeDesc".equals(method))
+                    return serverTypeDesc;
+                if ("getEntryData".equals(method))
+                    return entryData;
+                if ("getUID".equals(method))
+                    return "uid" + i;
+                return null;
+            }
+        });
+    }
+
+    private interface Stub {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, final Stub stub) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return stub.invoke(method.getName(), args);
+            }
+        }));
+    }
+
+    private static class FailingAggregator extends CountAggregator {
+        @Override
+        public void aggregate(SpaceEntriesAggregatorContext context) {
+            if (Thread.currentThread().getName().startsWith("pool"))
+                throw new IllegalStateException("aggregation failed");
+            super.aggregate(context);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.remoting.routing.partitioned;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class PartitionedClusterUtilsTest {
+
+    @Test
+    public void testPartitionIdsAreSortedAndDistinct() {
+        int[] partitionIds = PartitionedClusterUtils.getPartitionIds(Arrays.asList(66, 3, 2, 130, 5L), 64);
+        Assert.assertArrayEquals(new int[]{2, 3, 5}, partitionIds);
+    }
+
+    @Test
+    public void testPartitionIdsMatchSingleRouting() {
+        Object[] routingValues = {"a", "b", "c", 17L, -4};
+        int[] partitionIds = PartitionedClusterUtils.getPartitionIds(Arrays.asList(routingValues), 7);
+        for (Object routingValue : routingValues) {
+            int partitionId = PartitionedClusterUtils.getPartitionId(routingValue, 7);
+            Assert.assertTrue(Arrays.binarySearch(partitionIds, partitionId) >= 0);
+        }
+    }
+
+    @Test
+    public void testNullRoutingValue() {
+        Assert.assertNull(PartitionedClusterUtils.getPartitionIds(Arrays.asList(1, null), 4));
+    }
+}
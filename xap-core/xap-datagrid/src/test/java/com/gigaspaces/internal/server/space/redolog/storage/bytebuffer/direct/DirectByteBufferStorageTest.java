@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.direct;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.ByteBufferStorageException;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorage;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageFactory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DirectByteBufferStorageTest {
+    //A small chunk size so values and arrays cross chunk boundaries
+    private static final int CHUNK_SIZE = 64;
+
+    private DirectByteBufferPool _pool;
+    private DirectByteBufferStorage _storage;
+
+    @Before
+    public void createStorage() {
+        _pool = new DirectByteBufferPool(CHUNK_SIZE, 100 * CHUNK_SIZE);
+        Assert.assertTrue(_pool.tryReserve(50 * CHUNK_SIZE));
+        _storage = new DirectByteBufferStorage("direct_storage_test", _pool, 50 * CHUNK_SIZE);
+    }
+
+    @Test
+    public void testSequentialWriteAndRead() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        Random random = new Random(3);
+        byte[][] arrays = new byte[200][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new byte[random.nextInt(150)];
+            random.nextBytes(arrays[i]);
+            cursor.writeByte((byte) i);
+            cursor.writeInt(i * 31);
+            cursor.writeLong(i * 0x123456789L);
+            cursor.writeInt(arrays[i].length);
+            cursor.writeBytes(arrays[i], 0, arrays[i].length);
+        }
+        long end = cursor.getPosition();
+
+        cursor.setPosition(0);
+        for (int i = 0; i < arrays.length; i++) {
+            Assert.assertEquals((byte) i, cursor.readByte());
+            Assert.assertEquals(i * 31, cursor.readInt());
+            Assert.assertEquals(i * 0x123456789L, cursor.readLong());
+            byte[] array = new byte[cursor.readInt()];
+            cursor.readBytes(array, 0, array.length);
+            Assert.assertArrayEquals(arrays[i], array);
+        }
+        Assert.assertEquals(end, cursor.getPosition());
+    }
+
+    @Test
+    public void testContentIsKeptAcrossCursors() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        byte[] data = new byte[1000];
+        Arrays.fill(data, (byte) 9);
+        cursor.writeBytes(data, 0, data.length);
+        cursor.close();
+
+        cursor = _storage.getCursor();
+        cursor.setPosition(0);
+        byte[] result = new byte[data.length];
+        cursor.readBytes(result, 0, result.length);
+        Assert.assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void testClearAndCloseReleaseChunks() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        for (int i = 0; i < 100; i++)
+            cursor.writeLong(i);
+        Assert.assertEquals(13 * CHUNK_SIZE, _storage.getAllocatedBytes());
+        _storage.clear();
+        Assert.assertEquals(0, _storage.getAllocatedBytes());
+
+        cursor = _storage.getCursor();
+        Assert.assertEquals(0, cursor.getPosition());
+        try {
+            cursor.readLong();
+            Assert.fail("read beyond the end of a cleared storage");
+        } catch (DirectByteBufferStorageException e) {
+        }
+        cursor.writeLong(5);
+        cursor.setPosition(0);
+        Assert.assertEquals(5, cursor.readLong());
+
+        //chunks are reused
+        Assert.assertEquals(13 * CHUNK_SIZE, _pool.getAllocatedBytes());
+        _storage.close();
+        Assert.assertEquals(0, _pool.getReservedBytes());
+        _pool.close();
+        Assert.assertEquals(0, _pool.getAllocatedBytes());
+    }
+
+    @Test
+    public void testFactorySpillsWhenCapacityIsReserved() throws Exception {
+        final int[] spilled = new int[1];
+        IByteBufferStorageFactory spillFactory = new IByteBufferStorageFactory() {
+            public IByteBufferStorage createStorage() throws ByteBufferStorageException {
+                spilled[0]++;
+                return new DirectByteBufferStorage("spilled", new DirectByteBufferPool(CHUNK_SIZE, 0), 0);
+            }
+        };
+        DirectByteBufferStorageFactory factory = new DirectByteBufferStorageFactory("direct_factory_test", 1024, 512, spillFactory);
+        IByteBufferStorage first = factory.createStorage();
+        IByteBufferStorage second = factory.createStorage();
+        IByteBufferStorage third = factory.createStorage();
+        Assert.assertEquals(1, spilled[0]);
+        Assert.assertEquals(1024, factory.getPool().getReservedBytes());
+
+        first.close();
+        IByteBufferStorage fourth = factory.createStorage();
+        Assert.assertEquals(1, spilled[0]);
+        Assert.assertTrue(fourth instanceof DirectByteBufferStorage);
+        second.close();
+        third.close();
+        fourth.close();
+        Assert.assertEquals(0, factory.getPool().getReservedBytes());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.mapped;
+
+import com.gigaspaces.internal.server.space.redolog.storage.bytebuffer.IByteBufferStorageCursor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class MappedByteBufferStorageTest {
+    //A small region size so values and arrays cross region boundaries
+    private static final int REGION_SIZE = 64;
+
+    private MappedByteBufferStorage _storage;
+
+    @Before
+    public void createStorage() throws Exception {
+        _storage = new MappedByteBufferStorage("mapped_storage_test", REGION_SIZE);
+    }
+
+    @After
+    public void closeStorage() {
+        _storage.close();
+        Assert.assertFalse(_storage.getFile().exists());
+    }
+
+    @Test
+    public void testSequentialWriteAndRead() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        Random random = new Random(3);
+        byte[][] arrays = new byte[200][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new byte[random.nextInt(150)];
+            random.nextBytes(arrays[i]);
+            cursor.writeByte((byte) i);
+            cursor.writeInt(i * 31);
+            cursor.writeLong(i * 0x123456789L);
+            cursor.writeInt(arrays[i].length);
+            cursor.writeBytes(arrays[i], 0, arrays[i].length);
+        }
+        long end = cursor.getPosition();
+
+        cursor.setPosition(0);
+        for (int i = 0; i < arrays.length; i++) {
+            Assert.assertEquals((byte) i, cursor.readByte());
+            Assert.assertEquals(i * 31, cursor.readInt());
+            Assert.assertEquals(i * 0x123456789L, cursor.readLong());
+            byte[] array = new byte[cursor.readInt()];
+            cursor.readBytes(array, 0, array.length);
+            Assert.assertArrayEquals(arrays[i], array);
+        }
+        Assert.assertEquals(end, cursor.getPosition());
+    }
+
+    @Test
+    public void testOverwriteAndMovePosition() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        for (int i = 0; i < 100; i++)
+            cursor.writeInt(i);
+        // rewrite the last length-like value, the way the redo log storage does
+        cursor.movePosition(-4);
+        cursor.writeInt(-1);
+
+        cursor.setPosition(REGION_SIZE - 2);
+        cursor.writeInt(7);
+        cursor.setPosition(REGION_SIZE - 2);
+        Assert.assertEquals(7, cursor.readInt());
+        cursor.setPosition(396);
+        Assert.assertEquals(-1, cursor.readInt());
+    }
+
+    @Test
+    public void testContentIsKeptAcrossCursors() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        byte[] data = new byte[1000];
+        Arrays.fill(data, (byte) 9);
+        cursor.writeBytes(data, 0, data.length);
+        cursor.close();
+
+        cursor = _storage.getCursor();
+        cursor.setPosition(0);
+        byte[] result = new byte[data.length];
+        cursor.readBytes(result, 0, result.length);
+        Assert.assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        IByteBufferStorageCursor cursor = _storage.getCursor();
+        for (int i = 0; i < 100; i++)
+            cursor.writeLong(i);
+        _storage.clear();
+        Assert.assertEquals(0, _storage.getFile().length());
+
+        cursor = _storage.getCursor();
+        Assert.assertEquals(0, cursor.getPosition());
+        try {
+            cursor.readLong();
+            Assert.fail("read beyond the end of a cleared storage");
+        } catch (MappedByteBufferStorageException e) {
+        }
+        cursor.writeLong(5);
+        cursor.setPosition(0);
+        Assert.assertEquals(5, cursor.readLong());
+    }
+}
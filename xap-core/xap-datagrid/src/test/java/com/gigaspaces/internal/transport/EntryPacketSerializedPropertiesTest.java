@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.transport;
+
+import com.gigaspaces.internal.io.GSByteArrayInputStream;
+import com.gigaspaces.internal.io.GSByteArrayOutputStream;
+import com.gigaspaces.internal.io.IOUtils;
+import com.gigaspaces.internal.io.MarshalInputStream;
+import com.gigaspaces.internal.io.MarshalOutputStream;
+import com.gigaspaces.internal.metadata.EntryType;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.server.storage.FlatEntryData;
+import com.gigaspaces.internal.server.storage.SerializedFixedPropertiesCache;
+import com.gigaspaces.metadata.SpaceTypeDescriptorBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+
+public class EntryPacketSerializedPropertiesTest {
+    private final ITypeDesc _typeDesc = (ITypeDesc) new SpaceTypeDescriptorBuilder("Quote")
+            .addFixedProperty("id", Long.class)
+            .addFixedProperty("symbol", String.class)
+            .addFixedProperty("price", Double.class)
+            .addFixedProperty("updated", Date.class)
+            .idProperty("id", false)
+            .create();
+
+    @Test
+    public void testSerializedFormIsCachedPerEntryData() throws Exception {
+        FlatEntryData entryData = createEntryData(1, "GSPC", 2.5);
+        Assert.assertNull(entryData.getSerializedFixedProperties());
+
+        // the first reply only creates the cache
+        EntryPacket received = roundTrip(createPacket(entryData));
+        Assert.assertArrayEquals(entryData.getFixedPropertiesValues(), received.getFieldValues());
+        Assert.assertNotNull(entryData.getSerializedFixedPropertiesCache());
+        Assert.assertNull(entryData.getSerializedFixedProperties());
+
+        received = roundTrip(createPacket(entryData));
+        Assert.assertArrayEquals(entryData.getFixedPropertiesValues(), received.getFieldValues());
+        byte[] serialized = entryData.getSerializedFixedProperties();
+        Assert.assertNotNull(serialized);
+
+        // further replies use the cached form
+        received = roundTrip(createPacket(entryData));
+        Assert.assertArrayEquals(entryData.getFixedPropertiesValues(), received.getFieldValues());
+        Assert.assertSame(serialized, entryData.getSerializedFixedProperties());
+    }
+
+    @Test
+    public void testInPlaceModificationInvalidatesCache() throws Exception {
+        FlatEntryData entryData = createEntryData(2, "GSPC", 2.5);
+        roundTrip(createPacket(entryData));
+        roundTrip(createPacket(entryData));
+        Assert.assertNotNull(entryData.getSerializedFixedProperties());
+
+        int price = _typeDesc.getFixedPropertyPosition("price");
+        entryData.setFixedPropertyValue(price, 3.5);
+        Assert.assertNull(entryData.getSerializedFixedProperties());
+        Assert.assertEquals(3.5, roundTrip(createPacket(entryData)).getFieldValue(price));
+    }
+
+    @Test
+    public void testModificationOfUnsentEntryDataCreatesNoCache() throws Exception {
+        FlatEntryData entryData = createEntryData(5, "GSPC", 2.5);
+        entryData.setFixedPropertyValue(_typeDesc.getFixedPropertyPosition("price"), 3.5);
+        Assert.assertNull(entryData.getSerializedFixedPropertiesCache());
+    }
+
+    @Test
+    public void testModificationDuringSerializationIsNotCached() throws Exception {
+        FlatEntryData entryData = createEntryData(4, "GSPC", 2.5);
+        entryData.createSerializedFixedPropertiesCache();
+        SerializedFixedPropertiesCache cache = entryData.getSerializedFixedPropertiesCache();
+        // a reply starts serializing the properties...
+        int modCount = cache.getModCount();
+
+        // ...while the entry is modified in place
+        int price = _typeDesc.getFixedPropertyPosition("price");
+        entryData.setFixedPropertyValue(price, 3.5);
+        cache.set(modCount, new byte[0]);
+        Assert.assertNull(entryData.getSerializedFixedProperties());
+
+        Assert.assertEquals(3.5, roundTrip(createPacket(entryData)).getFieldValue(price));
+        Assert.assertNotNull(entryData.getSerializedFixedProperties());
+    }
+
+    @Test
+    public void testModifiedPacketDoesNotUseCache() throws Exception {
+        FlatEntryData entryData = createEntryData(3, "GSPC", 2.5);
+        roundTrip(createPacket(entryData));
+        roundTrip(createPacket(entryData));
+        Assert.assertNotNull(entryData.getSerializedFixedProperties());
+
+        // a projection replaces the properties array of the packet
+        int symbol = _typeDesc.getFixedPropertyPosition("symbol");
+        EntryPacket packet = createPacket(entryData);
+        Object[] projected = new Object[_typeDesc.getNumOfFixedProperties()];
+        projected[symbol] = "GSPC";
+        packet.setFieldsValues(projected);
+        Assert.assertArrayEquals(projected, roundTrip(packet).getFieldValues());
+
+        packet = createPacket(entryData);
+        packet.setFieldValue(symbol, "IBM");
+        Assert.assertEquals("IBM", roundTrip(packet).getFieldValue(symbol));
+    }
+
+    private FlatEntryData createEntryData(long id, String symbol, double price) {
+        Object[] values = new Object[_typeDesc.getNumOfFixedProperties()];
+        values[_typeDesc.getFixedPropertyPosition("id")] = id;
+        values[_typeDesc.getFixedPropertyPosition("symbol")] = symbol;
+        values[_typeDesc.getFixedPropertyPosition("price")] = price;
+        values[_typeDesc.getFixedPropertyPosition("updated")] = new Date(id);
+        return new FlatEntryData(values, null, _typeDesc.getEntryTypeDesc(EntryType.DOCUMENT_JAVA), 1, Long.MAX_VALUE, false);
+    }
+
+    private EntryPacket createPacket(FlatEntryData entryData) {
+        EntryPacket packet = new EntryPacket(_typeDesc, EntryType.DOCUMENT_JAVA, entryData.getFixedPropertiesValues(), null,
+                "uid", entryData.getVersion(), 0, false);
+        packet.setSerializedPropertiesSource(entryData);
+        return packet;
+    }
+
+    private static EntryPacket roundTrip(EntryPacket packet) throws Exception {
+        GSByteArrayOutputStream bos = new GSByteArrayOutputStream();
+        MarshalOutputStream out = new MarshalOutputStream(bos, false);
+        IOUtils.writeObject(out, packet);
+        out.flush();
+        MarshalInputStream in = new MarshalInputStream(new GSByteArrayInputStream(bos.toByteArray()), MarshalInputStream.createContext());
+        return IOUtils.readObject(in);
+    }
+}
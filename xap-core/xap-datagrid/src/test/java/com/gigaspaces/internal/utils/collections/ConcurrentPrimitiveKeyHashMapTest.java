@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.internal.utils.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ConcurrentPrimitiveKeyHashMapTest {
+    @Test
+    public void testLongKeys() {
+        ConcurrentPrimitiveKeyHashMap<String> map = new ConcurrentPrimitiveKeyHashMap<String>(PrimitiveKeyType.LONG, 16, 4);
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.putIfAbsent(Long.MAX_VALUE, "max"));
+        Assert.assertEquals("max", map.putIfAbsent(Long.MAX_VALUE, "other"));
+        Assert.assertNull(map.put(-1L, "minus"));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("max", map.get(Long.MAX_VALUE));
+        Assert.assertEquals("minus", map.get(-1L));
+        // Wrappers of another type are never equal to the keys:
+        Assert.assertNull(map.get(-1));
+        Assert.assertNull(map.get("-1"));
+        Assert.assertNull(map.get(null));
+
+        Assert.assertFalse(map.replace(-1L, "wrong", "new"));
+        Assert.assertTrue(map.replace(-1L, "minus", "new"));
+        Assert.assertEquals("new", map.replace(-1L, "newer"));
+        Assert.assertNull(map.replace(5L, "none"));
+
+        Assert.assertFalse(map.remove(-1L, "new"));
+        Assert.assertTrue(map.remove(-1L, "newer"));
+        Assert.assertEquals("max", map.remove(Long.MAX_VALUE));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testKeyTypes() {
+        assertKeyType(PrimitiveKeyType.INT, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE);
+        assertKeyType(PrimitiveKeyType.SHORT, Short.MIN_VALUE, (short) 0, Short.MAX_VALUE);
+        assertKeyType(PrimitiveKeyType.BYTE, Byte.MIN_VALUE, (byte) 0, Byte.MAX_VALUE);
+        assertKeyType(PrimitiveKeyType.CHAR, 'a', Character.MAX_VALUE);
+        assertKeyType(PrimitiveKeyType.BOOLEAN, true, false);
+        assertKeyType(PrimitiveKeyType.DOUBLE, -0.0d, 0.0d, Double.NaN, Double.MAX_VALUE);
+        assertKeyType(PrimitiveKeyType.FLOAT, -0.0f, 0.0f, Float.NaN, Float.MIN_VALUE);
+
+        Assert.assertEquals(PrimitiveKeyType.LONG, PrimitiveKeyType.fromClass(long.class));
+        Assert.assertEquals(PrimitiveKeyType.INT, PrimitiveKeyType.fromClass(Integer.class));
+        Assert.assertNull(PrimitiveKeyType.fromClass(Number.class));
+        Assert.assertNull(PrimitiveKeyType.fromClass(Object.class));
+    }
+
+    @Test
+    public void testOtherKeyTypes() {
+        // e.g. an Integer value of a document property indexed as Long
+        ConcurrentPrimitiveKeyHashMap<String> map = new ConcurrentPrimitiveKeyHashMap<String>(PrimitiveKeyType.LONG);
+        Assert.assertNull(map.put(1, "int"));
+        Assert.assertNull(map.put(1L, "long"));
+        Assert.assertNull(map.putIfAbsent("1", "string"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("int", map.get(1));
+        Assert.assertEquals("long", map.get(1L));
+        Assert.assertEquals("string", map.get("1"));
+
+        Map<Object, String> expected = new HashMap<Object, String>();
+        expected.put(1, "int");
+        expected.put(1L, "long");
+        expected.put("1", "string");
+        Assert.assertEquals(expected, new HashMap<Object, String>(map));
+
+        Assert.assertTrue(map.replace(1, "int", "int2"));
+        Assert.assertFalse(map.remove(1, "int"));
+        Assert.assertTrue(map.remove(1, "int2"));
+        Assert.assertEquals("string", map.remove("1"));
+        Assert.assertEquals(1, map.size());
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testIteration() {
+        ConcurrentPrimitiveKeyHashMap<Long> map = new ConcurrentPrimitiveKeyHashMap<Long>(PrimitiveKeyType.LONG, 0, 8);
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        for (long i = 0; i < 10000; i++) {
+            map.put(i * 31, i);
+            expected.put(i * 31, i);
+        }
+        Assert.assertEquals(expected, new HashMap<Object, Long>(map));
+
+        for (java.util.Iterator<Object> iter = map.keySet().iterator(); iter.hasNext(); ) {
+            if ((Long) iter.next() % 2 == 0)
+                iter.remove();
+        }
+        Assert.assertEquals(5000, map.size());
+        for (Object key : map.keySet())
+            Assert.assertEquals(1, (Long) key % 2);
+    }
+
+    private static void assertKeyType(PrimitiveKeyType keyType, Object... keys) {
+        ConcurrentPrimitiveKeyHashMap<Object> map = new ConcurrentPrimitiveKeyHashMap<Object>(keyType);
+        for (Object key : keys)
+            Assert.assertNull(map.put(key, key));
+        Assert.assertEquals(keys.length, map.size());
+        for (Object key : keys) {
+            Assert.assertEquals(key, map.get(key));
+            Assert.assertEquals(key, keyType.fromLong(keyType.toLong(key)));
+        }
+        Assert.assertEquals(keys.length, map.keySet().size());
+        for (Object key : map.keySet())
+            Assert.assertEquals(key, map.get(key));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.lrmi.nio;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures LRMI reply round trips on a single connection with many outstanding requests, with and
+ * without the batching writer ({@link com.j_spaces.kernel.SystemProperties#LRMI_BATCHING_WRITER}).
+ * Each client thread sends a request id, a worker thread writes a small reply for it and the
+ * client thread waits for the reply to arrive before sending the next request.
+ *
+ * Usage: WriterBatchingBenchmark [clientThreads] [workerThreads] [seconds]
+ *
+ * @since 12.3
+ */
+public class WriterBatchingBenchmark {
+    private static final int REPLY_SIZE = 64;
+    private static final int MAX_SAMPLES = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // warmup both modes, then measure
+        run(false, clients, workers, Math.max(1, seconds / 2), false);
+        run(true, clients, workers, Math.max(1, seconds / 2), false);
+        run(false, clients, workers, seconds, true);
+        run(true, clients, workers, seconds, true);
+    }
+
+    private static void run(boolean batchWrites, int clients, int workers, int seconds, boolean print) throws Exception {
+        final WriterLoopback loopback = new WriterLoopback(batchWrites, 0);
+        final ExecutorService workerPool = Executors.newFixedThreadPool(workers);
+        final byte[] payload = new byte[REPLY_SIZE];
+        final Thread[] clientThreads = new Thread[clients];
+        final AtomicLongArray completed = new AtomicLongArray(clients);
+        final long[][] samples = new long[clients][MAX_SAMPLES / clients];
+        final int[] sampleCounts = new int[clients];
+        final long endTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        loopback.setRequestHandler(new WriterLoopback.RequestHandler() {
+            public void onRequest(final long id) {
+                workerPool.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            loopback.writeReply(new ReplyPacket<Object[]>(new Object[]{id, payload}, null));
+                        } catch (Exception e) {
+                            e.printStackTrace();
+                        }
+                    }
+                });
+            }
+        });
+
+        Thread replyReader = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    while (true) {
+                        ReplyPacket<Object[]> reply = loopback.readReply();
+                        int client = (int) ((Long) reply.getResult()[0] >>> 32);
+                        completed.incrementAndGet(client);
+                        LockSupport.unpark(clientThreads[client]);
+                    }
+                } catch (Exception e) {
+                    // connection closed
+                }
+            }
+        }, "reply-reader");
+        replyReader.setDaemon(true);
+        replyReader.start();
+
+        for (int c = 0; c < clients; c++) {
+            final int client = c;
+            clientThreads[c] = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        long sequence = 0;
+                        long[] clientSamples = samples[client];
+                        while (System.nanoTime() < endTime) {
+                            long startTime = System.nanoTime();
+                            loopback.sendRequest(((long) client << 32) | sequence);
+                            sequence++;
+                            while (completed.get(client) != sequence)
+                                LockSupport.park();
+                            long latency = System.nanoTime() - startTime;
+                            clientSamples[(int) ((sequence - 1) % clientSamples.length)] = latency;
+                        }
+                        sampleCounts[client] = (int) Math.min(sequence, clientSamples.length);
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            }, "client-" + c);
+        }
+        long startTime = System.nanoTime();
+        for (Thread clientThread : clientThreads)
+            clientThread.start();
+        for (Thread clientThread : clientThreads)
+            clientThread.join();
+        long duration = System.nanoTime() - startTime;
+
+        workerPool.shutdown();
+        workerPool.awaitTermination(10, TimeUnit.SECONDS);
+        loopback.close();
+
+        if (!print)
+            return;
+        long total = 0;
+        int totalSamples = 0;
+        for (int c = 0; c < clients; c++) {
+            total += completed.get(c);
+            totalSamples += sampleCounts[c];
+        }
+        long[] latencies = new long[totalSamples];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(samples[c], 0, latencies, offset, sampleCounts[c]);
+            offset += sampleCounts[c];
+        }
+        Arrays.sort(latencies);
+        System.out.println(String.format("batching-writer=%-5s clients=%d workers=%d round-trips/sec=%,d p50=%,dus p99=%,dus p99.9=%,dus",
+                batchWrites, clients, workers, total * TimeUnit.SECONDS.toNanos(1) / duration,
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999)));
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0)
+            return 0;
+        int index = (int) Math.min(sortedLatencies.length - 1, Math.round(percentile * sortedLatencies.length));
+        return TimeUnit.NANOSECONDS.toMicros(sortedLatencies[index]);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.lrmi.nio;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WriterBatchingTest {
+    private static final int THREADS = 8;
+    private static final int REPLIES_PER_THREAD = 500;
+
+    @Test
+    public void testConcurrentRepliesWithBatching() throws Exception {
+        writeConcurrentReplies(true);
+    }
+
+    @Test
+    public void testConcurrentRepliesWithoutBatching() throws Exception {
+        writeConcurrentReplies(false);
+    }
+
+    private void writeConcurrentReplies(boolean batchWrites) throws Exception {
+        // A small send buffer forces partial writes which are completed by write events
+        final WriterLoopback loopback = new WriterLoopback(batchWrites, 8 * 1024);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] writers = new Thread[THREADS];
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                writers[t] = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            start.await();
+                            for (int i = 0; i < REPLIES_PER_THREAD; i++) {
+                                int id = thread * REPLIES_PER_THREAD + i;
+                                loopback.writeReply(new ReplyPacket<byte[]>(payload(id), null));
+                            }
+                        } catch (Throwable e) {
+                            error.compareAndSet(null, e);
+                        }
+                    }
+                });
+                writers[t].start();
+            }
+            start.countDown();
+
+            BitSet received = new BitSet();
+            for (int i = 0; i < THREADS * REPLIES_PER_THREAD; i++) {
+                ReplyPacket<byte[]> reply = loopback.readReply();
+                byte[] result = reply.getResult();
+                int id = idOf(result);
+                Assert.assertArrayEquals(payload(id), result);
+                Assert.assertFalse("Duplicate reply " + id, received.get(id));
+                received.set(id);
+            }
+            for (Thread writer : writers)
+                writer.join();
+            Assert.assertNull(error.get());
+            Assert.assertEquals(THREADS * REPLIES_PER_THREAD, received.cardinality());
+        } finally {
+            loopback.close();
+        }
+    }
+
+    @Test
+    public void testBlockingWritesAlongsideQueuedReplies() throws Exception {
+        final WriterLoopback loopback = new WriterLoopback(true, 8 * 1024);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] writers = new Thread[THREADS];
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                writers[t] = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            start.await();
+                            for (int i = 0; i < REPLIES_PER_THREAD; i++) {
+                                int id = thread * REPLIES_PER_THREAD + i;
+                                ReplyPacket<byte[]> reply = new ReplyPacket<byte[]>(payload(id), null);
+                                // every third reply is written the way a class provider request is
+                                if (i % 3 == 0)
+                                    loopback.getWriter().writeReply(reply);
+                                else
+                                    loopback.writeReply(reply);
+                            }
+                        } catch (Throwable e) {
+                            error.compareAndSet(null, e);
+                        }
+                    }
+                });
+                writers[t].start();
+            }
+            start.countDown();
+
+            // each thread's replies, blocking or queued, are received in the order they were written
+            int[] lastReceived = new int[THREADS];
+            Arrays.fill(lastReceived, -1);
+            for (int i = 0; i < THREADS * REPLIES_PER_THREAD; i++) {
+                ReplyPacket<byte[]> reply = loopback.readReply();
+                byte[] result = reply.getResult();
+                int id = idOf(result);
+                Assert.assertArrayEquals(payload(id), result);
+                int thread = id / REPLIES_PER_THREAD;
+                Assert.assertEquals("Reply out of order", lastReceived[thread] + 1, id % REPLIES_PER_THREAD);
+                lastReceived[thread] = id % REPLIES_PER_THREAD;
+            }
+            for (Thread writer : writers)
+                writer.join();
+            Assert.assertNull(error.get());
+        } finally {
+            loopback.close();
+        }
+    }
+
+    private static byte[] payload(int id) {
+        // Mostly small replies, with an occasional one larger than the LRMI buffer limit
+        int length = id % 97 == 0 ? 100 * 1024 : 8 + (id % 300);
+        byte[] payload = new byte[length];
+        payload[0] = (byte) (id >>> 24);
+        payload[1] = (byte) (id >>> 16);
+        payload[2] = (byte) (id >>> 8);
+        payload[3] = (byte) id;
+        for (int i = 4; i < length; i++)
+            payload[i] = (byte) (id + i);
+        return payload;
+    }
+
+    private static int idOf(byte[] payload) {
+        return ((payload[0] & 0xFF) << 24) | ((payload[1] & 0xFF) << 16) | ((payload[2] & 0xFF) << 8) | (payload[3] & 0xFF);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.lrmi.nio;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A loopback connection whose server side is written by a non blocking {@link Writer}, the same
+ * way {@link ChannelEntry} does: a selector thread resumes pending writes on write events and
+ * every restored read interest costs a selector wakeup. Requests are raw longs sent by the client
+ * side and replies are read using a {@link Reader}.
+ */
+class WriterLoopback implements IWriteInterestManager {
+    interface RequestHandler {
+        void onRequest(long id);
+    }
+
+    private final SocketChannel _serverChannel;
+    private final SocketChannel _clientChannel;
+    private final Selector _selector;
+    private final SelectionKey _key;
+    private final Writer _writer;
+    private final Reader _reader;
+    private final ByteBuffer _requestBuffer = ByteBuffer.allocate(8);
+    private final Thread _selectorThread;
+    private volatile boolean _writeInterest;
+    private volatile boolean _closed;
+    private RequestHandler _requestHandler;
+
+    WriterLoopback(boolean batchWrites, int serverSendBufferSize) throws IOException {
+        ServerSocketChannel acceptor = ServerSocketChannel.open();
+        try {
+            acceptor.socket().bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+            _clientChannel = SocketChannel.open(acceptor.socket().getLocalSocketAddress());
+            _serverChannel = acceptor.accept();
+        } finally {
+            acceptor.close();
+        }
+        _clientChannel.socket().setTcpNoDelay(true);
+        _serverChannel.socket().setTcpNoDelay(true);
+        if (serverSendBufferSize > 0)
+            _serverChannel.socket().setSendBufferSize(serverSendBufferSize);
+        _serverChannel.configureBlocking(false);
+
+        _selector = Selector.open();
+        _key = _serverChannel.register(_selector, SelectionKey.OP_READ);
+        _writer = new Writer(_serverChannel, this, batchWrites);
+        _reader = new Reader(_clientChannel, Integer.MAX_VALUE);
+        _selectorThread = new Thread(new Runnable() {
+            public void run() {
+                selectLoop();
+            }
+        }, "WriterLoopback-selector");
+        _selectorThread.setDaemon(true);
+        _selectorThread.start();
+    }
+
+    void setRequestHandler(RequestHandler requestHandler) {
+        _requestHandler = requestHandler;
+    }
+
+    Writer getWriter() {
+        return _writer;
+    }
+
+    void writeReply(ReplyPacket<?> reply) throws Exception {
+        _writer.writeReply(reply, true, new Writer.Context(null));
+    }
+
+    <T> ReplyPacket<T> readReply() throws Exception {
+        return _reader.readReply();
+    }
+
+    synchronized void sendRequest(long id) throws IOException {
+        _requestBuffer.clear();
+        _requestBuffer.putLong(id).flip();
+        while (_requestBuffer.hasRemaining())
+            _clientChannel.write(_requestBuffer);
+    }
+
+    void close() throws IOException {
+        _closed = true;
+        _selector.wakeup();
+        try {
+            _selectorThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        _selector.close();
+        _serverChannel.close();
+        _clientChannel.close();
+    }
+
+    public void setWriteInterest() {
+        _writeInterest = true;
+        _selector.wakeup();
+    }
+
+    public void removeWriteInterest(boolean restoreReadInterest) {
+        _writeInterest = false;
+        if (restoreReadInterest)
+            _selector.wakeup();
+    }
+
+    private void selectLoop() {
+        ByteBuffer requests = ByteBuffer.allocate(8 * 1024);
+        try {
+            while (!_closed) {
+                _key.interestOps(_writeInterest ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+                int selected = _selector.select();
+                _selector.selectedKeys().clear();
+                if (!_key.isValid())
+                    return;
+                if (selected == 0)
+                    continue;
+                if (_key.isWritable())
+                    _writer.onWriteEvent();
+                if (_key.isReadable()) {
+                    if (_serverChannel.read(requests) < 0)
+                        return;
+                    requests.flip();
+                    while (requests.remaining() >= 8)
+                        _requestHandler.onRequest(requests.getLong());
+                    requests.compact();
+                }
+            }
+        } catch (Exception e) {
+            if (!_closed)
+                e.printStackTrace();
+        }
+    }
+}
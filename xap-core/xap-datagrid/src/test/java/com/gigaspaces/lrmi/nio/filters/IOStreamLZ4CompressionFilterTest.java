@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.lrmi.nio.filters;
+
+import com.gigaspaces.internal.io.LZ4BlockCompressor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class IOStreamLZ4CompressionFilterTest {
+
+    @Test
+    public void testBlockRoundTrip() throws Exception {
+        Random random = new Random(0);
+        LZ4BlockCompressor compressor = new LZ4BlockCompressor();
+        for (int i = 0; i < 2000; i++) {
+            byte[] data = createData(random, random.nextInt(i % 100 == 0 ? 200000 : 3000), i % 3);
+            byte[] compressed = new byte[LZ4BlockCompressor.maxCompressedLength(data.length) + 1];
+            int compressedLength = compressor.compress(data, 0, data.length, compressed, 1);
+            byte[] decompressed = new byte[data.length];
+            LZ4BlockCompressor.decompress(compressed, 1, compressedLength, decompressed, 0, data.length);
+            Assert.assertArrayEquals(data, decompressed);
+        }
+    }
+
+    @Test
+    public void testMalformedBlock() {
+        byte[] data = createData(new Random(0), 1000, 1);
+        byte[] compressed = new byte[LZ4BlockCompressor.maxCompressedLength(data.length)];
+        int compressedLength = new LZ4BlockCompressor().compress(data, 0, data.length, compressed, 0);
+        try {
+            LZ4BlockCompressor.decompress(compressed, 0, compressedLength - 1, new byte[data.length], 0, data.length);
+            Assert.fail("Truncated block should not be decompressed");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFilterRoundTrip() throws Exception {
+        IOStreamLZ4CompressionFilter writer = new IOStreamLZ4CompressionFilter(512);
+        IOStreamLZ4CompressionFilter reader = new IOStreamLZ4CompressionFilter(512);
+        Random random = new Random(0);
+
+        byte[] small = createData(random, 100, 1);
+        byte[] wrapped = writer.wrap(ByteBuffer.wrap(small));
+        Assert.assertEquals(IOStreamLZ4CompressionFilter.UNCOMPRESSED, wrapped[0]);
+        Assert.assertArrayEquals(small, reader.unrwap(ByteBuffer.wrap(wrapped)));
+
+        byte[] incompressible = createData(random, 10000, 0);
+        wrapped = writer.wrap(ByteBuffer.wrap(incompressible));
+        Assert.assertEquals(IOStreamLZ4CompressionFilter.UNCOMPRESSED, wrapped[0]);
+        Assert.assertArrayEquals(incompressible, reader.unrwap(ByteBuffer.wrap(wrapped)));
+
+        byte[] compressible = createData(random, 10000, 1);
+        ByteBuffer direct = ByteBuffer.allocateDirect(compressible.length + 4);
+        direct.putInt(compressible.length).put(compressible).flip();
+        direct.getInt();
+        wrapped = writer.wrap(direct);
+        Assert.assertEquals(0, direct.remaining());
+        Assert.assertEquals(IOStreamLZ4CompressionFilter.COMPRESSED, wrapped[0]);
+        Assert.assertTrue(wrapped.length < compressible.length / 2);
+        Assert.assertArrayEquals(compressible, reader.unrwap(ByteBuffer.wrap(wrapped)));
+    }
+
+    @Test
+    public void testEqualInputAfterReset() {
+        Random random = new Random(0);
+        byte[] data = createData(random, 5000, 2);
+        LZ4BlockCompressor compressor = new LZ4BlockCompressor();
+        byte[] first = compress(compressor, data);
+        compress(compressor, createData(random, 5000, 2));
+        Assert.assertArrayEquals(first, compress(compressor, data));
+    }
+
+    private static byte[] compress(LZ4BlockCompressor compressor, byte[] data) {
+        byte[] compressed = new byte[LZ4BlockCompressor.maxCompressedLength(data.length)];
+        compressor.reset();
+        return Arrays.copyOf(compressed, compressor.compress(data, 0, data.length, compressed, 0));
+    }
+
+    /**
+     * @param kind 0 for random bytes, 1 for text like records, 2 for a few distinct bytes
+     */
+    private static byte[] createData(Random random, int length, int kind) {
+        byte[] data = new byte[length];
+        if (kind == 0) {
+            random.nextBytes(data);
+        } else if (kind == 1) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < length)
+                sb.append("{id=").append(sb.length()).append(", tag=tag-").append(random.nextInt(16)).append(", amount=").append(random.nextInt(1000)).append('}');
+            System.arraycopy(sb.toString().getBytes(), 0, data, 0, length);
+        } else {
+            for (int i = 0; i < length; i++)
+                data[i] = (byte) random.nextInt(4);
+        }
+        return data;
+    }
+}
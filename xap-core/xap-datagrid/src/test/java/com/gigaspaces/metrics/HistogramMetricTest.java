@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gigaspaces.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+public class HistogramMetricTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = HistogramMetric.getBucket(value);
+            Assert.assertTrue(value >= HistogramMetric.getBucketLowestValue(bucket));
+            Assert.assertTrue(value <= HistogramMetric.getBucketHighestValue(bucket));
+        }
+        long value = 123456789012L;
+        long highest = HistogramMetric.getBucketHighestValue(HistogramMetric.getBucket(value));
+        Assert.assertTrue(highest >= value);
+        Assert.assertTrue((highest - value) / (double) value < 1 / 32.0);
+    }
+
+    @Test
+    public void testPercentiles() {
+        HistogramMetric histogram = new HistogramMetric(4);
+        for (int i = 1; i <= 1000; i++)
+            histogram.record(i * 1000L);
+
+        HistogramMetric.Snapshot snapshot = histogram.sample();
+        Assert.assertEquals(1000, snapshot.getCount());
+        assertClose(500000, snapshot.getValueAtPercentile(50));
+        assertClose(990000, snapshot.getValueAtPercentile(99));
+        assertClose(999000, snapshot.getValueAtPercentile(99.9));
+        assertClose(1000000, snapshot.getMax());
+        assertClose(500500, (long) snapshot.getMean());
+    }
+
+    @Test
+    public void testSampleIsInterval() {
+        HistogramMetric histogram = new HistogramMetric(1);
+        histogram.record(10);
+        histogram.record(-5);
+        Assert.assertEquals(2, histogram.sample().getCount());
+
+        HistogramMetric.Snapshot empty = histogram.sample();
+        Assert.assertEquals(0, empty.getCount());
+        Assert.assertEquals(0, empty.getValueAtPercentile(99));
+        Assert.assertEquals(0, empty.getMax());
+
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(1, histogram.sample().getCount());
+        Assert.assertEquals(3, histogram.getTotalCount());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final HistogramMetric histogram = new HistogramMetric(4);
+        final int threads = 8;
+        final int values = 10000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < values; j++)
+                        histogram.record(j);
+                    done.countDown();
+                }
+            }.start();
+        }
+        done.await();
+        Assert.assertEquals(threads * values, histogram.sample().getCount());
+    }
+
+    @Test
+    public void testReportedByGroup() {
+        MetricGroup group = new MetricGroup();
+        HistogramMetric histogram = new HistogramMetric();
+        histogram.record(2000);
+        group.register("write-latency", histogram);
+
+        Map<String, Object> values = group.snapshot().getMetricsValues();
+        Assert.assertEquals(1L, values.get("write-latency-count"));
+        Assert.assertEquals(2.0, (Double) values.get("write-latency-p99"), 0.05);
+        Assert.assertEquals(2.0, (Double) values.get("write-latency-max"), 0.05);
+        Assert.assertTrue(values.containsKey("write-latency-p999"));
+
+        MetricRegistry registry = new MetricRegistry("foo");
+        registry.register("write-latency", new MetricTags(Collections.<String, Object>emptyMap()), histogram);
+        Assert.assertFalse(registry.isEmpty());
+    }
+
+    private static void assertClose(long expected, long actual) {
+        Assert.assertEquals(expected, actual, expected / 32.0);
+    }
+}
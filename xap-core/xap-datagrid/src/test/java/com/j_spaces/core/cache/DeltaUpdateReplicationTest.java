@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.j_spaces.core.cache;
+
+import com.gigaspaces.internal.server.storage.FlatEntryData;
+import com.gigaspaces.internal.server.storage.IEntryData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class DeltaUpdateReplicationTest {
+
+    @Test
+    public void testUnchangedValues() {
+        IEntryData original = entryData(new Object[]{1, "a", null, 2.5}, null);
+        IEntryData updated = entryData(new Object[]{1, "b", null, 3.5}, null);
+        boolean[] indicators = CacheManager.getUnchangedValuesIndicators(original, updated);
+        Assert.assertArrayEquals(new boolean[]{true, false, true, false}, indicators);
+    }
+
+    @Test
+    public void testFullUpdate() {
+        // nothing is left out
+        Assert.assertNull(CacheManager.getUnchangedValuesIndicators(entryData(new Object[]{1, "a"}, null), entryData(new Object[]{2, "b"}, null)));
+        // a property which is set to null can not be told apart from one which is not updated
+        Assert.assertNull(CacheManager.getUnchangedValuesIndicators(entryData(new Object[]{1, "a"}, null), entryData(new Object[]{1, null}, null)));
+        // dynamic properties which are removed would be kept by a partial update
+        Map<String, Object> dynamicProperties = Collections.<String, Object>singletonMap("x", 1);
+        Assert.assertNull(CacheManager.getUnchangedValuesIndicators(entryData(new Object[]{1, "a"}, dynamicProperties), entryData(new Object[]{1, "b"}, null)));
+        Assert.assertNotNull(CacheManager.getUnchangedValuesIndicators(entryData(new Object[]{1, "a"}, null), entryData(new Object[]{1, "b"}, dynamicProperties)));
+    }
+
+    private static IEntryData entryData(Object[] values, Map<String, Object> dynamicProperties) {
+        return new FlatEntryData(values, dynamicProperties, null, 1, Long.MAX_VALUE, false);
+    }
+}
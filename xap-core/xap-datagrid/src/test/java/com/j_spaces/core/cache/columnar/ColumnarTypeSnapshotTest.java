@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.columnar;
+
+import com.gigaspaces.internal.metadata.EntryType;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.server.storage.FlatEntryData;
+import com.gigaspaces.metadata.SpaceTypeDescriptorBuilder;
+import com.gigaspaces.query.aggregators.AverageAggregator;
+import com.gigaspaces.query.aggregators.CountAggregator;
+import com.gigaspaces.query.aggregators.GroupByAggregator;
+import com.gigaspaces.query.aggregators.GroupByResult;
+import com.gigaspaces.query.aggregators.GroupByValue;
+import com.gigaspaces.query.aggregators.MaxValueAggregator;
+import com.gigaspaces.query.aggregators.MinValueAggregator;
+import com.gigaspaces.query.aggregators.SpaceEntriesAggregator;
+import com.gigaspaces.query.aggregators.SumAggregator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ColumnarTypeSnapshotTest {
+    private static final long NOW = 1000;
+
+    private final ITypeDesc _typeDesc = (ITypeDesc) new SpaceTypeDescriptorBuilder("Order")
+            .addFixedProperty("id", String.class)
+            .addFixedProperty("category", Long.class)
+            .addFixedProperty("quantity", Integer.class)
+            .addFixedProperty("price", Double.class)
+            .idProperty("id", false)
+            .create();
+
+    @Test
+    public void testAggregationOfLiveEntries() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        for (int i = 0; i < 3000; i++)
+            snapshot.put("uid" + i, createEntryData((long) (i % 3), i, i * 0.5, Long.MAX_VALUE));
+        // updates replace the values of the entry
+        for (int i = 0; i < 1000; i++)
+            snapshot.put("uid" + i, createEntryData((long) (i % 3), 0, 0d, Long.MAX_VALUE));
+        for (int i = 1000; i < 2000; i++)
+            snapshot.remove("uid" + i);
+        snapshot.put("expired", createEntryData(0L, 1000000, 1000000d, NOW - 1));
+        snapshot.put("noCategory", createEntryData(null, 1, null, Long.MAX_VALUE));
+
+        long count = 2001;
+        long quantity = 1;
+        double price = 0;
+        long[] categoryQuantity = new long[3];
+        for (int i = 2000; i < 3000; i++) {
+            quantity += i;
+            price += i * 0.5;
+            categoryQuantity[i % 3] += i;
+        }
+
+        List<SpaceEntriesAggregator> aggregators = new ArrayList<SpaceEntriesAggregator>();
+        aggregators.add(new CountAggregator());
+        aggregators.add(new CountAggregator().setPath("price"));
+        aggregators.add(new SumAggregator().setPath("quantity"));
+        aggregators.add(new AverageAggregator().setPath("price"));
+        aggregators.add(new MinValueAggregator().setPath("quantity"));
+        aggregators.add(new MaxValueAggregator().setPath("price"));
+        aggregators.add(new GroupByAggregator().groupBy("category").selectCount().selectSum("quantity"));
+        Assert.assertTrue(snapshot.aggregate(aggregators, _typeDesc, NOW));
+
+        Assert.assertEquals(count, aggregators.get(0).getFinalResult());
+        Assert.assertEquals(count - 1, aggregators.get(1).getFinalResult());
+        Assert.assertEquals(quantity, aggregators.get(2).getFinalResult());
+        Assert.assertEquals(price / (count - 1), ((Number) aggregators.get(3).getFinalResult()).doubleValue(), 0.0001);
+        Assert.assertEquals(0, aggregators.get(4).getFinalResult());
+        Assert.assertEquals(2999 * 0.5, aggregators.get(5).getFinalResult());
+
+        GroupByResult groups = (GroupByResult) aggregators.get(6).getFinalResult();
+        Assert.assertEquals(3, groups.size());
+        for (long category = 0; category < 3; category++) {
+            GroupByValue group = groups.get(category);
+            Assert.assertNotNull(group);
+            Assert.assertEquals(categoryQuantity[(int) category], ((Number) group.get(1)).longValue());
+        }
+        Assert.assertEquals(2002, snapshot.size());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        List<SpaceEntriesAggregator> aggregators = Arrays.<SpaceEntriesAggregator>asList(
+                new CountAggregator(), new SumAggregator().setPath("quantity"), new MaxValueAggregator().setPath("price"));
+        Assert.assertTrue(snapshot.aggregate(aggregators, _typeDesc, NOW));
+
+        Assert.assertEquals(0L, aggregators.get(0).getFinalResult());
+        Assert.assertNull(aggregators.get(1).getFinalResult());
+        Assert.assertNull(aggregators.get(2).getFinalResult());
+    }
+
+    @Test
+    public void testUnsupportedAggregators() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        snapshot.put("uid", createEntryData(1L, 1, 1d, Long.MAX_VALUE));
+
+        assertNotSupported(snapshot, new MaxValueAggregator().setPath("id"));
+        assertNotSupported(snapshot, new SumAggregator().setPath("missing"));
+        assertNotSupported(snapshot, new SumAggregator().setPath("price.value"));
+        assertNotSupported(snapshot, new GroupByAggregator().groupBy("price").selectCount());
+        assertNotSupported(snapshot, new GroupByAggregator().groupBy("category", "quantity").selectCount());
+        assertNotSupported(snapshot, new GroupByAggregator().groupBy("category").selectMaxEntry("price"));
+    }
+
+    @Test
+    public void testSlotsAreReused() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        for (int i = 0; i < 10; i++) {
+            snapshot.put("uid" + i, createEntryData(1L, i, 1d, Long.MAX_VALUE));
+            snapshot.remove("uid" + i);
+        }
+        snapshot.remove("uid0");
+        snapshot.put("uid", createEntryData(1L, 7, 1d, Long.MAX_VALUE));
+
+        List<SpaceEntriesAggregator> aggregators = Arrays.<SpaceEntriesAggregator>asList(
+                new CountAggregator(), new SumAggregator().setPath("quantity"));
+        Assert.assertTrue(snapshot.aggregate(aggregators, _typeDesc, NOW));
+        Assert.assertEquals(1L, aggregators.get(0).getFinalResult());
+        Assert.assertEquals(7L, aggregators.get(1).getFinalResult());
+        Assert.assertEquals(1, snapshot.size());
+    }
+
+    @Test
+    public void testValueOfAnotherTypeInvalidatesColumn() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        snapshot.put("uid1", createEntryData(1L, 1, 1d, Long.MAX_VALUE));
+        FlatEntryData entryData = createEntryData(2L, 2, 2d, Long.MAX_VALUE);
+        entryData.getFixedPropertiesValues()[_typeDesc.getFixedPropertyPosition("quantity")] = "2";
+        snapshot.put("uid2", entryData);
+        entryData = createEntryData(3L, 3, 3d, Long.MAX_VALUE);
+        entryData.getFixedPropertiesValues()[_typeDesc.getFixedPropertyPosition("category")] = 3.5d;
+        snapshot.put("uid3", entryData);
+        Assert.assertEquals(3, snapshot.size());
+
+        assertNotSupported(snapshot, new SumAggregator().setPath("quantity"));
+        assertNotSupported(snapshot, new GroupByAggregator().groupBy("category").selectCount());
+        // the other columns are still kept
+        List<SpaceEntriesAggregator> aggregators = Arrays.<SpaceEntriesAggregator>asList(new SumAggregator().setPath("price"));
+        Assert.assertTrue(snapshot.aggregate(aggregators, _typeDesc, NOW));
+        Assert.assertEquals(6d, aggregators.get(0).getFinalResult());
+    }
+
+    @Test
+    public void testWiderValueInvalidatesColumn() {
+        ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        snapshot.put("uid1", createEntryData(1L, 1, 1d, Long.MAX_VALUE));
+        // a document property may hold a value wider than its declared type
+        FlatEntryData entryData = createEntryData(2L, 2, 2d, Long.MAX_VALUE);
+        entryData.getFixedPropertiesValues()[_typeDesc.getFixedPropertyPosition("quantity")] = Long.MAX_VALUE;
+        snapshot.put("uid2", entryData);
+
+        assertNotSupported(snapshot, new MaxValueAggregator().setPath("quantity"));
+        assertNotSupported(snapshot, new SumAggregator().setPath("quantity"));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        final ColumnarTypeSnapshot snapshot = new ColumnarTypeSnapshot(_typeDesc);
+        final int threads = 4;
+        final int entries = 5000;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            writers[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < entries; i++) {
+                        String uid = thread + "-" + i;
+                        snapshot.put(uid, createEntryData(1L, 1, 1d, Long.MAX_VALUE));
+                        snapshot.put(uid, createEntryData(1L, 2, 1d, Long.MAX_VALUE));
+                        if (i % 2 == 1)
+                            snapshot.remove(uid);
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        for (Thread writer : writers)
+            writer.join();
+
+        List<SpaceEntriesAggregator> aggregators = Arrays.<SpaceEntriesAggregator>asList(
+                new CountAggregator(), new SumAggregator().setPath("quantity"));
+        Assert.assertTrue(snapshot.aggregate(aggregators, _typeDesc, NOW));
+        Assert.assertEquals((long) threads * entries / 2, aggregators.get(0).getFinalResult());
+        Assert.assertEquals((long) threads * entries, aggregators.get(1).getFinalResult());
+        Assert.assertEquals(threads * entries / 2, snapshot.size());
+    }
+
+    private void assertNotSupported(ColumnarTypeSnapshot snapshot, SpaceEntriesAggregator aggregator) {
+        List<SpaceEntriesAggregator> aggregators = Arrays.<SpaceEntriesAggregator>asList(new CountAggregator(), aggregator);
+        Assert.assertFalse(snapshot.aggregate(aggregators, _typeDesc, NOW));
+        Assert.assertEquals(0, ((Number) aggregators.get(0).getIntermediateResult()).longValue());
+    }
+
+    private FlatEntryData createEntryData(Long category, Integer quantity, Double price, long expiration) {
+        Object[] values = new Object[_typeDesc.getNumOfFixedProperties()];
+        values[_typeDesc.getFixedPropertyPosition("category")] = category;
+        values[_typeDesc.getFixedPropertyPosition("quantity")] = quantity;
+        values[_typeDesc.getFixedPropertyPosition("price")] = price;
+        return new FlatEntryData(values, null, _typeDesc.getEntryTypeDesc(EntryType.DOCUMENT_JAVA), 1, expiration, false);
+    }
+}
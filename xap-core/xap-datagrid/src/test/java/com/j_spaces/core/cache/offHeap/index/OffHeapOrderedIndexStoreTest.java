@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.offHeap.index;
+
+import com.gigaspaces.internal.utils.collections.PrimitiveKeyType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OffHeapOrderedIndexStoreTest {
+    @Test
+    public void testRandomOperationsAgainstTreeMap() {
+        Random random = new Random(17);
+        OffHeapOrderedIndexStore<String> store = new OffHeapOrderedIndexStore<String>(PrimitiveKeyType.LONG);
+        TreeMap<Object, String> expected = new TreeMap<Object, String>();
+        for (int i = 0; i < 200000; i++) {
+            long key = random.nextInt(50000) - 25000;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), store.remove(key));
+            } else {
+                String value = String.valueOf(i);
+                String prev = expected.containsKey(key) ? expected.get(key) : null;
+                if (prev == null)
+                    expected.put(key, value);
+                Assert.assertEquals(prev, store.putIfAbsent(key, value));
+            }
+        }
+        Assert.assertEquals(expected.size(), store.size());
+        assertSameContent(expected, store);
+        assertSameContent(expected.descendingMap(), store.descendingMap());
+        assertSameContent(expected.subMap(-100L, true, 3000L, false), store.subMap(-100L, true, 3000L, false));
+        assertSameContent(expected.headMap(0L, true), store.headMap(0L, true));
+        assertSameContent(expected.tailMap(20000L, false).descendingMap(), store.tailMap(20000L, false).descendingMap());
+        assertSameContent(expected.descendingMap().subMap(500L, false, -500L, true), store.descendingMap().subMap(500L, false, -500L, true));
+
+        for (long key = -25001; key <= 25001; key += 7) {
+            Assert.assertEquals(expected.ceilingEntry(key), store.ceilingEntry(key));
+            Assert.assertEquals(expected.floorEntry(key), store.floorEntry(key));
+            Assert.assertEquals(expected.higherEntry(key), store.higherEntry(key));
+            Assert.assertEquals(expected.lowerEntry(key), store.lowerEntry(key));
+        }
+        Assert.assertEquals(expected.firstEntry(), store.firstEntry());
+        Assert.assertEquals(expected.lastEntry(), store.lastEntry());
+
+        // Remove everything - the tree should shrink back to a single page:
+        for (Object key : new ArrayList<Object>(expected.keySet()))
+            Assert.assertEquals(expected.remove(key), store.remove(key));
+        Assert.assertTrue(store.isEmpty());
+        Assert.assertNull(store.firstEntry());
+    }
+
+    @Test
+    public void testDoubleKeysOrder() {
+        OffHeapOrderedIndexStore<String> store = new OffHeapOrderedIndexStore<String>(PrimitiveKeyType.DOUBLE);
+        TreeMap<Object, String> expected = new TreeMap<Object, String>();
+        double[] keys = {Double.NaN, Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, Double.MIN_VALUE, 2.25, Double.MAX_VALUE};
+        for (double key : keys) {
+            store.put(key, String.valueOf(key));
+            expected.put(key, String.valueOf(key));
+        }
+        assertSameContent(expected, store);
+        Assert.assertEquals(-0.0d, store.lowerKey(0.0d));
+        Assert.assertNull(store.get(1));
+    }
+
+    @Test
+    public void testKeySetViews() {
+        OffHeapOrderedIndexStore<String> store = new OffHeapOrderedIndexStore<String>(PrimitiveKeyType.INT);
+        TreeMap<Object, String> expected = new TreeMap<Object, String>();
+        for (int i = -500; i < 500; i += 3) {
+            store.put(i, String.valueOf(i));
+            expected.put(i, String.valueOf(i));
+        }
+        assertSameKeys(expected.navigableKeySet(), store.navigableKeySet());
+        assertSameKeys(expected.descendingKeySet(), store.descendingKeySet());
+        assertSameKeys(expected.navigableKeySet().subSet(-100, false, 200, true), store.navigableKeySet().subSet(-100, false, 200, true));
+        assertSameKeys(expected.descendingKeySet().headSet(10, true), store.descendingKeySet().headSet(10, true));
+        assertSameKeys(expected.navigableKeySet().tailSet(7, true).descendingSet(), store.navigableKeySet().tailSet(7, true).descendingSet());
+        Assert.assertEquals(new ArrayList<Object>(expected.descendingKeySet()), toList(store.navigableKeySet().descendingIterator()));
+
+        NavigableSet<Object> keys = store.keySet();
+        Assert.assertEquals(expected.firstKey(), keys.first());
+        Assert.assertEquals(expected.lastKey(), keys.last());
+        Assert.assertEquals(expected.navigableKeySet().ceiling(2), keys.ceiling(2));
+        Assert.assertEquals(expected.navigableKeySet().lower(2), keys.lower(2));
+        Assert.assertTrue(keys.contains(-500));
+        Assert.assertFalse(keys.contains(-499));
+
+        // Removal through the views updates the store:
+        Assert.assertTrue(keys.remove(-500));
+        Assert.assertNull(store.get(-500));
+        Assert.assertEquals(-497, keys.pollFirst());
+        Assert.assertEquals(expected.lastKey(), store.descendingKeySet().pollFirst());
+        for (Iterator<Object> iter = keys.headSet(0).iterator(); iter.hasNext(); ) {
+            iter.next();
+            iter.remove();
+        }
+        Assert.assertEquals(expected.tailMap(0).size() - 1, store.size());
+        store.descendingKeySet().clear();
+        Assert.assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        final OffHeapOrderedIndexStore<String> store = new OffHeapOrderedIndexStore<String>(PrimitiveKeyType.LONG);
+        final int threads = 4;
+        final int keysPerThread = 20000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            writers[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        // Interleaved keys, every other one is removed again:
+                        for (long key = thread; key < (long) threads * keysPerThread; key += threads) {
+                            Assert.assertNull(store.putIfAbsent(key, String.valueOf(key)));
+                            if (key % 2 == 1)
+                                Assert.assertEquals(String.valueOf(key), store.remove(key));
+                        }
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    }
+                }
+            };
+            writers[t].start();
+        }
+        start.countDown();
+        for (Thread writer : writers)
+            writer.join();
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+
+        Assert.assertEquals(threads * keysPerThread / 2, store.size());
+        long expectedKey = 0;
+        for (Map.Entry<Object, String> entry : store.entrySet()) {
+            Assert.assertEquals(expectedKey, entry.getKey());
+            Assert.assertEquals(String.valueOf(expectedKey), entry.getValue());
+            expectedKey += 2;
+        }
+        Assert.assertEquals((long) threads * keysPerThread, expectedKey);
+    }
+
+    @Test
+    public void testReadersDuringUpdates() throws Exception {
+        final OffHeapOrderedIndexStore<String> store = new OffHeapOrderedIndexStore<String>(PrimitiveKeyType.LONG);
+        final int keys = 50000;
+        // Even keys stay, odd keys are added and removed while reading - splitting and merging leaves:
+        for (long key = 0; key < keys; key += 2)
+            store.put(key, String.valueOf(key));
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    for (int round = 0; round < 5; round++) {
+                        for (long key = 1; key < keys; key += 2)
+                            store.put(key, String.valueOf(key));
+                        for (long key = 1; key < keys; key += 2)
+                            store.remove(key);
+                    }
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        Thread[] readers = new Thread[3];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        Random random = new Random();
+                        while (done.getCount() != 0) {
+                            long key = random.nextInt(keys / 2) * 2;
+                            Assert.assertEquals(String.valueOf(key), store.get(key));
+                            Object ceiling = store.ceilingKey(key + 1);
+                            Assert.assertTrue(ceiling == null || (Long) ceiling == key + 1 || (Long) ceiling == key + 2);
+                            long expectedKey = key;
+                            for (Map.Entry<Object, String> entry : store.subMap(key, true, key + 200, true).entrySet()) {
+                                if ((Long) entry.getKey() % 2 == 1)
+                                    continue;
+                                Assert.assertEquals(expectedKey, entry.getKey());
+                                Assert.assertEquals(String.valueOf(expectedKey), entry.getValue());
+                                expectedKey += 2;
+                            }
+                            Assert.assertEquals(Math.min(key + 202, keys), expectedKey);
+                        }
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    }
+                }
+            };
+        }
+        writer.start();
+        for (Thread reader : readers)
+            reader.start();
+        writer.join();
+        for (Thread reader : readers)
+            reader.join();
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+        Assert.assertEquals(keys / 2, store.size());
+    }
+
+    @Test
+    public void testUnbalancedRemovals() {
+        OffHeapLongBPlusTree tree = new OffHeapLongBPlusTree();
+        int count = OffHeapLongBPlusTree.LEAF_CAPACITY * OffHeapLongBPlusTree.INNER_CAPACITY * 2;
+        for (int i = 0; i < count; i++)
+            Assert.assertEquals(OffHeapLongBPlusTree.NO_VALUE, tree.put(i, i, false));
+        int pagesWhenFull = tree.getUsedPages();
+        // Keep every 100th key only - sparse leaves should be merged:
+        for (int i = 0; i < count; i++) {
+            if (i % 100 != 0)
+                Assert.assertEquals(i, tree.remove(i));
+        }
+        Assert.assertEquals(count / 100, tree.size());
+        Assert.assertTrue(tree.getUsedPages() < pagesWhenFull / 10);
+        long[] keys = new long[count];
+        int[] values = new int[count];
+        Assert.assertEquals(count / 100, tree.scan(false, 0, false, false, keys, values));
+        for (int i = 0; i < count / 100; i++)
+            Assert.assertEquals(i * 100L, keys[i]);
+    }
+
+    private static void assertSameKeys(NavigableSet<Object> expected, NavigableSet<Object> actual) {
+        Assert.assertEquals(new ArrayList<Object>(expected), new ArrayList<Object>(actual));
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(expected.isEmpty() ? null : expected.first(), actual.isEmpty() ? null : actual.first());
+    }
+
+    private static List<Object> toList(Iterator<Object> iter) {
+        List<Object> list = new ArrayList<Object>();
+        while (iter.hasNext())
+            list.add(iter.next());
+        return list;
+    }
+
+    private static void assertSameContent(NavigableMap<Object, String> expected, NavigableMap<Object, String> actual) {
+        List<Map.Entry<Object, String>> expectedEntries = new ArrayList<Map.Entry<Object, String>>(expected.entrySet());
+        List<Map.Entry<Object, String>> actualEntries = new ArrayList<Map.Entry<Object, String>>(actual.entrySet());
+        Assert.assertEquals(expectedEntries, actualEntries);
+        Assert.assertEquals(expected.size(), actual.size());
+    }
+}
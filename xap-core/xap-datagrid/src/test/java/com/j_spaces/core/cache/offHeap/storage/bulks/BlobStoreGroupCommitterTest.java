@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.core.cache.offHeap.storage.bulks;
+
+import com.gigaspaces.server.blobstore.BlobStoreBulkOperationRequest;
+import com.gigaspaces.server.blobstore.BlobStoreBulkOperationResult;
+import com.gigaspaces.server.blobstore.BlobStoreException;
+import com.gigaspaces.server.blobstore.BlobStoreObjectType;
+import com.gigaspaces.server.blobstore.BlobStoreStorageHandler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class BlobStoreGroupCommitterTest {
+
+    @Test(timeout = 10000)
+    public void testSingleThreadIsNotDelayed() {
+        RecordingBlobStore blobStore = new RecordingBlobStore(null);
+        BlobStoreGroupCommitter committer = new BlobStoreGroupCommitter(blobStore, TimeUnit.SECONDS.toMicros(60), 100);
+
+        Assert.assertEquals("a@0", committer.add("a", "data"));
+        Assert.assertEquals("a@1", committer.replace("a", "data1", "a@0"));
+        committer.remove("a", "a@1");
+
+        Assert.assertTrue(blobStore._data.isEmpty());
+        Assert.assertEquals(3, blobStore._bulkSizes.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentOperationsAreGrouped() throws Exception {
+        final int threads = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        final RecordingBlobStore blobStore = new RecordingBlobStore(release);
+        final BlobStoreGroupCommitter committer = new BlobStoreGroupCommitter(blobStore, TimeUnit.SECONDS.toMicros(60), threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // the first operation keeps the blobstore busy while the others are grouped
+            Future<Object> first = executor.submit(new AddTask(committer, "first"));
+            blobStore._bulkStarted.await();
+            Future<?>[] grouped = new Future[threads];
+            for (int i = 0; i < threads; i++)
+                grouped[i] = executor.submit(new AddTask(committer, "id" + i));
+            // let the group leader find the blobstore busy
+            Thread.sleep(500);
+            release.countDown();
+
+            Assert.assertEquals("first@0", first.get());
+            for (int i = 0; i < threads; i++)
+                Assert.assertEquals("id" + i + "@0", grouped[i].get());
+            Assert.assertEquals(2, blobStore._bulkSizes.size());
+            Assert.assertEquals(threads, blobStore._bulkSizes.get(1).intValue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testFailureIsReportedToItsOperationOnly() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingBlobStore blobStore = new RecordingBlobStore(release);
+        BlobStoreGroupCommitter committer = new BlobStoreGroupCommitter(blobStore, TimeUnit.SECONDS.toMicros(60), 2);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Object> first = executor.submit(new AddTask(committer, "first"));
+            blobStore._bulkStarted.await();
+            Future<Object> failed = executor.submit(new AddTask(committer, "fail"));
+            Future<Object> succeeded = executor.submit(new AddTask(committer, "ok"));
+            Thread.sleep(500);
+            release.countDown();
+
+            Assert.assertEquals("first@0", first.get());
+            Assert.assertEquals("ok@0", succeeded.get());
+            try {
+                failed.get();
+                Assert.fail("expected the add to fail");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof BlobStoreException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class AddTask implements Callable<Object> {
+        private final BlobStoreGroupCommitter _committer;
+        private final String _id;
+
+        private AddTask(BlobStoreGroupCommitter committer, String id) {
+            this._committer = committer;
+            this._id = id;
+        }
+
+        @Override
+        public Object call() {
+            return _committer.add(_id, "data");
+        }
+    }
+
+    private static class RecordingBlobStore extends BlobStoreStorageHandler {
+        private final Map<Serializable, Serializable> _data = new ConcurrentHashMap<Serializable, Serializable>();
+        private final Map<Serializable, Integer> _versions = new ConcurrentHashMap<Serializable, Integer>();
+        private final List<Integer> _bulkSizes = new CopyOnWriteArrayList<Integer>();
+        private final CountDownLatch _bulkStarted = new CountDownLatch(1);
+        private final CountDownLatch _release;
+
+        private RecordingBlobStore(CountDownLatch release) {
+            this._release = release;
+        }
+
+        @Override
+        public List<BlobStoreBulkOperationResult> executeBulk(List<BlobStoreBulkOperationRequest> operations, BlobStoreObjectType objectType, boolean transactional) {
+            _bulkSizes.add(operations.size());
+            _bulkStarted.countDown();
+            if (_release != null) {
+                try {
+                    _release.await();
+                } catch (InterruptedException e) {
+                    throw new BlobStoreException(e);
+                }
+            }
+            return super.executeBulk(operations, objectType, transactional);
+        }
+
+        @Override
+        public Object add(Serializable id, Serializable data, BlobStoreObjectType objectType) {
+            if ("fail".equals(id))
+                throw new BlobStoreException("add failed");
+            _data.put(id, data);
+            _versions.put(id, 0);
+            return id + "@0";
+        }
+
+        @Override
+        public Serializable get(Serializable id, Object position, BlobStoreObjectType objectType) {
+            return _data.get(id);
+        }
+
+        @Override
+        public Object replace(Serializable id, Serializable data, Object position, BlobStoreObjectType objectType) {
+            int version = _versions.get(id) + 1;
+            _data.put(id, data);
+            _versions.put(id, version);
+            return id + "@" + version;
+        }
+
+        @Override
+        public Serializable remove(Serializable id, Object position, BlobStoreObjectType objectType) {
+            _versions.remove(id);
+            return _data.remove(id);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc;
+
+import com.j_spaces.kernel.SystemProperties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryCacheTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(SystemProperties.BOUNDED_QUERY_CACHE_SIZE);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        System.setProperty(SystemProperties.BOUNDED_QUERY_CACHE_SIZE, "2");
+        QueryCache cache = new QueryCache();
+        Query a = new CommitQuery(true);
+        Query b = new CommitQuery(true);
+        Query c = new CommitQuery(true);
+        cache.addQueryToCache("a", a);
+        cache.addQueryToCache("b", b);
+        // a becomes the most recently used
+        Assert.assertSame(a, cache.getQueryFromCache("a"));
+        cache.addQueryToCache("c", c);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.getQueryFromCache("b"));
+        Assert.assertSame(a, cache.getQueryFromCache("a"));
+        Assert.assertSame(c, cache.getQueryFromCache("c"));
+        Assert.assertEquals(3, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testConcurrentAccessKeepsCacheBounded() throws Exception {
+        System.setProperty(SystemProperties.BOUNDED_QUERY_CACHE_SIZE, "100");
+        final QueryCache cache = new QueryCache();
+        final Query query = new CommitQuery(true);
+        final int threads = 4;
+        Thread[] clients = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            clients[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        if (cache.getQueryFromCache(thread + "-" + (i % 500)) == null)
+                            cache.addQueryToCache(thread + "-" + (i % 500), query);
+                    }
+                }
+            };
+            clients[t].start();
+        }
+        for (Thread client : clients)
+            client.join();
+
+        // additions do not wait for an eviction in progress
+        Assert.assertTrue(cache.size() <= 100 + threads);
+        Assert.assertEquals(threads * 10000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testNothingIsCachedWithoutSize() {
+        System.setProperty(SystemProperties.BOUNDED_QUERY_CACHE_SIZE, "0");
+        QueryCache cache = new QueryCache();
+        cache.addQueryToCache("a", new CommitQuery(true));
+        Assert.assertNull(cache.getQueryFromCache("a"));
+        Assert.assertEquals(0, cache.size());
+    }
+}
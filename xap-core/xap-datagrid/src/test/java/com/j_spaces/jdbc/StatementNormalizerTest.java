@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc;
+
+import com.j_spaces.jdbc.StatementNormalizer.NormalizedStatement;
+import com.j_spaces.jdbc.parser.grammar.SqlParser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StatementNormalizerTest {
+
+    @Test
+    public void testLiteralsAreReplaced() {
+        NormalizedStatement normalized = StatementNormalizer.normalize(
+                "select * from Person where name = 'John' and age >= 30 and salary < -1.5e3 and id <> 7L");
+        Assert.assertEquals("select * from Person where name = ? and age >= ? and salary < ? and id <> ?", normalized.getStatement());
+        Assert.assertEquals(Arrays.<Object>asList("John", "30", "-1.5e3", "7"), values(normalized));
+    }
+
+    @Test
+    public void testVariantsShareStatement() {
+        NormalizedStatement first = StatementNormalizer.normalize("select * from Person where name = 'John'  and age > 30");
+        NormalizedStatement second = StatementNormalizer.normalize("select * from Person where name = 'Jane' and\nage > 40");
+        Assert.assertEquals(first.getStatement(), second.getStatement());
+        Assert.assertEquals(Arrays.<Object>asList("Jane", "40"), values(second));
+    }
+
+    @Test
+    public void testLikeAndEscapedQuotes() {
+        NormalizedStatement normalized = StatementNormalizer.normalize("name not like 'O''Br%' and city rlike 'New.*'");
+        Assert.assertEquals("name not like ? and city rlike ?", normalized.getStatement());
+        Assert.assertEquals(Arrays.<Object>asList("O''Br%", "New.*"), values(normalized));
+    }
+
+    @Test
+    public void testOtherLiteralsAreKept() {
+        NormalizedStatement normalized = StatementNormalizer.normalize(
+                "select name from Person where age between 10 and 20 and id in (1, 2) and city = 'Paris' order by name");
+        Assert.assertEquals("select name from Person where age between 10 and 20 and id in (1, 2) and city = ? order by name", normalized.getStatement());
+    }
+
+    @Test
+    public void testUnsupportedStatements() {
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where name = ? and age = 5"));
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where age = (select max(age) from Person where id = 1)"));
+        Assert.assertNull(StatementNormalizer.normalize("update Person set age = 5 where name = 'John'"));
+        Assert.assertNull(StatementNormalizer.normalize("insert into Person values ('John', 5)"));
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where rownum < 10 and age = 5"));
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where age = 5abc"));
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where name = 'John"));
+        // nothing to replace
+        Assert.assertNull(StatementNormalizer.normalize("select * from Person where name is null"));
+    }
+
+    @Test
+    public void testNormalizedStatementIsParsed() throws Exception {
+        NormalizedStatement normalized = StatementNormalizer.normalize(
+                "select * from Person where name = 'John' and (age > 30 or salary <= 1000.5)");
+        AbstractDMLQuery query = (AbstractDMLQuery) new SqlParser(new StringReader(normalized.getStatement())).parseStatement();
+        Assert.assertTrue(query.isPrepared());
+    }
+
+    private static List<Object> values(NormalizedStatement normalized) {
+        List<Object> values = new ArrayList<Object>();
+        for (Object value : normalized.getValues())
+            values.add(value.toString());
+        return values;
+    }
+}
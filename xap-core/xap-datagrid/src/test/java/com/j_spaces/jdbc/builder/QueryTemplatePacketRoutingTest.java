@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc.builder;
+
+import com.gigaspaces.internal.client.QueryResultTypeInternal;
+import com.gigaspaces.internal.metadata.ITypeDesc;
+import com.gigaspaces.internal.remoting.routing.partitioned.PartitionedClusterUtils;
+import com.gigaspaces.internal.server.space.SpaceUidFactory;
+import com.gigaspaces.metadata.SpaceTypeDescriptorBuilder;
+import com.j_spaces.jdbc.builder.range.InRange;
+import com.j_spaces.jdbc.query.QueryTableData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+public class QueryTemplatePacketRoutingTest {
+
+    @Test
+    public void testInValuesOfRoutingProperty() {
+        ITypeDesc typeDesc = (ITypeDesc) new SpaceTypeDescriptorBuilder("Order")
+                .addFixedProperty("id", Long.class)
+                .addFixedProperty("customer", String.class)
+                .idProperty("id", false)
+                .routingProperty("customer")
+                .create();
+        QueryTemplatePacket packet = createPacket(typeDesc, "customer", "a", "b");
+
+        Collection<Object> routingValues = packet.getRoutingValues();
+        Assert.assertEquals(new HashSet<Object>(Arrays.asList("a", "b")), new HashSet<Object>(routingValues));
+    }
+
+    @Test
+    public void testInValuesOfAutoGeneratedRouting() {
+        ITypeDesc typeDesc = (ITypeDesc) new SpaceTypeDescriptorBuilder("Order")
+                .addFixedProperty("id", String.class)
+                .idProperty("id", true)
+                .create();
+        Assert.assertTrue(typeDesc.isAutoGenerateRouting());
+        // the uids of entries written to the 2nd and 4th partitions
+        String uid1 = new SpaceUidFactory("2").generateUid();
+        String uid2 = new SpaceUidFactory("4").generateUid();
+        QueryTemplatePacket packet = createPacket(typeDesc, "id", uid1, uid2);
+
+        Collection<Object> routingValues = packet.getRoutingValues();
+        Assert.assertEquals(new HashSet<Object>(Arrays.asList(1, 3)), new HashSet<Object>(routingValues));
+        Assert.assertArrayEquals(new int[]{1, 3}, PartitionedClusterUtils.getPartitionIds(routingValues, 4));
+    }
+
+    @Test
+    public void testInValuesOfAutoGeneratedRoutingWithoutPartition() {
+        ITypeDesc typeDesc = (ITypeDesc) new SpaceTypeDescriptorBuilder("Order")
+                .addFixedProperty("id", String.class)
+                .idProperty("id", true)
+                .create();
+        // a value which is not an auto generated uid is not routed, the query is broadcast
+        QueryTemplatePacket packet = createPacket(typeDesc, "id", new SpaceUidFactory("2").generateUid(), "other");
+
+        Assert.assertNull(packet.getRoutingValues());
+    }
+
+    private static QueryTemplatePacket createPacket(ITypeDesc typeDesc, String property, Object... inValues) {
+        QueryTableData table = new QueryTableData();
+        table.setTableName(typeDesc.getTypeName());
+        table.setTypeDesc(typeDesc);
+        InRange range = new InRange(property, new HashSet<Object>(Arrays.asList(inValues)));
+        return new QueryTemplatePacket(table, QueryResultTypeInternal.NOT_SET, property, range);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.jdbc.executor;
+
+import com.j_spaces.jdbc.query.QueryTableData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JoinPlannerTest {
+
+    @Test
+    public void testTablesAreInitializedInJoinOrder() {
+        QueryTableData a = createTable("A", 0);
+        QueryTableData b = createTable("B", 1);
+        QueryTableData c = createTable("C", 2);
+        QueryTableData d = createTable("D", 3);
+        // A -> C -> B, D is joined to the sequence as a cartesian product
+        a.setJoinTable(c);
+        c.setJoined(true);
+        c.setJoinTable(b);
+        b.setJoined(true);
+        b.setJoinTable(d);
+        d.setJoined(true);
+
+        List<QueryTableData> order = new ArrayList<QueryTableData>(JoinPlanner.getJoinOrder(Arrays.asList(a, b, c, d)));
+        Assert.assertEquals(Arrays.asList(a, c, b, d), order);
+    }
+
+    @Test
+    public void testNotJoinedTablesAreIncluded() {
+        QueryTableData a = createTable("A", 0);
+        QueryTableData b = createTable("B", 1);
+        b.setJoined(true);
+
+        List<QueryTableData> order = new ArrayList<QueryTableData>(JoinPlanner.getJoinOrder(Arrays.asList(a, b)));
+        Assert.assertEquals(Arrays.asList(a, b), order);
+    }
+
+    @Test
+    public void testIndexLookupIsUsedForFewLookups() {
+        Assert.assertTrue(JoinPlanner.useIndexLookup(10, 100000));
+        Assert.assertTrue(JoinPlanner.useIndexLookup(0, 1));
+        Assert.assertFalse(JoinPlanner.useIndexLookup(100000, 100000));
+        Assert.assertFalse(JoinPlanner.useIndexLookup(10, 10 * JoinPlanner.INDEX_LOOKUP_COST));
+        Assert.assertFalse(JoinPlanner.useIndexLookup(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static QueryTableData createTable(String name, int index) {
+        QueryTableData tableData = new QueryTableData();
+        tableData.setTableName(name);
+        tableData.setTableIndex(index);
+        return tableData;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.kernel.threadpool;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveThreadPoolControllerTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private DynamicThreadPoolExecutor executor;
+    private AdaptiveThreadPoolController controller;
+
+    @Before
+    public void setUp() {
+        executor = new DynamicThreadPoolExecutor(1, 8, 60, TimeUnit.SECONDS);
+        controller = new AdaptiveThreadPoolController(executor, "test", 5, TimeUnit.MILLISECONDS, 16, 4, true);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGrowsFasterWhenBlocked() {
+        // 10 tasks waited 10ms each, and ran 100ms each of which 10ms on cpu
+        Assert.assertEquals(AdaptiveThreadPoolController.State.GROWING, controller.adjust(10, 100 * MILLIS, SECOND, 100 * MILLIS, 0, SECOND));
+        Assert.assertEquals(10, executor.getMaximumPoolSize());
+        Assert.assertEquals(0.9, controller.getBlockedRatio(), 0.001);
+
+        // cpu bound tasks grow the pool by one thread
+        Assert.assertEquals(AdaptiveThreadPoolController.State.GROWING, controller.adjust(10, 100 * MILLIS, SECOND, SECOND, 0, SECOND));
+        Assert.assertEquals(11, executor.getMaximumPoolSize());
+        Assert.assertEquals(2, controller.getResizes());
+    }
+
+    @Test
+    public void testHoldsWhenCpuSaturated() {
+        Assert.assertEquals(AdaptiveThreadPoolController.State.CPU_SATURATED, controller.adjust(10, 100 * MILLIS, 4 * SECOND, 4 * SECOND, 0, SECOND));
+        Assert.assertEquals(8, executor.getMaximumPoolSize());
+        Assert.assertEquals(1.0, controller.getCpuUtilization(), 0.001);
+    }
+
+    @Test
+    public void testStopsAtCeiling() {
+        for (int i = 0; i < 10; i++)
+            controller.adjust(0, 0, 0, 0, 10 * MILLIS, SECOND);
+        Assert.assertEquals(16, executor.getMaximumPoolSize());
+        Assert.assertEquals(AdaptiveThreadPoolController.State.AT_CEILING, controller.getState());
+    }
+
+    @Test
+    public void testShrinksBackToBase() {
+        controller.adjust(0, 0, 0, 0, 10 * MILLIS, SECOND);
+        controller.adjust(0, 0, 0, 0, 10 * MILLIS, SECOND);
+        Assert.assertEquals(12, executor.getMaximumPoolSize());
+
+        Assert.assertEquals(AdaptiveThreadPoolController.State.STEADY, controller.adjust(10, MILLIS, SECOND, SECOND, 0, SECOND));
+        Assert.assertEquals(AdaptiveThreadPoolController.State.STEADY, controller.adjust(10, MILLIS, SECOND, SECOND, 0, SECOND));
+        Assert.assertEquals(AdaptiveThreadPoolController.State.SHRINKING, controller.adjust(10, MILLIS, SECOND, SECOND, 0, SECOND));
+        Assert.assertEquals(10, executor.getMaximumPoolSize());
+        for (int i = 0; i < 10; i++)
+            controller.adjust(0, 0, 0, 0, 0, SECOND);
+        Assert.assertEquals(8, executor.getMaximumPoolSize());
+    }
+
+    @Test
+    public void testMeasuresTasks() throws Exception {
+        executor.enableAdaptiveSizing("test", 5, 16, 1, TimeUnit.HOURS);
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        AdaptiveThreadPoolController adaptiveController = executor.getAdaptiveController();
+        adaptiveController.run();
+        Assert.assertEquals(AdaptiveThreadPoolController.State.STEADY, adaptiveController.getState());
+        Assert.assertTrue(adaptiveController.getQueueWaitNanos() >= 0);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.j_spaces.kernel.threadpool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadExecutorTest {
+
+    @Test
+    public void testCreate() {
+        VirtualThreadExecutor executor = VirtualThreadExecutor.create("test", null);
+        Assert.assertEquals(VirtualThreadExecutor.isSupported(), executor != null);
+        // virtual threads were added in java 21, and are a preview feature before it
+        if (System.getProperty("java.specification.version").startsWith("1."))
+            Assert.assertNull(executor);
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        final ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        VirtualThreadExecutor executor = VirtualThreadExecutor.create("test", classLoader);
+        if (executor == null)
+            return;
+
+        final int tasks = 1000;
+        final CountDownLatch started = new CountDownLatch(tasks);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ClassLoader[] contextClassLoader = new ClassLoader[1];
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    contextClassLoader[0] = Thread.currentThread().getContextClassLoader();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        // all tasks block at once, each on its own thread
+        Assert.assertTrue(started.await(30, TimeUnit.SECONDS));
+        Assert.assertEquals(tasks, executor.getActiveCount());
+        Assert.assertSame(classLoader, contextClassLoader[0]);
+        release.countDown();
+
+        executor.shutdown();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            Assert.fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.j_spaces.sadapter.datasource;
+
+import com.gigaspaces.internal.server.storage.IEntryHolder;
+import com.j_spaces.core.sadapter.ISAdapterIterator;
+import com.j_spaces.core.sadapter.SAException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParallelDataAdaptorIteratorTest {
+
+    @Test
+    public void testIteratesPartsSerially() throws SAException {
+        List<ISAdapterIterator<IEntryHolder>> parts = new ArrayList<ISAdapterIterator<IEntryHolder>>();
+        parts.add(new CountingIterator(0, false));
+        parts.add(new CountingIterator(3, false));
+        parts.add(new CountingIterator(0, false));
+        parts.add(new CountingIterator(2, false));
+
+        ParallelDataAdaptorIterator iterator = new ParallelDataAdaptorIterator(parts);
+        Assert.assertSame(parts, iterator.getParts());
+        int count = 0;
+        while (iterator.next() != null)
+            count++;
+        Assert.assertEquals(5, count);
+        Assert.assertNull(iterator.next());
+    }
+
+    @Test
+    public void testClosesAllParts() {
+        List<ISAdapterIterator<IEntryHolder>> parts = new ArrayList<ISAdapterIterator<IEntryHolder>>();
+        CountingIterator failing = new CountingIterator(0, true);
+        CountingIterator other = new CountingIterator(0, false);
+        parts.add(failing);
+        parts.add(other);
+        try {
+            new ParallelDataAdaptorIterator(parts).close();
+            Assert.fail("Expected SAException");
+        } catch (SAException e) {
+        }
+        Assert.assertTrue(failing.closed);
+        Assert.assertTrue(other.closed);
+    }
+
+    private static class CountingIterator implements ISAdapterIterator<IEntryHolder> {
+        private final boolean failOnClose;
+        private int remaining;
+        private boolean closed;
+
+        private CountingIterator(int size, boolean failOnClose) {
+            this.remaining = size;
+            this.failOnClose = failOnClose;
+        }
+
+        @Override
+        public IEntryHolder next() {
+            if (remaining == 0)
+                return null;
+            remaining--;
+            return (IEntryHolder) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{IEntryHolder.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public void close() throws SAException {
+            closed = true;
+            if (failOnClose)
+                throw new SAException("close failed");
+        }
+    }
+}
@@ -20,9 +20,11 @@ package org.openspaces.core;
 import com.gigaspaces.admin.quiesce.QuiesceToken;
 import com.gigaspaces.async.AsyncFuture;
 import com.gigaspaces.async.AsyncFutureListener;
+import com.gigaspaces.async.AsyncResult;
 import com.gigaspaces.async.AsyncResultFilter;
 import com.gigaspaces.async.AsyncResultsReducer;
 import com.gigaspaces.async.FutureFactory;
+import com.gigaspaces.async.internal.CompoundFuture;
 import com.gigaspaces.client.ChangeModifiers;
 import com.gigaspaces.client.ChangeResult;
 import com.gigaspaces.client.ChangeSet;
@@ -78,6 +80,7 @@ import org.springframework.util.Assert;
 import java.io.IOException;
 import java.io.Serializable;
 import java.rmi.RemoteException;
+import java.util.List;
 import java.util.concurrent.Future;
 
 /**
@@ -1230,6 +1233,119 @@ public class DefaultGigaSpace implements GigaSpace, InternalGigaSpace {
         }
     }
 
+    @Override
+    public <T> AsyncFuture<LeaseContext<T>> asyncWrite(T entry, AsyncFutureListener<LeaseContext<T>> listener) throws DataAccessException {
+        return asyncWrite(entry, defaultWriteLease, 0, defaultWriteModifiers, listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> AsyncFuture<LeaseContext<T>> asyncWrite(T entry, long lease, long timeout, WriteModifiers modifiers,
+                                                       AsyncFutureListener<LeaseContext<T>> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture((AsyncFuture) space.asyncWrite(entry, tx, lease, timeout, modifiers.getCode(), (AsyncFutureListener) wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public <T> AsyncFuture<LeaseContext<T>[]> asyncWriteMultiple(T[] entries, AsyncFutureListener<LeaseContext<T>[]> listener) throws DataAccessException {
+        return asyncWriteMultiple(entries, defaultWriteLease, defaultWriteModifiers, listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> AsyncFuture<LeaseContext<T>[]> asyncWriteMultiple(T[] entries, long lease, WriteModifiers modifiers,
+                                                                 AsyncFutureListener<LeaseContext<T>[]> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture((AsyncFuture) space.asyncWriteMultiple(entries, tx, lease, null, 0, modifiers.getCode(), (AsyncFutureListener) wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public <T> AsyncFuture<T> asyncReadById(IdQuery<T> query, AsyncFutureListener<T> listener) throws DataAccessException {
+        return asyncReadById(query, defaultReadTimeout, getDefaultReadModifiers(), listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> AsyncFuture<T> asyncReadById(IdQuery<T> query, long timeout, ReadModifiers modifiers, AsyncFutureListener<T> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture(space.asyncReadById(query.getTypeName(), query.getId(), query.getRouting(), tx, timeout, modifiers.getCode(),
+                    toInternal(query.getQueryResultType()), query.getProjections(), wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public <T> AsyncFuture<ReadByIdsResult<T>> asyncReadByIds(IdsQuery<T> query, AsyncFutureListener<ReadByIdsResult<T>> listener) throws DataAccessException {
+        return asyncReadByIds(query, getDefaultReadModifiers(), listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> AsyncFuture<ReadByIdsResult<T>> asyncReadByIds(IdsQuery<T> query, ReadModifiers modifiers,
+                                                              AsyncFutureListener<ReadByIdsResult<T>> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            final Object routing = query.getRouting();
+            AsyncFuture<Object[]> future = space.asyncReadByIds(query.getTypeName(), query.getIds(), routing, routing != null ? null : query.getRoutings(),
+                    tx, modifiers.getCode(), toInternal(query.getQueryResultType()), false, query.getProjections(), null);
+            // convert the entries to a result once they arrive, the same way the synchronous read does
+            AsyncFuture<ReadByIdsResult<T>> result = wrapFuture(new CompoundFuture<Object[], ReadByIdsResult<T>>(
+                    new AsyncFuture[]{future}, new ReadByIdsResultReducer<T>()), tx);
+            if (listener != null)
+                result.setListener(wrapListener(listener, tx));
+            return result;
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public AsyncFuture<Integer> asyncCount(Object template, CountModifiers modifiers, AsyncFutureListener<Integer> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture(space.asyncCount(template, tx, modifiers.getCode(), wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public AsyncFuture<Integer> asyncClear(Object template, ClearModifiers modifiers, AsyncFutureListener<Integer> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture(space.asyncClear(template, tx, modifiers.getCode(), wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
+    @Override
+    public <T> AsyncFuture<AggregationResult> asyncAggregate(ISpaceQuery<T> query, AggregationSet aggregationSet,
+                                                             AsyncFutureListener<AggregationResult> listener) throws DataAccessException {
+        return asyncAggregate(query, aggregationSet, getDefaultReadModifiers(), listener);
+    }
+
+    @Override
+    public <T> AsyncFuture<AggregationResult> asyncAggregate(ISpaceQuery<T> query, AggregationSet aggregationSet, ReadModifiers readModifiers,
+                                                             AsyncFutureListener<AggregationResult> listener) throws DataAccessException {
+        Transaction tx = getCurrentTransaction();
+        try {
+            return wrapFuture(space.asyncAggregate(query, aggregationSet, tx, readModifiers.getCode(), wrapListener(listener, tx)), tx);
+        } catch (Exception e) {
+            throw exTranslator.translate(e);
+        }
+    }
+
 
     public <T> LeaseContext<T>[] writeMultiple(T[] entries) throws DataAccessException {
         return writeMultiple(entries, defaultWriteLease);
@@ -1655,4 +1771,15 @@ public class DefaultGigaSpace implements GigaSpace, InternalGigaSpace {
         if (implicitTxProvider)
             txProvider.close();
     }
+
+    private static class ReadByIdsResultReducer<T> implements AsyncResultsReducer<Object[], ReadByIdsResult<T>> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public ReadByIdsResult<T> reduce(List<AsyncResult<Object[]>> results) throws Exception {
+            AsyncResult<Object[]> result = results.get(0);
+            if (result.getException() != null)
+                throw result.getException();
+            return new ReadByIdsResultImpl<T>((T[]) result.getResult());
+        }
+    }
 }
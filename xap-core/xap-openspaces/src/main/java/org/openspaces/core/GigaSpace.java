@@ -2938,6 +2938,157 @@ public interface GigaSpace {
      */
     <T> Future<ChangeResult<T>> asyncChange(T template, ChangeSet changeSet, ChangeModifiers modifiers, long timeout, AsyncFutureListener<ChangeResult<T>> listener);
 
+    /**
+     * Writes a new object to the space in an asynchronous manner, returning immediately with a
+     * future, using the default lease and write modifiers. The calling thread is not blocked while
+     * the operation is in progress, so many operations can be in flight on the same connection.
+     *
+     * @param entry    The entry to write to the space
+     * @param listener A listener to be notified when the write completes, or <code>null</code>
+     * @return A future containing the lease of the written entry, which arrives asynchronously.
+     * @since 12.3
+     */
+    <T> AsyncFuture<LeaseContext<T>> asyncWrite(T entry, AsyncFutureListener<LeaseContext<T>> listener) throws DataAccessException;
+
+    /**
+     * Writes a new object to the space in an asynchronous manner, returning immediately with a
+     * future. Oneway writes are not supported, since they do not return a result.
+     *
+     * @param entry     The entry to write to the space
+     * @param lease     The lease the entry will be written with, in <b>milliseconds</b>.
+     * @param timeout   The timeout of an update operation, in <b>milliseconds</b>. If the entry is
+     *                  locked by another transaction wait for the specified number of milliseconds
+     *                  for it to be released.
+     * @param modifiers one or a union of {@link WriteModifiers}
+     * @param listener  A listener to be notified when the write completes, or <code>null</code>
+     * @return A future containing the lease of the written entry, which arrives asynchronously.
+     * @since 12.3
+     */
+    <T> AsyncFuture<LeaseContext<T>> asyncWrite(T entry, long lease, long timeout, WriteModifiers modifiers, AsyncFutureListener<LeaseContext<T>> listener) throws DataAccessException;
+
+    /**
+     * Writes the specified entries to this space in an asynchronous manner, returning immediately
+     * with a future, using the default lease and write modifiers.
+     *
+     * @param entries  The entries to write to the space.
+     * @param listener A listener to be notified when the write completes, or <code>null</code>
+     * @return A future containing the leases of the written entries, which arrive asynchronously.
+     * @since 12.3
+     */
+    <T> AsyncFuture<LeaseContext<T>[]> asyncWriteMultiple(T[] entries, AsyncFutureListener<LeaseContext<T>[]> listener) throws DataAccessException;
+
+    /**
+     * Writes the specified entries to this space in an asynchronous manner, returning immediately
+     * with a future.
+     *
+     * @param entries   The entries to write to the space.
+     * @param lease     The lease the entries will be written with, in <b>milliseconds</b>.
+     * @param modifiers one or a union of {@link WriteModifiers}
+     * @param listener  A listener to be notified when the write completes, or <code>null</code>
+     * @return A future containing the leases of the written entries, which arrive asynchronously.
+     * @since 12.3
+     */
+    <T> AsyncFuture<LeaseContext<T>[]> asyncWriteMultiple(T[] entries, long lease, WriteModifiers modifiers, AsyncFutureListener<LeaseContext<T>[]> listener) throws DataAccessException;
+
+    /**
+     * Read an object from the space matching the specified id query in an asynchronous manner,
+     * returning immediately with a future, using the default read timeout and modifiers.
+     *
+     * @param query    Query to search by.
+     * @param listener A listener to be notified when a result arrives, or <code>null</code>
+     * @return A future containing the matching object, or <code>null</code> if there is no match.
+     * @since 12.3
+     */
+    <T> AsyncFuture<T> asyncReadById(IdQuery<T> query, AsyncFutureListener<T> listener) throws DataAccessException;
+
+    /**
+     * Read an object from the space matching the specified id query in an asynchronous manner,
+     * returning immediately with a future.
+     *
+     * @param query     Query to search by.
+     * @param timeout   The timeout value to wait for a matching entry if it does not exists within
+     *                  the space
+     * @param modifiers one or a union of {@link ReadModifiers}.
+     * @param listener  A listener to be notified when a result arrives, or <code>null</code>
+     * @return A future containing the matching object, or <code>null</code> if there is no match.
+     * @since 12.3
+     */
+    <T> AsyncFuture<T> asyncReadById(IdQuery<T> query, long timeout, ReadModifiers modifiers, AsyncFutureListener<T> listener) throws DataAccessException;
+
+    /**
+     * Read objects from the space matching the specified ids query in an asynchronous manner,
+     * returning immediately with a future, using the default read modifiers.
+     *
+     * @param query    Query to search by.
+     * @param listener A listener to be notified when the results arrive, or <code>null</code>
+     * @return A future containing the matching objects.
+     * @since 12.3
+     */
+    <T> AsyncFuture<ReadByIdsResult<T>> asyncReadByIds(IdsQuery<T> query, AsyncFutureListener<ReadByIdsResult<T>> listener) throws DataAccessException;
+
+    /**
+     * Read objects from the space matching the specified ids query in an asynchronous manner,
+     * returning immediately with a future.
+     *
+     * @param query     Query to search by.
+     * @param modifiers one or a union of {@link ReadModifiers}.
+     * @param listener  A listener to be notified when the results arrive, or <code>null</code>
+     * @return A future containing the matching objects.
+     * @since 12.3
+     */
+    <T> AsyncFuture<ReadByIdsResult<T>> asyncReadByIds(IdsQuery<T> query, ReadModifiers modifiers, AsyncFutureListener<ReadByIdsResult<T>> listener) throws DataAccessException;
+
+    /**
+     * Count any matching entries in the space in an asynchronous manner, returning immediately
+     * with a future.
+     *
+     * @param template  The template used for matching.
+     * @param modifiers one or a union of {@link CountModifiers}.
+     * @param listener  A listener to be notified when the count arrives, or <code>null</code>
+     * @return A future containing the number of matching entries.
+     * @since 12.3
+     */
+    AsyncFuture<Integer> asyncCount(Object template, CountModifiers modifiers, AsyncFutureListener<Integer> listener) throws DataAccessException;
+
+    /**
+     * Removes the entries that match the specified template in an asynchronous manner, returning
+     * immediately with a future.
+     *
+     * @param template  The template used for matching.
+     * @param modifiers one or a union of {@link ClearModifiers}.
+     * @param listener  A listener to be notified when the clear completes, or <code>null</code>
+     * @return A future containing the number of removed entries.
+     * @since 12.3
+     */
+    AsyncFuture<Integer> asyncClear(Object template, ClearModifiers modifiers, AsyncFutureListener<Integer> listener) throws DataAccessException;
+
+    /**
+     * Executes the specified query along with the specified aggregations collocated at the space
+     * in an asynchronous manner, returning immediately with a future.
+     *
+     * @param query          Query to search by
+     * @param aggregationSet aggregations to execute
+     * @param listener       A listener to be notified when the result arrives, or
+     *                       <code>null</code>
+     * @return A future containing the aggregations result.
+     * @since 12.3
+     */
+    <T> AsyncFuture<AggregationResult> asyncAggregate(ISpaceQuery<T> query, AggregationSet aggregationSet, AsyncFutureListener<AggregationResult> listener) throws DataAccessException;
+
+    /**
+     * Executes the specified query along with the specified aggregations collocated at the space
+     * in an asynchronous manner, returning immediately with a future.
+     *
+     * @param query          Query to search by
+     * @param aggregationSet aggregations to execute
+     * @param readModifiers  one or a union of {@link ReadModifiers}.
+     * @param listener       A listener to be notified when the result arrives, or
+     *                       <code>null</code>
+     * @return A future containing the aggregations result.
+     * @since 12.3
+     */
+    <T> AsyncFuture<AggregationResult> asyncAggregate(ISpaceQuery<T> query, AggregationSet aggregationSet, ReadModifiers readModifiers, AsyncFutureListener<AggregationResult> listener) throws DataAccessException;
+
     /**
      * Creates a new DataEventSession with the default configuration.
      *
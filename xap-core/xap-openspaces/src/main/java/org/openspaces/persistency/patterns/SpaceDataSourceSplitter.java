@@ -81,6 +81,32 @@ public class SpaceDataSourceSplitter extends SpaceDataSource {
         return new ConcurrentMultiDataIterator(iterators.toArray(new DataIterator[iterators.size()]), initalLoadThreadPoolSize);
     }
 
+    /**
+     * Iterates through all the given data sources and assembles their respective {@link
+     * com.gigaspaces.datasource.DataIterator}s, so each of them is loaded by its own space thread.
+     * Data sources which do not split their data contribute their {@link
+     * com.gigaspaces.datasource.SpaceDataSource#initialDataLoad()} iterator.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public DataIterator<Object>[] initialDataLoadIterators() {
+        ArrayList<DataIterator> iterators = new ArrayList<DataIterator>(dataSources.length);
+        for (SpaceDataSource dataSource : dataSources) {
+            DataIterator<Object>[] dataSourceIterators = dataSource.initialDataLoadIterators();
+            if (dataSourceIterators != null) {
+                for (DataIterator<Object> iterator : dataSourceIterators) {
+                    if (iterator != null)
+                        iterators.add(iterator);
+                }
+            } else {
+                DataIterator<Object> iterator = dataSource.initialDataLoad();
+                if (iterator != null)
+                    iterators.add(iterator);
+            }
+        }
+        return iterators.toArray(new DataIterator[iterators.size()]);
+    }
+
     /**
      * Iterates through all the given data sources and assembles their respective {@link
      * com.gigaspaces.datasource.DataIterator}s from {@link com.gigaspaces.datasource.SpaceDataSource#initialMetadataLoad()}.
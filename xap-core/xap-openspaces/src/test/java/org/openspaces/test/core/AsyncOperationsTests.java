@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openspaces.test.core;
+
+import com.gigaspaces.annotation.pojo.SpaceId;
+import com.gigaspaces.async.AsyncFuture;
+import com.gigaspaces.async.AsyncFutureListener;
+import com.gigaspaces.async.AsyncResult;
+import com.gigaspaces.client.ClearModifiers;
+import com.gigaspaces.client.CountModifiers;
+import com.gigaspaces.client.ReadByIdsResult;
+import com.gigaspaces.client.WriteModifiers;
+import com.gigaspaces.query.IdQuery;
+import com.gigaspaces.query.IdsQuery;
+import com.gigaspaces.query.aggregators.AggregationResult;
+import com.gigaspaces.query.aggregators.AggregationSet;
+import com.j_spaces.core.IJSpace;
+import com.j_spaces.core.LeaseContext;
+import com.j_spaces.core.SpaceContext;
+import com.j_spaces.core.client.SQLQuery;
+import com.j_spaces.core.filters.FilterOperationCodes;
+import com.j_spaces.core.filters.FilterProvider;
+import com.j_spaces.core.filters.ISpaceFilter;
+import com.j_spaces.core.filters.entry.ISpaceFilterEntry;
+
+import net.jini.core.lease.Lease;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openspaces.core.GigaSpace;
+import org.openspaces.core.GigaSpaceConfigurer;
+import org.openspaces.core.space.EmbeddedSpaceConfigurer;
+import org.openspaces.core.space.filter.FilterProviderFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies the asynchronous {@link GigaSpace} operations against an embedded space: the result of
+ * the future and of the listener, and the propagation of a failure of the operation in the space.
+ * Operations on {@link FailingPojo} are failed by a space filter.
+ */
+public class AsyncOperationsTests {
+
+    private static final long TIMEOUT = 10000;
+
+    private static EmbeddedSpaceConfigurer spaceConfigurer;
+    private static GigaSpace gigaSpace;
+
+    @BeforeClass
+    public static void startSpace() {
+        spaceConfigurer = new EmbeddedSpaceConfigurer("asyncOperationsTests")
+                .addFilterProvider(new FilterProviderFactory() {
+                    public FilterProvider getFilterProvider() {
+                        FilterProvider filterProvider = new FilterProvider("failing-type-filter", new FailingTypeFilter());
+                        filterProvider.setOpCodes(FilterOperationCodes.BEFORE_WRITE, FilterOperationCodes.BEFORE_READ,
+                                FilterOperationCodes.BEFORE_READ_MULTIPLE, FilterOperationCodes.BEFORE_TAKE_MULTIPLE);
+                        return filterProvider;
+                    }
+                });
+        IJSpace space = spaceConfigurer.create();
+        gigaSpace = new GigaSpaceConfigurer(space).create();
+    }
+
+    @AfterClass
+    public static void stopSpace() {
+        if (spaceConfigurer != null)
+            spaceConfigurer.close();
+    }
+
+    @Before
+    public void clearSpace() {
+        gigaSpace.clear(new AsyncPojo());
+    }
+
+    @Test
+    public void testAsyncWrite() throws Exception {
+        ResultListener<LeaseContext<AsyncPojo>> listener = new ResultListener<LeaseContext<AsyncPojo>>();
+        AsyncFuture<LeaseContext<AsyncPojo>> future = gigaSpace.asyncWrite(new AsyncPojo(1, "a"), listener);
+
+        LeaseContext<AsyncPojo> lease = future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        Assert.assertNotNull(lease.getUID());
+        Assert.assertEquals(lease.getUID(), listener.getResult().getUID());
+        Assert.assertEquals("a", gigaSpace.readById(AsyncPojo.class, 1).getName());
+    }
+
+    @Test
+    public void testAsyncWriteFailure() throws Exception {
+        ResultListener<LeaseContext<FailingPojo>> listener = new ResultListener<LeaseContext<FailingPojo>>();
+        assertFailure(gigaSpace.asyncWrite(new FailingPojo(1), listener), listener);
+
+        // an update of an entry which is not in the space fails in the space as well
+        ResultListener<LeaseContext<AsyncPojo>> updateListener = new ResultListener<LeaseContext<AsyncPojo>>();
+        assertFailure(gigaSpace.asyncWrite(new AsyncPojo(2, "b"), Lease.FOREVER, 0, WriteModifiers.UPDATE_ONLY, updateListener),
+                updateListener);
+    }
+
+    @Test
+    public void testAsyncWriteMultiple() throws Exception {
+        ResultListener<LeaseContext<AsyncPojo>[]> listener = new ResultListener<LeaseContext<AsyncPojo>[]>();
+        AsyncFuture<LeaseContext<AsyncPojo>[]> future = gigaSpace.asyncWriteMultiple(
+                new AsyncPojo[]{new AsyncPojo(1, "a"), new AsyncPojo(2, "b")}, listener);
+
+        Assert.assertEquals(2, future.get(TIMEOUT, TimeUnit.MILLISECONDS).length);
+        Assert.assertEquals(2, listener.getResult().length);
+        Assert.assertEquals(2, gigaSpace.count(new AsyncPojo()));
+    }
+
+    @Test
+    public void testAsyncWriteMultipleFailure() throws Exception {
+        ResultListener<LeaseContext<FailingPojo>[]> listener = new ResultListener<LeaseContext<FailingPojo>[]>();
+        assertFailure(gigaSpace.asyncWriteMultiple(new FailingPojo[]{new FailingPojo(1), new FailingPojo(2)}, listener), listener);
+    }
+
+    @Test
+    public void testAsyncReadById() throws Exception {
+        gigaSpace.write(new AsyncPojo(1, "a"));
+
+        ResultListener<AsyncPojo> listener = new ResultListener<AsyncPojo>();
+        AsyncFuture<AsyncPojo> future = gigaSpace.asyncReadById(new IdQuery<AsyncPojo>(AsyncPojo.class, 1), listener);
+
+        Assert.assertEquals("a", future.get(TIMEOUT, TimeUnit.MILLISECONDS).getName());
+        Assert.assertEquals("a", listener.getResult().getName());
+
+        ResultListener<AsyncPojo> missingListener = new ResultListener<AsyncPojo>();
+        future = gigaSpace.asyncReadById(new IdQuery<AsyncPojo>(AsyncPojo.class, 2), missingListener);
+        Assert.assertNull(future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertNull(missingListener.getResult());
+    }
+
+    @Test
+    public void testAsyncReadByIdFailure() throws Exception {
+        ResultListener<FailingPojo> listener = new ResultListener<FailingPojo>();
+        assertFailure(gigaSpace.asyncReadById(new IdQuery<FailingPojo>(FailingPojo.class, 1), listener), listener);
+    }
+
+    @Test
+    public void testAsyncReadByIds() throws Exception {
+        gigaSpace.writeMultiple(new AsyncPojo[]{new AsyncPojo(1, "a"), new AsyncPojo(2, "b")});
+
+        ResultListener<ReadByIdsResult<AsyncPojo>> listener = new ResultListener<ReadByIdsResult<AsyncPojo>>();
+        AsyncFuture<ReadByIdsResult<AsyncPojo>> future = gigaSpace.asyncReadByIds(
+                new IdsQuery<AsyncPojo>(AsyncPojo.class, new Object[]{2, 3, 1}), listener);
+
+        AsyncPojo[] results = future.get(TIMEOUT, TimeUnit.MILLISECONDS).getResultsArray();
+        Assert.assertEquals("b", results[0].getName());
+        Assert.assertNull(results[1]);
+        Assert.assertEquals("a", results[2].getName());
+        Assert.assertEquals(3, listener.getResult().getResultsArray().length);
+    }
+
+    @Test
+    public void testAsyncReadByIdsFailure() throws Exception {
+        ResultListener<ReadByIdsResult<FailingPojo>> listener = new ResultListener<ReadByIdsResult<FailingPojo>>();
+        assertFailure(gigaSpace.asyncReadByIds(new IdsQuery<FailingPojo>(FailingPojo.class, new Object[]{1, 2}), listener), listener);
+    }
+
+    @Test
+    public void testAsyncCount() throws Exception {
+        gigaSpace.writeMultiple(new AsyncPojo[]{new AsyncPojo(1, "a"), new AsyncPojo(2, "b"), new AsyncPojo(3, "b")});
+
+        ResultListener<Integer> listener = new ResultListener<Integer>();
+        AsyncFuture<Integer> future = gigaSpace.asyncCount(new SQLQuery<AsyncPojo>(AsyncPojo.class, "name = ?", "b"),
+                CountModifiers.NONE, listener);
+
+        Assert.assertEquals(Integer.valueOf(2), future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Integer.valueOf(2), listener.getResult());
+    }
+
+    @Test
+    public void testAsyncCountFailure() throws Exception {
+        ResultListener<Integer> listener = new ResultListener<Integer>();
+        assertFailure(gigaSpace.asyncCount(new FailingPojo(), CountModifiers.NONE, listener), listener);
+    }
+
+    @Test
+    public void testAsyncClear() throws Exception {
+        gigaSpace.writeMultiple(new AsyncPojo[]{new AsyncPojo(1, "a"), new AsyncPojo(2, "b"), new AsyncPojo(3, "b")});
+
+        ResultListener<Integer> listener = new ResultListener<Integer>();
+        AsyncFuture<Integer> future = gigaSpace.asyncClear(new SQLQuery<AsyncPojo>(AsyncPojo.class, "name = ?", "b"),
+                ClearModifiers.NONE, listener);
+
+        Assert.assertEquals(Integer.valueOf(2), future.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Integer.valueOf(2), listener.getResult());
+        Assert.assertEquals(1, gigaSpace.count(new AsyncPojo()));
+    }
+
+    @Test
+    public void testAsyncClearFailure() throws Exception {
+        ResultListener<Integer> listener = new ResultListener<Integer>();
+        assertFailure(gigaSpace.asyncClear(new FailingPojo(), ClearModifiers.NONE, listener), listener);
+    }
+
+    @Test
+    public void testAsyncAggregate() throws Exception {
+        gigaSpace.writeMultiple(new AsyncPojo[]{new AsyncPojo(1, "a"), new AsyncPojo(2, "b"), new AsyncPojo(3, "b")});
+
+        ResultListener<AggregationResult> listener = new ResultListener<AggregationResult>();
+        AsyncFuture<AggregationResult> future = gigaSpace.asyncAggregate(new SQLQuery<AsyncPojo>(AsyncPojo.class, "name = ?", "b"),
+                new AggregationSet().count(), listener);
+
+        Assert.assertEquals(2L, future.get(TIMEOUT, TimeUnit.MILLISECONDS).get(0));
+        Assert.assertEquals(2L, listener.getResult().get(0));
+    }
+
+    @Test
+    public void testAsyncAggregateFailure() throws Exception {
+        ResultListener<AggregationResult> listener = new ResultListener<AggregationResult>();
+        assertFailure(gigaSpace.asyncAggregate(new SQLQuery<FailingPojo>(FailingPojo.class, ""), new AggregationSet().count(), listener),
+                listener);
+    }
+
+    private static void assertFailure(AsyncFuture<?> future, ResultListener<?> listener) throws Exception {
+        try {
+            future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            Assert.fail("Expected the operation to fail");
+        } catch (ExecutionException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+        Assert.assertNotNull(listener.await().getException());
+    }
+
+    /**
+     * Keeps the result the listener was called with.
+     */
+    private static class ResultListener<T> implements AsyncFutureListener<T> {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile AsyncResult<T> result;
+
+        public void onResult(AsyncResult<T> result) {
+            this.result = result;
+            latch.countDown();
+        }
+
+        private AsyncResult<T> await() throws InterruptedException {
+            Assert.assertTrue("The listener was not called", latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+            return result;
+        }
+
+        private T getResult() throws InterruptedException {
+            AsyncResult<T> asyncResult = await();
+            Assert.assertNull(asyncResult.getException());
+            return asyncResult.getResult();
+        }
+    }
+
+    /**
+     * Fails every operation on {@link FailingPojo} before it is executed by the space.
+     */
+    public static class FailingTypeFilter implements ISpaceFilter {
+        public void init(IJSpace space, String filterId, String url, int priority) {
+        }
+
+        public void process(SpaceContext context, ISpaceFilterEntry entry, int operationCode) {
+            if (FailingPojo.class.getName().equals(entry.getClassName()))
+                throw new IllegalStateException("Operation " + operationCode + " on " + entry.getClassName() + " is failed by the test filter");
+        }
+
+        public void process(SpaceContext context, ISpaceFilterEntry[] entries, int operationCode) {
+            for (ISpaceFilterEntry entry : entries)
+                process(context, entry, operationCode);
+        }
+
+        public void close() {
+        }
+    }
+
+    public static class AsyncPojo {
+        private Integer id;
+        private String name;
+
+        public AsyncPojo() {
+        }
+
+        public AsyncPojo(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @SpaceId
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class FailingPojo {
+        private Integer id;
+
+        public FailingPojo() {
+        }
+
+        public FailingPojo(Integer id) {
+            this.id = id;
+        }
+
+        @SpaceId
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2008-2016, GigaSpaces Technologies, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openspaces.test.core;
+
+import com.gigaspaces.annotation.pojo.SpaceId;
+import com.gigaspaces.annotation.pojo.SpaceIndex;
+import com.gigaspaces.datasource.DataIterator;
+import com.gigaspaces.datasource.SpaceDataSource;
+import com.gigaspaces.metadata.SpaceTypeDescriptorBuilder;
+import com.gigaspaces.metadata.index.SpaceIndexType;
+import com.j_spaces.core.client.SQLQuery;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openspaces.core.GigaSpace;
+import org.openspaces.core.GigaSpaceConfigurer;
+import org.openspaces.core.space.AllInCachePolicy;
+import org.openspaces.core.space.EmbeddedSpaceConfigurer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_PROP;
+import static com.j_spaces.core.Constants.CacheManager.CACHE_MANAGER_INITIAL_LOAD_THREADS_PROP;
+import static com.j_spaces.core.Constants.SPACE_CONFIG_PREFIX;
+
+/**
+ * Loads an embedded space from a data source which splits its data into several parts, so the
+ * parts are inserted concurrently, and verifies the loaded entries are found by queries which use
+ * the indexes built after the load, and by the unique index which is built during the load.
+ */
+public class ParallelInitialLoadTests {
+
+    private static final int PARTS = 4;
+    private static final int ENTRIES_PER_PART = 2500;
+    private static final int CATEGORIES = 10;
+
+    private EmbeddedSpaceConfigurer spaceConfigurer;
+
+    @After
+    public void closeSpace() {
+        if (spaceConfigurer != null)
+            spaceConfigurer.close();
+    }
+
+    @Test
+    public void testDeferredIndexing() {
+        GigaSpace gigaSpace = loadSpace("parallelLoadDeferredIndexing", true);
+        assertLoaded(gigaSpace);
+    }
+
+    @Test
+    public void testIndexingOnInsert() {
+        GigaSpace gigaSpace = loadSpace("parallelLoadIndexingOnInsert", false);
+        assertLoaded(gigaSpace);
+    }
+
+    private GigaSpace loadSpace(String spaceName, boolean deferredIndexing) {
+        spaceConfigurer = new EmbeddedSpaceConfigurer(spaceName)
+                .cachePolicy(new AllInCachePolicy())
+                .addSpaceType(new SpaceTypeDescriptorBuilder(LoadedPojo.class).create())
+                .addSpaceType(new SpaceTypeDescriptorBuilder(UniquePojo.class).create())
+                .spaceDataSource(new PartitionedDataSource())
+                .addProperty(SPACE_CONFIG_PREFIX + CACHE_MANAGER_INITIAL_LOAD_THREADS_PROP, String.valueOf(PARTS))
+                .addProperty(SPACE_CONFIG_PREFIX + CACHE_MANAGER_INITIAL_LOAD_DEFERRED_INDEXING_PROP, String.valueOf(deferredIndexing));
+        return new GigaSpaceConfigurer(spaceConfigurer.create()).create();
+    }
+
+    private static void assertLoaded(GigaSpace gigaSpace) {
+        // each part repeats the first entries of the previous part, they are loaded once
+        final int entries = PARTS * ENTRIES_PER_PART;
+        Assert.assertEquals(entries, gigaSpace.count(new LoadedPojo()));
+        Assert.assertEquals(entries, gigaSpace.count(new UniquePojo()));
+
+        for (int category = 0; category < CATEGORIES; category++) {
+            SQLQuery<LoadedPojo> query = new SQLQuery<LoadedPojo>(LoadedPojo.class, "category = ?", category);
+            Assert.assertEquals(entries / CATEGORIES, gigaSpace.count(query));
+        }
+        SQLQuery<LoadedPojo> rangeQuery = new SQLQuery<LoadedPojo>(LoadedPojo.class, "value >= ? AND value < ?", 100, 200);
+        Assert.assertEquals(100, gigaSpace.count(rangeQuery));
+
+        for (int id = 0; id < entries; id += 997) {
+            UniquePojo uniquePojo = gigaSpace.read(new SQLQuery<UniquePojo>(UniquePojo.class, "code = ?", "code-" + id));
+            Assert.assertNotNull(uniquePojo);
+            Assert.assertEquals(Integer.valueOf(id), uniquePojo.getId());
+        }
+    }
+
+    /**
+     * Returns an iterator per part, where each part but the first also repeats a few entries of the
+     * previous part.
+     */
+    private static class PartitionedDataSource extends SpaceDataSource {
+        @Override
+        public DataIterator<Object>[] initialDataLoadIterators() {
+            @SuppressWarnings("unchecked")
+            DataIterator<Object>[] parts = new DataIterator[PARTS];
+            for (int part = 0; part < PARTS; part++) {
+                List<Object> entries = new ArrayList<Object>();
+                for (int id = Math.max(0, part * ENTRIES_PER_PART - 10); id < (part + 1) * ENTRIES_PER_PART; id++) {
+                    entries.add(new LoadedPojo(id, id % CATEGORIES, id));
+                    entries.add(new UniquePojo(id, "code-" + id));
+                }
+                parts[part] = new ListDataIterator(entries);
+            }
+            return parts;
+        }
+
+        @Override
+        public DataIterator<Object> initialDataLoad() {
+            List<Object> entries = new ArrayList<Object>();
+            for (DataIterator<Object> part : initialDataLoadIterators()) {
+                while (part.hasNext())
+                    entries.add(part.next());
+            }
+            return new ListDataIterator(entries);
+        }
+    }
+
+    private static class ListDataIterator implements DataIterator<Object> {
+        private final Iterator<Object> iterator;
+
+        private ListDataIterator(List<Object> entries) {
+            this.iterator = entries.iterator();
+        }
+
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        public Object next() {
+            return iterator.next();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void close() {
+        }
+    }
+
+    public static class LoadedPojo {
+        private Integer id;
+        private Integer category;
+        private Integer value;
+
+        public LoadedPojo() {
+        }
+
+        public LoadedPojo(Integer id, Integer category, Integer value) {
+            this.id = id;
+            this.category = category;
+            this.value = value;
+        }
+
+        @SpaceId
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        @SpaceIndex
+        public Integer getCategory() {
+            return category;
+        }
+
+        public void setCategory(Integer category) {
+            this.category = category;
+        }
+
+        @SpaceIndex(type = SpaceIndexType.EXTENDED)
+        public Integer getValue() {
+            return value;
+        }
+
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+    }
+
+    public static class UniquePojo {
+        private Integer id;
+        private String code;
+
+        public UniquePojo() {
+        }
+
+        public UniquePojo(Integer id, String code) {
+            this.id = id;
+            this.code = code;
+        }
+
+        @SpaceId
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        @SpaceIndex(unique = true)
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+    }
+}
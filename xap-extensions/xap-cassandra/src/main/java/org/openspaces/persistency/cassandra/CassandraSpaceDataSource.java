@@ -49,6 +49,7 @@ import org.openspaces.persistency.cassandra.pool.ConnectionResourceFactory;
 import org.openspaces.persistency.support.SpaceTypeDescriptorContainer;
 import org.openspaces.persistency.support.TypeDescriptorUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -294,6 +295,30 @@ public class CassandraSpaceDataSource extends ClusterInfoAwareSpaceDataSource {
                 readConsistencyLevel);
     }
 
+    /**
+     * Returns an iterator per column family, each with its own connection, so the column families
+     * are loaded concurrently when the space is configured with several initial load threads.
+     */
+    @Override
+    public DataIterator<Object>[] initialDataLoadIterators() {
+        obtainInitialLoadQueries();
+
+        Map<String, ColumnFamilyMetadata> columnFamilies = hectorClient.getColumnFamiliesMetadata();
+
+        @SuppressWarnings("unchecked")
+        DataIterator<Object>[] iterators = new DataIterator[columnFamilies.size()];
+        int index = 0;
+        for (Entry<String, ColumnFamilyMetadata> columnFamily : columnFamilies.entrySet()) {
+            iterators[index++] = new CassandraTokenRangeAwareInitialLoadDataIterator(mapper,
+                    Collections.singletonMap(columnFamily.getKey(), columnFamily.getValue()),
+                    connectionPool.getResource(),
+                    initialLoadQueries,
+                    batchLimit,
+                    readConsistencyLevel);
+        }
+        return iterators;
+    }
+
     /**
      * Returns <code>false</code>, inheritance is not supported.
      *